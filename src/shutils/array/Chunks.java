@@ -0,0 +1,109 @@
+package shutils.array;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * This class splits the work of the parallel algorithms on arrays into
+ * chunks and runs them on the common fork/join pool.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public final class Chunks
+{
+	private Chunks()
+	{
+	}
+
+	/**
+	 * Computes the number of chunks {@code n} elements are split into. There
+	 * is a single chunk when the elements are too few to be worth splitting,
+	 * and a few more than the parallelism of the common pool when there are
+	 * enough elements, so that a slow chunk does not keep the other workers
+	 * idle.
+	 *
+	 * @param n
+	 *            The number of elements.
+	 * @param minChunk
+	 *            The minimum number of elements given to a single chunk.
+	 * @return The number of chunks.
+	 */
+	public static int count(int n, int minChunk)
+	{
+		return Math.max(1, Math.min(n / minChunk, 4 * ForkJoinPool.getCommonPoolParallelism()));
+	}
+
+	/**
+	 * Computes the position of the first element of a chunk, so that the
+	 * elements are split in chunks of about the same size.
+	 *
+	 * @param n
+	 *            The number of elements.
+	 * @param chunks
+	 *            The number of chunks.
+	 * @param k
+	 *            The index of the chunk, or {@code chunks} for the end of the
+	 *            last one.
+	 * @return The position of the first element of the chunk.
+	 */
+	public static int start(int n, int chunks, int k)
+	{
+		return (int) (((long) n * k) / chunks);
+	}
+
+	/**
+	 * Runs the given action on every chunk between {@code 0} and
+	 * {@code chunks - 1}, in parallel, and waits for all of them to finish.
+	 * A single chunk is run in the calling thread.
+	 *
+	 * @param chunks
+	 *            The number of chunks.
+	 * @param action
+	 *            The action to run, which receives the index of the chunk.
+	 */
+	public static void forEach(int chunks, IntConsumer action)
+	{
+		if (chunks == 1)
+		{
+			action.accept(0);
+		} else
+		{
+			ForkJoinPool.commonPool().invoke(new ChunkTask(action, 0, chunks));
+		}
+	}
+
+	/**
+	 * The task that runs an action on a range of chunks, splitting it in
+	 * halves until a single chunk is left.
+	 */
+	private static final class ChunkTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final IntConsumer action;
+		private final int from;
+		private final int to;
+
+		ChunkTask(IntConsumer action, int from, int to)
+		{
+			this.action = action;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if ((to - from) == 1)
+			{
+				action.accept(from);
+			} else
+			{
+				int mid = (from + to) >>> 1;
+				invokeAll(new ChunkTask(action, from, mid), new ChunkTask(action, mid, to));
+			}
+		}
+	}
+}
@@ -38,6 +38,476 @@ public class SHArray
 		}
 	}
 
+	/**
+	 * Reorders an array, in place, so that the element at position {@code i}
+	 * is the one that was at position {@code p[i]}. This is the permutation
+	 * given by the {@code argsort} methods. The permutation is applied by
+	 * following its cycles, which takes {@code O(n)} time and no extra memory:
+	 * the visited positions are marked in {@code p} itself, which is restored
+	 * before returning.
+	 *
+	 * @param p
+	 *            The permutation to apply, which must contain every index
+	 *            between {@code 0} and {@code p.length - 1} exactly once.
+	 * @param array
+	 *            The array to reorder. It can be an array of objects or of any
+	 *            primitive type, and it must be as long as {@code p}.
+	 * @throws IllegalArgumentException
+	 *             When {@code p} is not a permutation, or when the array is not
+	 *             an array or is not as long as {@code p}.
+	 */
+	public static void applyPermutation(int[] p, Object array)
+	{
+		permuteAll(p, new Object[] { array });
+	}
+
+	/**
+	 * Reorders two parallel arrays of the same length, in place, so that the
+	 * element at position {@code i} of both arrays is the one that was at
+	 * position {@code p[i]}, so a single sort of the keys can reorder their
+	 * values too.
+	 *
+	 * @param p
+	 *            The permutation to apply, which must contain every index
+	 *            between {@code 0} and {@code p.length - 1} exactly once.
+	 * @param a
+	 *            The first array to reorder. It can be an array of objects or
+	 *            of any primitive type, and it must be as long as {@code p}.
+	 * @param b
+	 *            The second array to reorder, with the same constraints.
+	 * @throws IllegalArgumentException
+	 *             When {@code p} is not a permutation, or when one of the
+	 *             arrays is not an array or is not as long as {@code p}.
+	 */
+	public static void applyPermutation(int[] p, Object a, Object b)
+	{
+		permuteAll(p, new Object[] { a, b });
+	}
+
+	/**
+	 * Reorders three parallel arrays of the same length, in place, so that the
+	 * element at position {@code i} of every array is the one that was at
+	 * position {@code p[i]}. More arrays can be reordered by calling the
+	 * method again with the same permutation.
+	 *
+	 * @param p
+	 *            The permutation to apply, which must contain every index
+	 *            between {@code 0} and {@code p.length - 1} exactly once.
+	 * @param a
+	 *            The first array to reorder. It can be an array of objects or
+	 *            of any primitive type, and it must be as long as {@code p}.
+	 * @param b
+	 *            The second array to reorder, with the same constraints.
+	 * @param c
+	 *            The third array to reorder, with the same constraints.
+	 * @throws IllegalArgumentException
+	 *             When {@code p} is not a permutation, or when one of the
+	 *             arrays is not an array or is not as long as {@code p}.
+	 */
+	public static void applyPermutation(int[] p, Object a, Object b, Object c)
+	{
+		permuteAll(p, new Object[] { a, b, c });
+	}
+
+	/**
+	 * Internal utility to reorder a list of arrays with a permutation. The
+	 * public methods take every array as a separate {@code Object}, since a
+	 * varargs parameter would take a single array of objects for the list of
+	 * the arrays.
+	 *
+	 * @param p
+	 *            The permutation to apply.
+	 * @param all
+	 *            The arrays to reorder.
+	 * @throws IllegalArgumentException
+	 *             When {@code p} is not a permutation, or when one of the
+	 *             arrays is not an array or is not as long as {@code p}.
+	 */
+	private static void permuteAll(int[] p, Object[] all)
+	{
+		for (Object a : all)
+		{
+			if ((a == null) || !a.getClass().isArray() || (Array.getLength(a) != p.length))
+			{
+				throw new IllegalArgumentException("The arrays must be as long as the permutation");
+			}
+		}
+		checkPermutation(p);
+
+		for (Object a : all)
+		{
+			if (a instanceof Object[])
+			{
+				permute(p, (Object[]) a);
+			} else if (a instanceof int[])
+			{
+				permute(p, (int[]) a);
+			} else if (a instanceof long[])
+			{
+				permute(p, (long[]) a);
+			} else if (a instanceof float[])
+			{
+				permute(p, (float[]) a);
+			} else if (a instanceof double[])
+			{
+				permute(p, (double[]) a);
+			} else if (a instanceof byte[])
+			{
+				permute(p, (byte[]) a);
+			} else if (a instanceof short[])
+			{
+				permute(p, (short[]) a);
+			} else if (a instanceof char[])
+			{
+				permute(p, (char[]) a);
+			} else if (a instanceof boolean[])
+			{
+				permute(p, (boolean[]) a);
+			}
+		}
+	}
+
+	/**
+	 * Internal utility to check that an array is a permutation, by following
+	 * its cycles.
+	 *
+	 * @param p
+	 *            The array to check.
+	 * @throws IllegalArgumentException
+	 *             When {@code p} is not a permutation.
+	 */
+	private static void checkPermutation(int[] p)
+	{
+		for (int k : p)
+		{
+			if ((k < 0) || (k >= p.length))
+			{
+				throw new IllegalArgumentException("The given array is not a permutation");
+			}
+		}
+
+		boolean valid = true;
+		for (int i = 0; valid && (i < p.length); i++)
+		{
+			int j = i;
+			while (p[j] >= 0)
+			{
+				int k = p[j];
+				p[j] = ~k;
+				// A cycle can only be closed by going back to its start
+				if ((p[k] < 0) && (k != i))
+				{
+					valid = false;
+					break;
+				}
+				j = k;
+			}
+		}
+
+		unmark(p);
+		if (!valid)
+		{
+			throw new IllegalArgumentException("The given array is not a permutation");
+		}
+	}
+
+	/**
+	 * Internal utility to remove the marks left in a permutation while its
+	 * cycles were followed.
+	 *
+	 * @param p
+	 *            The marked permutation.
+	 */
+	private static void unmark(int[] p)
+	{
+		for (int i = 0; i < p.length; i++)
+		{
+			if (p[i] < 0)
+			{
+				p[i] = ~p[i];
+			}
+		}
+	}
+
+	/**
+	 * Applies a valid permutation to an array of {@code Object}, following
+	 * its cycles. Every position is marked in {@code p} once it has been
+	 * filled, and the marks are removed at the end.
+	 */
+	private static void permute(int[] p, Object[] a)
+	{
+		for (int i = 0; i < p.length; i++)
+		{
+			if (p[i] < 0)
+			{
+				continue;
+			}
+
+			Object hold = a[i];
+			int j = i;
+			int k = p[i];
+			while (k != i)
+			{
+				a[j] = a[k];
+				p[j] = ~k;
+				j = k;
+				k = p[k];
+			}
+			a[j] = hold;
+			p[j] = ~i;
+		}
+
+		unmark(p);
+	}
+
+	/**
+	 * Applies a valid permutation to an array of {@code int}, following
+	 * its cycles. Every position is marked in {@code p} once it has been
+	 * filled, and the marks are removed at the end.
+	 */
+	private static void permute(int[] p, int[] a)
+	{
+		for (int i = 0; i < p.length; i++)
+		{
+			if (p[i] < 0)
+			{
+				continue;
+			}
+
+			int hold = a[i];
+			int j = i;
+			int k = p[i];
+			while (k != i)
+			{
+				a[j] = a[k];
+				p[j] = ~k;
+				j = k;
+				k = p[k];
+			}
+			a[j] = hold;
+			p[j] = ~i;
+		}
+
+		unmark(p);
+	}
+
+	/**
+	 * Applies a valid permutation to an array of {@code long}, following
+	 * its cycles. Every position is marked in {@code p} once it has been
+	 * filled, and the marks are removed at the end.
+	 */
+	private static void permute(int[] p, long[] a)
+	{
+		for (int i = 0; i < p.length; i++)
+		{
+			if (p[i] < 0)
+			{
+				continue;
+			}
+
+			long hold = a[i];
+			int j = i;
+			int k = p[i];
+			while (k != i)
+			{
+				a[j] = a[k];
+				p[j] = ~k;
+				j = k;
+				k = p[k];
+			}
+			a[j] = hold;
+			p[j] = ~i;
+		}
+
+		unmark(p);
+	}
+
+	/**
+	 * Applies a valid permutation to an array of {@code float}, following
+	 * its cycles. Every position is marked in {@code p} once it has been
+	 * filled, and the marks are removed at the end.
+	 */
+	private static void permute(int[] p, float[] a)
+	{
+		for (int i = 0; i < p.length; i++)
+		{
+			if (p[i] < 0)
+			{
+				continue;
+			}
+
+			float hold = a[i];
+			int j = i;
+			int k = p[i];
+			while (k != i)
+			{
+				a[j] = a[k];
+				p[j] = ~k;
+				j = k;
+				k = p[k];
+			}
+			a[j] = hold;
+			p[j] = ~i;
+		}
+
+		unmark(p);
+	}
+
+	/**
+	 * Applies a valid permutation to an array of {@code double}, following
+	 * its cycles. Every position is marked in {@code p} once it has been
+	 * filled, and the marks are removed at the end.
+	 */
+	private static void permute(int[] p, double[] a)
+	{
+		for (int i = 0; i < p.length; i++)
+		{
+			if (p[i] < 0)
+			{
+				continue;
+			}
+
+			double hold = a[i];
+			int j = i;
+			int k = p[i];
+			while (k != i)
+			{
+				a[j] = a[k];
+				p[j] = ~k;
+				j = k;
+				k = p[k];
+			}
+			a[j] = hold;
+			p[j] = ~i;
+		}
+
+		unmark(p);
+	}
+
+	/**
+	 * Applies a valid permutation to an array of {@code byte}, following
+	 * its cycles. Every position is marked in {@code p} once it has been
+	 * filled, and the marks are removed at the end.
+	 */
+	private static void permute(int[] p, byte[] a)
+	{
+		for (int i = 0; i < p.length; i++)
+		{
+			if (p[i] < 0)
+			{
+				continue;
+			}
+
+			byte hold = a[i];
+			int j = i;
+			int k = p[i];
+			while (k != i)
+			{
+				a[j] = a[k];
+				p[j] = ~k;
+				j = k;
+				k = p[k];
+			}
+			a[j] = hold;
+			p[j] = ~i;
+		}
+
+		unmark(p);
+	}
+
+	/**
+	 * Applies a valid permutation to an array of {@code short}, following
+	 * its cycles. Every position is marked in {@code p} once it has been
+	 * filled, and the marks are removed at the end.
+	 */
+	private static void permute(int[] p, short[] a)
+	{
+		for (int i = 0; i < p.length; i++)
+		{
+			if (p[i] < 0)
+			{
+				continue;
+			}
+
+			short hold = a[i];
+			int j = i;
+			int k = p[i];
+			while (k != i)
+			{
+				a[j] = a[k];
+				p[j] = ~k;
+				j = k;
+				k = p[k];
+			}
+			a[j] = hold;
+			p[j] = ~i;
+		}
+
+		unmark(p);
+	}
+
+	/**
+	 * Applies a valid permutation to an array of {@code char}, following
+	 * its cycles. Every position is marked in {@code p} once it has been
+	 * filled, and the marks are removed at the end.
+	 */
+	private static void permute(int[] p, char[] a)
+	{
+		for (int i = 0; i < p.length; i++)
+		{
+			if (p[i] < 0)
+			{
+				continue;
+			}
+
+			char hold = a[i];
+			int j = i;
+			int k = p[i];
+			while (k != i)
+			{
+				a[j] = a[k];
+				p[j] = ~k;
+				j = k;
+				k = p[k];
+			}
+			a[j] = hold;
+			p[j] = ~i;
+		}
+
+		unmark(p);
+	}
+
+	/**
+	 * Applies a valid permutation to an array of {@code boolean}, following
+	 * its cycles. Every position is marked in {@code p} once it has been
+	 * filled, and the marks are removed at the end.
+	 */
+	private static void permute(int[] p, boolean[] a)
+	{
+		for (int i = 0; i < p.length; i++)
+		{
+			if (p[i] < 0)
+			{
+				continue;
+			}
+
+			boolean hold = a[i];
+			int j = i;
+			int k = p[i];
+			while (k != i)
+			{
+				a[j] = a[k];
+				p[j] = ~k;
+				j = k;
+				k = p[k];
+			}
+			a[j] = hold;
+			p[j] = ~i;
+		}
+
+		unmark(p);
+	}
+
 	/**
 	 * Copies an array to another array. The copy is shallow.
 	 *
@@ -477,4 +947,104 @@ public class SHArray
 		A[j] = tmp;
 	}
 
+	/**
+	 * Swaps two elements of an array of {@code int}.
+	 *
+	 * @param A
+	 *            The array which elements are to be swapped.
+	 * @param i
+	 *            The index of the first element to be swapped.
+	 * @param j
+	 *            The index of the second element to be swapped.
+	 * @throws IndexOutOfBoundsException
+	 *             When {@code i} or {@code j} are not valid.
+	 */
+	public static void swap(int[] A, int i, int j)
+	{
+		if (((i < 0) || (i >= A.length)) || ((j < 0) || (j >= A.length)))
+		{
+			throw new IndexOutOfBoundsException("The two indexes are not valid");
+		}
+
+		int tmp;
+		tmp = A[i];
+		A[i] = A[j];
+		A[j] = tmp;
+	}
+
+	/**
+	 * Swaps two elements of an array of {@code long}.
+	 *
+	 * @param A
+	 *            The array which elements are to be swapped.
+	 * @param i
+	 *            The index of the first element to be swapped.
+	 * @param j
+	 *            The index of the second element to be swapped.
+	 * @throws IndexOutOfBoundsException
+	 *             When {@code i} or {@code j} are not valid.
+	 */
+	public static void swap(long[] A, int i, int j)
+	{
+		if (((i < 0) || (i >= A.length)) || ((j < 0) || (j >= A.length)))
+		{
+			throw new IndexOutOfBoundsException("The two indexes are not valid");
+		}
+
+		long tmp;
+		tmp = A[i];
+		A[i] = A[j];
+		A[j] = tmp;
+	}
+
+	/**
+	 * Swaps two elements of an array of {@code float}.
+	 *
+	 * @param A
+	 *            The array which elements are to be swapped.
+	 * @param i
+	 *            The index of the first element to be swapped.
+	 * @param j
+	 *            The index of the second element to be swapped.
+	 * @throws IndexOutOfBoundsException
+	 *             When {@code i} or {@code j} are not valid.
+	 */
+	public static void swap(float[] A, int i, int j)
+	{
+		if (((i < 0) || (i >= A.length)) || ((j < 0) || (j >= A.length)))
+		{
+			throw new IndexOutOfBoundsException("The two indexes are not valid");
+		}
+
+		float tmp;
+		tmp = A[i];
+		A[i] = A[j];
+		A[j] = tmp;
+	}
+
+	/**
+	 * Swaps two elements of an array of {@code double}.
+	 *
+	 * @param A
+	 *            The array which elements are to be swapped.
+	 * @param i
+	 *            The index of the first element to be swapped.
+	 * @param j
+	 *            The index of the second element to be swapped.
+	 * @throws IndexOutOfBoundsException
+	 *             When {@code i} or {@code j} are not valid.
+	 */
+	public static void swap(double[] A, int i, int j)
+	{
+		if (((i < 0) || (i >= A.length)) || ((j < 0) || (j >= A.length)))
+		{
+			throw new IndexOutOfBoundsException("The two indexes are not valid");
+		}
+
+		double tmp;
+		tmp = A[i];
+		A[i] = A[j];
+		A[j] = tmp;
+	}
+
 }
@@ -1,8 +1,11 @@
 package shutils.data.visualization;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.function.Predicate;
 
+import shutils.sorting.MergeSort;
+
 /**
  * Basic implementation of a class that describes a table of data.
  *
@@ -247,6 +250,27 @@ public class DataTable<T>
 		headings = newHeadings;
 	}
 
+	/**
+	 * Sorts the rows of the data table. The sort is stable, so the rows can be
+	 * sorted on multiple keys by sorting them first on the least significant
+	 * key and last on the most significant one.
+	 *
+	 * @param c
+	 *            The comparator that defines the order of the rows.
+	 */
+	public void sortRows(Comparator<? super T[]> c)
+	{
+		@SuppressWarnings("unchecked")
+		T[][] rows = table.toArray((T[][]) new Object[table.size()][]);
+
+		MergeSort.mergeSort(rows, c);
+
+		for (int i = 0; i < rows.length; i++)
+		{
+			table.set(i, rows[i]);
+		}
+	}
+
 	/**
 	 * Returns the CSV String representation of the current table. If
 	 * {@code includeHeadings} is true the
@@ -0,0 +1,515 @@
+package shutils.search;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * This class finds all the occurrences of a set of patterns in a text, in a
+ * single pass, with the Aho-Corasick algorithm.
+ * <p>
+ * The patterns are stored in a trie, whose nodes are the states of an
+ * automaton: every state has a transition for every unit, to the longest
+ * prefix of a pattern which is a suffix of the text read so far, so the text
+ * is read one unit at a time, with a single load for every unit, whatever the
+ * number of patterns. The transitions are a table with an {@code int} for
+ * every state and every distinct unit of the patterns, and the units which
+ * are not in the patterns share a single column.
+ * <p>
+ * The texts can be char sequences, arrays of bytes and byte buffers, such as
+ * memory mapped files, which are read in place without copying them. The
+ * units of a text are its chars or its bytes, unsigned, so a byte matches the
+ * char with the same value, as in ISO-8859-1.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class AhoCorasick
+{
+	/**
+	 * The largest number of transitions, which is about the largest length of
+	 * an array.
+	 */
+	private static final int MAX_TRANSITIONS = Integer.MAX_VALUE - 8;
+
+	/**
+	 * Receives the occurrences of the patterns found by a search.
+	 */
+	public interface IMatchHandler
+	{
+		/**
+		 * Receives an occurrence of a pattern.
+		 *
+		 * @param pattern
+		 *            The position of the pattern in the set.
+		 * @param start
+		 *            The position of the first unit of the occurrence.
+		 * @return {@code true} to continue the search, {@code false} to stop
+		 *         it.
+		 */
+		public boolean onMatch(int pattern, int start);
+	}
+
+	/**
+	 * The column of the transitions of every unit; the units which are not in
+	 * the patterns, and those beyond the end of the array, use the column
+	 * {@code 0}.
+	 */
+	private final int[] columns;
+
+	/**
+	 * The number of columns of the transitions.
+	 */
+	private final int width;
+
+	/**
+	 * The transitions, by state and column. Every transition is the first
+	 * position of the row of its target, and it is complemented when the
+	 * target is the end of a pattern.
+	 */
+	private final int[] next;
+
+	/**
+	 * The last pattern which ends at every state, or {@code -1}.
+	 */
+	private final int[] output;
+
+	/**
+	 * The longest proper suffix of every state which is the end of a pattern,
+	 * or {@code -1}.
+	 */
+	private final int[] suffix;
+
+	/**
+	 * The previous pattern equal to every pattern, or {@code -1}.
+	 */
+	private final int[] same;
+
+	/**
+	 * The length of every pattern.
+	 */
+	private final int[] lengths;
+
+	/**
+	 * Builds the automaton of a set of patterns of chars.
+	 *
+	 * @param patterns
+	 *            The patterns to be found.
+	 * @throws IllegalArgumentException
+	 *             When a pattern is empty, or when the transitions of the
+	 *             patterns do not fit in an array.
+	 */
+	public AhoCorasick(CharSequence... patterns)
+	{
+		this(toChars(patterns));
+	}
+
+	/**
+	 * Builds the automaton of a set of patterns of bytes.
+	 *
+	 * @param patterns
+	 *            The patterns to be found.
+	 * @throws IllegalArgumentException
+	 *             When a pattern is empty, or when the transitions of the
+	 *             patterns do not fit in an array.
+	 */
+	public AhoCorasick(byte[]... patterns)
+	{
+		this(toChars(patterns));
+	}
+
+	/**
+	 * Builds the automaton of a set of patterns given by their units.
+	 */
+	private AhoCorasick(char[][] patterns)
+	{
+		// Every distinct unit of the patterns gets its own column
+		int max = 0xFF;
+		for (char[] pattern : patterns)
+		{
+			if (pattern.length == 0)
+			{
+				throw new IllegalArgumentException("The patterns must not be empty");
+			}
+			for (char c : pattern)
+			{
+				max = Math.max(max, c);
+			}
+		}
+		columns = new int[max + 1];
+		int w = 1;
+		for (char[] pattern : patterns)
+		{
+			for (char c : pattern)
+			{
+				if (columns[c] == 0)
+				{
+					columns[c] = w++;
+				}
+			}
+		}
+		width = w;
+
+		// The trie, whose missing children are 0, since no edge leads to the
+		// root. Its rows are limited so that every position of a transition
+		// fits in an int
+		int maxStates = MAX_TRANSITIONS / width;
+		int[] trie = new int[Math.min(16, maxStates) * width];
+		int[] out = new int[Math.min(16, maxStates)];
+		int states = 1;
+		out[0] = -1;
+
+		same = new int[patterns.length];
+		lengths = new int[patterns.length];
+		for (int p = 0; p < patterns.length; p++)
+		{
+			int s = 0;
+			for (char c : patterns[p])
+			{
+				int e = (s * width) + columns[c];
+				if (trie[e] == 0)
+				{
+					if (states == out.length)
+					{
+						if (states == maxStates)
+						{
+							throw new IllegalArgumentException("The patterns are too many");
+						}
+						int rows = (int) Math.min(2L * states, maxStates);
+						trie = Arrays.copyOf(trie, rows * width);
+						out = Arrays.copyOf(out, rows);
+					}
+					out[states] = -1;
+					trie[e] = states++;
+				}
+				s = trie[e];
+			}
+			same[p] = out[s];
+			out[s] = p;
+			lengths[p] = patterns[p].length;
+		}
+
+		// The failure of every state is the longest proper suffix which is in
+		// the trie, and the states are visited by depth, so the transitions of
+		// the failure are complete when they are copied
+		output = Arrays.copyOf(out, states);
+		suffix = new int[states];
+		int[] failure = new int[states];
+		int[] queue = new int[states];
+		int head = 0;
+		int tail = 0;
+
+		suffix[0] = -1;
+		for (int c = 0; c < width; c++)
+		{
+			int t = trie[c];
+			if (t != 0)
+			{
+				suffix[t] = -1;
+				queue[tail++] = t;
+			}
+		}
+		while (head < tail)
+		{
+			int s = queue[head++];
+			for (int c = 0; c < width; c++)
+			{
+				int t = trie[(s * width) + c];
+				int f = trie[(failure[s] * width) + c];
+				if (t == 0)
+				{
+					trie[(s * width) + c] = f;
+				} else
+				{
+					failure[t] = f;
+					suffix[t] = (output[f] >= 0) ? f : suffix[f];
+					queue[tail++] = t;
+				}
+			}
+		}
+
+		// There are at most maxStates states, so the size fits in an int
+		next = new int[states * width];
+		for (int e = 0; e < next.length; e++)
+		{
+			int t = trie[e];
+			next[e] = ((output[t] >= 0) || (suffix[t] >= 0)) ? ~(t * width) : (t * width);
+		}
+	}
+
+	/**
+	 * Returns the number of patterns.
+	 *
+	 * @return The number of patterns.
+	 */
+	public int patterns()
+	{
+		return lengths.length;
+	}
+
+	/**
+	 * Finds the first occurrence of any pattern in a text.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @return The position of the occurrence which ends first, or of the
+	 *         longest of them if several end at the same position. If none
+	 *         exists, the method returns {@code -1}.
+	 */
+	public int indexIn(CharSequence text)
+	{
+		int[] first = {-1};
+		forEachMatch(text, (p, start) -> {
+			first[0] = start;
+			return false;
+		});
+
+		return first[0];
+	}
+
+	/**
+	 * Finds the first occurrence of any pattern in an array of bytes.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @return The position of the occurrence which ends first, or of the
+	 *         longest of them if several end at the same position. If none
+	 *         exists, the method returns {@code -1}.
+	 */
+	public int indexIn(byte[] text)
+	{
+		int[] first = {-1};
+		forEachMatch(text, 0, text.length, (p, start) -> {
+			first[0] = start;
+			return false;
+		});
+
+		return first[0];
+	}
+
+	/**
+	 * Finds the first occurrence of any pattern between the position and the
+	 * limit of a buffer. The position of the buffer is not changed.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @return The index in the buffer of the occurrence which ends first, or
+	 *         of the longest of them if several end at the same index. If none
+	 *         exists, the method returns {@code -1}.
+	 */
+	public int indexIn(ByteBuffer text)
+	{
+		int[] first = {-1};
+		forEachMatch(text, (p, start) -> {
+			first[0] = start;
+			return false;
+		});
+
+		return first[0];
+	}
+
+	/**
+	 * Finds all the occurrences of the patterns in a text, which can overlap,
+	 * in the order of their end. The occurrences which end at the same
+	 * position are given from the longest.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @param handler
+	 *            The receiver of the occurrences.
+	 * @return The number of occurrences given to the handler.
+	 */
+	public int forEachMatch(CharSequence text, IMatchHandler handler)
+	{
+		int count = 0;
+		int s = 0;
+
+		for (int i = 0, n = text.length(); i < n; i++)
+		{
+			char c = text.charAt(i);
+			s = next[s + ((c < columns.length) ? columns[c] : 0)];
+			if (s < 0)
+			{
+				s = ~s;
+				int found = report(s / width, i, handler);
+				count += Math.abs(found);
+				if (found < 0)
+				{
+					break;
+				}
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Finds all the occurrences of the patterns in a range of an array of
+	 * bytes, which can overlap, in the order of their end. The occurrences
+	 * which end at the same position are given from the longest.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @param from
+	 *            The first position the occurrences can use.
+	 * @param to
+	 *            The position after the last one the occurrences can use.
+	 * @param handler
+	 *            The receiver of the occurrences.
+	 * @return The number of occurrences given to the handler.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the range is not in the array.
+	 */
+	public int forEachMatch(byte[] text, int from, int to, IMatchHandler handler)
+	{
+		if ((from < 0) || (to > text.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		int count = 0;
+		int s = 0;
+
+		for (int i = from; i < to; i++)
+		{
+			s = next[s + columns[text[i] & 0xFF]];
+			if (s < 0)
+			{
+				s = ~s;
+				int found = report(s / width, i, handler);
+				count += Math.abs(found);
+				if (found < 0)
+				{
+					break;
+				}
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Finds all the occurrences of the patterns between the position and the
+	 * limit of a buffer, which can overlap, in the order of their end. The
+	 * occurrences which end at the same index are given from the longest. The
+	 * position of the buffer is not changed.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @param handler
+	 *            The receiver of the occurrences, which are given their index
+	 *            in the buffer.
+	 * @return The number of occurrences given to the handler.
+	 */
+	public int forEachMatch(ByteBuffer text, IMatchHandler handler)
+	{
+		int count = 0;
+		int s = 0;
+
+		for (int i = text.position(), n = text.limit(); i < n; i++)
+		{
+			s = next[s + columns[text.get(i) & 0xFF]];
+			if (s < 0)
+			{
+				s = ~s;
+				int found = report(s / width, i, handler);
+				count += Math.abs(found);
+				if (found < 0)
+				{
+					break;
+				}
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Counts all the occurrences of the patterns in a text, which can overlap.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @return The number of occurrences.
+	 */
+	public int count(CharSequence text)
+	{
+		return forEachMatch(text, (p, start) -> true);
+	}
+
+	/**
+	 * Counts all the occurrences of the patterns in an array of bytes, which
+	 * can overlap.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @return The number of occurrences.
+	 */
+	public int count(byte[] text)
+	{
+		return forEachMatch(text, 0, text.length, (p, start) -> true);
+	}
+
+	/**
+	 * Counts all the occurrences of the patterns between the position and the
+	 * limit of a buffer, which can overlap.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @return The number of occurrences.
+	 */
+	public int count(ByteBuffer text)
+	{
+		return forEachMatch(text, (p, start) -> true);
+	}
+
+	/**
+	 * Gives the handler all the patterns which end at a state, from the
+	 * longest, with the position of the last unit of the text read. Returns
+	 * the number of patterns given, negated if the handler stopped the search.
+	 */
+	private int report(int state, int end, IMatchHandler handler)
+	{
+		int count = 0;
+
+		for (int s = (output[state] >= 0) ? state : suffix[state]; s >= 0; s = suffix[s])
+		{
+			for (int p = output[s]; p >= 0; p = same[p])
+			{
+				count++;
+				if (!handler.onMatch(p, end - lengths[p] + 1))
+				{
+					return -count;
+				}
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the units of patterns of chars.
+	 */
+	private static char[][] toChars(CharSequence[] patterns)
+	{
+		char[][] units = new char[patterns.length][];
+		for (int p = 0; p < patterns.length; p++)
+		{
+			units[p] = patterns[p].toString().toCharArray();
+		}
+
+		return units;
+	}
+
+	/**
+	 * Returns the units of patterns of bytes, unsigned.
+	 */
+	private static char[][] toChars(byte[][] patterns)
+	{
+		char[][] units = new char[patterns.length][];
+		for (int p = 0; p < patterns.length; p++)
+		{
+			units[p] = Horspool.toChars(patterns[p]);
+		}
+
+		return units;
+	}
+}
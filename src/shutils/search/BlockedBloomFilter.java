@@ -0,0 +1,229 @@
+package shutils.search;
+
+import java.nio.ByteBuffer;
+import java.util.stream.LongStream;
+
+/**
+ * This class is a Bloom filter of {@code long} keys whose bits are split in
+ * blocks of the size of a cache line.
+ * <p>
+ * A classic Bloom filter sets several bits spread over the whole filter for
+ * every key, so every check costs several cache misses. This filter chooses
+ * instead one block of 512 bits for every key, and sets one bit in each of
+ * its 8 words, so a check costs a single cache miss and no branch. The bits
+ * are less evenly spread, so the false positive rate is a bit higher than
+ * the one of a classic filter of the same size: about 1% with the default 10
+ * bits per key, and about 0.1% with 16.
+ * <p>
+ * The keys can be added at any time, but not removed: {@link CuckooFilter}
+ * supports the removals, and {@link XorFilter} is smaller when the keys are
+ * known in advance.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class BlockedBloomFilter implements ILongFilter
+{
+	/**
+	 * The number of bits for every key, when it is not given to the
+	 * constructor.
+	 */
+	public static final int DEFAULT_BITS_PER_KEY = 10;
+
+	/**
+	 * The number of words of a block, which fill a cache line.
+	 */
+	private static final int BLOCK_WORDS = 8;
+
+	/**
+	 * The first byte of the compact form.
+	 */
+	private static final byte TAG = 'B';
+
+	/**
+	 * The size of the compact form before the words.
+	 */
+	private static final int HEADER = 5;
+
+	/**
+	 * The bits of the filter, by block.
+	 */
+	private final long[] words;
+
+	/**
+	 * The number of blocks.
+	 */
+	private final int blocks;
+
+	/**
+	 * Builds an empty filter for the given number of keys, with the default
+	 * number of bits for every key.
+	 *
+	 * @param expectedKeys
+	 *            The number of keys which will be added.
+	 * @throws IllegalArgumentException
+	 *             When {@code expectedKeys < 0}, or the filter would be too
+	 *             large.
+	 */
+	public BlockedBloomFilter(int expectedKeys)
+	{
+		this(expectedKeys, DEFAULT_BITS_PER_KEY);
+	}
+
+	/**
+	 * Builds an empty filter for the given number of keys. More bits for every
+	 * key give a lower false positive rate.
+	 *
+	 * @param expectedKeys
+	 *            The number of keys which will be added.
+	 * @param bitsPerKey
+	 *            The number of bits of the filter for every key.
+	 * @throws IllegalArgumentException
+	 *             When {@code expectedKeys < 0}, {@code bitsPerKey < 1}, or
+	 *             the filter would be too large.
+	 */
+	public BlockedBloomFilter(int expectedKeys, int bitsPerKey)
+	{
+		if ((expectedKeys < 0) || (bitsPerKey < 1))
+		{
+			throw new IllegalArgumentException("The size of the filter must be positive");
+		}
+
+		long bits = Math.max(1, (long) expectedKeys * bitsPerKey);
+		long n = (bits + (64 * BLOCK_WORDS) - 1) / (64 * BLOCK_WORDS);
+		if ((n * BLOCK_WORDS * Long.BYTES) > (Integer.MAX_VALUE - HEADER))
+		{
+			throw new IllegalArgumentException("The filter is too large");
+		}
+
+		blocks = (int) n;
+		words = new long[blocks * BLOCK_WORDS];
+	}
+
+	/**
+	 * Builds a filter from its words.
+	 */
+	private BlockedBloomFilter(long[] words)
+	{
+		this.words = words;
+		blocks = words.length / BLOCK_WORDS;
+	}
+
+	/**
+	 * Builds a filter which contains the given keys, with the default number
+	 * of bits for every key.
+	 *
+	 * @param keys
+	 *            The keys of the filter.
+	 * @return The filter.
+	 */
+	public static BlockedBloomFilter of(long[] keys)
+	{
+		BlockedBloomFilter filter = new BlockedBloomFilter(keys.length);
+		for (long key : keys)
+		{
+			filter.add(key);
+		}
+
+		return filter;
+	}
+
+	/**
+	 * Builds a filter which contains the given keys, with the default number
+	 * of bits for every key.
+	 *
+	 * @param keys
+	 *            The keys of the filter.
+	 * @return The filter.
+	 */
+	public static BlockedBloomFilter of(LongStream keys)
+	{
+		return of(keys.toArray());
+	}
+
+	/**
+	 * Reads a filter from its compact form.
+	 *
+	 * @param bytes
+	 *            The bytes returned by {@link #toBytes()}.
+	 * @return The filter.
+	 * @throws IllegalArgumentException
+	 *             When the bytes are not the compact form of a
+	 *             {@code BlockedBloomFilter}.
+	 */
+	public static BlockedBloomFilter fromBytes(byte[] bytes)
+	{
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		long n = (bytes.length >= HEADER) ? buffer.getInt(1) : 0;
+		if ((n < 1) || (bytes[0] != TAG) || ((n * BLOCK_WORDS * Long.BYTES) != (bytes.length - HEADER)))
+		{
+			throw new IllegalArgumentException("The bytes are not a BlockedBloomFilter");
+		}
+
+		long[] words = new long[(int) n * BLOCK_WORDS];
+		buffer.position(HEADER);
+		buffer.asLongBuffer().get(words);
+
+		return new BlockedBloomFilter(words);
+	}
+
+	/**
+	 * Adds a key to the filter.
+	 *
+	 * @param key
+	 *            The key to be added.
+	 */
+	public void add(long key)
+	{
+		long h = Filters.mix(key, 0);
+		int base = block(h);
+		long bits = Filters.mix(h, 0);
+
+		for (int w = 0; w < BLOCK_WORDS; w++)
+		{
+			words[base + w] |= 1L << (bits >>> (6 * w));
+		}
+	}
+
+	@Override
+	public boolean mightContain(long key)
+	{
+		long h = Filters.mix(key, 0);
+		int base = block(h);
+		long bits = Filters.mix(h, 0);
+
+		// The shifts only use the lowest 6 bits of their distance, so every
+		// word is tested on its own 6 bits of the hash
+		long all = 1;
+		for (int w = 0; w < BLOCK_WORDS; w++)
+		{
+			all &= words[base + w] >>> (bits >>> (6 * w));
+		}
+
+		return (all & 1) != 0;
+	}
+
+	@Override
+	public byte[] toBytes()
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER + (words.length * Long.BYTES));
+		buffer.put(TAG).putInt(blocks);
+		buffer.asLongBuffer().put(words);
+
+		return buffer.array();
+	}
+
+	@Override
+	public long bitSize()
+	{
+		return 64L * words.length;
+	}
+
+	/**
+	 * Returns the position of the first word of the block of a hash.
+	 */
+	private int block(long h)
+	{
+		return Filters.reduce((int) (h >>> 32), blocks) * BLOCK_WORDS;
+	}
+}
@@ -0,0 +1,424 @@
+package shutils.search;
+
+import java.nio.ByteBuffer;
+import java.util.stream.LongStream;
+
+/**
+ * This class is a cuckoo filter of {@code long} keys, which supports the
+ * removal of the keys.
+ * <p>
+ * The filter stores a 16 bits fingerprint of every key in one of two buckets
+ * of 4 slots, the second of which is computed from the first one and the
+ * fingerprint, so a key can be moved between its buckets without knowing
+ * it. When both buckets are full, a fingerprint is evicted and moved to its
+ * other bucket, and so on, as in cuckoo hashing. A check reads the two
+ * buckets, so it costs at most two cache misses. The filter can be filled up
+ * to about 95% of its slots, which gives about 17 bits per key, and has a
+ * false positive rate of about 0.01%.
+ * <p>
+ * A key must be removed only if it was added, otherwise a key with the same
+ * fingerprint may be removed in its place. A key added several times is
+ * stored several times, and must be removed as many times.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class CuckooFilter implements ILongFilter
+{
+	/**
+	 * The number of slots of a bucket.
+	 */
+	private static final int BUCKET_SIZE = 4;
+
+	/**
+	 * The fraction of the slots which can be filled with a high probability.
+	 */
+	private static final double MAX_LOAD = 0.95;
+
+	/**
+	 * The maximum number of fingerprints moved to add a key.
+	 */
+	private static final int MAX_KICKS = 500;
+
+	/**
+	 * The first byte of the compact form.
+	 */
+	private static final byte TAG = 'C';
+
+	/**
+	 * The size of the compact form before the slots.
+	 */
+	private static final int HEADER = 15;
+
+	/**
+	 * The fingerprints of the keys, by bucket; {@code 0} is an empty slot.
+	 */
+	private final short[] slots;
+
+	/**
+	 * The number of buckets.
+	 */
+	private final int buckets;
+
+	/**
+	 * The number of keys of the filter.
+	 */
+	private int size;
+
+	/**
+	 * The fingerprint left without a slot by the last failed insertion, or
+	 * {@code 0}.
+	 */
+	private short victim;
+
+	/**
+	 * The bucket of {@link #victim}.
+	 */
+	private int victimBucket;
+
+	/**
+	 * The state of the generator which chooses the fingerprints to evict.
+	 */
+	private long random;
+
+	/**
+	 * Builds an empty filter which can hold the given number of keys.
+	 *
+	 * @param capacity
+	 *            The number of keys which will be added.
+	 * @throws IllegalArgumentException
+	 *             When {@code capacity < 0}, or the filter would be too large.
+	 */
+	public CuckooFilter(int capacity)
+	{
+		if (capacity < 0)
+		{
+			throw new IllegalArgumentException("The capacity must not be negative");
+		}
+
+		long n = Math.max(1, (long) Math.ceil(capacity / (BUCKET_SIZE * MAX_LOAD)));
+		if ((n * BUCKET_SIZE * Short.BYTES) > (Integer.MAX_VALUE - HEADER))
+		{
+			throw new IllegalArgumentException("The filter is too large");
+		}
+
+		buckets = (int) n;
+		slots = new short[buckets * BUCKET_SIZE];
+	}
+
+	/**
+	 * Builds a filter from its slots.
+	 */
+	private CuckooFilter(short[] slots, int size, short victim, int victimBucket)
+	{
+		this.slots = slots;
+		this.size = size;
+		this.victim = victim;
+		this.victimBucket = victimBucket;
+		buckets = slots.length / BUCKET_SIZE;
+	}
+
+	/**
+	 * Builds a filter which contains the given keys, each one once.
+	 *
+	 * @param keys
+	 *            The keys of the filter.
+	 * @return The filter.
+	 */
+	public static CuckooFilter of(long[] keys)
+	{
+		long[] distinct = Filters.distinct(keys);
+
+		// The insertions fail with a very low probability, and are retried in
+		// a larger filter
+		for (int capacity = distinct.length;; capacity = (int) Math.min(Integer.MAX_VALUE, 2L * capacity + 1))
+		{
+			CuckooFilter filter = new CuckooFilter(capacity);
+			int added = 0;
+			while ((added < distinct.length) && filter.add(distinct[added]))
+			{
+				added++;
+			}
+			if (added == distinct.length)
+			{
+				return filter;
+			}
+		}
+	}
+
+	/**
+	 * Builds a filter which contains the given keys, each one once.
+	 *
+	 * @param keys
+	 *            The keys of the filter.
+	 * @return The filter.
+	 */
+	public static CuckooFilter of(LongStream keys)
+	{
+		return of(keys.toArray());
+	}
+
+	/**
+	 * Reads a filter from its compact form.
+	 *
+	 * @param bytes
+	 *            The bytes returned by {@link #toBytes()}.
+	 * @return The filter.
+	 * @throws IllegalArgumentException
+	 *             When the bytes are not the compact form of a
+	 *             {@code CuckooFilter}.
+	 */
+	public static CuckooFilter fromBytes(byte[] bytes)
+	{
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		int n = (bytes.length >= HEADER) ? (bytes.length - HEADER) / (BUCKET_SIZE * Short.BYTES) : 0;
+		if ((n < 1) || (bytes[0] != TAG) || ((n * BUCKET_SIZE * Short.BYTES) != (bytes.length - HEADER)))
+		{
+			throw new IllegalArgumentException("The bytes are not a CuckooFilter");
+		}
+
+		buffer.position(1);
+		int size = buffer.getInt();
+		short victim = buffer.getShort();
+		int victimBucket = buffer.getInt();
+		if ((buffer.getInt() != n) || (size < 0) || (victimBucket < 0) || (victimBucket >= n))
+		{
+			throw new IllegalArgumentException("The bytes are not a CuckooFilter");
+		}
+
+		short[] slots = new short[n * BUCKET_SIZE];
+		buffer.asShortBuffer().get(slots);
+
+		return new CuckooFilter(slots, size, victim, victimBucket);
+	}
+
+	/**
+	 * Adds a key to the filter.
+	 *
+	 * @param key
+	 *            The key to be added.
+	 * @return {@code true} if the key was added, {@code false} if the filter
+	 *         is full.
+	 */
+	public boolean add(long key)
+	{
+		if (victim != 0)
+		{
+			return false;
+		}
+
+		long h = Filters.mix(key, 0);
+		insert(bucket(h), fingerprint(h));
+
+		return true;
+	}
+
+	/**
+	 * Removes a key from the filter.
+	 *
+	 * @param key
+	 *            The key to be removed, which must have been added.
+	 * @return {@code true} if the key was removed, {@code false} if it was not
+	 *         in the filter.
+	 */
+	public boolean remove(long key)
+	{
+		long h = Filters.mix(key, 0);
+		short f = fingerprint(h);
+		int b1 = bucket(h);
+		int b2 = alternate(b1, f);
+
+		if ((victim == f) && ((victimBucket == b1) || (victimBucket == b2)))
+		{
+			victim = 0;
+			size--;
+			return true;
+		}
+
+		if (delete(b1, f) || delete(b2, f))
+		{
+			size--;
+
+			// The slot just freed may take the fingerprint kept aside
+			if (victim != 0)
+			{
+				short v = victim;
+				victim = 0;
+				size--;
+				insert(victimBucket, v);
+			}
+			return true;
+		}
+
+		return false;
+	}
+
+	@Override
+	public boolean mightContain(long key)
+	{
+		long h = Filters.mix(key, 0);
+		short f = fingerprint(h);
+		int b1 = bucket(h);
+		int b2 = alternate(b1, f);
+
+		return contains(b1, f) || contains(b2, f)
+				|| ((victim == f) && ((victimBucket == b1) || (victimBucket == b2)));
+	}
+
+	@Override
+	public byte[] toBytes()
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER + (slots.length * Short.BYTES));
+		buffer.put(TAG).putInt(size).putShort(victim).putInt(victimBucket).putInt(buckets);
+		buffer.asShortBuffer().put(slots);
+
+		return buffer.array();
+	}
+
+	@Override
+	public long bitSize()
+	{
+		return 16L * slots.length;
+	}
+
+	/**
+	 * Returns the number of keys of the filter.
+	 *
+	 * @return The number of keys.
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns the number of slots of the filter, about 95% of which can be
+	 * filled.
+	 *
+	 * @return The number of slots.
+	 */
+	public int capacity()
+	{
+		return slots.length;
+	}
+
+	/**
+	 * Stores a fingerprint in one of its buckets. When both are full, evicts a
+	 * random fingerprint of a bucket and moves it to its other bucket, until
+	 * one of them finds a free slot; the last evicted fingerprint is kept
+	 * aside if there is none, so that no key is lost, and the filter is full.
+	 */
+	private void insert(int b, short f)
+	{
+		size++;
+		if (put(b, f) || put(alternate(b, f), f))
+		{
+			return;
+		}
+
+		b = ((next() & 1) == 0) ? b : alternate(b, f);
+		for (int k = 0; k < MAX_KICKS; k++)
+		{
+			int s = (b * BUCKET_SIZE) + (int) (next() & (BUCKET_SIZE - 1));
+			short evicted = slots[s];
+			slots[s] = f;
+			f = evicted;
+			b = alternate(b, f);
+
+			if (put(b, f))
+			{
+				return;
+			}
+		}
+
+		victim = f;
+		victimBucket = b;
+	}
+
+	/**
+	 * Stores a fingerprint in a free slot of a bucket, if there is one.
+	 */
+	private boolean put(int b, short f)
+	{
+		for (int s = b * BUCKET_SIZE; s < ((b + 1) * BUCKET_SIZE); s++)
+		{
+			if (slots[s] == 0)
+			{
+				slots[s] = f;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Empties a slot of a bucket which holds a fingerprint, if there is one.
+	 */
+	private boolean delete(int b, short f)
+	{
+		for (int s = b * BUCKET_SIZE; s < ((b + 1) * BUCKET_SIZE); s++)
+		{
+			if (slots[s] == f)
+			{
+				slots[s] = 0;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Tells if a bucket holds a fingerprint.
+	 */
+	private boolean contains(int b, short f)
+	{
+		int s = b * BUCKET_SIZE;
+
+		return (slots[s] == f) | (slots[s + 1] == f) | (slots[s + 2] == f) | (slots[s + 3] == f);
+	}
+
+	/**
+	 * Returns the first bucket of a hash.
+	 */
+	private int bucket(long h)
+	{
+		return Filters.reduce((int) h, buckets);
+	}
+
+	/**
+	 * Returns the other bucket of a fingerprint, which is also the first
+	 * bucket when it is given the other one: the difference from the hash of
+	 * the fingerprint works for any number of buckets, unlike a xor.
+	 */
+	private int alternate(int b, short f)
+	{
+		int d = Filters.reduce((int) Filters.mix(f, 0), buckets) - b;
+
+		return (d < 0) ? (d + buckets) : d;
+	}
+
+	/**
+	 * Returns the fingerprint of a hash, which is never {@code 0}.
+	 */
+	private static short fingerprint(long h)
+	{
+		short f = (short) (h >>> 48);
+
+		return (f != 0) ? f : 1;
+	}
+
+	/**
+	 * Returns the next value of the generator, a xorshift.
+	 */
+	private long next()
+	{
+		long x = (random == 0) ? 0x9E3779B97F4A7C15L : random;
+		x ^= x << 13;
+		x ^= x >>> 7;
+		x ^= x << 17;
+
+		return random = x;
+	}
+}
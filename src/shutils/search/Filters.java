@@ -0,0 +1,60 @@
+package shutils.search;
+
+import java.util.Arrays;
+
+/**
+ * The functions shared by the filters of {@code long} keys.
+ *
+ * @author Matteo Nardini
+ *
+ */
+final class Filters
+{
+	private Filters()
+	{
+	}
+
+	/**
+	 * Mixes a key with a seed, so that every bit of the result depends on all
+	 * the bits of both. This is the finalizer of SplitMix64, which is a
+	 * bijection for every seed, so distinct keys never collide.
+	 */
+	static long mix(long key, long seed)
+	{
+		long h = key + seed + 0x9E3779B97F4A7C15L;
+		h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+		h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+
+		return h ^ (h >>> 31);
+	}
+
+	/**
+	 * Maps 32 bits of a hash to {@code [0, n)}, with a multiplication instead
+	 * of a division.
+	 */
+	static int reduce(int hash, int n)
+	{
+		return (int) (((hash & 0xFFFFFFFFL) * n) >>> 32);
+	}
+
+	/**
+	 * Returns the distinct keys of an array, in ascending order. Sorting a
+	 * copy is several times faster than collecting the keys in a set.
+	 */
+	static long[] distinct(long[] keys)
+	{
+		long[] sorted = keys.clone();
+		Arrays.sort(sorted);
+
+		int n = 0;
+		for (int i = 0; i < sorted.length; i++)
+		{
+			if ((n == 0) || (sorted[i] != sorted[n - 1]))
+			{
+				sorted[n++] = sorted[i];
+			}
+		}
+
+		return (n == sorted.length) ? sorted : Arrays.copyOf(sorted, n);
+	}
+}
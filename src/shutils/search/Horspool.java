@@ -0,0 +1,308 @@
+package shutils.search;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class finds a pattern in a text with the Boyer-Moore-Horspool
+ * algorithm.
+ * <p>
+ * The pattern is compared with the text starting from its last unit, and
+ * when the units differ it is moved forward by the distance between the end
+ * of the pattern and the last occurrence in it of the unit of the text under
+ * its end, so on most texts only a fraction of the units is read, the more so
+ * the longer the pattern. The distances are computed once, when the pattern
+ * is given, so the same instance should be used for all the searches of a
+ * pattern.
+ * <p>
+ * The texts can be char sequences, arrays of bytes and byte buffers, such as
+ * memory mapped files, which are read in place without copying them. The
+ * units of a text are its chars or its bytes, unsigned, so a byte matches the
+ * char with the same value, as in ISO-8859-1.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class Horspool
+{
+	/**
+	 * The units of the pattern.
+	 */
+	private final char[] chars;
+
+	/**
+	 * The units of the pattern as bytes, or {@code null} if some of them are
+	 * not in {@code [0, 255]}, and so cannot be found in bytes.
+	 */
+	private final byte[] bytes;
+
+	/**
+	 * The distance the pattern is moved by, by the lowest 8 bits of the unit
+	 * of the text under its last unit. The units with the same lowest bits
+	 * share the shortest distance, which is safe for all of them.
+	 */
+	private final int[] shift = new int[256];
+
+	/**
+	 * Prepares the search of a pattern of chars.
+	 *
+	 * @param pattern
+	 *            The pattern to be found.
+	 * @throws IllegalArgumentException
+	 *             When the pattern is empty.
+	 */
+	public Horspool(CharSequence pattern)
+	{
+		this(pattern.toString().toCharArray());
+	}
+
+	/**
+	 * Prepares the search of a pattern of bytes.
+	 *
+	 * @param pattern
+	 *            The pattern to be found.
+	 * @throws IllegalArgumentException
+	 *             When the pattern is empty.
+	 */
+	public Horspool(byte[] pattern)
+	{
+		this(toChars(pattern));
+	}
+
+	/**
+	 * Prepares the search of a pattern given by its units.
+	 */
+	private Horspool(char[] units)
+	{
+		if (units.length == 0)
+		{
+			throw new IllegalArgumentException("The pattern must not be empty");
+		}
+
+		chars = units;
+		bytes = toBytes(units);
+
+		int last = units.length - 1;
+		for (int u = 0; u < shift.length; u++)
+		{
+			shift[u] = units.length;
+		}
+		for (int j = 0; j < last; j++)
+		{
+			shift[units[j] & 0xFF] = last - j;
+		}
+	}
+
+	/**
+	 * Returns the number of units of the pattern.
+	 *
+	 * @return The length of the pattern.
+	 */
+	public int length()
+	{
+		return chars.length;
+	}
+
+	/**
+	 * Finds the first occurrence of the pattern in a text.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @return The position of the first occurrence. If it doesn't exist, the
+	 *         method returns {@code -1}.
+	 */
+	public int indexIn(CharSequence text)
+	{
+		return indexIn(text, 0);
+	}
+
+	/**
+	 * Finds the first occurrence of the pattern in a text, starting from a
+	 * position.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @param from
+	 *            The first position where the occurrence can start.
+	 * @return The position of the first occurrence which starts at
+	 *         {@code from} or after. If it doesn't exist, the method returns
+	 *         {@code -1}.
+	 */
+	public int indexIn(CharSequence text, int from)
+	{
+		int last = chars.length - 1;
+		char c0 = chars[last];
+
+		for (int i = Math.max(0, from), end = text.length() - chars.length; i <= end;)
+		{
+			char c = text.charAt(i + last);
+			if (c == c0)
+			{
+				int j = 0;
+				while ((j < last) && (text.charAt(i + j) == chars[j]))
+				{
+					j++;
+				}
+				if (j == last)
+				{
+					return i;
+				}
+			}
+			i += shift[c & 0xFF];
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Finds the first occurrence of the pattern in an array of bytes.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @return The position of the first occurrence. If it doesn't exist, the
+	 *         method returns {@code -1}.
+	 */
+	public int indexIn(byte[] text)
+	{
+		return indexIn(text, 0, text.length);
+	}
+
+	/**
+	 * Finds the first occurrence of the pattern in a range of an array of
+	 * bytes.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @param from
+	 *            The first position where the occurrence can start.
+	 * @param to
+	 *            The position after the last one the occurrence can use.
+	 * @return The position of the first occurrence in the range. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code to} is larger than the length of the array.
+	 */
+	public int indexIn(byte[] text, int from, int to)
+	{
+		if (to > text.length)
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+		if (bytes == null)
+		{
+			return -1;
+		}
+
+		int last = bytes.length - 1;
+		byte b0 = bytes[last];
+
+		for (int i = Math.max(0, from), end = to - bytes.length; i <= end;)
+		{
+			byte b = text[i + last];
+			if (b == b0)
+			{
+				int j = 0;
+				while ((j < last) && (text[i + j] == bytes[j]))
+				{
+					j++;
+				}
+				if (j == last)
+				{
+					return i;
+				}
+			}
+			i += shift[b & 0xFF];
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Finds the first occurrence of the pattern between the position and the
+	 * limit of a buffer. The position of the buffer is not changed.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @return The index in the buffer of the first occurrence. If it doesn't
+	 *         exist, the method returns {@code -1}.
+	 */
+	public int indexIn(ByteBuffer text)
+	{
+		return indexIn(text, text.position());
+	}
+
+	/**
+	 * Finds the first occurrence of the pattern in a buffer, starting from an
+	 * index and up to its limit. The position of the buffer is not changed.
+	 *
+	 * @param text
+	 *            The text to be searched.
+	 * @param from
+	 *            The first index where the occurrence can start.
+	 * @return The index in the buffer of the first occurrence which starts at
+	 *         {@code from} or after. If it doesn't exist, the method returns
+	 *         {@code -1}.
+	 */
+	public int indexIn(ByteBuffer text, int from)
+	{
+		if (bytes == null)
+		{
+			return -1;
+		}
+
+		int last = bytes.length - 1;
+		byte b0 = bytes[last];
+
+		for (int i = Math.max(0, from), end = text.limit() - bytes.length; i <= end;)
+		{
+			byte b = text.get(i + last);
+			if (b == b0)
+			{
+				int j = 0;
+				while ((j < last) && (text.get(i + j) == bytes[j]))
+				{
+					j++;
+				}
+				if (j == last)
+				{
+					return i;
+				}
+			}
+			i += shift[b & 0xFF];
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns the units of a pattern of bytes, unsigned.
+	 */
+	static char[] toChars(byte[] pattern)
+	{
+		char[] units = new char[pattern.length];
+		for (int j = 0; j < pattern.length; j++)
+		{
+			units[j] = (char) (pattern[j] & 0xFF);
+		}
+
+		return units;
+	}
+
+	/**
+	 * Returns the units of a pattern as bytes, or {@code null} if some of
+	 * them are not in {@code [0, 255]}.
+	 */
+	private static byte[] toBytes(char[] units)
+	{
+		byte[] pattern = new byte[units.length];
+		for (int j = 0; j < units.length; j++)
+		{
+			if (units[j] > 0xFF)
+			{
+				return null;
+			}
+			pattern[j] = (byte) units[j];
+		}
+
+		return pattern;
+	}
+}
@@ -0,0 +1,48 @@
+package shutils.search;
+
+/**
+ * Describes an approximate set of {@code long} keys, which answers whether a
+ * key might be in the set. A key which was added is always found, while a key
+ * which was not added is found only with a small probability, the false
+ * positive rate of the filter.
+ * <p>
+ * A filter is much smaller than the keys, and a check costs one or two cache
+ * misses, so it can reject most of the misses before an exact search:
+ *
+ * <pre>
+ * if (filter.mightContain(q))
+ * {
+ * 	p = Search.binarySearch(A, q);
+ * }
+ * </pre>
+ *
+ * @author Matteo Nardini
+ *
+ */
+public interface ILongFilter
+{
+	/**
+	 * Tells if a key might be in the set.
+	 *
+	 * @param key
+	 *            The key to be checked.
+	 * @return {@code false} if the key is certainly not in the set,
+	 *         {@code true} if it is in the set or it is a false positive.
+	 */
+	public boolean mightContain(long key);
+
+	/**
+	 * Returns the compact form of the filter, which can be read back by the
+	 * {@code fromBytes} method of its class.
+	 *
+	 * @return The bytes of the filter.
+	 */
+	public byte[] toBytes();
+
+	/**
+	 * Returns the number of bits of the filter.
+	 *
+	 * @return The number of bits.
+	 */
+	public long bitSize();
+}
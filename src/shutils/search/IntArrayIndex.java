@@ -0,0 +1,346 @@
+package shutils.search;
+
+/**
+ * This class answers the searches for the values of an unsorted array of
+ * {@code int} in constant time, instead of the linear time of
+ * {@code Search.linearSearch}, when the same array is searched many times.
+ * <p>
+ * The index is a hash table with open addressing and linear probing, built in
+ * a single pass over the array, which maps every distinct value to the first
+ * of its positions and to their number. All the positions of a value are
+ * linked in ascending order through an array with an {@code int} for every
+ * element, so the index takes 4 bytes per element and a few tens of bytes
+ * per distinct value. The values are stored without boxing.
+ * <p>
+ * The array is not copied: it must be modified only through
+ * {@link #set(int, int)}, which updates the index in the time needed to
+ * walk the positions of the old and of the new value.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class IntArrayIndex
+{
+	/**
+	 * The initial number of slots of the table.
+	 */
+	private static final int MIN_CAPACITY = 16;
+
+	/**
+	 * The multiplier of the Fibonacci hashing, which spreads the bits of the
+	 * values over the highest ones.
+	 */
+	private static final int GOLDEN = 0x9E3779B9;
+
+	/**
+	 * The indexed array.
+	 */
+	private final int[] array;
+
+	/**
+	 * The next position of the same value of every position, or {@code -1}.
+	 */
+	private final int[] next;
+
+	/**
+	 * The distinct value of every slot of the table.
+	 */
+	private int[] values;
+
+	/**
+	 * The first position of the value of every slot, or {@code -1} when the
+	 * slot is empty.
+	 */
+	private int[] heads;
+
+	/**
+	 * The number of positions of the value of every slot.
+	 */
+	private int[] counts;
+
+	/**
+	 * The number of bits the hash is shifted by, so that the highest bits
+	 * address the slots.
+	 */
+	private int shift;
+
+	/**
+	 * The number of distinct values.
+	 */
+	private int distinct;
+
+	/**
+	 * Builds the index of an array of {@code int}.
+	 *
+	 * @param A
+	 *            The array to be indexed.
+	 */
+	public IntArrayIndex(int[] A)
+	{
+		array = A;
+		next = new int[array.length];
+		allocate(MIN_CAPACITY);
+
+		// Every position is the new head of its list, so the lists are sorted
+		for (int i = array.length - 1; i >= 0; i--)
+		{
+			insert(i);
+		}
+	}
+
+	/**
+	 * Returns the number of elements of the array.
+	 *
+	 * @return The number of elements.
+	 */
+	public int size()
+	{
+		return array.length;
+	}
+
+	/**
+	 * Returns the number of distinct values of the array.
+	 *
+	 * @return The number of distinct values.
+	 */
+	public int distinct()
+	{
+		return distinct;
+	}
+
+	/**
+	 * Finds an element in the array.
+	 *
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public int indexOf(int q)
+	{
+		return heads[find(q)];
+	}
+
+	/**
+	 * Tells if the array contains an element.
+	 *
+	 * @param q
+	 *            The value to be found.
+	 * @return {@code true} if an element is equal to {@code q}.
+	 */
+	public boolean contains(int q)
+	{
+		return indexOf(q) >= 0;
+	}
+
+	/**
+	 * Counts the elements of the array which are equal to a value.
+	 *
+	 * @param q
+	 *            The value to be counted.
+	 * @return The number of elements equal to {@code q}.
+	 */
+	public int count(int q)
+	{
+		int s = find(q);
+
+		return (heads[s] >= 0) ? counts[s] : 0;
+	}
+
+	/**
+	 * Finds all the elements of the array which are equal to a value.
+	 *
+	 * @param q
+	 *            The value to be found.
+	 * @return The positions of the elements equal to {@code q}, in ascending
+	 *         order.
+	 */
+	public int[] positions(int q)
+	{
+		int s = find(q);
+		int[] P = new int[(heads[s] >= 0) ? counts[s] : 0];
+
+		for (int k = 0, p = heads[s]; p >= 0; k++, p = next[p])
+		{
+			P[k] = p;
+		}
+
+		return P;
+	}
+
+	/**
+	 * Replaces an element of the array, and updates the index.
+	 *
+	 * @param i
+	 *            The position of the element.
+	 * @param value
+	 *            The new value of the element.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code i} is not a position of the array.
+	 */
+	public void set(int i, int value)
+	{
+		if (array[i] == value)
+		{
+			return;
+		}
+
+		remove(i);
+		array[i] = value;
+		insert(i);
+	}
+
+	/**
+	 * Returns the slot of a value, or the empty slot where it would be
+	 * inserted.
+	 */
+	private int find(int q)
+	{
+		int mask = heads.length - 1;
+		int s = slot(q);
+
+		while ((heads[s] >= 0) && (values[s] != q))
+		{
+			s = (s + 1) & mask;
+		}
+
+		return s;
+	}
+
+	/**
+	 * Returns the slot where the search for a value starts.
+	 */
+	private int slot(int q)
+	{
+		return (q * GOLDEN) >>> shift;
+	}
+
+	/**
+	 * Adds a position to the list of its value, keeping it sorted.
+	 */
+	private void insert(int i)
+	{
+		int s = find(array[i]);
+
+		if (heads[s] < 0)
+		{
+			// The table is kept at most half full
+			if ((2 * (distinct + 1)) > heads.length)
+			{
+				rehash(2 * heads.length);
+				s = find(array[i]);
+			}
+			values[s] = array[i];
+			counts[s] = 0;
+			distinct++;
+		}
+
+		if ((heads[s] < 0) || (heads[s] > i))
+		{
+			next[i] = heads[s];
+			heads[s] = i;
+		} else
+		{
+			int p = heads[s];
+			while ((next[p] >= 0) && (next[p] < i))
+			{
+				p = next[p];
+			}
+			next[i] = next[p];
+			next[p] = i;
+		}
+		counts[s]++;
+	}
+
+	/**
+	 * Removes a position from the list of its value, and the value from the
+	 * table if it was its last position.
+	 */
+	private void remove(int i)
+	{
+		int s = find(array[i]);
+
+		if (heads[s] == i)
+		{
+			heads[s] = next[i];
+		} else
+		{
+			int p = heads[s];
+			while (next[p] != i)
+			{
+				p = next[p];
+			}
+			next[p] = next[i];
+		}
+
+		if (--counts[s] == 0)
+		{
+			delete(s);
+		}
+	}
+
+	/**
+	 * Empties a slot, moving back the values after it which would not be
+	 * found anymore, so that no probe sequence is broken.
+	 */
+	private void delete(int s)
+	{
+		int mask = heads.length - 1;
+		int hole = s;
+
+		for (int j = (s + 1) & mask; heads[j] >= 0; j = (j + 1) & mask)
+		{
+			// The value can fill the hole if the hole is between its first
+			// slot and its current one
+			if (((j - slot(values[j])) & mask) >= ((j - hole) & mask))
+			{
+				values[hole] = values[j];
+				heads[hole] = heads[j];
+				counts[hole] = counts[j];
+				hole = j;
+			}
+		}
+
+		heads[hole] = -1;
+		distinct--;
+	}
+
+	/**
+	 * Allocates an empty table with the given number of slots, which is a
+	 * power of two.
+	 */
+	private void allocate(int capacity)
+	{
+		values = new int[capacity];
+		heads = new int[capacity];
+		counts = new int[capacity];
+		shift = Integer.numberOfLeadingZeros(capacity) + 1;
+
+		for (int s = 0; s < capacity; s++)
+		{
+			heads[s] = -1;
+		}
+	}
+
+	/**
+	 * Moves all the values to a table with the given number of slots.
+	 */
+	private void rehash(int capacity)
+	{
+		int[] oldValues = values;
+		int[] oldHeads = heads;
+		int[] oldCounts = counts;
+
+		allocate(capacity);
+		for (int k = 0; k < oldHeads.length; k++)
+		{
+			if (oldHeads[k] >= 0)
+			{
+				int s = find(oldValues[k]);
+				values[s] = oldValues[k];
+				heads[s] = oldHeads[k];
+				counts[s] = oldCounts[k];
+			}
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package shutils.search;
+
+/**
+ * This class answers the searches on a sorted array of {@code long} values
+ * which is read much more often than it is modified, such as a lookup table.
+ * <p>
+ * A binary search on a large array jumps across the whole array at every
+ * step, so almost every step misses the cache and waits for the memory. This
+ * index keeps a copy of the array in the Eytzinger layout: the elements are
+ * stored in the order of a breadth-first visit of the implicit binary search
+ * tree, with the root at position 1 and the children of position {@code k} at
+ * positions {@code 2k} and {@code 2k + 1}. The first levels of the tree,
+ * which every search visits, share a few cache lines, and the descendants of
+ * a node some levels below it are contiguous: at every step the descent reads
+ * one of them, which works as the software prefetch that Java does not offer,
+ * so the memory is read a few levels ahead of the comparisons. The descent
+ * does not branch on the comparisons either: it always goes down to a leaf,
+ * and the position of the answer is recovered from the path with a bit
+ * trick.
+ * <p>
+ * The answers are positions in the original sorted array. Besides the copy of
+ * the elements, the index keeps one {@code int} per element to translate
+ * them.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class LongEytzingerIndex
+{
+	/**
+	 * The maximum number of elements of an index, so that the positions of
+	 * the layout visited by the descent do not overflow.
+	 */
+	public static final int MAX_SIZE = (1 << 30) - 1;
+
+	/**
+	 * The number of levels below the current node at which the descent loads
+	 * the data in advance. The nodes of that level below a node are
+	 * contiguous, and fill about a cache line.
+	 */
+	private static final int PREFETCH_LEVELS = 3;
+
+	/**
+	 * The number of elements.
+	 */
+	private final int n;
+
+	/**
+	 * The elements in Eytzinger layout, starting from position 1.
+	 */
+	private final long[] keys;
+
+	/**
+	 * The position in the sorted array of every element of {@link #keys}.
+	 */
+	private final int[] positions;
+
+	/**
+	 * Builds the index of a sorted array of {@code long}. The array is
+	 * copied, so it can be modified later.
+	 *
+	 * @param sorted
+	 *            The array to be indexed, sorted in ascending order.
+	 * @throws IllegalArgumentException
+	 *             When the array is not sorted, or it has more than
+	 *             {@link #MAX_SIZE} elements.
+	 */
+	public LongEytzingerIndex(long[] sorted)
+	{
+		if (sorted.length > MAX_SIZE)
+		{
+			throw new IllegalArgumentException("The array is too large");
+		}
+
+		n = sorted.length;
+		keys = new long[n + 1];
+		positions = new int[n + 1];
+
+		for (int i = 1; i < n; i++)
+		{
+			if (sorted[i] < sorted[i - 1])
+			{
+				throw new IllegalArgumentException("The array is not sorted");
+			}
+		}
+		build(sorted, 1, 0);
+	}
+
+	/**
+	 * Returns the number of elements of the index.
+	 *
+	 * @return The number of elements.
+	 */
+	public int size()
+	{
+		return n;
+	}
+
+	/**
+	 * Finds an element in the index.
+	 *
+	 * @param q
+	 *            The value to be found.
+	 * @return The position in the sorted array of the first element equal to
+	 *         {@code q}. If it doesn't exist, the method returns {@code -1}.
+	 */
+	public int indexOf(long q)
+	{
+		int k = descend(q);
+
+		return ((k != 0) && (keys[k] == q)) ? positions[k] : -1;
+	}
+
+	/**
+	 * Tells if the index contains an element.
+	 *
+	 * @param q
+	 *            The value to be found.
+	 * @return {@code true} if an element is equal to {@code q}.
+	 */
+	public boolean contains(long q)
+	{
+		return indexOf(q) >= 0;
+	}
+
+	/**
+	 * Finds the first element which is not lower than a value.
+	 *
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position in the sorted array of the first element which is
+	 *         not lower than {@code q}, or the number of elements if all of
+	 *         them are lower.
+	 */
+	public int lowerBound(long q)
+	{
+		int k = descend(q);
+
+		return (k != 0) ? positions[k] : n;
+	}
+
+	/**
+	 * Goes down the tree to a leaf, to the right of the elements lower than
+	 * {@code q}, and then climbs back to the last node where the path turned
+	 * left, which is the first element not lower than {@code q}.
+	 *
+	 * @return The position in the layout of that element, {@code 0} if all
+	 *         the elements are lower than {@code q}.
+	 */
+	private int descend(long q)
+	{
+		int k = 1;
+		int far = n >>> PREFETCH_LEVELS;
+		int prefetched = 0;
+
+		while (k <= n)
+		{
+			// Touches the descendants of k some levels below, so that their
+			// cache line is already loaded when the descent gets there
+			prefetched += (keys[Math.min(k, far) << PREFETCH_LEVELS] == 0) ? 1 : 0;
+			k = (2 * k) + ((keys[k] < q) ? 1 : 0);
+		}
+
+		// Removes the trailing right turns and the last left one
+		k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+
+		// Never true, it only keeps the JIT from dropping the loads above
+		return ((k < 0) && (prefetched < 0)) ? 0 : k;
+	}
+
+	/**
+	 * Copies the sorted elements in the subtree rooted at {@code k}, with an
+	 * in-order visit.
+	 *
+	 * @return The position of the next element to be copied.
+	 */
+	private int build(long[] sorted, int k, int i)
+	{
+		// The depth of the recursion is the height of the tree
+		if (k <= n)
+		{
+			i = build(sorted, 2 * k, i);
+			keys[k] = sorted[i];
+			positions[k] = i;
+			i = build(sorted, (2 * k) + 1, i + 1);
+		}
+
+		return i;
+	}
+}
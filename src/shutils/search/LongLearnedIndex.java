@@ -0,0 +1,385 @@
+package shutils.search;
+
+import java.util.Arrays;
+
+/**
+ * This class answers the searches on a large sorted array of {@code long}
+ * values which is only read, such as a table of keys or timestamps, with a
+ * learned index.
+ * <p>
+ * A binary search on a large array performs one dependent load for every
+ * halving of the range, and almost all of them miss the cache. The index
+ * learns instead the position of the keys as a function of their value: it
+ * splits the array in segments which are approximated by a line, so that the
+ * position of every key is predicted with an error of at most a few
+ * elements, and the search only has to look in a small window around the
+ * prediction. The first keys of the segments are indexed in the same way by
+ * another level of segments, and so on, until the segments are few enough to
+ * be searched directly, as in the PGM-index. A lookup costs a handful of
+ * small searches, one for every level, instead of a search over the whole
+ * array.
+ * <p>
+ * The segments are built in a single pass over the keys, each one as long as
+ * a line can stay within the error from all its keys, and the error is then
+ * measured again with the arithmetic used by the searches, so the results are
+ * always exact. Every segment takes 20 bytes, and on keys which are close to
+ * uniform there is a segment every few hundred keys, which makes the index
+ * much smaller than a B-tree.
+ * <p>
+ * The array is not copied: it must not be modified while the index is used.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class LongLearnedIndex
+{
+	/**
+	 * The maximum distance between the predicted position of a key of the
+	 * array and its actual position, when it is not given to the constructor.
+	 */
+	public static final int DEFAULT_ERROR = 16;
+
+	/**
+	 * The maximum distance between the predicted position of a key of a level
+	 * and its actual position, for the levels which index the segments. They
+	 * are small enough to be in the cache, so their window is smaller.
+	 */
+	private static final int LEVEL_ERROR = 8;
+
+	/**
+	 * The maximum number of segments of the top level, which is searched
+	 * directly.
+	 */
+	private static final int ROOT_SIZE = 64;
+
+	/**
+	 * The indexed array.
+	 */
+	private final long[] keys;
+
+	/**
+	 * The first key of every segment, by level: level {@code 0} predicts the
+	 * positions in {@link #keys}, and every other level predicts the
+	 * positions in the first keys of the level below.
+	 */
+	private final long[][] firstKeys;
+
+	/**
+	 * The slope of the line of every segment, by level.
+	 */
+	private final double[][] slopes;
+
+	/**
+	 * The position of the first key of every segment in the array below, by
+	 * level, followed by the length of that array.
+	 */
+	private final int[][] starts;
+
+	/**
+	 * The maximum error of the predictions of every level.
+	 */
+	private final int[] errors;
+
+	/**
+	 * Builds the index of a sorted array of {@code long}, with the default
+	 * error.
+	 *
+	 * @param sorted
+	 *            The array to be indexed, sorted in ascending order.
+	 * @throws IllegalArgumentException
+	 *             When the array is not sorted.
+	 */
+	public LongLearnedIndex(long[] sorted)
+	{
+		this(sorted, DEFAULT_ERROR);
+	}
+
+	/**
+	 * Builds the index of a sorted array of {@code long}. A larger error gives
+	 * less segments, so a smaller index, but a larger window to be searched
+	 * for every lookup.
+	 *
+	 * @param sorted
+	 *            The array to be indexed, sorted in ascending order.
+	 * @param error
+	 *            The maximum distance between the position of a key predicted
+	 *            by the segments and its actual position.
+	 * @throws IllegalArgumentException
+	 *             When the array is not sorted, or {@code error < 1}.
+	 */
+	public LongLearnedIndex(long[] sorted, int error)
+	{
+		if (error < 1)
+		{
+			throw new IllegalArgumentException("The error must be positive");
+		}
+
+		for (int i = 1; i < sorted.length; i++)
+		{
+			if (sorted[i] < sorted[i - 1])
+			{
+				throw new IllegalArgumentException("The array is not sorted");
+			}
+		}
+
+		keys = sorted;
+
+		long[][] levelKeys = new long[0][];
+		double[][] levelSlopes = new double[0][];
+		int[][] levelStarts = new int[0][];
+		int[] levelErrors = new int[0];
+
+		// Every level indexes the first keys of the one below, until they are
+		// few enough or a level does not reduce them
+		long[] below = sorted;
+		int e = error;
+		while (below.length > 0)
+		{
+			int level = levelKeys.length;
+			levelKeys = Arrays.copyOf(levelKeys, level + 1);
+			levelSlopes = Arrays.copyOf(levelSlopes, level + 1);
+			levelStarts = Arrays.copyOf(levelStarts, level + 1);
+			levelErrors = Arrays.copyOf(levelErrors, level + 1);
+
+			build(below, e, level, levelKeys, levelSlopes, levelStarts);
+			levelErrors[level] = measure(below, levelKeys[level], levelSlopes[level], levelStarts[level]);
+
+			int m = levelKeys[level].length;
+			if ((m <= ROOT_SIZE) || (m >= below.length))
+			{
+				break;
+			}
+			below = levelKeys[level];
+			e = LEVEL_ERROR;
+		}
+
+		firstKeys = levelKeys;
+		slopes = levelSlopes;
+		starts = levelStarts;
+		errors = levelErrors;
+	}
+
+	/**
+	 * Returns the number of elements of the index.
+	 *
+	 * @return The number of elements.
+	 */
+	public int size()
+	{
+		return keys.length;
+	}
+
+	/**
+	 * Returns the number of segments of all the levels of the index, each of
+	 * which takes 20 bytes.
+	 *
+	 * @return The number of segments.
+	 */
+	public int segments()
+	{
+		int count = 0;
+		for (long[] level : firstKeys)
+		{
+			count += level.length;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Finds an element in the index.
+	 *
+	 * @param q
+	 *            The value to be found.
+	 * @return The position in the sorted array of the first element equal to
+	 *         {@code q}. If it doesn't exist, the method returns {@code -1}.
+	 */
+	public int indexOf(long q)
+	{
+		int p = lowerBound(q);
+
+		return ((p < keys.length) && (keys[p] == q)) ? p : -1;
+	}
+
+	/**
+	 * Tells if the index contains an element.
+	 *
+	 * @param q
+	 *            The value to be found.
+	 * @return {@code true} if an element is equal to {@code q}.
+	 */
+	public boolean contains(long q)
+	{
+		return indexOf(q) >= 0;
+	}
+
+	/**
+	 * Finds the first element which is not lower than a value.
+	 *
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position in the sorted array of the first element which is
+	 *         not lower than {@code q}, or the number of elements if all of
+	 *         them are lower.
+	 */
+	public int lowerBound(long q)
+	{
+		if (keys.length == 0)
+		{
+			return 0;
+		}
+
+		// The segment of the top level is the last one which starts before q
+		int level = firstKeys.length - 1;
+		int s = Math.max(0, Search.upperBound(firstKeys[level], q) - 1);
+
+		while (level > 0)
+		{
+			long[] below = firstKeys[level - 1];
+			int p = search(below, level, s, q);
+
+			s = ((p < below.length) && (below[p] == q)) ? p : Math.max(0, p - 1);
+			level--;
+		}
+
+		return search(keys, 0, s, q);
+	}
+
+	/**
+	 * Finds the first element of {@code A} which is not lower than {@code q},
+	 * in the window around the position predicted by a segment of a level.
+	 */
+	private int search(long[] A, int level, int s, long q)
+	{
+		int p = predict(level, s, q);
+		int lo = Math.max(0, p - errors[level]);
+		int hi = Math.min(A.length, p + errors[level] + 1);
+
+		int found = Search.lowerBoundBetween(A, lo, hi - 1, q);
+
+		// Only the value after a long run of equal keys can be further than
+		// the error from its prediction
+		if ((found == hi) && (hi < A.length))
+		{
+			found = Search.lowerBoundBetween(A, hi, A.length - 1, q);
+		}
+
+		return found;
+	}
+
+	/**
+	 * Predicts the position of a value with a segment of a level, within the
+	 * positions covered by the segment.
+	 */
+	private int predict(int level, int s, long q)
+	{
+		int[] start = starts[level];
+		double dx = (double) q - firstKeys[level][s];
+		long p = start[s] + (long) (slopes[level][s] * dx);
+
+		return (int) Math.max(start[s], Math.min(p, start[s + 1]));
+	}
+
+	/**
+	 * Splits the sorted array in segments, each one as long as a line through
+	 * its first key stays within the given error from the position of the
+	 * first occurrence of all its keys, and stores them as a level.
+	 */
+	private static void build(long[] A, int error, int level, long[][] levelKeys, double[][] levelSlopes,
+			int[][] levelStarts)
+	{
+		long[] first = new long[16];
+		double[] slope = new double[16];
+		int[] start = new int[17];
+		int m = 0;
+
+		long x0 = 0;
+		int y0 = 0;
+		double low = 0;
+		double high = Double.POSITIVE_INFINITY;
+
+		for (int i = 0; i < A.length; i++)
+		{
+			if ((i > 0) && (A[i] == A[i - 1]))
+			{
+				continue;
+			}
+
+			if (m > 0)
+			{
+				// The slopes of the lines through the first key which are
+				// within the error from this key
+				double dx = (double) A[i] - x0;
+				double min = (dx > 0) ? ((double) (i - error - y0)) / dx : low;
+				double max = (dx > 0) ? ((double) (i + error - y0)) / dx : high;
+				boolean fits = (dx > 0) ? (Math.max(low, min) <= Math.min(high, max)) : ((i - y0) <= error);
+
+				if (fits)
+				{
+					low = Math.max(low, min);
+					high = Math.min(high, max);
+					continue;
+				}
+
+				slope[m - 1] = (high == Double.POSITIVE_INFINITY) ? 0 : (low + high) / 2;
+			}
+
+			// This key starts a new segment
+			if (m == first.length)
+			{
+				first = Arrays.copyOf(first, 2 * m);
+				slope = Arrays.copyOf(slope, 2 * m);
+				start = Arrays.copyOf(start, (2 * m) + 1);
+			}
+			first[m] = A[i];
+			start[m] = i;
+			m++;
+
+			x0 = A[i];
+			y0 = i;
+			low = 0;
+			high = Double.POSITIVE_INFINITY;
+		}
+
+		if (m > 0)
+		{
+			slope[m - 1] = (high == Double.POSITIVE_INFINITY) ? 0 : (low + high) / 2;
+		}
+		start[m] = A.length;
+
+		levelKeys[level] = Arrays.copyOf(first, m);
+		levelSlopes[level] = Arrays.copyOf(slope, m);
+		levelStarts[level] = Arrays.copyOf(start, m + 1);
+	}
+
+	/**
+	 * Measures the maximum error of the predictions of the segments of a
+	 * level, with the same arithmetic as {@link #predict}, so that the
+	 * rounding of the slopes cannot make a search miss its key.
+	 */
+	private static int measure(long[] A, long[] first, double[] slope, int[] start)
+	{
+		int error = 0;
+		int s = 0;
+
+		for (int i = 0; i < A.length; i++)
+		{
+			if ((i > 0) && (A[i] == A[i - 1]))
+			{
+				continue;
+			}
+			if (((s + 1) < first.length) && (start[s + 1] == i))
+			{
+				s++;
+			}
+
+			double dx = (double) A[i] - first[s];
+			long p = start[s] + (long) (slope[s] * dx);
+			p = Math.max(start[s], Math.min(p, start[s + 1]));
+
+			error = (int) Math.max(error, Math.abs(p - i));
+		}
+
+		return error;
+	}
+}
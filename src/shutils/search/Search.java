@@ -1,69 +1,3812 @@
 package shutils.search;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import shutils.array.Chunks;
+
 /**
  * This class contains some of the most frequently used search algorithms.
+ * <p>
+ * The linear searches compare every element with the value, and come in a
+ * generic version, which accepts {@code null} elements, and in a version
+ * for each of the {@code int}, {@code long}, {@code byte} and {@code char}
+ * primitive types; the one for {@code byte} compares eight elements at a
+ * time, packed in a {@code long}. The parallel versions of the linear
+ * searches scan parts of the array on all the cores, and give the same
+ * results.
+ * <p>
+ * The searches on sorted arrays come in a generic version, for
+ * {@code Comparable} elements or for an arbitrary {@code Comparator}, and in a
+ * version for each of the {@code int}, {@code long} and {@code double}
+ * primitive types. They are iterative and compare a single pair of elements
+ * for every halving of the range. While the range is small enough to be in
+ * the cache, the halving does not branch on the outcome of the comparison,
+ * which is turned into a mask, so the processor does not mispredict the path
+ * of the search; on larger ranges it branches, so that the processor can
+ * speculate and load the next elements before the comparison is done.
+ * <p>
+ * Besides the position of an element, {@code lowerBound}, {@code upperBound}
+ * and {@code equalRange} give the positions where a value would be inserted,
+ * so that the elements between two values are found with two searches.
+ * <p>
+ * When the values of a primitive array are close to uniformly distributed,
+ * {@code interpolationSearch} guesses the position of the value from the
+ * first and last element of the range instead of halving it, and finds it
+ * with about {@code log(log(n))} probes; it falls back to the binary search
+ * when the guesses do not pay off. {@code exponentialSearch} looks for the
+ * value from the start of the range with steps that double, so it costs
+ * {@code log(d)} comparisons when the value is {@code d} positions after the
+ * start, and {@code unboundedSearch} does the same on a sorted source whose
+ * length is not known.
+ * <p>
+ * {@code batchSearch} finds many values at once, overlapping the loads of
+ * several searches or merging the values with the array when they are
+ * sorted, and {@code parallelBatchSearch} also splits them among the cores.
+ *
  * @author Matteo Nardini
  *
  */
 public class Search
 {
 	/**
-	 * Finds an element in the array.
-	 * @param A The array to be searched.
-	 * @param q The value to be found.
-	 * @param <T> The type of data contained in the array {@code A}.
-	 * @return The position of the searched element in the array. If it doesn't exist, the method returns {@code -1}.
+	 * Ranges with more elements than this are not expected to be in the
+	 * cache, so their search branches on the comparisons until the range
+	 * shrinks to {@link #CACHE_LINE} elements.
+	 */
+	private static final int CACHED_RANGE = 1 << 16;
+
+	/**
+	 * The number of elements, of the smallest size, which fit in a cache line.
+	 */
+	private static final int CACHE_LINE = 16;
+
+	/**
+	 * The number of elements a parallel linear search scans before checking
+	 * if a match has already been found before them.
+	 */
+	private static final int CANCEL_BLOCK = 1 << 14;
+
+	/**
+	 * The minimum number of elements given to a single chunk of the
+	 * parallel searches.
+	 */
+	private static final int MIN_CHUNK = 1 << 12;
+
+	/**
+	 * The number of searches of a batch which are performed together.
+	 */
+	private static final int LANES = 16;
+
+	/**
+	 * Sorted queries are merged with the array when there is at least one of
+	 * them every this many elements of the array.
+	 */
+	private static final int MERGE_GAP = 128;
+
+	/**
+	 * Up to this many values, {@code indexOfAny} compares every element with
+	 * all of them; with more values it searches the element among them.
+	 */
+	private static final int ANY_LINEAR = 8;
+
+	/**
+	 * A word with the lowest bit of every byte set.
+	 */
+	private static final long BYTE_ONES = 0x0101010101010101L;
+
+	/**
+	 * A word with all the bits but the highest of every byte set.
+	 */
+	private static final long BYTE_LOWS = 0x7F7F7F7F7F7F7F7FL;
+
+	/**
+	 * Finds an element in the array. The elements, and the value to be
+	 * found, can be {@code null}.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @param <T>
+	 *            The type of data contained in the array {@code A}.
+	 * @return The position of the searched element in the array. If it doesn't
+	 *         exist, the method returns {@code -1}.
 	 */
 	public static <T> int linearSearch(T[] A, T q)
+	{
+		return firstBetween(A, 0, A.length, q);
+	}
+
+	/**
+	 * Finds the first element of the array which is equal to any of the given
+	 * values. The elements, and the values, can be {@code null}.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param values
+	 *            The values to be found, such as a {@code HashSet} when they
+	 *            are many.
+	 * @param <T>
+	 *            The type of data contained in the array {@code A}.
+	 * @return The position of the first element contained in {@code values}.
+	 *         If it doesn't exist, the method returns {@code -1}.
+	 */
+	public static <T> int indexOfAny(T[] A, Collection<?> values)
 	{
 		for (int i = 0; i < A.length; i++)
 		{
-			if (A[i].equals(q)) return i;
+			if (values.contains(A[i]))
+			{
+				return i;
+			}
 		}
-		
+
 		return -1;
 	}
-	
+
 	/**
-	 * Finds an element in a sorted array.
-	 * @param A The sorted array to be searched.
-	 * @param q The value to be found.
-	 * @param <T> The type of data contained in the array {@code A}.
-	 * @return The position of the searched element in the array. If it doesn't exist, the method returns {@code -1}.
+	 * Counts the elements of the array which are equal to a value. The
+	 * elements, and the value, can be {@code null}.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be counted.
+	 * @param <T>
+	 *            The type of data contained in the array {@code A}.
+	 * @return The number of elements equal to {@code q}.
 	 */
-	public static <T extends Comparable<T>> int binarySearch(T[] A, T q)
+	public static <T> int count(T[] A, T q)
 	{
-		// The array is sorted, I can perform a binarySearch
-		return binarySearchBetween(A, 0, A.length - 1, q);
+		return countBetween(A, 0, A.length, q);
 	}
 
 	/**
-	 * Performs a binary search on an array.	
-	 * @param A The array on which the search has to be performed.
-	 * @param i The lower index endpoint of the current search interval.
-	 * @param j The upper index endpoint of the current search interval.
-	 * @param q The object to be found.
-	 * @param <T> The type of data contained in the array {@code A}.
-	 * @return The position of the searched element in the array. If it doesn't exist, the method returns {@code -1}.
+	 * Finds the first element equal to {@code q} between the positions
+	 * {@code from} (inclusive) and {@code to} (exclusive), or {@code -1}.
 	 */
-	public static <T extends Comparable<T>> int binarySearchBetween(T[] A, int i, int j, T q)
+	private static <T> int firstBetween(T[] A, int from, int to, T q)
+	{
+		for (int i = from; i < to; i++)
+		{
+			if (Objects.equals(A[i], q))
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Counts the elements equal to {@code q} between the positions
+	 * {@code from} (inclusive) and {@code to} (exclusive).
+	 */
+	private static <T> int countBetween(T[] A, int from, int to, T q)
+	{
+		int count = 0;
+
+		for (int i = from; i < to; i++)
+		{
+			if (Objects.equals(A[i], q))
+			{
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Finds an element in the array, scanning parts of it in parallel on the
+	 * common fork/join pool. The result is the same as the one of
+	 * {@code linearSearch}: as soon as an element equal to {@code q} is
+	 * found, the parts after it stop, while the ones before it go on looking
+	 * for an earlier one.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @param <T>
+	 *            The type of data contained in the array {@code A}.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static <T> int parallelLinearSearch(T[] A, T q)
+	{
+		AtomicInteger first = new AtomicInteger(Integer.MAX_VALUE);
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+
+		Chunks.forEach(chunks, k -> {
+			int from = Chunks.start(A.length, chunks, k);
+			int to = Chunks.start(A.length, chunks, k + 1);
+
+			// A chunk stops when an element is found in it or before it
+			for (int l = from; (l < to) && (first.get() > from);)
+			{
+				int r = ((to - l) > CANCEL_BLOCK) ? l + CANCEL_BLOCK : to;
+				int p = firstBetween(A, l, r, q);
+				if (p >= 0)
+				{
+					first.accumulateAndGet(p, Math::min);
+					return;
+				}
+				l = r;
+			}
+		});
+
+		return (first.get() == Integer.MAX_VALUE) ? -1 : first.get();
+	}
+
+	/**
+	 * Finds all the elements of the array which are equal to a value, scanning
+	 * parts of it in parallel on the common fork/join pool.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @param <T>
+	 *            The type of data contained in the array {@code A}.
+	 * @return The positions of the elements equal to {@code q}, in ascending
+	 *         order.
+	 */
+	public static <T> int[] parallelFindAll(T[] A, T q)
+	{
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+		int[][] found = new int[chunks][];
+
+		Chunks.forEach(chunks, k -> {
+			int from = Chunks.start(A.length, chunks, k);
+			int to = Chunks.start(A.length, chunks, k + 1);
+			int[] P = new int[16];
+			int count = 0;
+
+			for (int i = from; i < to; i++)
+			{
+				if (Objects.equals(A[i], q))
+				{
+					if (count == P.length)
+					{
+						P = Arrays.copyOf(P, 2 * count);
+					}
+					P[count++] = i;
+				}
+			}
+			found[k] = Arrays.copyOf(P, count);
+		});
+
+		return concat(found);
+	}
+
+	/**
+	 * Counts the elements of the array which are equal to a value, scanning
+	 * parts of it in parallel on the common fork/join pool.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be counted.
+	 * @param <T>
+	 *            The type of data contained in the array {@code A}.
+	 * @return The number of elements equal to {@code q}.
+	 */
+	public static <T> int parallelCount(T[] A, T q)
+	{
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+		int[] counts = new int[chunks];
+
+		Chunks.forEach(chunks, k -> counts[k] = countBetween(A, Chunks.start(A.length, chunks, k),
+				Chunks.start(A.length, chunks, k + 1), q));
+
+		return IntStream.of(counts).sum();
+	}
+
+	/**
+	 * Finds an element in an array of {@code int}.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int linearSearch(int[] A, int q)
+	{
+		return firstBetween(A, 0, A.length, q);
+	}
+
+	/**
+	 * Finds the first element of an array of {@code int} which is equal to
+	 * any of the given values.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param values
+	 *            The values to be found.
+	 * @return The position of the first element equal to one of
+	 *         {@code values}. If it doesn't exist, the method returns
+	 *         {@code -1}.
+	 */
+	public static int indexOfAny(int[] A, int... values)
+	{
+		if (values.length <= ANY_LINEAR)
+		{
+			for (int i = 0; i < A.length; i++)
+			{
+				for (int v : values)
+				{
+					if (A[i] == v)
+					{
+						return i;
+					}
+				}
+			}
+		} else
+		{
+			int[] sorted = values.clone();
+			Arrays.sort(sorted);
+
+			for (int i = 0; i < A.length; i++)
+			{
+				if (Arrays.binarySearch(sorted, A[i]) >= 0)
+				{
+					return i;
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Counts the elements of an array of {@code int} which are equal to a
+	 * value.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be counted.
+	 * @return The number of elements equal to {@code q}.
+	 */
+	public static int count(int[] A, int q)
+	{
+		return countBetween(A, 0, A.length, q);
+	}
+
+	/**
+	 * Finds the first element equal to {@code q} between the positions
+	 * {@code from} (inclusive) and {@code to} (exclusive), or {@code -1}.
+	 */
+	private static int firstBetween(int[] A, int from, int to, int q)
+	{
+		for (int i = from; i < to; i++)
+		{
+			if (A[i] == q)
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Counts the elements equal to {@code q} between the positions
+	 * {@code from} (inclusive) and {@code to} (exclusive).
+	 */
+	private static int countBetween(int[] A, int from, int to, int q)
+	{
+		int count = 0;
+
+		for (int i = from; i < to; i++)
+		{
+			if (A[i] == q)
+			{
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Finds an element in an array of {@code int}, scanning parts of it in
+	 * parallel on the common fork/join pool. The result is the same as the one
+	 * of {@code linearSearch}: as soon as an element equal to {@code q} is
+	 * found, the parts after it stop, while the ones before it go on looking
+	 * for an earlier one.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int parallelLinearSearch(int[] A, int q)
+	{
+		AtomicInteger first = new AtomicInteger(Integer.MAX_VALUE);
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+
+		Chunks.forEach(chunks, k -> {
+			int from = Chunks.start(A.length, chunks, k);
+			int to = Chunks.start(A.length, chunks, k + 1);
+
+			// A chunk stops when an element is found in it or before it
+			for (int l = from; (l < to) && (first.get() > from);)
+			{
+				int r = ((to - l) > CANCEL_BLOCK) ? l + CANCEL_BLOCK : to;
+				int p = firstBetween(A, l, r, q);
+				if (p >= 0)
+				{
+					first.accumulateAndGet(p, Math::min);
+					return;
+				}
+				l = r;
+			}
+		});
+
+		return (first.get() == Integer.MAX_VALUE) ? -1 : first.get();
+	}
+
+	/**
+	 * Finds all the elements of an array of {@code int} which are equal to a
+	 * value, scanning parts of it in parallel on the common fork/join pool.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The positions of the elements equal to {@code q}, in ascending
+	 *         order.
+	 */
+	public static int[] parallelFindAll(int[] A, int q)
+	{
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+		int[][] found = new int[chunks][];
+
+		Chunks.forEach(chunks, k -> {
+			int from = Chunks.start(A.length, chunks, k);
+			int to = Chunks.start(A.length, chunks, k + 1);
+			int[] P = new int[16];
+			int count = 0;
+
+			for (int i = from; i < to; i++)
+			{
+				if (A[i] == q)
+				{
+					if (count == P.length)
+					{
+						P = Arrays.copyOf(P, 2 * count);
+					}
+					P[count++] = i;
+				}
+			}
+			found[k] = Arrays.copyOf(P, count);
+		});
+
+		return concat(found);
+	}
+
+	/**
+	 * Counts the elements of an array of {@code int} which are equal to a
+	 * value, scanning parts of it in parallel on the common fork/join pool.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be counted.
+	 * @return The number of elements equal to {@code q}.
+	 */
+	public static int parallelCount(int[] A, int q)
+	{
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+		int[] counts = new int[chunks];
+
+		Chunks.forEach(chunks, k -> counts[k] = countBetween(A, Chunks.start(A.length, chunks, k),
+				Chunks.start(A.length, chunks, k + 1), q));
+
+		return IntStream.of(counts).sum();
+	}
+
+	/**
+	 * Finds an element in an array of {@code long}.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int linearSearch(long[] A, long q)
+	{
+		return firstBetween(A, 0, A.length, q);
+	}
+
+	/**
+	 * Finds the first element of an array of {@code long} which is equal to
+	 * any of the given values.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param values
+	 *            The values to be found.
+	 * @return The position of the first element equal to one of
+	 *         {@code values}. If it doesn't exist, the method returns
+	 *         {@code -1}.
+	 */
+	public static int indexOfAny(long[] A, long... values)
+	{
+		if (values.length <= ANY_LINEAR)
+		{
+			for (int i = 0; i < A.length; i++)
+			{
+				for (long v : values)
+				{
+					if (A[i] == v)
+					{
+						return i;
+					}
+				}
+			}
+		} else
+		{
+			long[] sorted = values.clone();
+			Arrays.sort(sorted);
+
+			for (int i = 0; i < A.length; i++)
+			{
+				if (Arrays.binarySearch(sorted, A[i]) >= 0)
+				{
+					return i;
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Counts the elements of an array of {@code long} which are equal to a
+	 * value.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be counted.
+	 * @return The number of elements equal to {@code q}.
+	 */
+	public static int count(long[] A, long q)
+	{
+		return countBetween(A, 0, A.length, q);
+	}
+
+	/**
+	 * Finds the first element equal to {@code q} between the positions
+	 * {@code from} (inclusive) and {@code to} (exclusive), or {@code -1}.
+	 */
+	private static int firstBetween(long[] A, int from, int to, long q)
+	{
+		for (int i = from; i < to; i++)
+		{
+			if (A[i] == q)
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Counts the elements equal to {@code q} between the positions
+	 * {@code from} (inclusive) and {@code to} (exclusive).
+	 */
+	private static int countBetween(long[] A, int from, int to, long q)
+	{
+		int count = 0;
+
+		for (int i = from; i < to; i++)
+		{
+			if (A[i] == q)
+			{
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Finds an element in an array of {@code long}, scanning parts of it in
+	 * parallel on the common fork/join pool. The result is the same as the one
+	 * of {@code linearSearch}: as soon as an element equal to {@code q} is
+	 * found, the parts after it stop, while the ones before it go on looking
+	 * for an earlier one.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int parallelLinearSearch(long[] A, long q)
+	{
+		AtomicInteger first = new AtomicInteger(Integer.MAX_VALUE);
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+
+		Chunks.forEach(chunks, k -> {
+			int from = Chunks.start(A.length, chunks, k);
+			int to = Chunks.start(A.length, chunks, k + 1);
+
+			// A chunk stops when an element is found in it or before it
+			for (int l = from; (l < to) && (first.get() > from);)
+			{
+				int r = ((to - l) > CANCEL_BLOCK) ? l + CANCEL_BLOCK : to;
+				int p = firstBetween(A, l, r, q);
+				if (p >= 0)
+				{
+					first.accumulateAndGet(p, Math::min);
+					return;
+				}
+				l = r;
+			}
+		});
+
+		return (first.get() == Integer.MAX_VALUE) ? -1 : first.get();
+	}
+
+	/**
+	 * Finds all the elements of an array of {@code long} which are equal to a
+	 * value, scanning parts of it in parallel on the common fork/join pool.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The positions of the elements equal to {@code q}, in ascending
+	 *         order.
+	 */
+	public static int[] parallelFindAll(long[] A, long q)
+	{
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+		int[][] found = new int[chunks][];
+
+		Chunks.forEach(chunks, k -> {
+			int from = Chunks.start(A.length, chunks, k);
+			int to = Chunks.start(A.length, chunks, k + 1);
+			int[] P = new int[16];
+			int count = 0;
+
+			for (int i = from; i < to; i++)
+			{
+				if (A[i] == q)
+				{
+					if (count == P.length)
+					{
+						P = Arrays.copyOf(P, 2 * count);
+					}
+					P[count++] = i;
+				}
+			}
+			found[k] = Arrays.copyOf(P, count);
+		});
+
+		return concat(found);
+	}
+
+	/**
+	 * Counts the elements of an array of {@code long} which are equal to a
+	 * value, scanning parts of it in parallel on the common fork/join pool.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be counted.
+	 * @return The number of elements equal to {@code q}.
+	 */
+	public static int parallelCount(long[] A, long q)
+	{
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+		int[] counts = new int[chunks];
+
+		Chunks.forEach(chunks, k -> counts[k] = countBetween(A, Chunks.start(A.length, chunks, k),
+				Chunks.start(A.length, chunks, k + 1), q));
+
+		return IntStream.of(counts).sum();
+	}
+
+	/**
+	 * Finds an element in an array of {@code byte}.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int linearSearch(byte[] A, byte q)
+	{
+		return firstBetween(A, 0, A.length, q);
+	}
+
+	/**
+	 * Finds the first element of an array of {@code byte} which is equal to
+	 * any of the given values.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param values
+	 *            The values to be found.
+	 * @return The position of the first element equal to one of
+	 *         {@code values}. If it doesn't exist, the method returns
+	 *         {@code -1}.
+	 */
+	public static int indexOfAny(byte[] A, byte... values)
+	{
+		boolean[] found = new boolean[256];
+		for (byte v : values)
+		{
+			found[v & 0xFF] = true;
+		}
+
+		for (int i = 0; i < A.length; i++)
+		{
+			if (found[A[i] & 0xFF])
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Counts the elements of an array of {@code byte} which are equal to a
+	 * value.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be counted.
+	 * @return The number of elements equal to {@code q}.
+	 */
+	public static int count(byte[] A, byte q)
 	{
-		if (i > j) return -1;
-		
-		// Finds the middle element
-		int middle = (i + j) / 2;
-		
-		// If it is equal to q, then I found what was requested.
-		if (A[middle].compareTo(q) == 0) return middle;
-		
-		if (q.compareTo(A[middle]) < 0) //q < A 
-		{
-			// If the searched value is lower than A[middle], then I search
-			// in the left half of this subset of A
-			return binarySearchBetween(A, i, middle - 1, q);
-		}else{
-			//otherwise in its right half
-			return binarySearchBetween(A, middle + 1, j, q);	
+		return countBetween(A, 0, A.length, q);
+	}
+
+	/**
+	 * Finds the first element equal to {@code q} between the positions
+	 * {@code from} (inclusive) and {@code to} (exclusive), or {@code -1}.
+	 */
+	private static int firstBetween(byte[] A, int from, int to, byte q)
+	{
+		// Eight elements at a time are read as a long, in which the bytes
+		// equal to q become zero
+		ByteBuffer words = ByteBuffer.wrap(A).order(ByteOrder.LITTLE_ENDIAN);
+		long pattern = (q & 0xFFL) * BYTE_ONES;
+		int i = from;
+
+		for (; i <= (to - 8); i += 8)
+		{
+			long zeros = zeroBytes(words.getLong(i) ^ pattern);
+			if (zeros != 0)
+			{
+				return i + (Long.numberOfTrailingZeros(zeros) >>> 3);
+			}
+		}
+
+		for (; i < to; i++)
+		{
+			if (A[i] == q)
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Counts the elements equal to {@code q} between the positions
+	 * {@code from} (inclusive) and {@code to} (exclusive).
+	 */
+	private static int countBetween(byte[] A, int from, int to, byte q)
+	{
+		ByteBuffer words = ByteBuffer.wrap(A).order(ByteOrder.LITTLE_ENDIAN);
+		long pattern = (q & 0xFFL) * BYTE_ONES;
+		int count = 0;
+		int i = from;
+
+		for (; i <= (to - 8); i += 8)
+		{
+			count += Long.bitCount(zeroBytes(words.getLong(i) ^ pattern));
 		}
+
+		for (; i < to; i++)
+		{
+			if (A[i] == q)
+			{
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Finds an element in an array of {@code byte}, scanning parts of it in
+	 * parallel on the common fork/join pool. The result is the same as the one
+	 * of {@code linearSearch}: as soon as an element equal to {@code q} is
+	 * found, the parts after it stop, while the ones before it go on looking
+	 * for an earlier one.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int parallelLinearSearch(byte[] A, byte q)
+	{
+		AtomicInteger first = new AtomicInteger(Integer.MAX_VALUE);
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+
+		Chunks.forEach(chunks, k -> {
+			int from = Chunks.start(A.length, chunks, k);
+			int to = Chunks.start(A.length, chunks, k + 1);
+
+			// A chunk stops when an element is found in it or before it
+			for (int l = from; (l < to) && (first.get() > from);)
+			{
+				int r = ((to - l) > CANCEL_BLOCK) ? l + CANCEL_BLOCK : to;
+				int p = firstBetween(A, l, r, q);
+				if (p >= 0)
+				{
+					first.accumulateAndGet(p, Math::min);
+					return;
+				}
+				l = r;
+			}
+		});
+
+		return (first.get() == Integer.MAX_VALUE) ? -1 : first.get();
+	}
+
+	/**
+	 * Finds all the elements of an array of {@code byte} which are equal to a
+	 * value, scanning parts of it in parallel on the common fork/join pool.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The positions of the elements equal to {@code q}, in ascending
+	 *         order.
+	 */
+	public static int[] parallelFindAll(byte[] A, byte q)
+	{
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+		int[][] found = new int[chunks][];
+
+		Chunks.forEach(chunks, k -> {
+			int from = Chunks.start(A.length, chunks, k);
+			int to = Chunks.start(A.length, chunks, k + 1);
+			int[] P = new int[16];
+			int count = 0;
+
+			for (int i = from; i < to; i++)
+			{
+				if (A[i] == q)
+				{
+					if (count == P.length)
+					{
+						P = Arrays.copyOf(P, 2 * count);
+					}
+					P[count++] = i;
+				}
+			}
+			found[k] = Arrays.copyOf(P, count);
+		});
+
+		return concat(found);
+	}
+
+	/**
+	 * Counts the elements of an array of {@code byte} which are equal to a
+	 * value, scanning parts of it in parallel on the common fork/join pool.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be counted.
+	 * @return The number of elements equal to {@code q}.
+	 */
+	public static int parallelCount(byte[] A, byte q)
+	{
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+		int[] counts = new int[chunks];
+
+		Chunks.forEach(chunks, k -> counts[k] = countBetween(A, Chunks.start(A.length, chunks, k),
+				Chunks.start(A.length, chunks, k + 1), q));
+
+		return IntStream.of(counts).sum();
+	}
+
+	/**
+	 * Finds an element in an array of {@code char}.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int linearSearch(char[] A, char q)
+	{
+		return firstBetween(A, 0, A.length, q);
+	}
+
+	/**
+	 * Finds the first element of an array of {@code char} which is equal to
+	 * any of the given values.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param values
+	 *            The values to be found.
+	 * @return The position of the first element equal to one of
+	 *         {@code values}. If it doesn't exist, the method returns
+	 *         {@code -1}.
+	 */
+	public static int indexOfAny(char[] A, char... values)
+	{
+		if (values.length <= ANY_LINEAR)
+		{
+			for (int i = 0; i < A.length; i++)
+			{
+				for (char v : values)
+				{
+					if (A[i] == v)
+					{
+						return i;
+					}
+				}
+			}
+		} else
+		{
+			char[] sorted = values.clone();
+			Arrays.sort(sorted);
+
+			for (int i = 0; i < A.length; i++)
+			{
+				if (Arrays.binarySearch(sorted, A[i]) >= 0)
+				{
+					return i;
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Counts the elements of an array of {@code char} which are equal to a
+	 * value.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be counted.
+	 * @return The number of elements equal to {@code q}.
+	 */
+	public static int count(char[] A, char q)
+	{
+		return countBetween(A, 0, A.length, q);
+	}
+
+	/**
+	 * Finds the first element equal to {@code q} between the positions
+	 * {@code from} (inclusive) and {@code to} (exclusive), or {@code -1}.
+	 */
+	private static int firstBetween(char[] A, int from, int to, char q)
+	{
+		for (int i = from; i < to; i++)
+		{
+			if (A[i] == q)
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Counts the elements equal to {@code q} between the positions
+	 * {@code from} (inclusive) and {@code to} (exclusive).
+	 */
+	private static int countBetween(char[] A, int from, int to, char q)
+	{
+		int count = 0;
+
+		for (int i = from; i < to; i++)
+		{
+			if (A[i] == q)
+			{
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Finds an element in an array of {@code char}, scanning parts of it in
+	 * parallel on the common fork/join pool. The result is the same as the one
+	 * of {@code linearSearch}: as soon as an element equal to {@code q} is
+	 * found, the parts after it stop, while the ones before it go on looking
+	 * for an earlier one.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int parallelLinearSearch(char[] A, char q)
+	{
+		AtomicInteger first = new AtomicInteger(Integer.MAX_VALUE);
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+
+		Chunks.forEach(chunks, k -> {
+			int from = Chunks.start(A.length, chunks, k);
+			int to = Chunks.start(A.length, chunks, k + 1);
+
+			// A chunk stops when an element is found in it or before it
+			for (int l = from; (l < to) && (first.get() > from);)
+			{
+				int r = ((to - l) > CANCEL_BLOCK) ? l + CANCEL_BLOCK : to;
+				int p = firstBetween(A, l, r, q);
+				if (p >= 0)
+				{
+					first.accumulateAndGet(p, Math::min);
+					return;
+				}
+				l = r;
+			}
+		});
+
+		return (first.get() == Integer.MAX_VALUE) ? -1 : first.get();
+	}
+
+	/**
+	 * Finds all the elements of an array of {@code char} which are equal to a
+	 * value, scanning parts of it in parallel on the common fork/join pool.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The positions of the elements equal to {@code q}, in ascending
+	 *         order.
+	 */
+	public static int[] parallelFindAll(char[] A, char q)
+	{
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+		int[][] found = new int[chunks][];
+
+		Chunks.forEach(chunks, k -> {
+			int from = Chunks.start(A.length, chunks, k);
+			int to = Chunks.start(A.length, chunks, k + 1);
+			int[] P = new int[16];
+			int count = 0;
+
+			for (int i = from; i < to; i++)
+			{
+				if (A[i] == q)
+				{
+					if (count == P.length)
+					{
+						P = Arrays.copyOf(P, 2 * count);
+					}
+					P[count++] = i;
+				}
+			}
+			found[k] = Arrays.copyOf(P, count);
+		});
+
+		return concat(found);
+	}
+
+	/**
+	 * Counts the elements of an array of {@code char} which are equal to a
+	 * value, scanning parts of it in parallel on the common fork/join pool.
+	 *
+	 * @param A
+	 *            The array to be searched.
+	 * @param q
+	 *            The value to be counted.
+	 * @return The number of elements equal to {@code q}.
+	 */
+	public static int parallelCount(char[] A, char q)
+	{
+		int chunks = Chunks.count(A.length, MIN_CHUNK);
+		int[] counts = new int[chunks];
+
+		Chunks.forEach(chunks, k -> counts[k] = countBetween(A, Chunks.start(A.length, chunks, k),
+				Chunks.start(A.length, chunks, k + 1), q));
+
+		return IntStream.of(counts).sum();
+	}
+
+	/**
+	 * Finds an element in a sorted array.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static <T extends Comparable<T>> int binarySearch(T[] A, T q)
+	{
+		return binarySearch(A, q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds an element in a sorted array.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static <T> int binarySearch(T[] A, T q, Comparator<? super T> c)
+	{
+		return binarySearchBetween(A, 0, A.length - 1, q, c);
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static <T extends Comparable<T>> int binarySearchBetween(T[] A, int i, int j, T q)
+	{
+		return binarySearchBetween(A, i, j, q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static <T> int binarySearchBetween(T[] A, int i, int j, T q, Comparator<? super T> c)
+	{
+		int p = lowerBoundBetween(A, i, j, q, c);
+
+		return ((p <= j) && (c.compare(A[p], q) == 0)) ? p : -1;
+	}
+
+	/**
+	 * Finds the first element of a sorted array which is not lower than a
+	 * value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element which is not lower than
+	 *         {@code q}, that is where {@code q} would be inserted before
+	 *         the elements equal to it: {@code A.length} if all the elements
+	 *         are lower.
+	 */
+	public static <T extends Comparable<T>> int lowerBound(T[] A, T q)
+	{
+		return lowerBound(A, q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds the first element of a sorted array which is not lower than a
+	 * value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element which is not lower than
+	 *         {@code q}, that is where {@code q} would be inserted before
+	 *         the elements equal to it: {@code A.length} if all the elements
+	 *         are lower.
+	 */
+	public static <T> int lowerBound(T[] A, T q, Comparator<? super T> c)
+	{
+		return lowerBoundBetween(A, 0, A.length - 1, q, c);
+	}
+
+	/**
+	 * Finds the first element between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which is not lower than a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element of the interval which is not
+	 *         lower than {@code q}, or {@code r + 1} if all of them are
+	 *         lower. When {@code l > r} the interval is empty and the method
+	 *         returns {@code l}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static <T extends Comparable<T>> int lowerBoundBetween(T[] A, int l, int r, T q)
+	{
+		return lowerBoundBetween(A, l, r, q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds the first element between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which is not lower than a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element of the interval which is not
+	 *         lower than {@code q}, or {@code r + 1} if all of them are
+	 *         lower. When {@code l > r} the interval is empty and the method
+	 *         returns {@code l}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static <T> int lowerBoundBetween(T[] A, int l, int r, T q, Comparator<? super T> c)
+	{
+		if (l > r)
+		{
+			return l;
+		}
+		checkRange(A.length, l, r);
+
+		// The answer is always between lo and hi
+		int lo = l;
+		int hi = r + 1;
+
+		// Out of the cache the branches are faster: the processor speculates
+		// on them and loads the next elements before the comparison is done
+		if ((hi - lo) > CACHED_RANGE)
+		{
+			while ((hi - lo) > CACHE_LINE)
+			{
+				int m = (lo + hi) >>> 1;
+				if (c.compare(A[m], q) < 0)
+				{
+					lo = m + 1;
+				} else
+				{
+					hi = m;
+				}
+			}
+		}
+
+		// The answer is always between base and base + n
+		int base = lo;
+		int n = hi - lo;
+
+		// In the cache a mask, which is all ones when the range moves right,
+		// avoids the mispredicted branches
+		while (n > 1)
+		{
+			int half = n >>> 1;
+			base += half & (c.compare(A[(base + half) - 1], q) >> 31);
+			n -= half;
+		}
+
+		return (c.compare(A[base], q) < 0) ? base + 1 : base;
+	}
+
+	/**
+	 * Finds the first element of a sorted array which is greater than a
+	 * value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element which is greater than
+	 *         {@code q}, that is where {@code q} would be inserted after
+	 *         the elements equal to it: {@code A.length} if no element is
+	 *         greater.
+	 */
+	public static <T extends Comparable<T>> int upperBound(T[] A, T q)
+	{
+		return upperBound(A, q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds the first element of a sorted array which is greater than a
+	 * value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element which is greater than
+	 *         {@code q}, that is where {@code q} would be inserted after
+	 *         the elements equal to it: {@code A.length} if no element is
+	 *         greater.
+	 */
+	public static <T> int upperBound(T[] A, T q, Comparator<? super T> c)
+	{
+		return upperBoundBetween(A, 0, A.length - 1, q, c);
+	}
+
+	/**
+	 * Finds the first element between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which is greater than a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element of the interval which is
+	 *         greater than {@code q}, or {@code r + 1} if none is. When
+	 *         {@code l > r} the interval is empty and the method returns
+	 *         {@code l}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static <T extends Comparable<T>> int upperBoundBetween(T[] A, int l, int r, T q)
+	{
+		return upperBoundBetween(A, l, r, q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds the first element between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which is greater than a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element of the interval which is
+	 *         greater than {@code q}, or {@code r + 1} if none is. When
+	 *         {@code l > r} the interval is empty and the method returns
+	 *         {@code l}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static <T> int upperBoundBetween(T[] A, int l, int r, T q, Comparator<? super T> c)
+	{
+		if (l > r)
+		{
+			return l;
+		}
+		checkRange(A.length, l, r);
+
+		// The answer is always between lo and hi
+		int lo = l;
+		int hi = r + 1;
+
+		// Out of the cache the branches are faster: the processor speculates
+		// on them and loads the next elements before the comparison is done
+		if ((hi - lo) > CACHED_RANGE)
+		{
+			while ((hi - lo) > CACHE_LINE)
+			{
+				int m = (lo + hi) >>> 1;
+				if (c.compare(A[m], q) <= 0)
+				{
+					lo = m + 1;
+				} else
+				{
+					hi = m;
+				}
+			}
+		}
+
+		// The answer is always between base and base + n
+		int base = lo;
+		int n = hi - lo;
+
+		// In the cache a mask, which is all ones when the range moves right,
+		// avoids the mispredicted branches
+		while (n > 1)
+		{
+			int half = n >>> 1;
+			base += half & ~(c.compare(q, A[(base + half) - 1]) >> 31);
+			n -= half;
+		}
+
+		return (c.compare(A[base], q) <= 0) ? base + 1 : base;
+	}
+
+	/**
+	 * Finds the elements of a sorted array which are equal to a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return An array of two positions: the first element equal to
+	 *         {@code q} and the first one after it which is greater. When no
+	 *         element is equal to {@code q} both are the position where it
+	 *         would be inserted.
+	 */
+	public static <T extends Comparable<T>> int[] equalRange(T[] A, T q)
+	{
+		return equalRange(A, q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds the elements of a sorted array which are equal to a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return An array of two positions: the first element equal to
+	 *         {@code q} and the first one after it which is greater. When no
+	 *         element is equal to {@code q} both are the position where it
+	 *         would be inserted.
+	 */
+	public static <T> int[] equalRange(T[] A, T q, Comparator<? super T> c)
+	{
+		return equalRangeBetween(A, 0, A.length - 1, q, c);
+	}
+
+	/**
+	 * Finds the elements between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which are equal to a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return An array of two positions: the first element equal to
+	 *         {@code q} and the first one after it which is greater, as given
+	 *         by {@code lowerBoundBetween} and {@code upperBoundBetween}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static <T extends Comparable<T>> int[] equalRangeBetween(T[] A, int l, int r, T q)
+	{
+		return equalRangeBetween(A, l, r, q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds the elements between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which are equal to a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return An array of two positions: the first element equal to
+	 *         {@code q} and the first one after it which is greater, as given
+	 *         by {@code lowerBoundBetween} and {@code upperBoundBetween}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static <T> int[] equalRangeBetween(T[] A, int l, int r, T q, Comparator<? super T> c)
+	{
+		int from = lowerBoundBetween(A, l, r, q, c);
+
+		// The elements equal to q cannot be before from
+		return new int[] { from, upperBoundBetween(A, from, r, q, c) };
+	}
+
+	/**
+	 * Finds an element in a sorted array, starting from its first position
+	 * and doubling the step until the element is passed.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static <T extends Comparable<T>> int exponentialSearch(T[] A, T q)
+	{
+		return exponentialSearch(A, q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds an element in a sorted array, starting from its first position
+	 * and doubling the step until the element is passed.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static <T> int exponentialSearch(T[] A, T q, Comparator<? super T> c)
+	{
+		return exponentialSearchBetween(A, 0, A.length - 1, q, c);
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array, starting from {@code i} and doubling the
+	 * step until the element is passed.
+	 * <p>
+	 * When the first element equal to {@code q} is {@code d} positions after
+	 * {@code i}, the search performs about {@code 2 * log(d)} comparisons,
+	 * so it is faster than the binary search when the element is expected to
+	 * be near the start of the interval.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static <T extends Comparable<T>> int exponentialSearchBetween(T[] A, int i, int j, T q)
+	{
+		return exponentialSearchBetween(A, i, j, q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array, starting from {@code i} and doubling the
+	 * step until the element is passed.
+	 * <p>
+	 * When the first element equal to {@code q} is {@code d} positions after
+	 * {@code i}, the search performs about {@code 2 * log(d)} comparisons,
+	 * so it is faster than the binary search when the element is expected to
+	 * be near the start of the interval.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static <T> int exponentialSearchBetween(T[] A, int i, int j, T q, Comparator<? super T> c)
+	{
+		int p = gallopBetween(A, i, j, q, c);
+
+		return ((p <= j) && (c.compare(A[p], q) == 0)) ? p : -1;
+	}
+
+	/**
+	 * Finds, as {@code lowerBoundBetween}, the first element between the
+	 * positions {@code l} and {@code r} (inclusive) which is not lower than
+	 * {@code q}, with steps that double from {@code l}.
+	 */
+	private static <T> int gallopBetween(T[] A, int l, int r, T q, Comparator<? super T> c)
+	{
+		if (l > r)
+		{
+			return l;
+		}
+		checkRange(A.length, l, r);
+
+		// The elements before lo are lower than q
+		int lo = l;
+		int hi = l;
+		int step = 1;
+
+		while (c.compare(A[hi], q) < 0)
+		{
+			lo = hi + 1;
+			if (step > (r - hi))
+			{
+				return lowerBoundBetween(A, lo, r, q, c);
+			}
+			hi += step;
+			step <<= 1;
+		}
+
+		// A[hi] is not lower than q
+		return lowerBoundBetween(A, lo, hi - 1, q, c);
+	}
+
+	/**
+	 * Finds an element in a sorted source whose length is not known, such as
+	 * a stream or a remote table, doubling the step from its first position
+	 * until the element is passed.
+	 * <p>
+	 * The source gives the element at every non-negative position, or
+	 * {@code null} when the position is after its end; it is asked for about
+	 * {@code 2 * log(d)} elements when the result is at position {@code d}.
+	 *
+	 * @param source
+	 *            The function that gives the elements of the sorted source by
+	 *            position, and {@code null} after the last one.
+	 * @param q
+	 *            The value to be found.
+	 * @param <T>
+	 *            The type of items contained in the source.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static <T extends Comparable<T>> int unboundedSearch(IntFunction<? extends T> source, T q)
+	{
+		return unboundedSearch(source, q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds an element in a sorted source whose length is not known, such as
+	 * a stream or a remote table, doubling the step from its first position
+	 * until the element is passed.
+	 * <p>
+	 * The source gives the element at every non-negative position, or
+	 * {@code null} when the position is after its end; it is asked for about
+	 * {@code 2 * log(d)} elements when the result is at position {@code d}.
+	 *
+	 * @param source
+	 *            The function that gives the elements of the sorted source by
+	 *            position, and {@code null} after the last one.
+	 * @param q
+	 *            The value to be found.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in the source.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static <T> int unboundedSearch(IntFunction<? extends T> source, T q, Comparator<? super T> c)
+	{
+		// The elements before lo are lower than q
+		int lo = 0;
+		int hi = 0;
+		int step = 1;
+		T a;
+
+		while (((a = source.apply(hi)) != null) && (c.compare(a, q) < 0))
+		{
+			if (hi == Integer.MAX_VALUE)
+			{
+				return -1;
+			}
+			lo = hi + 1;
+			hi = (step > (Integer.MAX_VALUE - hi)) ? Integer.MAX_VALUE : hi + step;
+			step <<= 1;
+		}
+
+		// The element at hi, which is null or not lower than q
+		T found = a;
+
+		while (lo < hi)
+		{
+			int m = (lo + hi) >>> 1;
+			a = source.apply(m);
+			if ((a != null) && (c.compare(a, q) < 0))
+			{
+				lo = m + 1;
+			} else
+			{
+				hi = m;
+				found = a;
+			}
+		}
+
+		return ((found != null) && (c.compare(found, q) == 0)) ? lo : -1;
+	}
+
+	/**
+	 * Finds many elements in a sorted array. The result is the same as
+	 * searching every query with {@code binarySearch}, but the searches are
+	 * faster: the ones of unsorted queries are performed sixteen at a time,
+	 * so that the processor loads the elements they compare at the same
+	 * time, and sorted queries which are dense enough are merged with
+	 * the array, searching every one from the position of the previous one
+	 * with steps that double.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param Q
+	 *            The values to be found, in any order.
+	 * @param <T>
+	 *            The type of items contained in A and Q.
+	 * @return An array with the position of the first element equal to every
+	 *         query, or {@code -1} for the queries that don't exist.
+	 */
+	public static <T extends Comparable<T>> int[] batchSearch(T[] A, T[] Q)
+	{
+		return batchSearch(A, Q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds many elements in a sorted array. The result is the same as
+	 * searching every query with {@code binarySearch}, but the searches are
+	 * faster: the ones of unsorted queries are performed sixteen at a time,
+	 * so that the processor loads the elements they compare at the same
+	 * time, and sorted queries which are dense enough are merged with
+	 * the array, searching every one from the position of the previous one
+	 * with steps that double.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param Q
+	 *            The values to be found, in any order.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A and Q.
+	 * @return An array with the position of the first element equal to every
+	 *         query, or {@code -1} for the queries that don't exist.
+	 */
+	public static <T> int[] batchSearch(T[] A, T[] Q, Comparator<? super T> c)
+	{
+		int[] P = new int[Q.length];
+		batchSearchBetween(A, Q, 0, Q.length, P, c);
+
+		return P;
+	}
+
+	/**
+	 * Finds many elements in a sorted array as {@code batchSearch}, splitting
+	 * the queries in chunks which are searched in parallel on the common
+	 * fork/join pool. Every chunk is merged with the array if its queries are
+	 * sorted.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param Q
+	 *            The values to be found, in any order.
+	 * @param <T>
+	 *            The type of items contained in A and Q.
+	 * @return An array with the position of the first element equal to every
+	 *         query, or {@code -1} for the queries that don't exist.
+	 */
+	public static <T extends Comparable<T>> int[] parallelBatchSearch(T[] A, T[] Q)
+	{
+		return parallelBatchSearch(A, Q, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Finds many elements in a sorted array as {@code batchSearch}, splitting
+	 * the queries in chunks which are searched in parallel on the common
+	 * fork/join pool. Every chunk is merged with the array if its queries are
+	 * sorted.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param Q
+	 *            The values to be found, in any order.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A and Q.
+	 * @return An array with the position of the first element equal to every
+	 *         query, or {@code -1} for the queries that don't exist.
+	 */
+	public static <T> int[] parallelBatchSearch(T[] A, T[] Q, Comparator<? super T> c)
+	{
+		int[] P = new int[Q.length];
+		int chunks = Chunks.count(Q.length, MIN_CHUNK);
+
+		Chunks.forEach(chunks, k -> batchSearchBetween(A, Q, Chunks.start(Q.length, chunks, k),
+				Chunks.start(Q.length, chunks, k + 1), P, c));
+
+		return P;
+	}
+
+	/**
+	 * Searches the queries between the positions {@code from} (inclusive)
+	 * and {@code to} (exclusive), and stores their results in the same
+	 * positions of {@code P}.
+	 */
+	private static <T> void batchSearchBetween(T[] A, T[] Q, int from, int to, int[] P, Comparator<? super T> c)
+	{
+		if (A.length == 0)
+		{
+			Arrays.fill(P, from, to, -1);
+		} else if ((((long) (to - from) * MERGE_GAP) >= A.length) && isSortedBetween(Q, from, to, c))
+		{
+			mergeSearch(A, Q, from, to, P, c);
+		} else
+		{
+			interleavedSearch(A, Q, from, to, P, c);
+		}
+	}
+
+	/**
+	 * Searches sorted queries, each one from the position of the previous one.
+	 */
+	private static <T> void mergeSearch(T[] A, T[] Q, int from, int to, int[] P, Comparator<? super T> c)
+	{
+		int p = 0;
+
+		for (int t = from; t < to; t++)
+		{
+			p = gallopBetween(A, p, A.length - 1, Q[t], c);
+			P[t] = ((p < A.length) && (c.compare(A[p], Q[t]) == 0)) ? p : -1;
+		}
+	}
+
+	/**
+	 * Searches the queries {@link #LANES} at a time in a non empty array.
+	 */
+	private static <T> void interleavedSearch(T[] A, T[] Q, int from, int to, int[] P, Comparator<? super T> c)
+	{
+		int[] base = new int[LANES];
+
+		for (int g = from; g < to; g += LANES)
+		{
+			int lanes = Math.min(LANES, to - g);
+			Arrays.fill(base, 0);
+
+			// All the searches halve the same lengths, so every halving is
+			// done for all of them and their loads are in flight together
+			for (int n = A.length; n > 1;)
+			{
+				int half = n >>> 1;
+				for (int k = 0; k < lanes; k++)
+				{
+					base[k] += half & (c.compare(A[(base[k] + half) - 1], Q[g + k]) >> 31);
+				}
+				n -= half;
+			}
+
+			for (int k = 0; k < lanes; k++)
+			{
+				int p = (c.compare(A[base[k]], Q[g + k]) < 0) ? base[k] + 1 : base[k];
+				P[g + k] = ((p < A.length) && (c.compare(A[p], Q[g + k]) == 0)) ? p : -1;
+			}
+		}
+	}
+
+	/**
+	 * Checks if the elements between the positions {@code from} (inclusive)
+	 * and {@code to} (exclusive) are sorted.
+	 */
+	private static <T> boolean isSortedBetween(T[] Q, int from, int to, Comparator<? super T> c)
+	{
+		for (int t = from + 1; t < to; t++)
+		{
+			if (c.compare(Q[t], Q[t - 1]) < 0)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Finds an element in a sorted array.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int binarySearch(int[] A, int q)
+	{
+		return binarySearchBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static int binarySearchBetween(int[] A, int i, int j, int q)
+	{
+		int p = lowerBoundBetween(A, i, j, q);
+
+		return ((p <= j) && (A[p] == q)) ? p : -1;
+	}
+
+	/**
+	 * Finds the first element of a sorted array which is not lower than a
+	 * value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position of the first element which is not lower than
+	 *         {@code q}, that is where {@code q} would be inserted before
+	 *         the elements equal to it: {@code A.length} if all the elements
+	 *         are lower.
+	 */
+	public static int lowerBound(int[] A, int q)
+	{
+		return lowerBoundBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds the first element between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which is not lower than a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position of the first element of the interval which is not
+	 *         lower than {@code q}, or {@code r + 1} if all of them are
+	 *         lower. When {@code l > r} the interval is empty and the method
+	 *         returns {@code l}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static int lowerBoundBetween(int[] A, int l, int r, int q)
+	{
+		if (l > r)
+		{
+			return l;
+		}
+		checkRange(A.length, l, r);
+
+		// The answer is always between lo and hi
+		int lo = l;
+		int hi = r + 1;
+
+		// Out of the cache the branches are faster: the processor speculates
+		// on them and loads the next elements before the comparison is done
+		if ((hi - lo) > CACHED_RANGE)
+		{
+			while ((hi - lo) > CACHE_LINE)
+			{
+				int m = (lo + hi) >>> 1;
+				if (A[m] < q)
+				{
+					lo = m + 1;
+				} else
+				{
+					hi = m;
+				}
+			}
+		}
+
+		// The answer is always between base and base + n
+		int base = lo;
+		int n = hi - lo;
+
+		// In the cache a mask, which is all ones when the range moves right,
+		// avoids the mispredicted branches
+		while (n > 1)
+		{
+			int half = n >>> 1;
+			base += half & (int) (((long) A[(base + half) - 1] - q) >> 63);
+			n -= half;
+		}
+
+		return (A[base] < q) ? base + 1 : base;
+	}
+
+	/**
+	 * Finds the first element of a sorted array which is greater than a
+	 * value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position of the first element which is greater than
+	 *         {@code q}, that is where {@code q} would be inserted after
+	 *         the elements equal to it: {@code A.length} if no element is
+	 *         greater.
+	 */
+	public static int upperBound(int[] A, int q)
+	{
+		return upperBoundBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds the first element between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which is greater than a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position of the first element of the interval which is
+	 *         greater than {@code q}, or {@code r + 1} if none is. When
+	 *         {@code l > r} the interval is empty and the method returns
+	 *         {@code l}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static int upperBoundBetween(int[] A, int l, int r, int q)
+	{
+		if (l > r)
+		{
+			return l;
+		}
+		checkRange(A.length, l, r);
+
+		// The answer is always between lo and hi
+		int lo = l;
+		int hi = r + 1;
+
+		// Out of the cache the branches are faster: the processor speculates
+		// on them and loads the next elements before the comparison is done
+		if ((hi - lo) > CACHED_RANGE)
+		{
+			while ((hi - lo) > CACHE_LINE)
+			{
+				int m = (lo + hi) >>> 1;
+				if (A[m] <= q)
+				{
+					lo = m + 1;
+				} else
+				{
+					hi = m;
+				}
+			}
+		}
+
+		// The answer is always between base and base + n
+		int base = lo;
+		int n = hi - lo;
+
+		// In the cache a mask, which is all ones when the range moves right,
+		// avoids the mispredicted branches
+		while (n > 1)
+		{
+			int half = n >>> 1;
+			base += half & ~((int) (((long) q - A[(base + half) - 1]) >> 63));
+			n -= half;
+		}
+
+		return (A[base] <= q) ? base + 1 : base;
+	}
+
+	/**
+	 * Finds the elements of a sorted array which are equal to a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @return An array of two positions: the first element equal to
+	 *         {@code q} and the first one after it which is greater. When no
+	 *         element is equal to {@code q} both are the position where it
+	 *         would be inserted.
+	 */
+	public static int[] equalRange(int[] A, int q)
+	{
+		return equalRangeBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds the elements between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which are equal to a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @return An array of two positions: the first element equal to
+	 *         {@code q} and the first one after it which is greater, as given
+	 *         by {@code lowerBoundBetween} and {@code upperBoundBetween}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static int[] equalRangeBetween(int[] A, int l, int r, int q)
+	{
+		int from = lowerBoundBetween(A, l, r, q);
+
+		// The elements equal to q cannot be before from
+		return new int[] { from, upperBoundBetween(A, from, r, q) };
+	}
+
+	/**
+	 * Finds an element in a sorted array whose values are close to uniformly
+	 * distributed, guessing its position by interpolation.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int interpolationSearch(int[] A, int q)
+	{
+		return interpolationSearchBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array whose values are close to uniformly
+	 * distributed, guessing its position by interpolation.
+	 * <p>
+	 * Every guess is checked on both sides, at a distance of the square root
+	 * of the range, so on uniform values the range shrinks to its square root
+	 * at every step and the search needs about {@code log(log(n))} of them.
+	 * As soon as a guess misses by more than that, or after that many steps,
+	 * the values are taken to be skewed and the binary search finishes the
+	 * job, so skewed values cost only a few probes more than a binary search.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static int interpolationSearchBetween(int[] A, int i, int j, int q)
+	{
+		if (i > j)
+		{
+			return -1;
+		}
+		checkRange(A.length, i, j);
+
+		// The answer is always between lo and hi
+		int lo = i;
+		int hi = j + 1;
+		int probes = 32 - Integer.numberOfLeadingZeros(32 - Integer.numberOfLeadingZeros(hi - lo));
+
+		while (((hi - lo) > CACHE_LINE) && (probes > 0))
+		{
+			int low = A[lo];
+			int high = A[hi - 1];
+
+			if (q <= low)
+			{
+				hi = lo;
+			} else if (q > high)
+			{
+				lo = hi;
+			} else
+			{
+				// Here low < q <= high, so the probe is between lo and hi - 1
+				double f = ((double) q - low) / ((double) high - low);
+				int m = lo + (int) (f * ((hi - 1) - lo));
+
+				// On uniform values the guess is wrong by about the square root
+				// of the range, so a second probe that far away closes the
+				// range around q from the other side
+				int guard = (int) Math.sqrt(hi - lo);
+				if (A[m] < q)
+				{
+					lo = m + 1;
+					int g = m + guard;
+					if ((g < hi) && (A[g] >= q))
+					{
+						hi = g;
+					}
+				} else
+				{
+					hi = m;
+					int g = m - guard;
+					if ((g >= lo) && (A[g] < q))
+					{
+						lo = g + 1;
+					}
+				}
+				// A guess which misses the guard means that the values are not
+				// uniform enough
+				probes = ((hi - lo) > guard) ? 0 : probes - 1;
+			}
+		}
+
+		int p = lowerBoundBetween(A, lo, hi - 1, q);
+
+		return ((p <= j) && (A[p] == q)) ? p : -1;
+	}
+
+	/**
+	 * Finds an element in a sorted array, starting from its first position
+	 * and doubling the step until the element is passed.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int exponentialSearch(int[] A, int q)
+	{
+		return exponentialSearchBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array, starting from {@code i} and doubling the
+	 * step until the element is passed.
+	 * <p>
+	 * When the first element equal to {@code q} is {@code d} positions after
+	 * {@code i}, the search performs about {@code 2 * log(d)} comparisons,
+	 * so it is faster than the binary search when the element is expected to
+	 * be near the start of the interval.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static int exponentialSearchBetween(int[] A, int i, int j, int q)
+	{
+		int p = gallopBetween(A, i, j, q);
+
+		return ((p <= j) && (A[p] == q)) ? p : -1;
+	}
+
+	/**
+	 * Finds, as {@code lowerBoundBetween}, the first element between the
+	 * positions {@code l} and {@code r} (inclusive) which is not lower than
+	 * {@code q}, with steps that double from {@code l}.
+	 */
+	private static int gallopBetween(int[] A, int l, int r, int q)
+	{
+		if (l > r)
+		{
+			return l;
+		}
+		checkRange(A.length, l, r);
+
+		// The elements before lo are lower than q
+		int lo = l;
+		int hi = l;
+		int step = 1;
+
+		while (A[hi] < q)
+		{
+			lo = hi + 1;
+			if (step > (r - hi))
+			{
+				return lowerBoundBetween(A, lo, r, q);
+			}
+			hi += step;
+			step <<= 1;
+		}
+
+		// A[hi] is not lower than q
+		return lowerBoundBetween(A, lo, hi - 1, q);
+	}
+
+	/**
+	 * Finds many elements in a sorted array. The result is the same as
+	 * searching every query with {@code binarySearch}, but the searches are
+	 * faster: the ones of unsorted queries are performed sixteen at a time,
+	 * so that the processor loads the elements they compare at the same
+	 * time, and sorted queries which are dense enough are merged with
+	 * the array, searching every one from the position of the previous one
+	 * with steps that double.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param Q
+	 *            The values to be found, in any order.
+	 * @return An array with the position of the first element equal to every
+	 *         query, or {@code -1} for the queries that don't exist.
+	 */
+	public static int[] batchSearch(int[] A, int[] Q)
+	{
+		int[] P = new int[Q.length];
+		batchSearchBetween(A, Q, 0, Q.length, P);
+
+		return P;
+	}
+
+	/**
+	 * Finds many elements in a sorted array as {@code batchSearch}, splitting
+	 * the queries in chunks which are searched in parallel on the common
+	 * fork/join pool. Every chunk is merged with the array if its queries are
+	 * sorted.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param Q
+	 *            The values to be found, in any order.
+	 * @return An array with the position of the first element equal to every
+	 *         query, or {@code -1} for the queries that don't exist.
+	 */
+	public static int[] parallelBatchSearch(int[] A, int[] Q)
+	{
+		int[] P = new int[Q.length];
+		int chunks = Chunks.count(Q.length, MIN_CHUNK);
+
+		Chunks.forEach(chunks, k -> batchSearchBetween(A, Q, Chunks.start(Q.length, chunks, k),
+				Chunks.start(Q.length, chunks, k + 1), P));
+
+		return P;
+	}
+
+	/**
+	 * Searches the queries between the positions {@code from} (inclusive)
+	 * and {@code to} (exclusive), and stores their results in the same
+	 * positions of {@code P}.
+	 */
+	private static void batchSearchBetween(int[] A, int[] Q, int from, int to, int[] P)
+	{
+		if (A.length == 0)
+		{
+			Arrays.fill(P, from, to, -1);
+		} else if ((((long) (to - from) * MERGE_GAP) >= A.length) && isSortedBetween(Q, from, to))
+		{
+			mergeSearch(A, Q, from, to, P);
+		} else
+		{
+			interleavedSearch(A, Q, from, to, P);
+		}
+	}
+
+	/**
+	 * Searches sorted queries, each one from the position of the previous one.
+	 */
+	private static void mergeSearch(int[] A, int[] Q, int from, int to, int[] P)
+	{
+		int p = 0;
+
+		for (int t = from; t < to; t++)
+		{
+			p = gallopBetween(A, p, A.length - 1, Q[t]);
+			P[t] = ((p < A.length) && (A[p] == Q[t])) ? p : -1;
+		}
+	}
+
+	/**
+	 * Searches the queries {@link #LANES} at a time in a non empty array.
+	 */
+	private static void interleavedSearch(int[] A, int[] Q, int from, int to, int[] P)
+	{
+		int[] base = new int[LANES];
+
+		for (int g = from; g < to; g += LANES)
+		{
+			int lanes = Math.min(LANES, to - g);
+			Arrays.fill(base, 0);
+
+			// All the searches halve the same lengths, so every halving is
+			// done for all of them and their loads are in flight together
+			for (int n = A.length; n > 1;)
+			{
+				int half = n >>> 1;
+				for (int k = 0; k < lanes; k++)
+				{
+					base[k] += half & (int) (((long) A[(base[k] + half) - 1] - Q[g + k]) >> 63);
+				}
+				n -= half;
+			}
+
+			for (int k = 0; k < lanes; k++)
+			{
+				int p = (A[base[k]] < Q[g + k]) ? base[k] + 1 : base[k];
+				P[g + k] = ((p < A.length) && (A[p] == Q[g + k])) ? p : -1;
+			}
+		}
+	}
+
+	/**
+	 * Checks if the elements between the positions {@code from} (inclusive)
+	 * and {@code to} (exclusive) are sorted.
+	 */
+	private static boolean isSortedBetween(int[] Q, int from, int to)
+	{
+		for (int t = from + 1; t < to; t++)
+		{
+			if (Q[t] < Q[t - 1])
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Finds an element in a sorted array.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int binarySearch(long[] A, long q)
+	{
+		return binarySearchBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static int binarySearchBetween(long[] A, int i, int j, long q)
+	{
+		int p = lowerBoundBetween(A, i, j, q);
+
+		return ((p <= j) && (A[p] == q)) ? p : -1;
+	}
+
+	/**
+	 * Finds the first element of a sorted array which is not lower than a
+	 * value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position of the first element which is not lower than
+	 *         {@code q}, that is where {@code q} would be inserted before
+	 *         the elements equal to it: {@code A.length} if all the elements
+	 *         are lower.
+	 */
+	public static int lowerBound(long[] A, long q)
+	{
+		return lowerBoundBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds the first element between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which is not lower than a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position of the first element of the interval which is not
+	 *         lower than {@code q}, or {@code r + 1} if all of them are
+	 *         lower. When {@code l > r} the interval is empty and the method
+	 *         returns {@code l}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static int lowerBoundBetween(long[] A, int l, int r, long q)
+	{
+		if (l > r)
+		{
+			return l;
+		}
+		checkRange(A.length, l, r);
+
+		// The answer is always between lo and hi
+		int lo = l;
+		int hi = r + 1;
+
+		// Out of the cache the branches are faster: the processor speculates
+		// on them and loads the next elements before the comparison is done
+		if ((hi - lo) > CACHED_RANGE)
+		{
+			while ((hi - lo) > CACHE_LINE)
+			{
+				int m = (lo + hi) >>> 1;
+				if (A[m] < q)
+				{
+					lo = m + 1;
+				} else
+				{
+					hi = m;
+				}
+			}
+		}
+
+		// The answer is always between base and base + n
+		int base = lo;
+		int n = hi - lo;
+
+		// In the cache a mask, which is all ones when the range moves right,
+		// avoids the mispredicted branches
+		while (n > 1)
+		{
+			int half = n >>> 1;
+			base += half & (int) lowerMask(A[(base + half) - 1], q);
+			n -= half;
+		}
+
+		return (A[base] < q) ? base + 1 : base;
+	}
+
+	/**
+	 * Finds the first element of a sorted array which is greater than a
+	 * value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position of the first element which is greater than
+	 *         {@code q}, that is where {@code q} would be inserted after
+	 *         the elements equal to it: {@code A.length} if no element is
+	 *         greater.
+	 */
+	public static int upperBound(long[] A, long q)
+	{
+		return upperBoundBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds the first element between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which is greater than a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position of the first element of the interval which is
+	 *         greater than {@code q}, or {@code r + 1} if none is. When
+	 *         {@code l > r} the interval is empty and the method returns
+	 *         {@code l}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static int upperBoundBetween(long[] A, int l, int r, long q)
+	{
+		if (l > r)
+		{
+			return l;
+		}
+		checkRange(A.length, l, r);
+
+		// The answer is always between lo and hi
+		int lo = l;
+		int hi = r + 1;
+
+		// Out of the cache the branches are faster: the processor speculates
+		// on them and loads the next elements before the comparison is done
+		if ((hi - lo) > CACHED_RANGE)
+		{
+			while ((hi - lo) > CACHE_LINE)
+			{
+				int m = (lo + hi) >>> 1;
+				if (A[m] <= q)
+				{
+					lo = m + 1;
+				} else
+				{
+					hi = m;
+				}
+			}
+		}
+
+		// The answer is always between base and base + n
+		int base = lo;
+		int n = hi - lo;
+
+		// In the cache a mask, which is all ones when the range moves right,
+		// avoids the mispredicted branches
+		while (n > 1)
+		{
+			int half = n >>> 1;
+			base += half & ~((int) lowerMask(q, A[(base + half) - 1]));
+			n -= half;
+		}
+
+		return (A[base] <= q) ? base + 1 : base;
+	}
+
+	/**
+	 * Finds the elements of a sorted array which are equal to a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @return An array of two positions: the first element equal to
+	 *         {@code q} and the first one after it which is greater. When no
+	 *         element is equal to {@code q} both are the position where it
+	 *         would be inserted.
+	 */
+	public static int[] equalRange(long[] A, long q)
+	{
+		return equalRangeBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds the elements between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which are equal to a value.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @return An array of two positions: the first element equal to
+	 *         {@code q} and the first one after it which is greater, as given
+	 *         by {@code lowerBoundBetween} and {@code upperBoundBetween}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static int[] equalRangeBetween(long[] A, int l, int r, long q)
+	{
+		int from = lowerBoundBetween(A, l, r, q);
+
+		// The elements equal to q cannot be before from
+		return new int[] { from, upperBoundBetween(A, from, r, q) };
+	}
+
+	/**
+	 * Finds an element in a sorted array whose values are close to uniformly
+	 * distributed, guessing its position by interpolation.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int interpolationSearch(long[] A, long q)
+	{
+		return interpolationSearchBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array whose values are close to uniformly
+	 * distributed, guessing its position by interpolation.
+	 * <p>
+	 * Every guess is checked on both sides, at a distance of the square root
+	 * of the range, so on uniform values the range shrinks to its square root
+	 * at every step and the search needs about {@code log(log(n))} of them.
+	 * As soon as a guess misses by more than that, or after that many steps,
+	 * the values are taken to be skewed and the binary search finishes the
+	 * job, so skewed values cost only a few probes more than a binary search.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static int interpolationSearchBetween(long[] A, int i, int j, long q)
+	{
+		if (i > j)
+		{
+			return -1;
+		}
+		checkRange(A.length, i, j);
+
+		// The answer is always between lo and hi
+		int lo = i;
+		int hi = j + 1;
+		int probes = 32 - Integer.numberOfLeadingZeros(32 - Integer.numberOfLeadingZeros(hi - lo));
+
+		while (((hi - lo) > CACHE_LINE) && (probes > 0))
+		{
+			long low = A[lo];
+			long high = A[hi - 1];
+
+			if (q <= low)
+			{
+				hi = lo;
+			} else if (q > high)
+			{
+				lo = hi;
+			} else
+			{
+				// Here low < q <= high, so the probe is between lo and hi - 1
+				double f = ((double) q - low) / ((double) high - low);
+				int m = lo + (int) (f * ((hi - 1) - lo));
+
+				// On uniform values the guess is wrong by about the square root
+				// of the range, so a second probe that far away closes the
+				// range around q from the other side
+				int guard = (int) Math.sqrt(hi - lo);
+				if (A[m] < q)
+				{
+					lo = m + 1;
+					int g = m + guard;
+					if ((g < hi) && (A[g] >= q))
+					{
+						hi = g;
+					}
+				} else
+				{
+					hi = m;
+					int g = m - guard;
+					if ((g >= lo) && (A[g] < q))
+					{
+						lo = g + 1;
+					}
+				}
+				// A guess which misses the guard means that the values are not
+				// uniform enough
+				probes = ((hi - lo) > guard) ? 0 : probes - 1;
+			}
+		}
+
+		int p = lowerBoundBetween(A, lo, hi - 1, q);
+
+		return ((p <= j) && (A[p] == q)) ? p : -1;
+	}
+
+	/**
+	 * Finds an element in a sorted array, starting from its first position
+	 * and doubling the step until the element is passed.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int exponentialSearch(long[] A, long q)
+	{
+		return exponentialSearchBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array, starting from {@code i} and doubling the
+	 * step until the element is passed.
+	 * <p>
+	 * When the first element equal to {@code q} is {@code d} positions after
+	 * {@code i}, the search performs about {@code 2 * log(d)} comparisons,
+	 * so it is faster than the binary search when the element is expected to
+	 * be near the start of the interval.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static int exponentialSearchBetween(long[] A, int i, int j, long q)
+	{
+		int p = gallopBetween(A, i, j, q);
+
+		return ((p <= j) && (A[p] == q)) ? p : -1;
+	}
+
+	/**
+	 * Finds, as {@code lowerBoundBetween}, the first element between the
+	 * positions {@code l} and {@code r} (inclusive) which is not lower than
+	 * {@code q}, with steps that double from {@code l}.
+	 */
+	private static int gallopBetween(long[] A, int l, int r, long q)
+	{
+		if (l > r)
+		{
+			return l;
+		}
+		checkRange(A.length, l, r);
+
+		// The elements before lo are lower than q
+		int lo = l;
+		int hi = l;
+		int step = 1;
+
+		while (A[hi] < q)
+		{
+			lo = hi + 1;
+			if (step > (r - hi))
+			{
+				return lowerBoundBetween(A, lo, r, q);
+			}
+			hi += step;
+			step <<= 1;
+		}
+
+		// A[hi] is not lower than q
+		return lowerBoundBetween(A, lo, hi - 1, q);
+	}
+
+	/**
+	 * Finds many elements in a sorted array. The result is the same as
+	 * searching every query with {@code binarySearch}, but the searches are
+	 * faster: the ones of unsorted queries are performed sixteen at a time,
+	 * so that the processor loads the elements they compare at the same
+	 * time, and sorted queries which are dense enough are merged with
+	 * the array, searching every one from the position of the previous one
+	 * with steps that double.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param Q
+	 *            The values to be found, in any order.
+	 * @return An array with the position of the first element equal to every
+	 *         query, or {@code -1} for the queries that don't exist.
+	 */
+	public static int[] batchSearch(long[] A, long[] Q)
+	{
+		int[] P = new int[Q.length];
+		batchSearchBetween(A, Q, 0, Q.length, P);
+
+		return P;
+	}
+
+	/**
+	 * Finds many elements in a sorted array as {@code batchSearch}, splitting
+	 * the queries in chunks which are searched in parallel on the common
+	 * fork/join pool. Every chunk is merged with the array if its queries are
+	 * sorted.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param Q
+	 *            The values to be found, in any order.
+	 * @return An array with the position of the first element equal to every
+	 *         query, or {@code -1} for the queries that don't exist.
+	 */
+	public static int[] parallelBatchSearch(long[] A, long[] Q)
+	{
+		int[] P = new int[Q.length];
+		int chunks = Chunks.count(Q.length, MIN_CHUNK);
+
+		Chunks.forEach(chunks, k -> batchSearchBetween(A, Q, Chunks.start(Q.length, chunks, k),
+				Chunks.start(Q.length, chunks, k + 1), P));
+
+		return P;
+	}
+
+	/**
+	 * Searches the queries between the positions {@code from} (inclusive)
+	 * and {@code to} (exclusive), and stores their results in the same
+	 * positions of {@code P}.
+	 */
+	private static void batchSearchBetween(long[] A, long[] Q, int from, int to, int[] P)
+	{
+		if (A.length == 0)
+		{
+			Arrays.fill(P, from, to, -1);
+		} else if ((((long) (to - from) * MERGE_GAP) >= A.length) && isSortedBetween(Q, from, to))
+		{
+			mergeSearch(A, Q, from, to, P);
+		} else
+		{
+			interleavedSearch(A, Q, from, to, P);
+		}
+	}
+
+	/**
+	 * Searches sorted queries, each one from the position of the previous one.
+	 */
+	private static void mergeSearch(long[] A, long[] Q, int from, int to, int[] P)
+	{
+		int p = 0;
+
+		for (int t = from; t < to; t++)
+		{
+			p = gallopBetween(A, p, A.length - 1, Q[t]);
+			P[t] = ((p < A.length) && (A[p] == Q[t])) ? p : -1;
+		}
+	}
+
+	/**
+	 * Searches the queries {@link #LANES} at a time in a non empty array.
+	 */
+	private static void interleavedSearch(long[] A, long[] Q, int from, int to, int[] P)
+	{
+		int[] base = new int[LANES];
+
+		for (int g = from; g < to; g += LANES)
+		{
+			int lanes = Math.min(LANES, to - g);
+			Arrays.fill(base, 0);
+
+			// All the searches halve the same lengths, so every halving is
+			// done for all of them and their loads are in flight together
+			for (int n = A.length; n > 1;)
+			{
+				int half = n >>> 1;
+				for (int k = 0; k < lanes; k++)
+				{
+					base[k] += half & (int) lowerMask(A[(base[k] + half) - 1], Q[g + k]);
+				}
+				n -= half;
+			}
+
+			for (int k = 0; k < lanes; k++)
+			{
+				int p = (A[base[k]] < Q[g + k]) ? base[k] + 1 : base[k];
+				P[g + k] = ((p < A.length) && (A[p] == Q[g + k])) ? p : -1;
+			}
+		}
+	}
+
+	/**
+	 * Checks if the elements between the positions {@code from} (inclusive)
+	 * and {@code to} (exclusive) are sorted.
+	 */
+	private static boolean isSortedBetween(long[] Q, int from, int to)
+	{
+		for (int t = from + 1; t < to; t++)
+		{
+			if (Q[t] < Q[t - 1])
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Finds an element in a sorted array. The values are
+	 * ordered as by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int binarySearch(double[] A, double q)
+	{
+		return binarySearchBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array. The
+	 * values are ordered as by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static int binarySearchBetween(double[] A, int i, int j, double q)
+	{
+		int p = lowerBoundBetween(A, i, j, q);
+
+		return ((p <= j) && (Double.compare(A[p], q) == 0)) ? p : -1;
+	}
+
+	/**
+	 * Finds the first element of a sorted array which is not lower than a
+	 * value. The values are
+	 * ordered as by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position of the first element which is not lower than
+	 *         {@code q}, that is where {@code q} would be inserted before
+	 *         the elements equal to it: {@code A.length} if all the elements
+	 *         are lower.
+	 */
+	public static int lowerBound(double[] A, double q)
+	{
+		return lowerBoundBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds the first element between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which is not lower than a value. The
+	 * values are ordered as by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position of the first element of the interval which is not
+	 *         lower than {@code q}, or {@code r + 1} if all of them are
+	 *         lower. When {@code l > r} the interval is empty and the method
+	 *         returns {@code l}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static int lowerBoundBetween(double[] A, int l, int r, double q)
+	{
+		if (l > r)
+		{
+			return l;
+		}
+		checkRange(A.length, l, r);
+
+		// The answer is always between lo and hi
+		int lo = l;
+		int hi = r + 1;
+
+		// Out of the cache the branches are faster: the processor speculates
+		// on them and loads the next elements before the comparison is done
+		if ((hi - lo) > CACHED_RANGE)
+		{
+			while ((hi - lo) > CACHE_LINE)
+			{
+				int m = (lo + hi) >>> 1;
+				if (Double.compare(A[m], q) < 0)
+				{
+					lo = m + 1;
+				} else
+				{
+					hi = m;
+				}
+			}
+		}
+
+		// The answer is always between base and base + n
+		int base = lo;
+		int n = hi - lo;
+
+		// In the cache a mask, which is all ones when the range moves right,
+		// avoids the mispredicted branches
+		while (n > 1)
+		{
+			int half = n >>> 1;
+			base += half & (int) lowerMask(sortableBits(A[(base + half) - 1]), sortableBits(q));
+			n -= half;
+		}
+
+		return (Double.compare(A[base], q) < 0) ? base + 1 : base;
+	}
+
+	/**
+	 * Finds the first element of a sorted array which is greater than a
+	 * value. The values are
+	 * ordered as by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position of the first element which is greater than
+	 *         {@code q}, that is where {@code q} would be inserted after
+	 *         the elements equal to it: {@code A.length} if no element is
+	 *         greater.
+	 */
+	public static int upperBound(double[] A, double q)
+	{
+		return upperBoundBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds the first element between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which is greater than a value. The
+	 * values are ordered as by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @return The position of the first element of the interval which is
+	 *         greater than {@code q}, or {@code r + 1} if none is. When
+	 *         {@code l > r} the interval is empty and the method returns
+	 *         {@code l}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static int upperBoundBetween(double[] A, int l, int r, double q)
+	{
+		if (l > r)
+		{
+			return l;
+		}
+		checkRange(A.length, l, r);
+
+		// The answer is always between lo and hi
+		int lo = l;
+		int hi = r + 1;
+
+		// Out of the cache the branches are faster: the processor speculates
+		// on them and loads the next elements before the comparison is done
+		if ((hi - lo) > CACHED_RANGE)
+		{
+			while ((hi - lo) > CACHE_LINE)
+			{
+				int m = (lo + hi) >>> 1;
+				if (Double.compare(A[m], q) <= 0)
+				{
+					lo = m + 1;
+				} else
+				{
+					hi = m;
+				}
+			}
+		}
+
+		// The answer is always between base and base + n
+		int base = lo;
+		int n = hi - lo;
+
+		// In the cache a mask, which is all ones when the range moves right,
+		// avoids the mispredicted branches
+		while (n > 1)
+		{
+			int half = n >>> 1;
+			base += half & ~((int) lowerMask(sortableBits(q), sortableBits(A[(base + half) - 1])));
+			n -= half;
+		}
+
+		return (Double.compare(A[base], q) <= 0) ? base + 1 : base;
+	}
+
+	/**
+	 * Finds the elements of a sorted array which are equal to a value. The
+	 * values are ordered as by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be searched.
+	 * @return An array of two positions: the first element equal to
+	 *         {@code q} and the first one after it which is greater. When no
+	 *         element is equal to {@code q} both are the position where it
+	 *         would be inserted.
+	 */
+	public static int[] equalRange(double[] A, double q)
+	{
+		return equalRangeBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds the elements between the positions {@code l} and {@code r}
+	 * (inclusive) of a sorted array which are equal to a value. The
+	 * values are ordered as by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param l
+	 *            The lower index endpoint of the search interval.
+	 * @param r
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be searched.
+	 * @return An array of two positions: the first element equal to
+	 *         {@code q} and the first one after it which is greater, as given
+	 *         by {@code lowerBoundBetween} and {@code upperBoundBetween}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code l < 0} or
+	 *             {@code r >= A.length}.
+	 */
+	public static int[] equalRangeBetween(double[] A, int l, int r, double q)
+	{
+		int from = lowerBoundBetween(A, l, r, q);
+
+		// The elements equal to q cannot be before from
+		return new int[] { from, upperBoundBetween(A, from, r, q) };
+	}
+
+	/**
+	 * Finds an element in a sorted array whose values are close to uniformly
+	 * distributed, guessing its position by interpolation. The values are
+	 * ordered as by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int interpolationSearch(double[] A, double q)
+	{
+		return interpolationSearchBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array whose values are close to uniformly
+	 * distributed, guessing its position by interpolation. The
+	 * values are ordered as by {@link Double#compare}.
+	 * <p>
+	 * Every guess is checked on both sides, at a distance of the square root
+	 * of the range, so on uniform values the range shrinks to its square root
+	 * at every step and the search needs about {@code log(log(n))} of them.
+	 * As soon as a guess misses by more than that, or after that many steps,
+	 * the values are taken to be skewed and the binary search finishes the
+	 * job, so skewed values cost only a few probes more than a binary search.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static int interpolationSearchBetween(double[] A, int i, int j, double q)
+	{
+		if (i > j)
+		{
+			return -1;
+		}
+		checkRange(A.length, i, j);
+
+		// The answer is always between lo and hi
+		int lo = i;
+		int hi = j + 1;
+		int probes = 32 - Integer.numberOfLeadingZeros(32 - Integer.numberOfLeadingZeros(hi - lo));
+
+		while (((hi - lo) > CACHE_LINE) && (probes > 0))
+		{
+			double low = A[lo];
+			double high = A[hi - 1];
+
+			if (Double.compare(q, low) <= 0)
+			{
+				hi = lo;
+			} else if (Double.compare(q, high) > 0)
+			{
+				lo = hi;
+			} else
+			{
+				// Here low < q <= high, so the probe is between lo and hi - 1;
+				// with infinite values the fraction may not be a number, and then
+				// the probe is lo
+				double f = (q - low) / (high - low);
+				int m = lo + (int) (f * ((hi - 1) - lo));
+
+				// On uniform values the guess is wrong by about the square root
+				// of the range, so a second probe that far away closes the
+				// range around q from the other side
+				int guard = (int) Math.sqrt(hi - lo);
+				if (Double.compare(A[m], q) < 0)
+				{
+					lo = m + 1;
+					int g = m + guard;
+					if ((g < hi) && (Double.compare(A[g], q) >= 0))
+					{
+						hi = g;
+					}
+				} else
+				{
+					hi = m;
+					int g = m - guard;
+					if ((g >= lo) && (Double.compare(A[g], q) < 0))
+					{
+						lo = g + 1;
+					}
+				}
+				// A guess which misses the guard means that the values are not
+				// uniform enough
+				probes = ((hi - lo) > guard) ? 0 : probes - 1;
+			}
+		}
+
+		int p = lowerBoundBetween(A, lo, hi - 1, q);
+
+		return ((p <= j) && (Double.compare(A[p], q) == 0)) ? p : -1;
+	}
+
+	/**
+	 * Finds an element in a sorted array, starting from its first position
+	 * and doubling the step until the element is passed. The values are
+	 * ordered as by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element equal to {@code q}. If it
+	 *         doesn't exist, the method returns {@code -1}.
+	 */
+	public static int exponentialSearch(double[] A, double q)
+	{
+		return exponentialSearchBetween(A, 0, A.length - 1, q);
+	}
+
+	/**
+	 * Finds an element between the positions {@code i} and {@code j}
+	 * (inclusive) of a sorted array, starting from {@code i} and doubling the
+	 * step until the element is passed. The
+	 * values are ordered as by {@link Double#compare}.
+	 * <p>
+	 * When the first element equal to {@code q} is {@code d} positions after
+	 * {@code i}, the search performs about {@code 2 * log(d)} comparisons,
+	 * so it is faster than the binary search when the element is expected to
+	 * be near the start of the interval.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param i
+	 *            The lower index endpoint of the search interval.
+	 * @param j
+	 *            The upper index endpoint of the search interval.
+	 * @param q
+	 *            The value to be found.
+	 * @return The position of the first element of the interval equal to
+	 *         {@code q}. If it doesn't exist, or the interval is empty
+	 *         because {@code i > j}, the method returns {@code -1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When the interval is not empty and {@code i < 0} or
+	 *             {@code j >= A.length}.
+	 */
+	public static int exponentialSearchBetween(double[] A, int i, int j, double q)
+	{
+		int p = gallopBetween(A, i, j, q);
+
+		return ((p <= j) && (Double.compare(A[p], q) == 0)) ? p : -1;
+	}
+
+	/**
+	 * Finds, as {@code lowerBoundBetween}, the first element between the
+	 * positions {@code l} and {@code r} (inclusive) which is not lower than
+	 * {@code q}, with steps that double from {@code l}.
+	 */
+	private static int gallopBetween(double[] A, int l, int r, double q)
+	{
+		if (l > r)
+		{
+			return l;
+		}
+		checkRange(A.length, l, r);
+
+		// The elements before lo are lower than q
+		int lo = l;
+		int hi = l;
+		int step = 1;
+
+		while (Double.compare(A[hi], q) < 0)
+		{
+			lo = hi + 1;
+			if (step > (r - hi))
+			{
+				return lowerBoundBetween(A, lo, r, q);
+			}
+			hi += step;
+			step <<= 1;
+		}
+
+		// A[hi] is not lower than q
+		return lowerBoundBetween(A, lo, hi - 1, q);
+	}
+
+	/**
+	 * Finds many elements in a sorted array. The result is the same as
+	 * searching every query with {@code binarySearch}, but the searches are
+	 * faster: the ones of unsorted queries are performed sixteen at a time,
+	 * so that the processor loads the elements they compare at the same
+	 * time, and sorted queries which are dense enough are merged with
+	 * the array, searching every one from the position of the previous one
+	 * with steps that double. The values are ordered as
+	 * by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param Q
+	 *            The values to be found, in any order.
+	 * @return An array with the position of the first element equal to every
+	 *         query, or {@code -1} for the queries that don't exist.
+	 */
+	public static int[] batchSearch(double[] A, double[] Q)
+	{
+		int[] P = new int[Q.length];
+		batchSearchBetween(A, Q, 0, Q.length, P);
+
+		return P;
+	}
+
+	/**
+	 * Finds many elements in a sorted array as {@code batchSearch}, splitting
+	 * the queries in chunks which are searched in parallel on the common
+	 * fork/join pool. Every chunk is merged with the array if its queries are
+	 * sorted.
+	 *
+	 * @param A
+	 *            The sorted array to be searched.
+	 * @param Q
+	 *            The values to be found, in any order.
+	 * @return An array with the position of the first element equal to every
+	 *         query, or {@code -1} for the queries that don't exist.
+	 */
+	public static int[] parallelBatchSearch(double[] A, double[] Q)
+	{
+		int[] P = new int[Q.length];
+		int chunks = Chunks.count(Q.length, MIN_CHUNK);
+
+		Chunks.forEach(chunks, k -> batchSearchBetween(A, Q, Chunks.start(Q.length, chunks, k),
+				Chunks.start(Q.length, chunks, k + 1), P));
+
+		return P;
+	}
+
+	/**
+	 * Searches the queries between the positions {@code from} (inclusive)
+	 * and {@code to} (exclusive), and stores their results in the same
+	 * positions of {@code P}.
+	 */
+	private static void batchSearchBetween(double[] A, double[] Q, int from, int to, int[] P)
+	{
+		if (A.length == 0)
+		{
+			Arrays.fill(P, from, to, -1);
+		} else if ((((long) (to - from) * MERGE_GAP) >= A.length) && isSortedBetween(Q, from, to))
+		{
+			mergeSearch(A, Q, from, to, P);
+		} else
+		{
+			interleavedSearch(A, Q, from, to, P);
+		}
+	}
+
+	/**
+	 * Searches sorted queries, each one from the position of the previous one.
+	 */
+	private static void mergeSearch(double[] A, double[] Q, int from, int to, int[] P)
+	{
+		int p = 0;
+
+		for (int t = from; t < to; t++)
+		{
+			p = gallopBetween(A, p, A.length - 1, Q[t]);
+			P[t] = ((p < A.length) && (Double.compare(A[p], Q[t]) == 0)) ? p : -1;
+		}
+	}
+
+	/**
+	 * Searches the queries {@link #LANES} at a time in a non empty array.
+	 */
+	private static void interleavedSearch(double[] A, double[] Q, int from, int to, int[] P)
+	{
+		int[] base = new int[LANES];
+
+		for (int g = from; g < to; g += LANES)
+		{
+			int lanes = Math.min(LANES, to - g);
+			Arrays.fill(base, 0);
+
+			// All the searches halve the same lengths, so every halving is
+			// done for all of them and their loads are in flight together
+			for (int n = A.length; n > 1;)
+			{
+				int half = n >>> 1;
+				for (int k = 0; k < lanes; k++)
+				{
+					base[k] += half & (int) lowerMask(sortableBits(A[(base[k] + half) - 1]), sortableBits(Q[g + k]));
+				}
+				n -= half;
+			}
+
+			for (int k = 0; k < lanes; k++)
+			{
+				int p = (Double.compare(A[base[k]], Q[g + k]) < 0) ? base[k] + 1 : base[k];
+				P[g + k] = ((p < A.length) && (Double.compare(A[p], Q[g + k]) == 0)) ? p : -1;
+			}
+		}
+	}
+
+	/**
+	 * Checks if the elements between the positions {@code from} (inclusive)
+	 * and {@code to} (exclusive) are sorted.
+	 */
+	private static boolean isSortedBetween(double[] Q, int from, int to)
+	{
+		for (int t = from + 1; t < to; t++)
+		{
+			if (Double.compare(Q[t], Q[t - 1]) < 0)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns a mask with all the bits set when {@code a < b}, and no bit set
+	 * otherwise, without branches.
+	 */
+	private static long lowerMask(long a, long b)
+	{
+		long d = a - b;
+
+		// The sign of d is wrong only when a - b overflows
+		return (d ^ ((a ^ b) & (d ^ a))) >> 63;
+	}
+
+	/**
+	 * Maps a {@code double} to a {@code long} so that the natural order of
+	 * the results is the same as {@link Double#compare}.
+	 */
+	private static long sortableBits(double d)
+	{
+		long bits = Double.doubleToLongBits(d);
+		return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+	}
+
+	/**
+	 * Checks that the positions between {@code l} and {@code r} (inclusive)
+	 * are in an array of the given length.
+	 */
+	private static void checkRange(int length, int l, int r)
+	{
+		if ((l < 0) || (r >= length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+	}
+
+	/**
+	 * Returns a word with the highest bit set in every byte which is zero in
+	 * {@code x}, and no other bit set, without branches.
+	 */
+	private static long zeroBytes(long x)
+	{
+		// Adding the low bits carries into the highest one unless they are all
+		// zero, so only the bytes of x which are zero have it clear
+		return ~(((x & BYTE_LOWS) + BYTE_LOWS) | x | BYTE_LOWS);
+	}
+
+	/**
+	 * Concatenates the positions found by the chunks of a parallel search.
+	 */
+	private static int[] concat(int[][] found)
+	{
+		int n = 0;
+		for (int[] P : found)
+		{
+			n += P.length;
+		}
+
+		int[] all = new int[n];
+		int i = 0;
+		for (int[] P : found)
+		{
+			System.arraycopy(P, 0, all, i, P.length);
+			i += P.length;
+		}
+
+		return all;
 	}
 }
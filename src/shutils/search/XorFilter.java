@@ -0,0 +1,252 @@
+package shutils.search;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * This class is a xor filter of {@code long} keys, which is built once from
+ * all its keys.
+ * <p>
+ * The filter is an array of 8 bits fingerprints, split in three blocks. Every
+ * key is hashed to one slot of every block, and the fingerprints are chosen
+ * so that the xor of the three slots of a key is the fingerprint of its hash.
+ * A check reads three slots, which are independent loads, so their cache
+ * misses overlap. The filter takes about 9.9 bits per key, and has a false
+ * positive rate of about 0.4%, which is both smaller and more accurate than a
+ * Bloom filter of the same size.
+ * <p>
+ * The fingerprints are found by peeling: a slot which is used by a single key
+ * can be set last, so the keys are removed one at a time from the slots they
+ * alone use, and the fingerprints are set in the opposite order. This
+ * succeeds with a high probability when there are 1.23 slots for every key,
+ * and is retried with another seed otherwise.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class XorFilter implements ILongFilter
+{
+	/**
+	 * The number of slots for every key.
+	 */
+	private static final double SLOTS_PER_KEY = 1.23;
+
+	/**
+	 * The number of slots added to every filter, so that the small ones can be
+	 * built with a high probability too.
+	 */
+	private static final int EXTRA_SLOTS = 32;
+
+	/**
+	 * The first byte of the compact form.
+	 */
+	private static final byte TAG = 'X';
+
+	/**
+	 * The size of the compact form before the fingerprints.
+	 */
+	private static final int HEADER = 13;
+
+	/**
+	 * The seed of the hash function.
+	 */
+	private final long seed;
+
+	/**
+	 * The number of slots of a block.
+	 */
+	private final int blockLength;
+
+	/**
+	 * The fingerprints of the three blocks.
+	 */
+	private final byte[] fingerprints;
+
+	/**
+	 * Builds a filter from its fingerprints.
+	 */
+	private XorFilter(long seed, int blockLength, byte[] fingerprints)
+	{
+		this.seed = seed;
+		this.blockLength = blockLength;
+		this.fingerprints = fingerprints;
+	}
+
+	/**
+	 * Builds a filter which contains the given keys.
+	 *
+	 * @param keys
+	 *            The keys of the filter.
+	 * @return The filter.
+	 * @throws IllegalArgumentException
+	 *             When the filter would be too large.
+	 */
+	public static XorFilter of(long[] keys)
+	{
+		// Equal keys would use the same slots, which could never be peeled
+		long[] distinct = Filters.distinct(keys);
+		int n = distinct.length;
+
+		long length = ((long) Math.ceil(SLOTS_PER_KEY * n) + EXTRA_SLOTS) / 3;
+		if ((3 * length) > (Integer.MAX_VALUE - HEADER))
+		{
+			throw new IllegalArgumentException("The filter is too large");
+		}
+		int blockLength = (int) length;
+		int capacity = 3 * blockLength;
+
+		// The number of keys of every slot, and the xor of their hashes, which
+		// is the hash of the key when there is only one
+		int[] counts = new int[capacity];
+		long[] xors = new long[capacity];
+		int[] queue = new int[capacity];
+		long[] stackHashes = new long[n];
+		int[] stackSlots = new int[n];
+
+		for (long seed = 0;; seed++)
+		{
+			for (long key : distinct)
+			{
+				long h = Filters.mix(key, seed);
+				for (int j = 0; j < 3; j++)
+				{
+					int s = slot(h, j, blockLength);
+					counts[s]++;
+					xors[s] ^= h;
+				}
+			}
+
+			int tail = 0;
+			for (int s = 0; s < capacity; s++)
+			{
+				if (counts[s] == 1)
+				{
+					queue[tail++] = s;
+				}
+			}
+
+			int top = 0;
+			for (int head = 0; head < tail; head++)
+			{
+				int s = queue[head];
+				if (counts[s] != 1)
+				{
+					continue;
+				}
+
+				long h = xors[s];
+				stackHashes[top] = h;
+				stackSlots[top++] = s;
+				for (int j = 0; j < 3; j++)
+				{
+					int t = slot(h, j, blockLength);
+					counts[t]--;
+					xors[t] ^= h;
+					if (counts[t] == 1)
+					{
+						queue[tail++] = t;
+					}
+				}
+			}
+
+			if (top == n)
+			{
+				// Every key is the last one to set its slot
+				byte[] fingerprints = new byte[capacity];
+				while (top > 0)
+				{
+					long h = stackHashes[--top];
+					int s = stackSlots[top];
+					fingerprints[s] = (byte) (fingerprint(h) ^ fingerprints[slot(h, 0, blockLength)]
+							^ fingerprints[slot(h, 1, blockLength)] ^ fingerprints[slot(h, 2, blockLength)]);
+				}
+
+				return new XorFilter(seed, blockLength, fingerprints);
+			}
+
+			Arrays.fill(counts, 0);
+			Arrays.fill(xors, 0);
+		}
+	}
+
+	/**
+	 * Builds a filter which contains the given keys.
+	 *
+	 * @param keys
+	 *            The keys of the filter.
+	 * @return The filter.
+	 * @throws IllegalArgumentException
+	 *             When the filter would be too large.
+	 */
+	public static XorFilter of(LongStream keys)
+	{
+		return of(keys.toArray());
+	}
+
+	/**
+	 * Reads a filter from its compact form.
+	 *
+	 * @param bytes
+	 *            The bytes returned by {@link #toBytes()}.
+	 * @return The filter.
+	 * @throws IllegalArgumentException
+	 *             When the bytes are not the compact form of a
+	 *             {@code XorFilter}.
+	 */
+	public static XorFilter fromBytes(byte[] bytes)
+	{
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		long blockLength = (bytes.length >= HEADER) ? buffer.getInt(9) : 0;
+		if ((blockLength < 1) || (bytes[0] != TAG) || ((3 * blockLength) != (bytes.length - HEADER)))
+		{
+			throw new IllegalArgumentException("The bytes are not a XorFilter");
+		}
+
+		byte[] fingerprints = new byte[bytes.length - HEADER];
+		System.arraycopy(bytes, HEADER, fingerprints, 0, fingerprints.length);
+
+		return new XorFilter(buffer.getLong(1), (int) blockLength, fingerprints);
+	}
+
+	@Override
+	public boolean mightContain(long key)
+	{
+		long h = Filters.mix(key, seed);
+
+		return fingerprint(h) == (byte) (fingerprints[slot(h, 0, blockLength)]
+				^ fingerprints[slot(h, 1, blockLength)] ^ fingerprints[slot(h, 2, blockLength)]);
+	}
+
+	@Override
+	public byte[] toBytes()
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER + fingerprints.length);
+		buffer.put(TAG).putLong(seed).putInt(blockLength).put(fingerprints);
+
+		return buffer.array();
+	}
+
+	@Override
+	public long bitSize()
+	{
+		return 8L * fingerprints.length;
+	}
+
+	/**
+	 * Returns the slot of a hash in a block, from a different part of its
+	 * bits for every block.
+	 */
+	private static int slot(long h, int block, int blockLength)
+	{
+		return Filters.reduce((int) Long.rotateLeft(h, 21 * block), blockLength) + (block * blockLength);
+	}
+
+	/**
+	 * Returns the fingerprint of a hash.
+	 */
+	private static byte fingerprint(long h)
+	{
+		return (byte) (h ^ (h >>> 32));
+	}
+}
@@ -0,0 +1,161 @@
+package shutils.sorting;
+
+import java.util.Comparator;
+
+/**
+ * This class computes the sorting permutation of an array, that is the
+ * positions of its elements in sorted order, without moving the elements.
+ * <p>
+ * The permutation can be used to visit the array in order, or it can be
+ * given to {@code SHArray.applyPermutation} to reorder, with a single sort,
+ * the array and any number of arrays parallel to it. Every method is stable:
+ * the positions of equal elements are in increasing order.
+ * <p>
+ * Arrays of {@code int} and {@code float} are sorted by packing every key
+ * with its position in a {@code long} and using {@link RadixSort}; all the
+ * other arrays are sorted by a Merge Sort over the positions.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class ArgSort
+{
+	/**
+	 * Computes the sorting permutation of an array: the {@code i}-th element
+	 * of the result is the position in {@code A} of the {@code i}-th smallest
+	 * element. The array is not modified.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The positions of the elements of {@code A}, in sorted order.
+	 */
+	public static <T extends Comparable<T>> int[] argsort(T[] A)
+	{
+		return argsort(A, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Computes the sorting permutation of an array, in the order defined by
+	 * the given comparator: the {@code i}-th element of the result is the
+	 * position in {@code A} of the {@code i}-th smallest element. The array is
+	 * not modified.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The positions of the elements of {@code A}, in sorted order.
+	 */
+	public static <T> int[] argsort(T[] A, Comparator<? super T> c)
+	{
+		return IndexSort.sortedPositions(A, c);
+	}
+
+	/**
+	 * Computes the sorting permutation of an array of {@code int}: the
+	 * {@code i}-th element of the result is the position in {@code A} of the
+	 * {@code i}-th smallest element. The array is not modified.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @return The positions of the elements of {@code A}, in sorted order.
+	 */
+	public static int[] argsort(int[] A)
+	{
+		long[] packed = new long[A.length];
+
+		for (int i = 0; i < A.length; i++)
+		{
+			packed[i] = pack(A[i], i);
+		}
+
+		return unpack(packed);
+	}
+
+	/**
+	 * Computes the sorting permutation of an array of {@code long}: the
+	 * {@code i}-th element of the result is the position in {@code A} of the
+	 * {@code i}-th smallest element. The array is not modified.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @return The positions of the elements of {@code A}, in sorted order.
+	 */
+	public static int[] argsort(long[] A)
+	{
+		return IndexSort.sortedPositions(A);
+	}
+
+	/**
+	 * Computes the sorting permutation of an array of {@code float}: the
+	 * {@code i}-th element of the result is the position in {@code A} of the
+	 * {@code i}-th smallest element. The values are ordered as by
+	 * {@link Float#compare}. The array is not modified.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @return The positions of the elements of {@code A}, in sorted order.
+	 */
+	public static int[] argsort(float[] A)
+	{
+		long[] packed = new long[A.length];
+
+		for (int i = 0; i < A.length; i++)
+		{
+			packed[i] = pack(IndexSort.sortableBits(A[i]), i);
+		}
+
+		return unpack(packed);
+	}
+
+	/**
+	 * Computes the sorting permutation of an array of {@code double}: the
+	 * {@code i}-th element of the result is the position in {@code A} of the
+	 * {@code i}-th smallest element. The values are ordered as by
+	 * {@link Double#compare}. The array is not modified.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @return The positions of the elements of {@code A}, in sorted order.
+	 */
+	public static int[] argsort(double[] A)
+	{
+		long[] keys = new long[A.length];
+
+		for (int i = 0; i < A.length; i++)
+		{
+			keys[i] = IndexSort.sortableBits(A[i]);
+		}
+
+		return IndexSort.sortedPositions(keys);
+	}
+
+	/**
+	 * Packs a key and its position in a {@code long} whose order is the order
+	 * of the keys, and then of the positions.
+	 */
+	private static long pack(int key, int i)
+	{
+		return (((long) key) << 32) | i;
+	}
+
+	/**
+	 * Sorts the packed keys and gives back their positions.
+	 */
+	private static int[] unpack(long[] packed)
+	{
+		RadixSort.radixSort(packed);
+
+		int[] idx = new int[packed.length];
+		for (int i = 0; i < packed.length; i++)
+		{
+			idx[i] = (int) packed[i];
+		}
+
+		return idx;
+	}
+}
@@ -0,0 +1,542 @@
+package shutils.sorting;
+
+/**
+ * This class sorts arrays of {@code int} and {@code float} with Block Quick
+ * Sort, a version of Quick Sort whose inner loops do not contain branches that
+ * depend on the values of the elements.
+ * <p>
+ * The partitioning step scans a block of elements from each end of the range
+ * and, without branching, writes down the positions of the elements that are
+ * on the wrong side of the pivot; only then it swaps them in pairs. Since the
+ * outcome of the comparisons never decides which instruction comes next, the
+ * processor does not mispredict branches on random data, and the loops are
+ * simple enough to be unrolled by the JIT. The partitions with at most
+ * {@link NetworkSort#MAX_SIZE} elements are sorted with the branchless
+ * networks of {@link NetworkSort}, and just like {@link QuickSort}, once the
+ * recursion gets deeper than {@code 2 log n} levels the remaining partition is
+ * sorted with {@link HeapSort}.
+ * <p>
+ * Arrays of {@code float} are ordered as by {@link Float#compare}: before
+ * sorting, the {@code NaN} values are moved to the end and the negative zeros
+ * are turned into positive ones, which are restored at the end, so that the
+ * partitioning can use the plain {@code <} comparison.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class BlockQuickSort
+{
+	/**
+	 * The number of elements scanned at once from each end of a partition.
+	 */
+	private static final int BLOCK = 128;
+
+	/**
+	 * Partitions with more elements than this use Tukey's ninther as pivot
+	 * instead of the median of three.
+	 */
+	private static final int NINTHER_THRESHOLD = 128;
+
+	/**
+	 * Sorts an array of {@code int} using the Block Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void blockQuickSort(int[] A)
+	{
+		blockQuickSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) using the Block Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void blockQuickSortBetween(int[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+		checkRange(A.length, l, r);
+
+		sort(A, l, r, QuickSort.depthLimit((r - l) + 1), new int[BLOCK], new int[BLOCK]);
+	}
+
+	/**
+	 * Sorts an array of {@code float} using the Block Quick Sort algorithm.
+	 * The values are ordered as by {@link Float#compare}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void blockQuickSort(float[] A)
+	{
+		blockQuickSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code float} between {@code l} and
+	 * {@code r} (inclusive) using the Block Quick Sort algorithm. The values
+	 * are ordered as by {@link Float#compare}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void blockQuickSortBetween(float[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+		checkRange(A.length, l, r);
+
+		// NaN values are the greatest ones, so they go straight to the end
+		int end = r;
+		for (int i = r; i >= l; i--)
+		{
+			float x = A[i];
+			if (x != x)
+			{
+				A[i] = A[end];
+				A[end] = x;
+				end--;
+			}
+		}
+
+		// The negative zeros are equal to the positive ones for <
+		int negativeZeros = 0;
+		for (int i = l; i <= end; i++)
+		{
+			if ((A[i] == 0.0f) && (Float.floatToRawIntBits(A[i]) < 0))
+			{
+				A[i] = 0.0f;
+				negativeZeros++;
+			}
+		}
+
+		if (l < end)
+		{
+			sort(A, l, end, QuickSort.depthLimit((end - l) + 1), new int[BLOCK], new int[BLOCK]);
+		}
+
+		if (negativeZeros > 0)
+		{
+			// Finds the first zero and puts back the negative ones before the
+			// positive ones
+			int lo = l;
+			int hi = end;
+			while (lo < hi)
+			{
+				int m = (lo + hi) >>> 1;
+				if (A[m] < 0.0f)
+				{
+					lo = m + 1;
+				} else
+				{
+					hi = m;
+				}
+			}
+			for (int i = lo; i < (lo + negativeZeros); i++)
+			{
+				A[i] = -0.0f;
+			}
+		}
+	}
+
+	/**
+	 * Sorts the elements between {@code l} and {@code r} (inclusive).
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param depth
+	 *            The remaining recursion depth.
+	 * @param offsetsL
+	 *            The buffer for the positions in the left block.
+	 * @param offsetsR
+	 *            The buffer for the positions in the right block.
+	 */
+	private static void sort(int[] A, int l, int r, int depth, int[] offsetsL, int[] offsetsR)
+	{
+		while (((r - l) + 1) > NetworkSort.MAX_SIZE)
+		{
+			if (depth == 0)
+			{
+				HeapSort.heapSortBetween(A, l, r);
+				return;
+			}
+			depth--;
+
+			int m = partition(A, l, r, offsetsL, offsetsR);
+
+			if ((m - l) < (r - m))
+			{
+				sort(A, l, m - 1, depth, offsetsL, offsetsR);
+				l = m + 1;
+			} else
+			{
+				sort(A, m + 1, r, depth, offsetsL, offsetsR);
+				r = m - 1;
+			}
+		}
+
+		if (l < r)
+		{
+			NetworkSort.networkSortBetween(A, l, r);
+		}
+	}
+
+	/**
+	 * Chooses a pivot, moves it in position {@code l} and partitions the
+	 * elements between {@code l} and {@code r} around it.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param offsetsL
+	 *            The buffer for the positions in the left block.
+	 * @param offsetsR
+	 *            The buffer for the positions in the right block.
+	 * @return The final position of the pivot.
+	 */
+	private static int partition(int[] A, int l, int r, int[] offsetsL, int[] offsetsR)
+	{
+		int s = choosePivot(A, l, r);
+		int p = A[s];
+		A[s] = A[l];
+		A[l] = p;
+
+		// Invariant: A[l + 1 .. i - 1] <= p and A[j + 1 .. r] >= p
+		int i = l + 1;
+		int j = r;
+		int numL = 0;
+		int numR = 0;
+		int startL = 0;
+		int startR = 0;
+
+		while (((j - i) + 1) >= (2 * BLOCK))
+		{
+			if (numL == 0)
+			{
+				startL = 0;
+				for (int k = 0; k < BLOCK; k++)
+				{
+					offsetsL[numL] = k;
+					numL += (A[i + k] >= p) ? 1 : 0;
+				}
+			}
+			if (numR == 0)
+			{
+				startR = 0;
+				for (int k = 0; k < BLOCK; k++)
+				{
+					offsetsR[numR] = k;
+					numR += (A[j - k] <= p) ? 1 : 0;
+				}
+			}
+
+			int num = Math.min(numL, numR);
+			for (int k = 0; k < num; k++)
+			{
+				int a = i + offsetsL[startL + k];
+				int b = j - offsetsR[startR + k];
+				int tmp = A[a];
+				A[a] = A[b];
+				A[b] = tmp;
+			}
+			numL -= num;
+			numR -= num;
+			startL += num;
+			startR += num;
+
+			// A block is left behind once all its misplaced elements are swapped
+			if (numL == 0)
+			{
+				i += BLOCK;
+			}
+			if (numR == 0)
+			{
+				j -= BLOCK;
+			}
+		}
+
+		// The few elements left are partitioned as in Hoare's scheme
+		while (true)
+		{
+			while ((i <= j) && (A[i] < p))
+			{
+				i++;
+			}
+			while ((i <= j) && (A[j] > p))
+			{
+				j--;
+			}
+			if (i >= j)
+			{
+				break;
+			}
+			int tmp = A[i];
+			A[i] = A[j];
+			A[j] = tmp;
+			i++;
+			j--;
+		}
+
+		// Now j is the last position of an element not greater than p
+		A[l] = A[j];
+		A[j] = p;
+
+		return j;
+	}
+
+	/**
+	 * Chooses the position of the pivot of a partition: the median of three
+	 * elements, or Tukey's ninther on the large partitions.
+	 */
+	private static int choosePivot(int[] A, int l, int r)
+	{
+		int m = (l + r) >>> 1;
+
+		if (((r - l) + 1) > NINTHER_THRESHOLD)
+		{
+			int d = ((r - l) + 1) / 8;
+			return median(A, median(A, l, l + d, l + (2 * d)), median(A, m - d, m, m + d),
+					median(A, r - (2 * d), r - d, r));
+		}
+
+		return median(A, l, m, r);
+	}
+
+	/**
+	 * Returns the position of the median of the elements at the given
+	 * positions.
+	 */
+	private static int median(int[] A, int a, int b, int c)
+	{
+		return (A[a] < A[b]) ? ((A[b] < A[c]) ? b : ((A[a] < A[c]) ? c : a))
+				: ((A[b] > A[c]) ? b : ((A[a] > A[c]) ? c : a));
+	}
+
+	/**
+	 * Sorts the elements between {@code l} and {@code r} (inclusive), which
+	 * cannot be {@code NaN} or negative zeros.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param depth
+	 *            The remaining recursion depth.
+	 * @param offsetsL
+	 *            The buffer for the positions in the left block.
+	 * @param offsetsR
+	 *            The buffer for the positions in the right block.
+	 */
+	private static void sort(float[] A, int l, int r, int depth, int[] offsetsL, int[] offsetsR)
+	{
+		while (((r - l) + 1) > NetworkSort.MAX_SIZE)
+		{
+			if (depth == 0)
+			{
+				HeapSort.heapSortBetween(A, l, r);
+				return;
+			}
+			depth--;
+
+			int m = partition(A, l, r, offsetsL, offsetsR);
+
+			if ((m - l) < (r - m))
+			{
+				sort(A, l, m - 1, depth, offsetsL, offsetsR);
+				l = m + 1;
+			} else
+			{
+				sort(A, m + 1, r, depth, offsetsL, offsetsR);
+				r = m - 1;
+			}
+		}
+
+		if (l < r)
+		{
+			NetworkSort.networkSortBetween(A, l, r);
+		}
+	}
+
+	/**
+	 * Chooses a pivot, moves it in position {@code l} and partitions the
+	 * elements between {@code l} and {@code r} around it.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param offsetsL
+	 *            The buffer for the positions in the left block.
+	 * @param offsetsR
+	 *            The buffer for the positions in the right block.
+	 * @return The final position of the pivot.
+	 */
+	private static int partition(float[] A, int l, int r, int[] offsetsL, int[] offsetsR)
+	{
+		int s = choosePivot(A, l, r);
+		float p = A[s];
+		A[s] = A[l];
+		A[l] = p;
+
+		// Invariant: A[l + 1 .. i - 1] <= p and A[j + 1 .. r] >= p
+		int i = l + 1;
+		int j = r;
+		int numL = 0;
+		int numR = 0;
+		int startL = 0;
+		int startR = 0;
+
+		while (((j - i) + 1) >= (2 * BLOCK))
+		{
+			if (numL == 0)
+			{
+				startL = 0;
+				for (int k = 0; k < BLOCK; k++)
+				{
+					offsetsL[numL] = k;
+					numL += (A[i + k] >= p) ? 1 : 0;
+				}
+			}
+			if (numR == 0)
+			{
+				startR = 0;
+				for (int k = 0; k < BLOCK; k++)
+				{
+					offsetsR[numR] = k;
+					numR += (A[j - k] <= p) ? 1 : 0;
+				}
+			}
+
+			int num = Math.min(numL, numR);
+			for (int k = 0; k < num; k++)
+			{
+				int a = i + offsetsL[startL + k];
+				int b = j - offsetsR[startR + k];
+				float tmp = A[a];
+				A[a] = A[b];
+				A[b] = tmp;
+			}
+			numL -= num;
+			numR -= num;
+			startL += num;
+			startR += num;
+
+			// A block is left behind once all its misplaced elements are swapped
+			if (numL == 0)
+			{
+				i += BLOCK;
+			}
+			if (numR == 0)
+			{
+				j -= BLOCK;
+			}
+		}
+
+		// The few elements left are partitioned as in Hoare's scheme
+		while (true)
+		{
+			while ((i <= j) && (A[i] < p))
+			{
+				i++;
+			}
+			while ((i <= j) && (A[j] > p))
+			{
+				j--;
+			}
+			if (i >= j)
+			{
+				break;
+			}
+			float tmp = A[i];
+			A[i] = A[j];
+			A[j] = tmp;
+			i++;
+			j--;
+		}
+
+		// Now j is the last position of an element not greater than p
+		A[l] = A[j];
+		A[j] = p;
+
+		return j;
+	}
+
+	/**
+	 * Chooses the position of the pivot of a partition: the median of three
+	 * elements, or Tukey's ninther on the large partitions.
+	 */
+	private static int choosePivot(float[] A, int l, int r)
+	{
+		int m = (l + r) >>> 1;
+
+		if (((r - l) + 1) > NINTHER_THRESHOLD)
+		{
+			int d = ((r - l) + 1) / 8;
+			return median(A, median(A, l, l + d, l + (2 * d)), median(A, m - d, m, m + d),
+					median(A, r - (2 * d), r - d, r));
+		}
+
+		return median(A, l, m, r);
+	}
+
+	/**
+	 * Returns the position of the median of the elements at the given
+	 * positions.
+	 */
+	private static int median(float[] A, int a, int b, int c)
+	{
+		return (A[a] < A[b]) ? ((A[b] < A[c]) ? b : ((A[a] < A[c]) ? c : a))
+				: ((A[b] > A[c]) ? b : ((A[a] > A[c]) ? c : a));
+	}
+
+	/**
+	 * Checks that the range between {@code l} and {@code r} (inclusive) is
+	 * valid.
+	 */
+	private static void checkRange(int length, int l, int r)
+	{
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+		if ((l < 0) || (r >= length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+	}
+}
@@ -0,0 +1,257 @@
+package shutils.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+import shutils.array.SHArray;
+import shutils.profile.Profiler;
+
+/**
+ * This class tunes the cutoff of the Hybrid Quick Sort, that is the size under
+ * which the partitions are sorted with Insertion Sort, for a type of elements.
+ * <p>
+ * The best cutoff depends on the cost of comparing and moving the elements
+ * and on the processor, so it is measured: {@code calibrate} profiles, with
+ * {@link Profiler}, the sort of random arrays generated by
+ * {@link SHArray#createRandomArray} with every candidate cutoff, and keeps the
+ * fastest one for the class of the elements. The {@code hybridQuickSort}
+ * methods of {@link QuickSort} which do not take the cutoff use the value
+ * returned by {@link #getCutoff}: the calibrated one, if any, or
+ * {@link #DEFAULT_CUTOFF}.
+ * <p>
+ * The calibration takes a fraction of a second for every type, so it is meant
+ * to be run once, for example when the application starts. All the methods
+ * can be called concurrently.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class CutoffCalibration
+{
+	/**
+	 * The cutoff used for the types that have not been calibrated.
+	 */
+	public static final int DEFAULT_CUTOFF = 16;
+
+	/**
+	 * The cutoffs that are measured by the calibration.
+	 */
+	private static final int[] CANDIDATES = { 4, 8, 12, 16, 24, 32, 48, 64, 96, 128 };
+
+	/**
+	 * The number of elements of the arrays sorted by the calibration.
+	 */
+	private static final int SAMPLE_SIZE = 1 << 14;
+
+	/**
+	 * The number of different arrays sorted by the calibration.
+	 */
+	private static final int INPUTS = 4;
+
+	/**
+	 * The number of times every array is sorted with every cutoff.
+	 */
+	private static final int REPETITIONS = 3;
+
+	/**
+	 * The calibrated cutoffs, by class of the elements.
+	 */
+	private static final Map<Class<?>, Integer> CUTOFFS = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the cutoff to be used to sort the elements of a certain class.
+	 *
+	 * @param type
+	 *            The class of the elements, such as {@code int.class} for an
+	 *            array of {@code int}.
+	 * @return The calibrated cutoff, or {@link #DEFAULT_CUTOFF} if the class
+	 *         has not been calibrated.
+	 */
+	public static int getCutoff(Class<?> type)
+	{
+		return CUTOFFS.getOrDefault(type, DEFAULT_CUTOFF);
+	}
+
+	/**
+	 * Sets the cutoff to be used to sort the elements of a certain class,
+	 * without measuring it.
+	 *
+	 * @param type
+	 *            The class of the elements.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 1}.
+	 */
+	public static void setCutoff(Class<?> type, int k)
+	{
+		if (k < 1)
+		{
+			throw new IllegalArgumentException("The cutoff must be positive");
+		}
+
+		CUTOFFS.put(type, k);
+	}
+
+	/**
+	 * Forgets all the calibrated cutoffs, so that {@link #DEFAULT_CUTOFF} is
+	 * used again for every class.
+	 */
+	public static void reset()
+	{
+		CUTOFFS.clear();
+	}
+
+	/**
+	 * Calibrates the cutoff for one of the {@code int}, {@code long},
+	 * {@code float} and {@code double} primitive types.
+	 *
+	 * @param type
+	 *            The primitive class to be calibrated, such as
+	 *            {@code int.class}.
+	 * @return The calibrated cutoff, which is also cached.
+	 * @throws IllegalArgumentException
+	 *             When {@code type} is not one of the supported primitive
+	 *             classes.
+	 */
+	public static int calibrate(Class<?> type)
+	{
+		Random rnd = new Random();
+		int k;
+
+		if (type == int.class)
+		{
+			List<int[]> inputs = new ArrayList<>();
+			for (int i = 0; i < INPUTS; i++)
+			{
+				Integer[] A = SHArray.createRandomArray(SAMPLE_SIZE, Integer.class, j -> rnd.nextInt());
+				inputs.add(Arrays.stream(A).mapToInt(Integer::intValue).toArray());
+			}
+			k = fastest(inputs, int[]::clone, QuickSort::hybridQuickSort);
+		} else if (type == long.class)
+		{
+			List<long[]> inputs = new ArrayList<>();
+			for (int i = 0; i < INPUTS; i++)
+			{
+				Long[] A = SHArray.createRandomArray(SAMPLE_SIZE, Long.class, j -> rnd.nextLong());
+				inputs.add(Arrays.stream(A).mapToLong(Long::longValue).toArray());
+			}
+			k = fastest(inputs, long[]::clone, QuickSort::hybridQuickSort);
+		} else if (type == float.class)
+		{
+			List<float[]> inputs = new ArrayList<>();
+			for (int i = 0; i < INPUTS; i++)
+			{
+				Float[] A = SHArray.createRandomArray(SAMPLE_SIZE, Float.class, j -> rnd.nextFloat());
+				float[] B = new float[A.length];
+				for (int j = 0; j < A.length; j++)
+				{
+					B[j] = A[j];
+				}
+				inputs.add(B);
+			}
+			k = fastest(inputs, float[]::clone, QuickSort::hybridQuickSort);
+		} else if (type == double.class)
+		{
+			List<double[]> inputs = new ArrayList<>();
+			for (int i = 0; i < INPUTS; i++)
+			{
+				Double[] A = SHArray.createRandomArray(SAMPLE_SIZE, Double.class, j -> rnd.nextDouble());
+				inputs.add(Arrays.stream(A).mapToDouble(Double::doubleValue).toArray());
+			}
+			k = fastest(inputs, double[]::clone, QuickSort::hybridQuickSort);
+		} else
+		{
+			throw new IllegalArgumentException("The type cannot be calibrated without a generator");
+		}
+
+		CUTOFFS.put(type, k);
+		return k;
+	}
+
+	/**
+	 * Calibrates the cutoff for a class of {@code Comparable} elements.
+	 *
+	 * @param type
+	 *            The class to be calibrated.
+	 * @param randomGenerator
+	 *            The function that generates the random elements of the
+	 *            arrays to be sorted. It should give elements similar to the
+	 *            ones that will be sorted.
+	 * @param <T>
+	 *            The type of the elements.
+	 * @return The calibrated cutoff, which is also cached.
+	 */
+	public static <T extends Comparable<T>> int calibrate(Class<T> type, Function<Integer, T> randomGenerator)
+	{
+		return calibrate(type, randomGenerator, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Calibrates the cutoff for a class of elements, sorted in the order
+	 * defined by the given comparator. The cutoff is cached for the class,
+	 * whatever the comparator used later to sort it.
+	 *
+	 * @param type
+	 *            The class to be calibrated.
+	 * @param randomGenerator
+	 *            The function that generates the random elements of the
+	 *            arrays to be sorted. It should give elements similar to the
+	 *            ones that will be sorted.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of the elements.
+	 * @return The calibrated cutoff, which is also cached.
+	 */
+	public static <T> int calibrate(Class<T> type, Function<Integer, T> randomGenerator, Comparator<? super T> c)
+	{
+		List<T[]> inputs = new ArrayList<>();
+		for (int i = 0; i < INPUTS; i++)
+		{
+			inputs.add(SHArray.createRandomArray(SAMPLE_SIZE, type, randomGenerator));
+		}
+
+		int k = fastest(inputs, A -> A.clone(), (A, cutoff) -> QuickSort.hybridQuickSort(A, cutoff, c));
+
+		CUTOFFS.put(type, k);
+		return k;
+	}
+
+	/**
+	 * Profiles the sort of the inputs with every candidate cutoff and returns
+	 * the one with the lowest median time.
+	 */
+	private static <A> int fastest(List<A> inputs, Function<A, A> copy, ObjIntConsumer<A> sort)
+	{
+		int best = DEFAULT_CUTOFF;
+		long bestTime = Long.MAX_VALUE;
+
+		// The first round only lets the JIT compile the sort
+		for (int round = 0; round < 2; round++)
+		{
+			for (int k : CANDIDATES)
+			{
+				Profiler<A> profiler = new Profiler<>(A -> sort.accept(A, k), inputs, copy);
+				profiler.performTest(REPETITIONS);
+
+				long time = profiler.getGlobalStatistics().getMedian();
+				if ((round > 0) && (time < bestTime))
+				{
+					best = k;
+					bestTime = time;
+				}
+			}
+		}
+
+		return best;
+	}
+}
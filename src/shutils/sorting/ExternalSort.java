@@ -0,0 +1,555 @@
+package shutils.sorting;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class sorts files of fixed-width records which are too large to be
+ * sorted in memory, using the External Merge Sort algorithm.
+ * <p>
+ * The input is read through memory-mapped regions, one run at a time. Every
+ * run is sorted in memory with {@code QuickSort.hybridQuickSortBetween} and
+ * spilled to a temporary file. The runs are then merged, at most
+ * {@code fanIn} at a time, with a heap that always gives the smallest of the
+ * current records of the runs. When there are more runs than the fan-in,
+ * intermediate runs are merged into longer ones until a single merge can
+ * write the output.
+ * <p>
+ * The run size and the buffers of the merges are derived from a memory
+ * budget: the records of a run, or the buffers of a merge, never take more
+ * than that many bytes. The temporary files are deleted as soon as they have
+ * been merged, and in any case before {@link #sort} returns.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class ExternalSort
+{
+	/**
+	 * The memory budget used when none is specified, in bytes.
+	 */
+	public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+	/**
+	 * The maximum number of runs merged at once when none is specified.
+	 */
+	public static final int DEFAULT_FAN_IN = 64;
+
+	/**
+	 * The bytes a record takes in memory besides its content: the header of
+	 * its array and the reference to it.
+	 */
+	private static final int RECORD_OVERHEAD = 24;
+
+	/**
+	 * The cutoff passed to {@code QuickSort.hybridQuickSortBetween}.
+	 */
+	private static final int CUTOFF = 16;
+
+	/**
+	 * The size of every record, in bytes.
+	 */
+	private final int recordSize;
+
+	/**
+	 * The order of the records.
+	 */
+	private final Comparator<? super byte[]> order;
+
+	/**
+	 * The maximum number of bytes used to hold the records.
+	 */
+	private long memoryBudget;
+
+	/**
+	 * The maximum number of records of a run, {@code 0} when it is only
+	 * limited by the memory budget.
+	 */
+	private int runSize;
+
+	/**
+	 * The maximum number of runs merged at once.
+	 */
+	private int fanIn;
+
+	/**
+	 * The directory of the temporary files, {@code null} for the default one.
+	 */
+	private Path tempDirectory;
+
+	/**
+	 * Creates an object that sorts records of the given size by comparing
+	 * their bytes, as unsigned values, from the first to the last.
+	 *
+	 * @param recordSize
+	 *            The size of every record, in bytes.
+	 * @throws IllegalArgumentException
+	 *             When {@code recordSize < 1}.
+	 */
+	public ExternalSort(int recordSize)
+	{
+		this(recordSize, ExternalSort::compareUnsigned);
+	}
+
+	/**
+	 * Creates an object that sorts records of the given size in the order
+	 * defined by the given comparator. The comparator receives the content of
+	 * two records, and must not keep the arrays, since they are reused.
+	 *
+	 * @param recordSize
+	 *            The size of every record, in bytes.
+	 * @param order
+	 *            The comparator that defines the order of the records.
+	 * @throws IllegalArgumentException
+	 *             When {@code recordSize < 1}.
+	 */
+	public ExternalSort(int recordSize, Comparator<? super byte[]> order)
+	{
+		if (recordSize < 1)
+		{
+			throw new IllegalArgumentException("The record size must be positive");
+		}
+
+		this.recordSize = recordSize;
+		this.order = order;
+		this.memoryBudget = DEFAULT_MEMORY_BUDGET;
+		this.runSize = 0;
+		this.fanIn = DEFAULT_FAN_IN;
+		this.tempDirectory = null;
+	}
+
+	/**
+	 * Sets the maximum number of bytes used to hold the records, both while
+	 * the runs are sorted and while they are merged.
+	 *
+	 * @param memoryBudget
+	 *            The memory budget, in bytes.
+	 * @throws IllegalArgumentException
+	 *             When {@code memoryBudget < 1}.
+	 */
+	public void setMemoryBudget(long memoryBudget)
+	{
+		if (memoryBudget < 1)
+		{
+			throw new IllegalArgumentException("The memory budget must be positive");
+		}
+
+		this.memoryBudget = memoryBudget;
+	}
+
+	/**
+	 * Sets the maximum number of records of a run. The runs are shorter when
+	 * the memory budget does not allow so many records.
+	 *
+	 * @param runSize
+	 *            The maximum number of records of a run, or {@code 0} to only
+	 *            limit it by the memory budget.
+	 * @throws IllegalArgumentException
+	 *             When {@code runSize < 0}.
+	 */
+	public void setRunSize(int runSize)
+	{
+		if (runSize < 0)
+		{
+			throw new IllegalArgumentException("The run size cannot be negative");
+		}
+
+		this.runSize = runSize;
+	}
+
+	/**
+	 * Sets the maximum number of runs merged at once.
+	 *
+	 * @param fanIn
+	 *            The fan-in of the merges.
+	 * @throws IllegalArgumentException
+	 *             When {@code fanIn < 2}.
+	 */
+	public void setFanIn(int fanIn)
+	{
+		if (fanIn < 2)
+		{
+			throw new IllegalArgumentException("The fan-in must be at least 2");
+		}
+
+		this.fanIn = fanIn;
+	}
+
+	/**
+	 * Sets the directory where the runs are spilled.
+	 *
+	 * @param tempDirectory
+	 *            The directory of the temporary files, or {@code null} to use
+	 *            the default one.
+	 */
+	public void setTempDirectory(Path tempDirectory)
+	{
+		this.tempDirectory = tempDirectory;
+	}
+
+	/**
+	 * Sorts the records of a file and writes them to another one, which is
+	 * created or overwritten. The two files must be different.
+	 *
+	 * @param input
+	 *            The file to be sorted.
+	 * @param output
+	 *            The file where the sorted records are written.
+	 * @throws IOException
+	 *             When the files cannot be read or written.
+	 * @throws IllegalArgumentException
+	 *             When the size of the input is not a multiple of the record
+	 *             size.
+	 * @throws IllegalStateException
+	 *             When the memory budget cannot hold a record for every run
+	 *             of a merge.
+	 */
+	public void sort(Path input, Path output) throws IOException
+	{
+		if (memoryBudget < ((long) (fanIn + 1) * recordSize))
+		{
+			throw new IllegalStateException("The memory budget cannot hold a record for every run of a merge");
+		}
+
+		List<Path> temp = new ArrayList<>();
+		List<Path> runs = new ArrayList<>();
+		try
+		{
+			try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ))
+			{
+				long size = in.size();
+				if ((size % recordSize) != 0)
+				{
+					throw new IllegalArgumentException("The size of the input is not a multiple of the record size");
+				}
+
+				long records = size / recordSize;
+				int run = (int) Math.min(records, runRecords());
+				if (records == run)
+				{
+					// Everything fits in a single run, which is the output
+					sortRun(in, 0, run, new byte[run][recordSize], output);
+					return;
+				}
+
+				byte[][] R = new byte[run][recordSize];
+				for (long first = 0; first < records; first += run)
+				{
+					Path file = createTempFile(temp);
+					runs.add(file);
+					sortRun(in, first, (int) Math.min(run, records - first), R, file);
+				}
+			}
+
+			while (runs.size() > fanIn)
+			{
+				List<Path> merged = new ArrayList<>();
+				for (int i = 0; i < runs.size(); i += fanIn)
+				{
+					List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+					Path file = createTempFile(temp);
+					merged.add(file);
+					merge(group, file);
+					for (Path p : group)
+					{
+						Files.delete(p);
+					}
+				}
+				runs = merged;
+			}
+
+			merge(runs, output);
+		} finally
+		{
+			for (Path p : temp)
+			{
+				Files.deleteIfExists(p);
+			}
+		}
+	}
+
+	/**
+	 * Computes the maximum number of records of a run.
+	 */
+	private long runRecords()
+	{
+		// The buffer used to spill the run takes its share of the budget
+		long budget = memoryBudget - ((long) bufferRecords(fanIn) * recordSize);
+		long records = budget / (recordSize + RECORD_OVERHEAD);
+		if (runSize > 0)
+		{
+			records = Math.min(records, runSize);
+		}
+
+		// A run must be mappable and fit in an array
+		return Math.max(1, Math.min(records, Integer.MAX_VALUE / recordSize));
+	}
+
+	/**
+	 * Reads {@code count} records starting from the record {@code first} of
+	 * the input, sorts them and writes them to {@code file}. The records are
+	 * read into {@code R}, which is reused by every run.
+	 */
+	private void sortRun(FileChannel in, long first, int count, byte[][] R, Path file) throws IOException
+	{
+		MappedByteBuffer region = in.map(MapMode.READ_ONLY, first * recordSize, (long) count * recordSize);
+		for (int i = 0; i < count; i++)
+		{
+			region.get(R[i]);
+		}
+
+		if (count > 1)
+		{
+			QuickSort.hybridQuickSortBetween(R, 0, count - 1, CUTOFF, order);
+		}
+
+		try (RecordWriter out = new RecordWriter(file, bufferRecords(fanIn)))
+		{
+			for (int i = 0; i < count; i++)
+			{
+				out.write(R[i]);
+			}
+		}
+	}
+
+	/**
+	 * Merges the given runs into {@code file}, keeping the current record of
+	 * every run in a binary heap. On equal records the earlier run wins, so
+	 * records which compare as equal keep the order of the runs.
+	 */
+	private void merge(List<Path> runs, Path file) throws IOException
+	{
+		int k = runs.size();
+		int buffer = bufferRecords(k);
+		RecordReader[] readers = new RecordReader[k];
+		try (RecordWriter out = new RecordWriter(file, buffer))
+		{
+			int[] heap = new int[k];
+			int n = 0;
+			for (int i = 0; i < k; i++)
+			{
+				readers[i] = new RecordReader(runs.get(i), buffer);
+				if (readers[i].next())
+				{
+					heap[n++] = i;
+				}
+			}
+
+			for (int i = (n / 2) - 1; i >= 0; i--)
+			{
+				siftDown(heap, i, n, readers);
+			}
+
+			while (n > 0)
+			{
+				RecordReader top = readers[heap[0]];
+				out.write(top.current);
+				if (!top.next())
+				{
+					heap[0] = heap[--n];
+				}
+				siftDown(heap, 0, n, readers);
+			}
+		} finally
+		{
+			for (RecordReader r : readers)
+			{
+				if (r != null)
+				{
+					r.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Moves the run at position {@code i} of the heap down until both its
+	 * children hold greater records.
+	 */
+	private void siftDown(int[] heap, int i, int n, RecordReader[] readers)
+	{
+		int x = heap[i];
+		int child;
+		while ((child = (2 * i) + 1) < n)
+		{
+			if (((child + 1) < n) && less(heap[child + 1], heap[child], readers))
+			{
+				child++;
+			}
+			if (!less(heap[child], x, readers))
+			{
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = x;
+	}
+
+	/**
+	 * Tells whether the current record of the run {@code a} comes before the
+	 * current record of the run {@code b}.
+	 */
+	private boolean less(int a, int b, RecordReader[] readers)
+	{
+		int cmp = order.compare(readers[a].current, readers[b].current);
+		return (cmp < 0) || ((cmp == 0) && (a < b));
+	}
+
+	/**
+	 * Computes the number of records buffered by each file of a merge of
+	 * {@code k} runs, so that the {@code k} inputs and the output stay within
+	 * the memory budget.
+	 */
+	private int bufferRecords(int k)
+	{
+		long records = memoryBudget / ((long) (k + 1) * recordSize);
+		return (int) Math.max(1, Math.min(records, Integer.MAX_VALUE / recordSize));
+	}
+
+	/**
+	 * Creates a temporary file and adds it to the files to be deleted once
+	 * the sort is over.
+	 */
+	private Path createTempFile(List<Path> temp) throws IOException
+	{
+		Path file;
+		if (tempDirectory == null)
+		{
+			file = Files.createTempFile("shutils-run", ".tmp");
+		} else
+		{
+			file = Files.createTempFile(tempDirectory, "shutils-run", ".tmp");
+		}
+
+		temp.add(file);
+		return file;
+	}
+
+	/**
+	 * Compares two arrays of bytes, as unsigned values, from the first to the
+	 * last.
+	 */
+	private static int compareUnsigned(byte[] a, byte[] b)
+	{
+		int n = Math.min(a.length, b.length);
+		for (int i = 0; i < n; i++)
+		{
+			if (a[i] != b[i])
+			{
+				return (a[i] & 0xff) - (b[i] & 0xff);
+			}
+		}
+
+		return a.length - b.length;
+	}
+
+	/**
+	 * Reads the records of a run, one at a time, through a buffer.
+	 */
+	private final class RecordReader implements AutoCloseable
+	{
+		private final FileChannel channel;
+		private final ByteBuffer buffer;
+
+		/**
+		 * The last record read.
+		 */
+		final byte[] current;
+
+		RecordReader(Path file, int records) throws IOException
+		{
+			channel = FileChannel.open(file, StandardOpenOption.READ);
+			buffer = ByteBuffer.allocate(records * recordSize);
+			buffer.flip();
+			current = new byte[recordSize];
+		}
+
+		/**
+		 * Reads the next record into {@link #current}.
+		 *
+		 * @return {@code false} when the run has no more records.
+		 */
+		boolean next() throws IOException
+		{
+			if (!buffer.hasRemaining())
+			{
+				buffer.clear();
+				while (buffer.hasRemaining() && (channel.read(buffer) >= 0))
+				{
+					// Keeps reading until the buffer is full or the run ends
+				}
+				buffer.flip();
+				if (!buffer.hasRemaining())
+				{
+					return false;
+				}
+			}
+
+			buffer.get(current);
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			channel.close();
+		}
+	}
+
+	/**
+	 * Writes records to a file through a buffer.
+	 */
+	private final class RecordWriter implements AutoCloseable
+	{
+		private final FileChannel channel;
+		private final ByteBuffer buffer;
+
+		RecordWriter(Path file, int records) throws IOException
+		{
+			channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING);
+			buffer = ByteBuffer.allocate(records * recordSize);
+		}
+
+		void write(byte[] record) throws IOException
+		{
+			if (buffer.remaining() < record.length)
+			{
+				flush();
+			}
+			buffer.put(record);
+		}
+
+		private void flush() throws IOException
+		{
+			buffer.flip();
+			while (buffer.hasRemaining())
+			{
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			try
+			{
+				flush();
+			} finally
+			{
+				channel.close();
+			}
+		}
+	}
+}
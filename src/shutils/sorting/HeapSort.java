@@ -0,0 +1,557 @@
+package shutils.sorting;
+
+import java.util.Comparator;
+
+import shutils.array.SHArray;
+
+/**
+ * This class gives a common implementation of the Heap Sort algorithm. Just
+ * as a remainder, we have that the best, average and worst case complexity
+ * are all {@code O(n log n)}, while the extra space used is {@code O(1)}.
+ * {@code QuickSort} falls back to this algorithm when its recursion gets too
+ * deep.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class HeapSort
+{
+
+	/**
+	 * Sorts an array using the Heap Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T extends Comparable<T>> void heapSort(T[] A)
+	{
+		heapSort(A, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts an array using the Heap Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void heapSort(T[] A, Comparator<? super T> c)
+	{
+		heapSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0, c);
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Heap Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T extends Comparable<T>> void heapSortBetween(T[] A, int l, int r)
+	{
+		heapSortBetween(A, l, r, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Heap Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T> void heapSortBetween(T[] A, int l, int r, Comparator<? super T> c)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		int n = (r - l) + 1;
+
+		// Builds a max-heap rooted in A[l]
+		for (int i = (n >>> 1) - 1; i >= 0; i--)
+		{
+			siftDown(A, l, i, n, c);
+		}
+
+		// Moves the max at the end of the heap and restores the heap on the
+		// remaining elements
+		for (int end = n - 1; end > 0; end--)
+		{
+			SHArray.swap(A, l, l + end);
+			siftDown(A, l, 0, end, c);
+		}
+	}
+
+	/**
+	 * Moves down the element in position {@code i} of the heap until both
+	 * its children are not greater than it.
+	 *
+	 * @param A
+	 *            The array containing the heap.
+	 * @param l
+	 *            The position of the heap root in {@code A}.
+	 * @param i
+	 *            The heap index of the element to move.
+	 * @param n
+	 *            The size of the heap.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	private static <T> void siftDown(T[] A, int l, int i, int n, Comparator<? super T> c)
+	{
+		T x = A[l + i];
+		int child;
+
+		while (i < (n >>> 1))
+		{
+			child = (2 * i) + 1;
+			if (((child + 1) < n) && (c.compare(A[l + child], A[l + child + 1]) < 0))
+			{
+				child++;
+			}
+
+			if (!(c.compare(x, A[l + child]) < 0))
+			{
+				break;
+			}
+
+			A[l + i] = A[l + child];
+			i = child;
+		}
+
+		A[l + i] = x;
+	}
+
+	/**
+	 * Sorts an array of {@code int} using the Heap Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void heapSort(int[] A)
+	{
+		heapSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) using the Heap Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void heapSortBetween(int[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		int n = (r - l) + 1;
+
+		// Builds a max-heap rooted in A[l]
+		for (int i = (n >>> 1) - 1; i >= 0; i--)
+		{
+			siftDown(A, l, i, n);
+		}
+
+		// Moves the max at the end of the heap and restores the heap on the
+		// remaining elements
+		for (int end = n - 1; end > 0; end--)
+		{
+			SHArray.swap(A, l, l + end);
+			siftDown(A, l, 0, end);
+		}
+	}
+
+	/**
+	 * Moves down the element in position {@code i} of the heap until both
+	 * its children are not greater than it.
+	 *
+	 * @param A
+	 *            The array containing the heap.
+	 * @param l
+	 *            The position of the heap root in {@code A}.
+	 * @param i
+	 *            The heap index of the element to move.
+	 * @param n
+	 *            The size of the heap.
+	 */
+	private static void siftDown(int[] A, int l, int i, int n)
+	{
+		int x = A[l + i];
+		int child;
+
+		while (i < (n >>> 1))
+		{
+			child = (2 * i) + 1;
+			if (((child + 1) < n) && (A[l + child] < A[l + child + 1]))
+			{
+				child++;
+			}
+
+			if (!(x < A[l + child]))
+			{
+				break;
+			}
+
+			A[l + i] = A[l + child];
+			i = child;
+		}
+
+		A[l + i] = x;
+	}
+
+	/**
+	 * Sorts an array of {@code long} using the Heap Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void heapSort(long[] A)
+	{
+		heapSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between {@code l} and
+	 * {@code r} (inclusive) using the Heap Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void heapSortBetween(long[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		int n = (r - l) + 1;
+
+		// Builds a max-heap rooted in A[l]
+		for (int i = (n >>> 1) - 1; i >= 0; i--)
+		{
+			siftDown(A, l, i, n);
+		}
+
+		// Moves the max at the end of the heap and restores the heap on the
+		// remaining elements
+		for (int end = n - 1; end > 0; end--)
+		{
+			SHArray.swap(A, l, l + end);
+			siftDown(A, l, 0, end);
+		}
+	}
+
+	/**
+	 * Moves down the element in position {@code i} of the heap until both
+	 * its children are not greater than it.
+	 *
+	 * @param A
+	 *            The array containing the heap.
+	 * @param l
+	 *            The position of the heap root in {@code A}.
+	 * @param i
+	 *            The heap index of the element to move.
+	 * @param n
+	 *            The size of the heap.
+	 */
+	private static void siftDown(long[] A, int l, int i, int n)
+	{
+		long x = A[l + i];
+		int child;
+
+		while (i < (n >>> 1))
+		{
+			child = (2 * i) + 1;
+			if (((child + 1) < n) && (A[l + child] < A[l + child + 1]))
+			{
+				child++;
+			}
+
+			if (!(x < A[l + child]))
+			{
+				break;
+			}
+
+			A[l + i] = A[l + child];
+			i = child;
+		}
+
+		A[l + i] = x;
+	}
+
+	/**
+	 * Sorts an array of {@code float} using the Heap Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void heapSort(float[] A)
+	{
+		heapSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code float} between {@code l} and
+	 * {@code r} (inclusive) using the Heap Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void heapSortBetween(float[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		int n = (r - l) + 1;
+
+		// Builds a max-heap rooted in A[l]
+		for (int i = (n >>> 1) - 1; i >= 0; i--)
+		{
+			siftDown(A, l, i, n);
+		}
+
+		// Moves the max at the end of the heap and restores the heap on the
+		// remaining elements
+		for (int end = n - 1; end > 0; end--)
+		{
+			SHArray.swap(A, l, l + end);
+			siftDown(A, l, 0, end);
+		}
+	}
+
+	/**
+	 * Moves down the element in position {@code i} of the heap until both
+	 * its children are not greater than it.
+	 *
+	 * @param A
+	 *            The array containing the heap.
+	 * @param l
+	 *            The position of the heap root in {@code A}.
+	 * @param i
+	 *            The heap index of the element to move.
+	 * @param n
+	 *            The size of the heap.
+	 */
+	private static void siftDown(float[] A, int l, int i, int n)
+	{
+		float x = A[l + i];
+		int child;
+
+		while (i < (n >>> 1))
+		{
+			child = (2 * i) + 1;
+			if (((child + 1) < n) && (Float.compare(A[l + child], A[l + child + 1]) < 0))
+			{
+				child++;
+			}
+
+			if (!(Float.compare(x, A[l + child]) < 0))
+			{
+				break;
+			}
+
+			A[l + i] = A[l + child];
+			i = child;
+		}
+
+		A[l + i] = x;
+	}
+
+	/**
+	 * Sorts an array of {@code double} using the Heap Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void heapSort(double[] A)
+	{
+		heapSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code double} between {@code l} and
+	 * {@code r} (inclusive) using the Heap Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void heapSortBetween(double[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		int n = (r - l) + 1;
+
+		// Builds a max-heap rooted in A[l]
+		for (int i = (n >>> 1) - 1; i >= 0; i--)
+		{
+			siftDown(A, l, i, n);
+		}
+
+		// Moves the max at the end of the heap and restores the heap on the
+		// remaining elements
+		for (int end = n - 1; end > 0; end--)
+		{
+			SHArray.swap(A, l, l + end);
+			siftDown(A, l, 0, end);
+		}
+	}
+
+	/**
+	 * Moves down the element in position {@code i} of the heap until both
+	 * its children are not greater than it.
+	 *
+	 * @param A
+	 *            The array containing the heap.
+	 * @param l
+	 *            The position of the heap root in {@code A}.
+	 * @param i
+	 *            The heap index of the element to move.
+	 * @param n
+	 *            The size of the heap.
+	 */
+	private static void siftDown(double[] A, int l, int i, int n)
+	{
+		double x = A[l + i];
+		int child;
+
+		while (i < (n >>> 1))
+		{
+			child = (2 * i) + 1;
+			if (((child + 1) < n) && (Double.compare(A[l + child], A[l + child + 1]) < 0))
+			{
+				child++;
+			}
+
+			if (!(Double.compare(x, A[l + child]) < 0))
+			{
+				break;
+			}
+
+			A[l + i] = A[l + child];
+			i = child;
+		}
+
+		A[l + i] = x;
+	}
+
+}
@@ -0,0 +1,232 @@
+package shutils.sorting;
+
+import java.util.Comparator;
+
+/**
+ * This class sorts the positions of an array of keys instead of the keys
+ * themselves, so that the elements the keys were extracted from, or any
+ * array parallel to them, can be rearranged afterwards.
+ * <p>
+ * The sort is a bottom-up Merge Sort over the positions, whose short runs are
+ * first sorted with Insertion Sort, so it is stable and its complexity is
+ * {@code O(n log n)} in the worst case.
+ *
+ * @author Matteo Nardini
+ *
+ */
+final class IndexSort
+{
+	/**
+	 * The length of the runs sorted with Insertion Sort before merging.
+	 */
+	private static final int RUN = 32;
+
+	private IndexSort()
+	{
+	}
+
+	/**
+	 * Computes the stable sorting permutation of an array of keys: the
+	 * {@code i}-th element of the result is the position in {@code keys} of
+	 * the {@code i}-th smallest key. The keys are not modified.
+	 *
+	 * @param keys
+	 *            The keys to be sorted.
+	 * @return The positions of the keys, in sorted order.
+	 */
+	static int[] sortedPositions(long[] keys)
+	{
+		int n = keys.length;
+		int[] idx = new int[n];
+
+		for (int i = 0; i < n; i++)
+		{
+			idx[i] = i;
+		}
+
+		for (int lo = 0; lo < n; lo += RUN)
+		{
+			int hi = Math.min(lo + RUN, n);
+			for (int i = lo + 1; i < hi; i++)
+			{
+				int hold = idx[i];
+				long key = keys[hold];
+				int j = i - 1;
+				while ((j >= lo) && (keys[idx[j]] > key))
+				{
+					idx[j + 1] = idx[j];
+					j--;
+				}
+				idx[j + 1] = hold;
+			}
+		}
+
+		if (n <= RUN)
+		{
+			return idx;
+		}
+
+		int[] src = idx;
+		int[] dst = new int[n];
+		for (int width = RUN; width < n; width <<= 1)
+		{
+			for (int lo = 0; lo < n; lo += width << 1)
+			{
+				int mid = Math.min(lo + width, n);
+				int hi = Math.min(lo + (width << 1), n);
+				merge(keys, src, dst, lo, mid, hi);
+			}
+			int[] t = src;
+			src = dst;
+			dst = t;
+		}
+
+		return src;
+	}
+
+	/**
+	 * Computes the stable sorting permutation of an array, in the order
+	 * defined by the given comparator: the {@code i}-th element of the result
+	 * is the position in {@code A} of the {@code i}-th smallest element. The
+	 * array is not modified.
+	 *
+	 * @param A
+	 *            The elements to be sorted.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The positions of the elements, in sorted order.
+	 */
+	static <T> int[] sortedPositions(T[] A, Comparator<? super T> c)
+	{
+		int n = A.length;
+		int[] idx = new int[n];
+
+		for (int i = 0; i < n; i++)
+		{
+			idx[i] = i;
+		}
+
+		for (int lo = 0; lo < n; lo += RUN)
+		{
+			int hi = Math.min(lo + RUN, n);
+			for (int i = lo + 1; i < hi; i++)
+			{
+				int hold = idx[i];
+				T key = A[hold];
+				int j = i - 1;
+				while ((j >= lo) && (c.compare(A[idx[j]], key) > 0))
+				{
+					idx[j + 1] = idx[j];
+					j--;
+				}
+				idx[j + 1] = hold;
+			}
+		}
+
+		if (n <= RUN)
+		{
+			return idx;
+		}
+
+		int[] src = idx;
+		int[] dst = new int[n];
+		for (int width = RUN; width < n; width <<= 1)
+		{
+			for (int lo = 0; lo < n; lo += width << 1)
+			{
+				int mid = Math.min(lo + width, n);
+				int hi = Math.min(lo + (width << 1), n);
+				merge(A, c, src, dst, lo, mid, hi);
+			}
+			int[] t = src;
+			src = dst;
+			dst = t;
+		}
+
+		return src;
+	}
+
+	/**
+	 * Merges the sorted runs {@code src[lo, mid)} and {@code src[mid, hi)}
+	 * into {@code dst[lo, hi)}. On ties the element of the left run comes
+	 * first.
+	 */
+	private static void merge(long[] keys, int[] src, int[] dst, int lo, int mid, int hi)
+	{
+		int i = lo;
+		int j = mid;
+		int k = lo;
+
+		// The runs are already in order, nothing to merge
+		if ((mid == hi) || (keys[src[mid - 1]] <= keys[src[mid]]))
+		{
+			System.arraycopy(src, lo, dst, lo, hi - lo);
+			return;
+		}
+
+		while ((i < mid) && (j < hi))
+		{
+			dst[k++] = (keys[src[j]] < keys[src[i]]) ? src[j++] : src[i++];
+		}
+		System.arraycopy(src, i, dst, k, mid - i);
+		System.arraycopy(src, j, dst, k + (mid - i), hi - j);
+	}
+
+	/**
+	 * Merges the sorted runs {@code src[lo, mid)} and {@code src[mid, hi)}
+	 * into {@code dst[lo, hi)}, comparing the elements they point to. On ties
+	 * the element of the left run comes first.
+	 */
+	private static <T> void merge(T[] A, Comparator<? super T> c, int[] src, int[] dst, int lo, int mid, int hi)
+	{
+		int i = lo;
+		int j = mid;
+		int k = lo;
+
+		// The runs are already in order, nothing to merge
+		if ((mid == hi) || (c.compare(A[src[mid - 1]], A[src[mid]]) <= 0))
+		{
+			System.arraycopy(src, lo, dst, lo, hi - lo);
+			return;
+		}
+
+		while ((i < mid) && (j < hi))
+		{
+			dst[k++] = (c.compare(A[src[j]], A[src[i]]) < 0) ? src[j++] : src[i++];
+		}
+		System.arraycopy(src, i, dst, k, mid - i);
+		System.arraycopy(src, j, dst, k + (mid - i), hi - j);
+	}
+
+	/**
+	 * Maps a {@code double} to a {@code long} so that the natural order of
+	 * the results is the same as {@link Double#compare}: {@code -0.0} comes
+	 * before {@code 0.0} and every {@code NaN} comes last.
+	 *
+	 * @param d
+	 *            The value to be mapped.
+	 * @return The sortable representation of {@code d}.
+	 */
+	static long sortableBits(double d)
+	{
+		long bits = Double.doubleToLongBits(d);
+		return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+	}
+
+	/**
+	 * Maps a {@code float} to an {@code int} so that the natural order of the
+	 * results is the same as {@link Float#compare}: {@code -0.0f} comes
+	 * before {@code 0.0f} and every {@code NaN} comes last.
+	 *
+	 * @param f
+	 *            The value to be mapped.
+	 * @return The sortable representation of {@code f}.
+	 */
+	static int sortableBits(float f)
+	{
+		int bits = Float.floatToIntBits(f);
+		return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+	}
+}
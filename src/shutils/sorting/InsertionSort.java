@@ -1,9 +1,10 @@
 package shutils.sorting;
 
-import shutils.array.SHArray;
+import java.util.Comparator;
 
 /**
- * This class gives a common implementation of the Insertion Sort algorithm.
+ * This class gives a common implementation of the Insertion Sort algorithm
+ * and of its Binary Insertion Sort variant.
  *
  * @author Matteo Nardini
  *
@@ -24,7 +25,25 @@ public class InsertionSort
 	 */
 	public static <T extends Comparable<T>> void insertionSort(T[] A)
 	{
-		insertionSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+		insertionSort(A, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts an array using the Insertion Sort algorithm. Just as a remainder,
+	 * we have that the best case complexity is {@code O(n)}, the
+	 * average case complexity is {@code O(n^2)} and the worst case complexity
+	 * is {@code O(n^2)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void insertionSort(T[] A, Comparator<? super T> c)
+	{
+		insertionSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0, c);
 	}
 
 	/**
@@ -43,6 +62,275 @@ public class InsertionSort
 	 *            The type of items contained in A.
 	 */
 	public static <T extends Comparable<T>> void insertionSortBetween(T[] A, int l, int r)
+	{
+		insertionSortBetween(A, l, r, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts an array using the Insertion Sort algorithm. Just as a remainder,
+	 * we have that the best case complexity is {@code O(n)}, the
+	 * average case complexity is {@code O(n^2)} and the worst case complexity
+	 * is {@code O(n^2)}.
+	 *
+	 * @param A
+	 *            A The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void insertionSortBetween(T[] A, int l, int r, Comparator<? super T> c)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		// Every element is held aside while the greater ones are moved one
+		// position to the right, which costs one write per step instead of
+		// the two of a swap
+		T x;
+		int k;
+		for (int i = l + 1; i <= r; i++)
+		{
+			x = A[i];
+			k = i;
+			while ((k > l) && (c.compare(x, A[k - 1]) < 0))
+			{
+				A[k] = A[k - 1];
+				k--;
+			}
+			A[k] = x;
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code int} using the Insertion Sort algorithm. The
+	 * values are never boxed.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void insertionSort(int[] A)
+	{
+		insertionSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) using the Insertion Sort algorithm. Instead of
+	 * swapping, every element is held aside while the greater ones are moved
+	 * one position to the right.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void insertionSortBetween(int[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		int x;
+		int k;
+		for (int i = l + 1; i <= r; i++)
+		{
+			x = A[i];
+			k = i;
+			while ((k > l) && (x < A[k - 1]))
+			{
+				A[k] = A[k - 1];
+				k--;
+			}
+			A[k] = x;
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code long} using the Insertion Sort algorithm. The
+	 * values are never boxed.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void insertionSort(long[] A)
+	{
+		insertionSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between {@code l} and
+	 * {@code r} (inclusive) using the Insertion Sort algorithm. Instead of
+	 * swapping, every element is held aside while the greater ones are moved
+	 * one position to the right.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void insertionSortBetween(long[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		long x;
+		int k;
+		for (int i = l + 1; i <= r; i++)
+		{
+			x = A[i];
+			k = i;
+			while ((k > l) && (x < A[k - 1]))
+			{
+				A[k] = A[k - 1];
+				k--;
+			}
+			A[k] = x;
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code float} using the Insertion Sort algorithm. The
+	 * values are never boxed.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void insertionSort(float[] A)
+	{
+		insertionSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code float} between {@code l} and
+	 * {@code r} (inclusive) using the Insertion Sort algorithm. Instead of
+	 * swapping, every element is held aside while the greater ones are moved
+	 * one position to the right.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void insertionSortBetween(float[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		float x;
+		int k;
+		for (int i = l + 1; i <= r; i++)
+		{
+			x = A[i];
+			k = i;
+			while ((k > l) && (Float.compare(x, A[k - 1]) < 0))
+			{
+				A[k] = A[k - 1];
+				k--;
+			}
+			A[k] = x;
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code double} using the Insertion Sort algorithm. The
+	 * values are never boxed.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void insertionSort(double[] A)
+	{
+		insertionSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code double} between {@code l} and
+	 * {@code r} (inclusive) using the Insertion Sort algorithm. Instead of
+	 * swapping, every element is held aside while the greater ones are moved
+	 * one position to the right.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void insertionSortBetween(double[] A, int l, int r)
 	{
 		if (l == r)
 		{
@@ -59,16 +347,472 @@ public class InsertionSort
 			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
 		}
 
+		double x;
 		int k;
-		for (int i = l; i <= r; i++)
+		for (int i = l + 1; i <= r; i++)
 		{
+			x = A[i];
 			k = i;
-			while ((k > l) && (A[k].compareTo(A[k - 1]) < 0))
+			while ((k > l) && (Double.compare(x, A[k - 1]) < 0))
 			{
-				SHArray.swap(A, k, k - 1);
+				A[k] = A[k - 1];
 				k--;
 			}
+			A[k] = x;
+		}
+	}
+
+	/**
+	 * Sorts an array using the Binary Insertion Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T extends Comparable<T>> void binaryInsertionSort(T[] A)
+	{
+		binaryInsertionSort(A, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts an array using the Binary Insertion Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void binaryInsertionSort(T[] A, Comparator<? super T> c)
+	{
+		binaryInsertionSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0, c);
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Binary Insertion Sort algorithm. The insertion
+	 * point of every element is found with a binary search over the already
+	 * sorted elements, so only {@code O(n log n)} comparisons are
+	 * performed. The greater elements are then moved with a single
+	 * {@code System.arraycopy}. The sort is stable.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T extends Comparable<T>> void binaryInsertionSortBetween(T[] A, int l, int r)
+	{
+		binaryInsertionSortBetween(A, l, r, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Binary Insertion Sort algorithm. The insertion
+	 * point of every element is found with a binary search over the already
+	 * sorted elements, so only {@code O(n log n)} comparisons are
+	 * performed. The greater elements are then moved with a single
+	 * {@code System.arraycopy}. The sort is stable.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T> void binaryInsertionSortBetween(T[] A, int l, int r, Comparator<? super T> c)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		T x;
+		int lo;
+		int hi;
+		int m;
+		for (int i = l + 1; i <= r; i++)
+		{
+			x = A[i];
+			if (!(c.compare(x, A[i - 1]) < 0))
+			{
+				// Already in place
+				continue;
+			}
+
+			// Finds the first element greater than x, so that equal elements
+			// keep their order
+			lo = l;
+			hi = i - 1;
+			while (lo < hi)
+			{
+				m = (lo + hi) >>> 1;
+				if (c.compare(x, A[m]) < 0)
+				{
+					hi = m;
+				} else
+				{
+					lo = m + 1;
+				}
+			}
+
+			System.arraycopy(A, lo, A, lo + 1, i - lo);
+			A[lo] = x;
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code int} using the Binary Insertion Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void binaryInsertionSort(int[] A)
+	{
+		binaryInsertionSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) using the Binary Insertion Sort algorithm. The
+	 * insertion point of every element is found with a binary search over the
+	 * already sorted elements, so only {@code O(n log n)} comparisons are
+	 * performed. The greater elements are then moved with a single
+	 * {@code System.arraycopy}. The sort is stable.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void binaryInsertionSortBetween(int[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		int x;
+		int lo;
+		int hi;
+		int m;
+		for (int i = l + 1; i <= r; i++)
+		{
+			x = A[i];
+			if (!(x < A[i - 1]))
+			{
+				// Already in place
+				continue;
+			}
+
+			// Finds the first element greater than x, so that equal elements
+			// keep their order
+			lo = l;
+			hi = i - 1;
+			while (lo < hi)
+			{
+				m = (lo + hi) >>> 1;
+				if (x < A[m])
+				{
+					hi = m;
+				} else
+				{
+					lo = m + 1;
+				}
+			}
+
+			System.arraycopy(A, lo, A, lo + 1, i - lo);
+			A[lo] = x;
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code long} using the Binary Insertion Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void binaryInsertionSort(long[] A)
+	{
+		binaryInsertionSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between {@code l} and
+	 * {@code r} (inclusive) using the Binary Insertion Sort algorithm. The
+	 * insertion point of every element is found with a binary search over the
+	 * already sorted elements, so only {@code O(n log n)} comparisons are
+	 * performed. The greater elements are then moved with a single
+	 * {@code System.arraycopy}. The sort is stable.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void binaryInsertionSortBetween(long[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		long x;
+		int lo;
+		int hi;
+		int m;
+		for (int i = l + 1; i <= r; i++)
+		{
+			x = A[i];
+			if (!(x < A[i - 1]))
+			{
+				// Already in place
+				continue;
+			}
+
+			// Finds the first element greater than x, so that equal elements
+			// keep their order
+			lo = l;
+			hi = i - 1;
+			while (lo < hi)
+			{
+				m = (lo + hi) >>> 1;
+				if (x < A[m])
+				{
+					hi = m;
+				} else
+				{
+					lo = m + 1;
+				}
+			}
+
+			System.arraycopy(A, lo, A, lo + 1, i - lo);
+			A[lo] = x;
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code float} using the Binary Insertion Sort
+	 * algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void binaryInsertionSort(float[] A)
+	{
+		binaryInsertionSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code float} between {@code l} and
+	 * {@code r} (inclusive) using the Binary Insertion Sort algorithm. The
+	 * insertion point of every element is found with a binary search over the
+	 * already sorted elements, so only {@code O(n log n)} comparisons are
+	 * performed. The greater elements are then moved with a single
+	 * {@code System.arraycopy}. The sort is stable.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void binaryInsertionSortBetween(float[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		float x;
+		int lo;
+		int hi;
+		int m;
+		for (int i = l + 1; i <= r; i++)
+		{
+			x = A[i];
+			if (!(Float.compare(x, A[i - 1]) < 0))
+			{
+				// Already in place
+				continue;
+			}
+
+			// Finds the first element greater than x, so that equal elements
+			// keep their order
+			lo = l;
+			hi = i - 1;
+			while (lo < hi)
+			{
+				m = (lo + hi) >>> 1;
+				if (Float.compare(x, A[m]) < 0)
+				{
+					hi = m;
+				} else
+				{
+					lo = m + 1;
+				}
+			}
+
+			System.arraycopy(A, lo, A, lo + 1, i - lo);
+			A[lo] = x;
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code double} using the Binary Insertion Sort
+	 * algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void binaryInsertionSort(double[] A)
+	{
+		binaryInsertionSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code double} between {@code l} and
+	 * {@code r} (inclusive) using the Binary Insertion Sort algorithm. The
+	 * insertion point of every element is found with a binary search over the
+	 * already sorted elements, so only {@code O(n log n)} comparisons are
+	 * performed. The greater elements are then moved with a single
+	 * {@code System.arraycopy}. The sort is stable.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void binaryInsertionSortBetween(double[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		double x;
+		int lo;
+		int hi;
+		int m;
+		for (int i = l + 1; i <= r; i++)
+		{
+			x = A[i];
+			if (!(Double.compare(x, A[i - 1]) < 0))
+			{
+				// Already in place
+				continue;
+			}
+
+			// Finds the first element greater than x, so that equal elements
+			// keep their order
+			lo = l;
+			hi = i - 1;
+			while (lo < hi)
+			{
+				m = (lo + hi) >>> 1;
+				if (Double.compare(x, A[m]) < 0)
+				{
+					hi = m;
+				} else
+				{
+					lo = m + 1;
+				}
+			}
 
+			System.arraycopy(A, lo, A, lo + 1, i - lo);
+			A[lo] = x;
 		}
 	}
 
@@ -0,0 +1,31 @@
+package shutils.sorting;
+
+/**
+ * Lists the algorithms that the Hybrid Quick Sort can use to sort the
+ * partitions which are small enough.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public enum LeafSorter
+{
+	/**
+	 * Plain Insertion Sort, see {@code InsertionSort.insertionSortBetween}.
+	 */
+	INSERTION,
+
+	/**
+	 * Binary Insertion Sort, see
+	 * {@code InsertionSort.binaryInsertionSortBetween}. It performs less
+	 * comparisons, so it pays off when comparing the elements is expensive.
+	 */
+	BINARY_INSERTION,
+
+	/**
+	 * A branchless sorting network, see {@code NetworkSort.networkSortBetween}.
+	 * It avoids the branch mispredictions of Insertion Sort on random data.
+	 * Partitions with more than {@code NetworkSort.MAX_SIZE} elements, and the
+	 * arrays of objects, are sorted with Insertion Sort.
+	 */
+	SORTING_NETWORK
+}
@@ -0,0 +1,892 @@
+package shutils.sorting;
+
+import java.lang.reflect.Array;
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import shutils.array.SHArray;
+
+/**
+ * This class gives an adaptive, stable implementation of the Merge Sort
+ * algorithm, in the style of TimSort.
+ * <p>
+ * The array is scanned for the runs which are already sorted (the strictly
+ * descending ones are reversed in place), and the short runs are extended
+ * with Binary Insertion Sort. The runs are then merged, using a galloping
+ * search to move whole blocks of elements at once when one run keeps
+ * winning. The temporary buffer needed by the merges is allocated once per
+ * sort and reused by all of them.
+ * <p>
+ * Just as a remainder, we have that the best case complexity is
+ * {@code O(n)} (for example, on sorted or reverse sorted arrays) and the
+ * worst case complexity is {@code O(n log n)}.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class MergeSort
+{
+	/**
+	 * Arrays shorter than this are sorted with Binary Insertion Sort only.
+	 */
+	private static final int MIN_MERGE = 32;
+
+	/**
+	 * The number of consecutive wins of a run after which the merge starts
+	 * galloping.
+	 */
+	private static final int MIN_GALLOP = 7;
+
+	/**
+	 * Sorts an array using the Merge Sort algorithm. The sort is stable.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T extends Comparable<T>> void mergeSort(T[] A)
+	{
+		mergeSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts an array using the Merge Sort algorithm and the given comparator.
+	 * The sort is stable.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void mergeSort(T[] A, Comparator<? super T> c)
+	{
+		mergeSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0, c);
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Merge Sort algorithm. The sort is stable.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T extends Comparable<T>> void mergeSortBetween(T[] A, int l, int r)
+	{
+		mergeSortBetween(A, l, r, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Merge Sort algorithm and the given comparator. The
+	 * sort is stable.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T> void mergeSortBetween(T[] A, int l, int r, Comparator<? super T> c)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		int n = (r - l) + 1;
+		int hi = r + 1;
+		int run;
+
+		if (n < MIN_MERGE)
+		{
+			run = countRunAndMakeAscending(A, l, hi, c);
+			binaryInsertion(A, l, hi, l + run, c);
+			return;
+		}
+
+		Merger<T> merger = new Merger<>(A, c, n);
+		int minRun = minRunLength(n);
+		int lo = l;
+		int force;
+
+		while (lo < hi)
+		{
+			run = countRunAndMakeAscending(A, lo, hi, c);
+
+			// Short runs are extended to minRun elements
+			if (run < minRun)
+			{
+				force = Math.min(hi - lo, minRun);
+				binaryInsertion(A, lo, lo + force, lo + run, c);
+				run = force;
+			}
+
+			merger.pushRun(lo, run);
+			merger.mergeCollapse();
+			lo += run;
+		}
+
+		merger.mergeForceCollapse();
+	}
+
+	/**
+	 * Sorts an array by a {@code long} key extracted from each element. The
+	 * key extractor is called exactly once per element, so this is cheaper
+	 * than sorting with a comparator that computes the keys on every
+	 * comparison. The positions are sorted by their keys with a stable Merge
+	 * Sort, and the elements are then moved to their place.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param key
+	 *            The function that extracts the sort key from an element.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void mergeSortByLongKey(T[] A, ToLongFunction<? super T> key)
+	{
+		long[] keys = new long[A.length];
+
+		for (int i = 0; i < A.length; i++)
+		{
+			keys[i] = key.applyAsLong(A[i]);
+		}
+
+		SHArray.applyPermutation(IndexSort.sortedPositions(keys), A);
+	}
+
+	/**
+	 * Sorts an array by a {@code double} key extracted from each element. The
+	 * key extractor is called exactly once per element and the keys are
+	 * ordered as by {@link Double#compare}, so {@code -0.0} comes before
+	 * {@code 0.0} and {@code NaN} comes last. The positions are sorted by
+	 * their keys with a stable Merge Sort, and the elements are then moved to
+	 * their place.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param key
+	 *            The function that extracts the sort key from an element.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void mergeSortByDoubleKey(T[] A, ToDoubleFunction<? super T> key)
+	{
+		long[] keys = new long[A.length];
+
+		for (int i = 0; i < A.length; i++)
+		{
+			keys[i] = IndexSort.sortableBits(key.applyAsDouble(A[i]));
+		}
+
+		SHArray.applyPermutation(IndexSort.sortedPositions(keys), A);
+	}
+
+	/**
+	 * Sorts the elements between {@code lo} (inclusive) and {@code hi}
+	 * (exclusive) with Binary Insertion Sort, knowing that the ones before
+	 * {@code start} are already sorted.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param lo
+	 *            The index of the first element to sort.
+	 * @param hi
+	 *            The index after the last element to sort.
+	 * @param start
+	 *            The index of the first element which is not sorted yet.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	private static <T> void binaryInsertion(T[] A, int lo, int hi, int start, Comparator<? super T> c)
+	{
+		T x;
+		int left;
+		int right;
+		int m;
+
+		for (int i = Math.max(start, lo + 1); i < hi; i++)
+		{
+			x = A[i];
+			left = lo;
+			right = i;
+
+			// Finds the first element greater than x
+			while (left < right)
+			{
+				m = (left + right) >>> 1;
+				if (c.compare(x, A[m]) < 0)
+				{
+					right = m;
+				} else
+				{
+					left = m + 1;
+				}
+			}
+
+			System.arraycopy(A, left, A, left + 1, i - left);
+			A[left] = x;
+		}
+	}
+
+	/**
+	 * Finds the length of the run starting at {@code lo}. If the run is
+	 * strictly descending, it is reversed, so that at the end the run is
+	 * always ascending. Strictness is required to keep the sort stable.
+	 *
+	 * @param A
+	 *            The array to be scanned.
+	 * @param lo
+	 *            The index of the first element of the run.
+	 * @param hi
+	 *            The index after the last element that can belong to the run.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The length of the run.
+	 */
+	private static <T> int countRunAndMakeAscending(T[] A, int lo, int hi, Comparator<? super T> c)
+	{
+		int runHi = lo + 1;
+		if (runHi == hi)
+		{
+			return 1;
+		}
+
+		if (c.compare(A[runHi], A[lo]) < 0)
+		{
+			runHi++;
+			while ((runHi < hi) && (c.compare(A[runHi], A[runHi - 1]) < 0))
+			{
+				runHi++;
+			}
+
+			T tmp;
+			for (int i = lo, j = runHi - 1; i < j; i++, j--)
+			{
+				tmp = A[i];
+				A[i] = A[j];
+				A[j] = tmp;
+			}
+		} else
+		{
+			runHi++;
+			while ((runHi < hi) && (c.compare(A[runHi], A[runHi - 1]) >= 0))
+			{
+				runHi++;
+			}
+		}
+
+		return runHi - lo;
+	}
+
+	/**
+	 * Computes the minimum length of a run. The value lies between
+	 * {@code MIN_MERGE / 2} and {@code MIN_MERGE}, and it is chosen so that
+	 * {@code n / minRun} is a power of two or slightly less, which keeps the
+	 * merges balanced.
+	 *
+	 * @param n
+	 *            The number of elements to be sorted.
+	 * @return The minimum length of a run.
+	 */
+	private static int minRunLength(int n)
+	{
+		int r = 0;
+		while (n >= MIN_MERGE)
+		{
+			r |= (n & 1);
+			n >>= 1;
+		}
+
+		return n + r;
+	}
+
+	/**
+	 * Finds the position where {@code key} should be inserted in the sorted
+	 * range {@code a[base, base + len)}, before any element equal to it. The
+	 * search starts from {@code a[base + hint]} with steps of increasing size,
+	 * and then it is completed with a binary search.
+	 *
+	 * @param key
+	 *            The element to be inserted.
+	 * @param a
+	 *            The array containing the sorted range.
+	 * @param base
+	 *            The index of the first element of the range.
+	 * @param len
+	 *            The length of the range.
+	 * @param hint
+	 *            The offset of the first element to be compared.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in a.
+	 * @return The offset {@code k} such that
+	 *         {@code a[base + k - 1] < key <= a[base + k]}.
+	 */
+	private static <T> int gallopLeft(T key, T[] a, int base, int len, int hint, Comparator<? super T> c)
+	{
+		int lastOfs = 0;
+		int ofs = 1;
+		int maxOfs;
+		int tmp;
+
+		if (c.compare(key, a[base + hint]) > 0)
+		{
+			// Gallops right, until a[base + hint + ofs] >= key
+			maxOfs = len - hint;
+			while ((ofs < maxOfs) && (c.compare(key, a[base + hint + ofs]) > 0))
+			{
+				lastOfs = ofs;
+				ofs = (ofs << 1) + 1;
+				if (ofs <= 0)
+				{
+					ofs = maxOfs;
+				}
+			}
+			ofs = Math.min(ofs, maxOfs);
+
+			lastOfs += hint;
+			ofs += hint;
+		} else
+		{
+			// Gallops left, until a[base + hint - ofs] < key
+			maxOfs = hint + 1;
+			while ((ofs < maxOfs) && (c.compare(key, a[(base + hint) - ofs]) <= 0))
+			{
+				lastOfs = ofs;
+				ofs = (ofs << 1) + 1;
+				if (ofs <= 0)
+				{
+					ofs = maxOfs;
+				}
+			}
+			ofs = Math.min(ofs, maxOfs);
+
+			tmp = lastOfs;
+			lastOfs = hint - ofs;
+			ofs = hint - tmp;
+		}
+
+		// Now a[base + lastOfs] < key <= a[base + ofs]
+		lastOfs++;
+		int m;
+		while (lastOfs < ofs)
+		{
+			m = lastOfs + ((ofs - lastOfs) >>> 1);
+			if (c.compare(key, a[base + m]) > 0)
+			{
+				lastOfs = m + 1;
+			} else
+			{
+				ofs = m;
+			}
+		}
+
+		return ofs;
+	}
+
+	/**
+	 * Finds the position where {@code key} should be inserted in the sorted
+	 * range {@code a[base, base + len)}, after any element equal to it. The
+	 * search starts from {@code a[base + hint]} with steps of increasing size,
+	 * and then it is completed with a binary search.
+	 *
+	 * @param key
+	 *            The element to be inserted.
+	 * @param a
+	 *            The array containing the sorted range.
+	 * @param base
+	 *            The index of the first element of the range.
+	 * @param len
+	 *            The length of the range.
+	 * @param hint
+	 *            The offset of the first element to be compared.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in a.
+	 * @return The offset {@code k} such that
+	 *         {@code a[base + k - 1] <= key < a[base + k]}.
+	 */
+	private static <T> int gallopRight(T key, T[] a, int base, int len, int hint, Comparator<? super T> c)
+	{
+		int lastOfs = 0;
+		int ofs = 1;
+		int maxOfs;
+		int tmp;
+
+		if (c.compare(key, a[base + hint]) < 0)
+		{
+			// Gallops left, until a[base + hint - ofs] <= key
+			maxOfs = hint + 1;
+			while ((ofs < maxOfs) && (c.compare(key, a[(base + hint) - ofs]) < 0))
+			{
+				lastOfs = ofs;
+				ofs = (ofs << 1) + 1;
+				if (ofs <= 0)
+				{
+					ofs = maxOfs;
+				}
+			}
+			ofs = Math.min(ofs, maxOfs);
+
+			tmp = lastOfs;
+			lastOfs = hint - ofs;
+			ofs = hint - tmp;
+		} else
+		{
+			// Gallops right, until a[base + hint + ofs] > key
+			maxOfs = len - hint;
+			while ((ofs < maxOfs) && (c.compare(key, a[base + hint + ofs]) >= 0))
+			{
+				lastOfs = ofs;
+				ofs = (ofs << 1) + 1;
+				if (ofs <= 0)
+				{
+					ofs = maxOfs;
+				}
+			}
+			ofs = Math.min(ofs, maxOfs);
+
+			lastOfs += hint;
+			ofs += hint;
+		}
+
+		// Now a[base + lastOfs] <= key < a[base + ofs]
+		lastOfs++;
+		int m;
+		while (lastOfs < ofs)
+		{
+			m = lastOfs + ((ofs - lastOfs) >>> 1);
+			if (c.compare(key, a[base + m]) < 0)
+			{
+				ofs = m;
+			} else
+			{
+				lastOfs = m + 1;
+			}
+		}
+
+		return ofs;
+	}
+
+	/**
+	 * Holds the state of a single sort: the stack of the runs still to be
+	 * merged and the temporary buffer shared by all the merges.
+	 *
+	 * @param <T>
+	 *            The type of items contained in the array to be sorted.
+	 */
+	private static final class Merger<T>
+	{
+		/**
+		 * The array to be sorted.
+		 */
+		private final T[] a;
+
+		/**
+		 * The comparator that defines the order of the elements.
+		 */
+		private final Comparator<? super T> c;
+
+		/**
+		 * The number of elements to be sorted.
+		 */
+		private final int n;
+
+		/**
+		 * The merge buffer. It grows when needed, but it is never larger
+		 * than half of the elements to be sorted.
+		 */
+		private T[] tmp;
+
+		/**
+		 * The current galloping threshold. It is raised when galloping does
+		 * not pay off and lowered when it does.
+		 */
+		private int minGallop;
+
+		/**
+		 * The start position of every pending run.
+		 */
+		private final int[] runBase;
+
+		/**
+		 * The length of every pending run.
+		 */
+		private final int[] runLen;
+
+		/**
+		 * The number of pending runs.
+		 */
+		private int stackSize;
+
+		@SuppressWarnings("unchecked")
+		Merger(T[] a, Comparator<? super T> c, int n)
+		{
+			this.a = a;
+			this.c = c;
+			this.n = n;
+			this.minGallop = MIN_GALLOP;
+			this.tmp = (T[]) Array.newInstance(a.getClass().getComponentType(), Math.min(256, n >>> 1));
+
+			// The run lengths grow at least as fast as the Fibonacci numbers,
+			// so 49 runs are enough for any int length
+			this.runBase = new int[49];
+			this.runLen = new int[49];
+			this.stackSize = 0;
+		}
+
+		void pushRun(int base, int len)
+		{
+			runBase[stackSize] = base;
+			runLen[stackSize] = len;
+			stackSize++;
+		}
+
+		/**
+		 * Merges the pending runs until the lengths of the last three satisfy
+		 * {@code runLen[i - 2] > runLen[i - 1] + runLen[i]} and
+		 * {@code runLen[i - 1] > runLen[i]}, which keeps the merges balanced.
+		 */
+		void mergeCollapse()
+		{
+			int i;
+			while (stackSize > 1)
+			{
+				i = stackSize - 2;
+				if (((i > 0) && (runLen[i - 1] <= (runLen[i] + runLen[i + 1])))
+						|| ((i > 1) && (runLen[i - 2] <= (runLen[i] + runLen[i - 1]))))
+				{
+					if (runLen[i - 1] < runLen[i + 1])
+					{
+						i--;
+					}
+				} else if (runLen[i] > runLen[i + 1])
+				{
+					break;
+				}
+
+				mergeAt(i);
+			}
+		}
+
+		/**
+		 * Merges all the pending runs, at the end of the sort.
+		 */
+		void mergeForceCollapse()
+		{
+			int i;
+			while (stackSize > 1)
+			{
+				i = stackSize - 2;
+				if ((i > 0) && (runLen[i - 1] < runLen[i + 1]))
+				{
+					i--;
+				}
+
+				mergeAt(i);
+			}
+		}
+
+		/**
+		 * Merges the runs in positions {@code i} and {@code i + 1} of the
+		 * stack.
+		 *
+		 * @param i
+		 *            The stack position of the first run.
+		 */
+		private void mergeAt(int i)
+		{
+			int base1 = runBase[i];
+			int len1 = runLen[i];
+			int base2 = runBase[i + 1];
+			int len2 = runLen[i + 1];
+
+			runLen[i] = len1 + len2;
+			if (i == (stackSize - 3))
+			{
+				runBase[i + 1] = runBase[i + 2];
+				runLen[i + 1] = runLen[i + 2];
+			}
+			stackSize--;
+
+			// The elements of the first run which are not greater than the
+			// first element of the second run are already in place
+			int k = gallopRight(a[base2], a, base1, len1, 0, c);
+			base1 += k;
+			len1 -= k;
+			if (len1 == 0)
+			{
+				return;
+			}
+
+			// So are the elements of the second run which are not lower than
+			// the last element of the first run
+			len2 = gallopLeft(a[(base1 + len1) - 1], a, base2, len2, len2 - 1, c);
+			if (len2 == 0)
+			{
+				return;
+			}
+
+			if (len1 <= len2)
+			{
+				mergeLo(base1, len1, base2, len2);
+			} else
+			{
+				mergeHi(base1, len1, base2, len2);
+			}
+		}
+
+		/**
+		 * Merges two adjacent runs from left to right, copying the first one
+		 * (which is the shorter) in the buffer.
+		 *
+		 * @param base1
+		 *            The index of the first element of the first run.
+		 * @param len1
+		 *            The length of the first run.
+		 * @param base2
+		 *            The index of the first element of the second run.
+		 * @param len2
+		 *            The length of the second run.
+		 */
+		private void mergeLo(int base1, int len1, int base2, int len2)
+		{
+			T[] t = ensureCapacity(len1);
+			System.arraycopy(a, base1, t, 0, len1);
+
+			int cursor1 = 0;
+			int cursor2 = base2;
+			int dest = base1;
+			int end2 = base2 + len2;
+			int count1;
+			int count2;
+
+			while ((cursor1 < len1) && (cursor2 < end2))
+			{
+				count1 = 0;
+				count2 = 0;
+
+				// One element at a time, until a run wins too many times in a
+				// row
+				while ((cursor1 < len1) && (cursor2 < end2))
+				{
+					if (c.compare(a[cursor2], t[cursor1]) < 0)
+					{
+						a[dest++] = a[cursor2++];
+						count2++;
+						count1 = 0;
+						if (count2 >= minGallop)
+						{
+							break;
+						}
+					} else
+					{
+						a[dest++] = t[cursor1++];
+						count1++;
+						count2 = 0;
+						if (count1 >= minGallop)
+						{
+							break;
+						}
+					}
+				}
+
+				// Galloping, while it moves enough elements at once
+				while ((cursor1 < len1) && (cursor2 < end2))
+				{
+					count1 = gallopRight(a[cursor2], t, cursor1, len1 - cursor1, 0, c);
+					System.arraycopy(t, cursor1, a, dest, count1);
+					dest += count1;
+					cursor1 += count1;
+					if (cursor1 == len1)
+					{
+						break;
+					}
+
+					count2 = gallopLeft(t[cursor1], a, cursor2, end2 - cursor2, 0, c);
+					System.arraycopy(a, cursor2, a, dest, count2);
+					dest += count2;
+					cursor2 += count2;
+					if (cursor2 == end2)
+					{
+						break;
+					}
+
+					if ((count1 < MIN_GALLOP) && (count2 < MIN_GALLOP))
+					{
+						minGallop++;
+						break;
+					}
+
+					if (minGallop > 1)
+					{
+						minGallop--;
+					}
+				}
+			}
+
+			// The remaining elements of the second run are already in place
+			if (cursor1 < len1)
+			{
+				System.arraycopy(t, cursor1, a, dest, len1 - cursor1);
+			}
+		}
+
+		/**
+		 * Merges two adjacent runs from right to left, copying the second one
+		 * (which is the shorter) in the buffer.
+		 *
+		 * @param base1
+		 *            The index of the first element of the first run.
+		 * @param len1
+		 *            The length of the first run.
+		 * @param base2
+		 *            The index of the first element of the second run.
+		 * @param len2
+		 *            The length of the second run.
+		 */
+		private void mergeHi(int base1, int len1, int base2, int len2)
+		{
+			T[] t = ensureCapacity(len2);
+			System.arraycopy(a, base2, t, 0, len2);
+
+			int cursor1 = (base1 + len1) - 1;
+			int cursor2 = len2 - 1;
+			int dest = (base2 + len2) - 1;
+			int count1;
+			int count2;
+
+			while ((cursor1 >= base1) && (cursor2 >= 0))
+			{
+				count1 = 0;
+				count2 = 0;
+
+				// One element at a time, until a run wins too many times in a
+				// row
+				while ((cursor1 >= base1) && (cursor2 >= 0))
+				{
+					if (c.compare(t[cursor2], a[cursor1]) < 0)
+					{
+						a[dest--] = a[cursor1--];
+						count1++;
+						count2 = 0;
+						if (count1 >= minGallop)
+						{
+							break;
+						}
+					} else
+					{
+						a[dest--] = t[cursor2--];
+						count2++;
+						count1 = 0;
+						if (count2 >= minGallop)
+						{
+							break;
+						}
+					}
+				}
+
+				// Galloping, while it moves enough elements at once
+				while ((cursor1 >= base1) && (cursor2 >= 0))
+				{
+					count1 = ((cursor1 - base1) + 1)
+							- gallopRight(t[cursor2], a, base1, (cursor1 - base1) + 1, cursor1 - base1, c);
+					dest -= count1;
+					cursor1 -= count1;
+					System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+					if (cursor1 < base1)
+					{
+						break;
+					}
+
+					count2 = (cursor2 + 1) - gallopLeft(a[cursor1], t, 0, cursor2 + 1, cursor2, c);
+					dest -= count2;
+					cursor2 -= count2;
+					System.arraycopy(t, cursor2 + 1, a, dest + 1, count2);
+					if (cursor2 < 0)
+					{
+						break;
+					}
+
+					if ((count1 < MIN_GALLOP) && (count2 < MIN_GALLOP))
+					{
+						minGallop++;
+						break;
+					}
+
+					if (minGallop > 1)
+					{
+						minGallop--;
+					}
+				}
+			}
+
+			// The remaining elements of the first run are already in place
+			if (cursor2 >= 0)
+			{
+				System.arraycopy(t, 0, a, dest - cursor2, cursor2 + 1);
+			}
+		}
+
+		/**
+		 * Makes sure that the merge buffer can hold at least
+		 * {@code minCapacity} elements.
+		 *
+		 * @param minCapacity
+		 *            The number of elements that the buffer has to hold.
+		 * @return The merge buffer.
+		 */
+		@SuppressWarnings("unchecked")
+		private T[] ensureCapacity(int minCapacity)
+		{
+			if (tmp.length < minCapacity)
+			{
+				int newSize = Math.max(minCapacity, Math.min(tmp.length * 2, n >>> 1));
+				tmp = (T[]) Array.newInstance(a.getClass().getComponentType(), newSize);
+			}
+
+			return tmp;
+		}
+	}
+
+}
@@ -0,0 +1,348 @@
+package shutils.sorting;
+
+/**
+ * This class sorts the arrays of at most {@value #MAX_SIZE} primitive values
+ * with a sorting network: a fixed sequence of compare-exchange operations,
+ * which depends only on the number of elements and not on their values.
+ * <p>
+ * Every compare-exchange is written through {@code Math.min} and
+ * {@code Math.max}. For {@code int} and {@code long} the JIT usually compiles
+ * them to conditional moves, so, unlike Insertion Sort, sorting random data
+ * does not cause branch mispredictions. For this reason the sorting networks
+ * are well suited to sort the small partitions of {@link QuickSort}, see
+ * {@link LeafSorter#SORTING_NETWORK}. For {@code float} and {@code double}
+ * they are plain methods with branches on Java 8, which already order the
+ * zeros as {@code compare}; only {@code NaN} takes a separate path.
+ * <p>
+ * The networks are derived from Batcher's odd-even merge sort, with the
+ * comparators that are redundant for the given size removed: they use the
+ * optimal number of comparators up to 8 elements, and 63 comparators for 16
+ * elements.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class NetworkSort
+{
+	/**
+	 * The maximum number of elements that can be sorted.
+	 */
+	public static final int MAX_SIZE = 16;
+
+	/**
+	 * The networks for every size up to {@link #MAX_SIZE}: each one is a flat
+	 * list of pairs of positions, in the order they are compared.
+	 */
+	private static final byte[][] NETWORKS = {
+			{},
+			{},
+			{ 0, 1 },
+			{ 0, 1, 0, 2, 1, 2 },
+			{ 0, 1, 2, 3, 0, 2, 1, 3, 1, 2 },
+			{ 0, 1, 2, 3, 0, 2, 1, 3, 1, 2, 0, 4, 2, 4, 1, 2, 3, 4 },
+			{ 0, 1, 2, 3, 4, 5, 0, 2, 1, 3, 1, 2, 0, 4, 1, 5, 2, 4, 3, 5, 1, 2, 3, 4 },
+			{ 0, 1, 2, 3, 4, 5, 0, 2, 1, 3, 4, 6, 1, 2, 5, 6, 0, 4, 1, 5, 2, 6, 2, 4, 3, 5, 1, 2, 3, 4, 5, 6 },
+			{ 0, 1, 2, 3, 4, 5, 6, 7, 0, 2, 1, 3, 4, 6, 5, 7, 1, 2, 5, 6, 0, 4, 1, 5, 2, 6, 3, 7, 2, 4, 3, 5, 1, 2, 3,
+					4, 5, 6 },
+			{ 0, 1, 2, 3, 4, 5, 6, 7, 0, 2, 1, 3, 4, 6, 5, 7, 1, 2, 5, 6, 0, 4, 1, 5, 2, 6, 3, 7, 2, 4, 3, 5, 1, 2, 3,
+					4, 5, 6, 0, 8, 4, 8, 2, 4, 6, 8, 1, 2, 3, 4, 5, 6, 7, 8 },
+			{ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 0, 2, 1, 3, 4, 6, 5, 7, 1, 2, 5, 6, 0, 4, 1, 5, 2, 6, 3, 7, 2, 4, 3, 5, 1,
+					2, 3, 4, 5, 6, 0, 8, 1, 9, 4, 8, 5, 9, 2, 4, 3, 5, 6, 8, 7, 9, 1, 2, 3, 4, 5, 6, 7, 8 },
+			{ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 0, 2, 1, 3, 4, 6, 5, 7, 8, 10, 1, 2, 5, 6, 9, 10, 0, 4, 1, 5, 2, 6, 3, 7,
+					2, 4, 3, 5, 1, 2, 3, 4, 5, 6, 0, 8, 1, 9, 2, 10, 4, 8, 5, 9, 6, 10, 2, 4, 3, 5, 6, 8, 7, 9, 1, 2,
+					3, 4, 5, 6, 7, 8, 9, 10 },
+			{ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 0, 2, 1, 3, 4, 6, 5, 7, 8, 10, 9, 11, 1, 2, 5, 6, 9, 10, 0, 4, 1,
+					5, 2, 6, 3, 7, 2, 4, 3, 5, 1, 2, 3, 4, 5, 6, 0, 8, 1, 9, 2, 10, 3, 11, 4, 8, 5, 9, 6, 10, 7, 11,
+					2, 4, 3, 5, 6, 8, 7, 9, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 },
+			{ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 0, 2, 1, 3, 4, 6, 5, 7, 8, 10, 9, 11, 1, 2, 5, 6, 9, 10, 0, 4, 1,
+					5, 2, 6, 3, 7, 8, 12, 2, 4, 3, 5, 10, 12, 1, 2, 3, 4, 5, 6, 9, 10, 11, 12, 0, 8, 1, 9, 2, 10, 3,
+					11, 4, 12, 4, 8, 5, 9, 6, 10, 7, 11, 2, 4, 3, 5, 6, 8, 7, 9, 10, 12, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+					10, 11, 12 },
+			{ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 0, 2, 1, 3, 4, 6, 5, 7, 8, 10, 9, 11, 1, 2, 5, 6, 9, 10,
+					0, 4, 1, 5, 2, 6, 3, 7, 8, 12, 9, 13, 2, 4, 3, 5, 10, 12, 11, 13, 1, 2, 3, 4, 5, 6, 9, 10, 11, 12,
+					0, 8, 1, 9, 2, 10, 3, 11, 4, 12, 5, 13, 4, 8, 5, 9, 6, 10, 7, 11, 2, 4, 3, 5, 6, 8, 7, 9, 10, 12,
+					11, 13, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 },
+			{ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 0, 2, 1, 3, 4, 6, 5, 7, 8, 10, 9, 11, 12, 14, 1, 2, 5, 6,
+					9, 10, 13, 14, 0, 4, 1, 5, 2, 6, 3, 7, 8, 12, 9, 13, 10, 14, 2, 4, 3, 5, 10, 12, 11, 13, 1, 2, 3,
+					4, 5, 6, 9, 10, 11, 12, 13, 14, 0, 8, 1, 9, 2, 10, 3, 11, 4, 12, 5, 13, 6, 14, 4, 8, 5, 9, 6, 10,
+					7, 11, 2, 4, 3, 5, 6, 8, 7, 9, 10, 12, 11, 13, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14 },
+			{ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 0, 2, 1, 3, 4, 6, 5, 7, 8, 10, 9, 11, 12, 14, 13,
+					15, 1, 2, 5, 6, 9, 10, 13, 14, 0, 4, 1, 5, 2, 6, 3, 7, 8, 12, 9, 13, 10, 14, 11, 15, 2, 4, 3, 5,
+					10, 12, 11, 13, 1, 2, 3, 4, 5, 6, 9, 10, 11, 12, 13, 14, 0, 8, 1, 9, 2, 10, 3, 11, 4, 12, 5, 13,
+					6, 14, 7, 15, 4, 8, 5, 9, 6, 10, 7, 11, 2, 4, 3, 5, 6, 8, 7, 9, 10, 12, 11, 13, 1, 2, 3, 4, 5, 6,
+					7, 8, 9, 10, 11, 12, 13, 14 } };
+
+	/**
+	 * Sorts an array of {@code int} with a sorting network.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @throws IllegalArgumentException
+	 *             When the array has more than {@link #MAX_SIZE} elements.
+	 */
+	public static void networkSort(int[] A)
+	{
+		networkSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) with a sorting network.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r} or the range has more than
+	 *             {@link #MAX_SIZE} elements.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void networkSortBetween(int[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+		checkRange(A.length, l, r);
+
+		byte[] network = NETWORKS[(r - l) + 1];
+		for (int i = 0; i < network.length; i += 2)
+		{
+			compareExchange(A, l + network[i], l + network[i + 1]);
+		}
+	}
+
+	/**
+	 * Puts the lower of the elements at positions {@code i} and {@code j}
+	 * in {@code i} and the greater in {@code j}.
+	 */
+	static void compareExchange(int[] A, int i, int j)
+	{
+		int a = A[i];
+		int b = A[j];
+		A[i] = Math.min(a, b);
+		A[j] = Math.max(a, b);
+	}
+
+	/**
+	 * Sorts an array of {@code long} with a sorting network.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @throws IllegalArgumentException
+	 *             When the array has more than {@link #MAX_SIZE} elements.
+	 */
+	public static void networkSort(long[] A)
+	{
+		networkSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between {@code l} and
+	 * {@code r} (inclusive) with a sorting network.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r} or the range has more than
+	 *             {@link #MAX_SIZE} elements.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void networkSortBetween(long[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+		checkRange(A.length, l, r);
+
+		byte[] network = NETWORKS[(r - l) + 1];
+		for (int i = 0; i < network.length; i += 2)
+		{
+			compareExchange(A, l + network[i], l + network[i + 1]);
+		}
+	}
+
+	/**
+	 * Puts the lower of the elements at positions {@code i} and {@code j}
+	 * in {@code i} and the greater in {@code j}.
+	 */
+	static void compareExchange(long[] A, int i, int j)
+	{
+		long a = A[i];
+		long b = A[j];
+		A[i] = Math.min(a, b);
+		A[j] = Math.max(a, b);
+	}
+
+	/**
+	 * Sorts an array of {@code float} with a sorting network. The values are
+	 * ordered as by {@link Float#compare}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @throws IllegalArgumentException
+	 *             When the array has more than {@link #MAX_SIZE} elements.
+	 */
+	public static void networkSort(float[] A)
+	{
+		networkSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code float} between {@code l} and
+	 * {@code r} (inclusive) with a sorting network. The values are ordered as
+	 * by {@link Float#compare}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r} or the range has more than
+	 *             {@link #MAX_SIZE} elements.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void networkSortBetween(float[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+		checkRange(A.length, l, r);
+
+		byte[] network = NETWORKS[(r - l) + 1];
+		for (int i = 0; i < network.length; i += 2)
+		{
+			compareExchange(A, l + network[i], l + network[i + 1]);
+		}
+	}
+
+	/**
+	 * Puts the lower of the elements at positions {@code i} and {@code j}
+	 * in {@code i} and the greater in {@code j}.
+	 */
+	static void compareExchange(float[] A, int i, int j)
+	{
+		float a = A[i];
+		float b = A[j];
+		float lo = Math.min(a, b);
+		float hi = Math.max(a, b);
+
+		// Math.min and Math.max order the zeros as Float.compare, but not NaN
+		if (lo != lo)
+		{
+			if (Float.compare(a, b) > 0)
+			{
+				A[i] = b;
+				A[j] = a;
+			}
+			return;
+		}
+		A[i] = lo;
+		A[j] = hi;
+	}
+
+	/**
+	 * Sorts an array of {@code double} with a sorting network. The values are
+	 * ordered as by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @throws IllegalArgumentException
+	 *             When the array has more than {@link #MAX_SIZE} elements.
+	 */
+	public static void networkSort(double[] A)
+	{
+		networkSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code double} between {@code l} and
+	 * {@code r} (inclusive) with a sorting network. The values are ordered as
+	 * by {@link Double#compare}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r} or the range has more than
+	 *             {@link #MAX_SIZE} elements.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void networkSortBetween(double[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+		checkRange(A.length, l, r);
+
+		byte[] network = NETWORKS[(r - l) + 1];
+		for (int i = 0; i < network.length; i += 2)
+		{
+			compareExchange(A, l + network[i], l + network[i + 1]);
+		}
+	}
+
+	/**
+	 * Puts the lower of the elements at positions {@code i} and {@code j}
+	 * in {@code i} and the greater in {@code j}.
+	 */
+	static void compareExchange(double[] A, int i, int j)
+	{
+		double a = A[i];
+		double b = A[j];
+		double lo = Math.min(a, b);
+		double hi = Math.max(a, b);
+
+		// Math.min and Math.max order the zeros as Double.compare, but not NaN
+		if (lo != lo)
+		{
+			if (Double.compare(a, b) > 0)
+			{
+				A[i] = b;
+				A[j] = a;
+			}
+			return;
+		}
+		A[i] = lo;
+		A[j] = hi;
+	}
+
+	/**
+	 * Checks that the range between {@code l} and {@code r} (inclusive) is
+	 * valid and can be sorted by a network.
+	 */
+	private static void checkRange(int length, int l, int r)
+	{
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+		if ((l < 0) || (r >= length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+		if (((r - l) + 1) > MAX_SIZE)
+		{
+			throw new IllegalArgumentException("The range is too large for a sorting network");
+		}
+	}
+}
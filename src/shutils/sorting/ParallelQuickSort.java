@@ -0,0 +1,764 @@
+package shutils.sorting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class gives a parallel implementation of the Quick Sort algorithm,
+ * built on the common {@code ForkJoinPool}. Every partition step splits the
+ * elements in three parts, so that the elements equal to the pivot are left
+ * in place: the greater ones are handed over to another task, while the
+ * current task keeps working on the lower ones. Partitions which are
+ * small enough are sorted sequentially with
+ * {@code QuickSort.hybridQuickSortBetween}, since splitting them further would
+ * cost more than it saves.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class ParallelQuickSort
+{
+	/**
+	 * The default number of elements under which a partition is sorted
+	 * sequentially.
+	 */
+	public static final int DEFAULT_GRANULARITY = 1 << 13;
+
+	/**
+	 * The default cutoff used by the sequential Hybrid Quick Sort.
+	 */
+	public static final int DEFAULT_CUTOFF = 16;
+
+	/**
+	 * Sorts an array using a parallel version of the Quick Sort
+	 * algorithm, with the default granularity and cutoff.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T extends Comparable<T>> void parallelQuickSort(T[] A)
+	{
+		parallelQuickSort(A, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts an array using a parallel version of the Quick Sort
+	 * algorithm, with the default granularity and cutoff.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void parallelQuickSort(T[] A, Comparator<? super T> c)
+	{
+		parallelQuickSortBetween(A, 0, A.length - 1, DEFAULT_GRANULARITY, DEFAULT_CUTOFF, c);
+	}
+
+	/**
+	 * Sorts an array using a parallel version of the Quick Sort
+	 * algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param granularity
+	 *            Partitions with at most this number of elements are sorted
+	 *            sequentially.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code granularity < 1}.
+	 */
+	public static <T extends Comparable<T>> void parallelQuickSort(T[] A, int granularity)
+	{
+		parallelQuickSort(A, granularity, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts an array using a parallel version of the Quick Sort
+	 * algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param granularity
+	 *            Partitions with at most this number of elements are sorted
+	 *            sequentially.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code granularity < 1}.
+	 */
+	public static <T> void parallelQuickSort(T[] A, int granularity, Comparator<? super T> c)
+	{
+		parallelQuickSortBetween(A, 0, A.length - 1, granularity, DEFAULT_CUTOFF, c);
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using a parallel version of the Quick Sort algorithm.
+	 * Partitions with at most {@code granularity} elements are sorted with
+	 * {@code QuickSort.hybridQuickSortBetween} on the thread that reached
+	 * them.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param granularity
+	 *            Partitions with at most this number of elements are sorted
+	 *            sequentially.
+	 * @param k
+	 *            The cutoff passed to the sequential Hybrid Quick Sort.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code granularity < 1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T extends Comparable<T>> void parallelQuickSortBetween(T[] A, int l, int r, int granularity, int k)
+	{
+		parallelQuickSortBetween(A, l, r, granularity, k, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using a parallel version of the Quick Sort algorithm.
+	 * Partitions with at most {@code granularity} elements are sorted with
+	 * {@code QuickSort.hybridQuickSortBetween} on the thread that reached
+	 * them.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param granularity
+	 *            Partitions with at most this number of elements are sorted
+	 *            sequentially.
+	 * @param k
+	 *            The cutoff passed to the sequential Hybrid Quick Sort.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code granularity < 1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T> void parallelQuickSortBetween(T[] A, int l, int r, int granularity, int k,
+			Comparator<? super T> c)
+	{
+		checkArguments(A.length, l, r, granularity);
+
+		if (l < r)
+		{
+			int depth = QuickSort.depthLimit((r - l) + 1);
+			ForkJoinPool.commonPool().invoke(new GenericTask<>(A, l, r, granularity, k, depth, c));
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code int} using a parallel version of the Quick Sort
+	 * algorithm, with the default granularity and cutoff.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void parallelQuickSort(int[] A)
+	{
+		parallelQuickSortBetween(A, 0, A.length - 1, DEFAULT_GRANULARITY, DEFAULT_CUTOFF);
+	}
+
+	/**
+	 * Sorts an array of {@code int} using a parallel version of the Quick Sort
+	 * algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param granularity
+	 *            Partitions with at most this number of elements are sorted
+	 *            sequentially.
+	 * @throws IllegalArgumentException
+	 *             When {@code granularity < 1}.
+	 */
+	public static void parallelQuickSort(int[] A, int granularity)
+	{
+		parallelQuickSortBetween(A, 0, A.length - 1, granularity, DEFAULT_CUTOFF);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) using a parallel version of the Quick Sort
+	 * algorithm. Partitions with at most {@code granularity} elements are
+	 * sorted with {@code QuickSort.hybridQuickSortBetween} on the thread that
+	 * reached them.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param granularity
+	 *            Partitions with at most this number of elements are sorted
+	 *            sequentially.
+	 * @param k
+	 *            The cutoff passed to the sequential Hybrid Quick Sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code granularity < 1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void parallelQuickSortBetween(int[] A, int l, int r, int granularity, int k)
+	{
+		checkArguments(A.length, l, r, granularity);
+
+		if (l < r)
+		{
+			int depth = QuickSort.depthLimit((r - l) + 1);
+			ForkJoinPool.commonPool().invoke(new IntTask(A, l, r, granularity, k, depth));
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code long} using a parallel version of the Quick Sort
+	 * algorithm, with the default granularity and cutoff.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void parallelQuickSort(long[] A)
+	{
+		parallelQuickSortBetween(A, 0, A.length - 1, DEFAULT_GRANULARITY, DEFAULT_CUTOFF);
+	}
+
+	/**
+	 * Sorts an array of {@code long} using a parallel version of the Quick Sort
+	 * algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param granularity
+	 *            Partitions with at most this number of elements are sorted
+	 *            sequentially.
+	 * @throws IllegalArgumentException
+	 *             When {@code granularity < 1}.
+	 */
+	public static void parallelQuickSort(long[] A, int granularity)
+	{
+		parallelQuickSortBetween(A, 0, A.length - 1, granularity, DEFAULT_CUTOFF);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between {@code l} and
+	 * {@code r} (inclusive) using a parallel version of the Quick Sort
+	 * algorithm. Partitions with at most {@code granularity} elements are
+	 * sorted with {@code QuickSort.hybridQuickSortBetween} on the thread that
+	 * reached them.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param granularity
+	 *            Partitions with at most this number of elements are sorted
+	 *            sequentially.
+	 * @param k
+	 *            The cutoff passed to the sequential Hybrid Quick Sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code granularity < 1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void parallelQuickSortBetween(long[] A, int l, int r, int granularity, int k)
+	{
+		checkArguments(A.length, l, r, granularity);
+
+		if (l < r)
+		{
+			int depth = QuickSort.depthLimit((r - l) + 1);
+			ForkJoinPool.commonPool().invoke(new LongTask(A, l, r, granularity, k, depth));
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code float} using a parallel version of the Quick
+	 * Sort algorithm, with the default granularity and cutoff.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void parallelQuickSort(float[] A)
+	{
+		parallelQuickSortBetween(A, 0, A.length - 1, DEFAULT_GRANULARITY, DEFAULT_CUTOFF);
+	}
+
+	/**
+	 * Sorts an array of {@code float} using a parallel version of the Quick
+	 * Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param granularity
+	 *            Partitions with at most this number of elements are sorted
+	 *            sequentially.
+	 * @throws IllegalArgumentException
+	 *             When {@code granularity < 1}.
+	 */
+	public static void parallelQuickSort(float[] A, int granularity)
+	{
+		parallelQuickSortBetween(A, 0, A.length - 1, granularity, DEFAULT_CUTOFF);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code float} between {@code l} and
+	 * {@code r} (inclusive) using a parallel version of the Quick Sort
+	 * algorithm. Partitions with at most {@code granularity} elements are
+	 * sorted with {@code QuickSort.hybridQuickSortBetween} on the thread that
+	 * reached them.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param granularity
+	 *            Partitions with at most this number of elements are sorted
+	 *            sequentially.
+	 * @param k
+	 *            The cutoff passed to the sequential Hybrid Quick Sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code granularity < 1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void parallelQuickSortBetween(float[] A, int l, int r, int granularity, int k)
+	{
+		checkArguments(A.length, l, r, granularity);
+
+		if (l < r)
+		{
+			int depth = QuickSort.depthLimit((r - l) + 1);
+			ForkJoinPool.commonPool().invoke(new FloatTask(A, l, r, granularity, k, depth));
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code double} using a parallel version of the Quick
+	 * Sort algorithm, with the default granularity and cutoff.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void parallelQuickSort(double[] A)
+	{
+		parallelQuickSortBetween(A, 0, A.length - 1, DEFAULT_GRANULARITY, DEFAULT_CUTOFF);
+	}
+
+	/**
+	 * Sorts an array of {@code double} using a parallel version of the Quick
+	 * Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param granularity
+	 *            Partitions with at most this number of elements are sorted
+	 *            sequentially.
+	 * @throws IllegalArgumentException
+	 *             When {@code granularity < 1}.
+	 */
+	public static void parallelQuickSort(double[] A, int granularity)
+	{
+		parallelQuickSortBetween(A, 0, A.length - 1, granularity, DEFAULT_CUTOFF);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code double} between {@code l} and
+	 * {@code r} (inclusive) using a parallel version of the Quick Sort
+	 * algorithm. Partitions with at most {@code granularity} elements are
+	 * sorted with {@code QuickSort.hybridQuickSortBetween} on the thread that
+	 * reached them.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param granularity
+	 *            Partitions with at most this number of elements are sorted
+	 *            sequentially.
+	 * @param k
+	 *            The cutoff passed to the sequential Hybrid Quick Sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code granularity < 1}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void parallelQuickSortBetween(double[] A, int l, int r, int granularity, int k)
+	{
+		checkArguments(A.length, l, r, granularity);
+
+		if (l < r)
+		{
+			int depth = QuickSort.depthLimit((r - l) + 1);
+			ForkJoinPool.commonPool().invoke(new DoubleTask(A, l, r, granularity, k, depth));
+		}
+	}
+
+	/**
+	 * Internal utility to check the arguments of the public methods.
+	 *
+	 * @param length
+	 *            The length of the array.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param granularity
+	 *            The granularity requested by the caller.
+	 */
+	private static void checkArguments(int length, int l, int r, int granularity)
+	{
+		if (granularity < 1)
+		{
+			throw new IllegalArgumentException("The granularity must be positive");
+		}
+
+		if ((l < 0) || (r >= length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+	}
+
+	/**
+	 * The task that sorts a partition of a generic array.
+	 */
+	private static final class GenericTask<T> extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final T[] A;
+		private final int l;
+		private final int r;
+		private final int granularity;
+		private final int k;
+		private final int depth;
+		private final Comparator<? super T> c;
+
+		GenericTask(T[] A, int l, int r, int granularity, int k, int depth, Comparator<? super T> c)
+		{
+			this.A = A;
+			this.l = l;
+			this.r = r;
+			this.granularity = granularity;
+			this.k = k;
+			this.depth = depth;
+			this.c = c;
+		}
+
+		@Override
+		protected void compute()
+		{
+			List<ForkJoinTask<Void>> forked = new ArrayList<>();
+			int hi = r;
+			int d = depth;
+			long b;
+			int lt;
+			int gt;
+
+			// Once the depth limit is reached, the sequential sort takes care
+			// of the worst case
+			while ((((hi - l) + 1) > granularity) && (d > 0))
+			{
+				d--;
+				// The elements equal to the pivot are already in place, so
+				// duplicate keys are settled in one pass. The greater ones are
+				// given away, the lower ones are handled by this task in the
+				// next iteration
+				b = QuickSort.ThreeWayPartition(A, l, hi, QuickSort.DEFAULT_PIVOT, c);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+				if ((gt + 1) < hi)
+				{
+					forked.add(new GenericTask<>(A, gt + 1, hi, granularity, k, d, c).fork());
+				}
+				hi = lt - 1;
+			}
+
+			QuickSort.hybridQuickSortBetween(A, l, hi, k, c);
+
+			for (ForkJoinTask<Void> t : forked)
+			{
+				t.join();
+			}
+		}
+	}
+
+	/**
+	 * The task that sorts a partition of an array of {@code int}.
+	 */
+	private static final class IntTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final int[] A;
+		private final int l;
+		private final int r;
+		private final int granularity;
+		private final int k;
+		private final int depth;
+
+		IntTask(int[] A, int l, int r, int granularity, int k, int depth)
+		{
+			this.A = A;
+			this.l = l;
+			this.r = r;
+			this.granularity = granularity;
+			this.k = k;
+			this.depth = depth;
+		}
+
+		@Override
+		protected void compute()
+		{
+			List<ForkJoinTask<Void>> forked = new ArrayList<>();
+			int hi = r;
+			int d = depth;
+			long b;
+			int lt;
+			int gt;
+
+			// Once the depth limit is reached, the sequential sort takes care
+			// of the worst case
+			while ((((hi - l) + 1) > granularity) && (d > 0))
+			{
+				d--;
+				// The elements equal to the pivot are already in place, so
+				// duplicate keys are settled in one pass. The greater ones are
+				// given away, the lower ones are handled by this task in the
+				// next iteration
+				b = QuickSort.ThreeWayPartition(A, l, hi, QuickSort.DEFAULT_PIVOT);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+				if ((gt + 1) < hi)
+				{
+					forked.add(new IntTask(A, gt + 1, hi, granularity, k, d).fork());
+				}
+				hi = lt - 1;
+			}
+
+			QuickSort.hybridQuickSortBetween(A, l, hi, k);
+
+			for (ForkJoinTask<Void> t : forked)
+			{
+				t.join();
+			}
+		}
+	}
+
+	/**
+	 * The task that sorts a partition of an array of {@code long}.
+	 */
+	private static final class LongTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final long[] A;
+		private final int l;
+		private final int r;
+		private final int granularity;
+		private final int k;
+		private final int depth;
+
+		LongTask(long[] A, int l, int r, int granularity, int k, int depth)
+		{
+			this.A = A;
+			this.l = l;
+			this.r = r;
+			this.granularity = granularity;
+			this.k = k;
+			this.depth = depth;
+		}
+
+		@Override
+		protected void compute()
+		{
+			List<ForkJoinTask<Void>> forked = new ArrayList<>();
+			int hi = r;
+			int d = depth;
+			long b;
+			int lt;
+			int gt;
+
+			// Once the depth limit is reached, the sequential sort takes care
+			// of the worst case
+			while ((((hi - l) + 1) > granularity) && (d > 0))
+			{
+				d--;
+				// The elements equal to the pivot are already in place, so
+				// duplicate keys are settled in one pass. The greater ones are
+				// given away, the lower ones are handled by this task in the
+				// next iteration
+				b = QuickSort.ThreeWayPartition(A, l, hi, QuickSort.DEFAULT_PIVOT);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+				if ((gt + 1) < hi)
+				{
+					forked.add(new LongTask(A, gt + 1, hi, granularity, k, d).fork());
+				}
+				hi = lt - 1;
+			}
+
+			QuickSort.hybridQuickSortBetween(A, l, hi, k);
+
+			for (ForkJoinTask<Void> t : forked)
+			{
+				t.join();
+			}
+		}
+	}
+
+	/**
+	 * The task that sorts a partition of an array of {@code float}.
+	 */
+	private static final class FloatTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final float[] A;
+		private final int l;
+		private final int r;
+		private final int granularity;
+		private final int k;
+		private final int depth;
+
+		FloatTask(float[] A, int l, int r, int granularity, int k, int depth)
+		{
+			this.A = A;
+			this.l = l;
+			this.r = r;
+			this.granularity = granularity;
+			this.k = k;
+			this.depth = depth;
+		}
+
+		@Override
+		protected void compute()
+		{
+			List<ForkJoinTask<Void>> forked = new ArrayList<>();
+			int hi = r;
+			int d = depth;
+			long b;
+			int lt;
+			int gt;
+
+			// Once the depth limit is reached, the sequential sort takes care
+			// of the worst case
+			while ((((hi - l) + 1) > granularity) && (d > 0))
+			{
+				d--;
+				// The elements equal to the pivot are already in place, so
+				// duplicate keys are settled in one pass. The greater ones are
+				// given away, the lower ones are handled by this task in the
+				// next iteration
+				b = QuickSort.ThreeWayPartition(A, l, hi, QuickSort.DEFAULT_PIVOT);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+				if ((gt + 1) < hi)
+				{
+					forked.add(new FloatTask(A, gt + 1, hi, granularity, k, d).fork());
+				}
+				hi = lt - 1;
+			}
+
+			QuickSort.hybridQuickSortBetween(A, l, hi, k);
+
+			for (ForkJoinTask<Void> t : forked)
+			{
+				t.join();
+			}
+		}
+	}
+
+	/**
+	 * The task that sorts a partition of an array of {@code double}.
+	 */
+	private static final class DoubleTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final double[] A;
+		private final int l;
+		private final int r;
+		private final int granularity;
+		private final int k;
+		private final int depth;
+
+		DoubleTask(double[] A, int l, int r, int granularity, int k, int depth)
+		{
+			this.A = A;
+			this.l = l;
+			this.r = r;
+			this.granularity = granularity;
+			this.k = k;
+			this.depth = depth;
+		}
+
+		@Override
+		protected void compute()
+		{
+			List<ForkJoinTask<Void>> forked = new ArrayList<>();
+			int hi = r;
+			int d = depth;
+			long b;
+			int lt;
+			int gt;
+
+			// Once the depth limit is reached, the sequential sort takes care
+			// of the worst case
+			while ((((hi - l) + 1) > granularity) && (d > 0))
+			{
+				d--;
+				// The elements equal to the pivot are already in place, so
+				// duplicate keys are settled in one pass. The greater ones are
+				// given away, the lower ones are handled by this task in the
+				// next iteration
+				b = QuickSort.ThreeWayPartition(A, l, hi, QuickSort.DEFAULT_PIVOT);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+				if ((gt + 1) < hi)
+				{
+					forked.add(new DoubleTask(A, gt + 1, hi, granularity, k, d).fork());
+				}
+				hi = lt - 1;
+			}
+
+			QuickSort.hybridQuickSortBetween(A, l, hi, k);
+
+			for (ForkJoinTask<Void> t : forked)
+			{
+				t.join();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,32 @@
+package shutils.sorting;
+
+/**
+ * Lists the partitioning schemes that {@code QuickSort} can use.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public enum PartitionScheme
+{
+	/**
+	 * Lomuto partitioning around a single pivot: the elements lower than the
+	 * pivot end up on its left, all the others on its right.
+	 */
+	LOMUTO,
+
+	/**
+	 * Partitioning around two pivots {@code p <= q}, which splits the
+	 * partition in three parts: the elements lower than {@code p}, the ones
+	 * between {@code p} and {@code q} and the ones greater than {@code q}.
+	 */
+	DUAL_PIVOT,
+
+	/**
+	 * Three-way partitioning around a single pivot (Dutch national flag): the
+	 * elements lower than the pivot, the ones equal to it and the ones greater
+	 * than it. The elements equal to the pivot are not considered anymore, so
+	 * an array with {@code k} distinct values is sorted in
+	 * {@code O(n log k)} time.
+	 */
+	THREE_WAY
+}
@@ -0,0 +1,35 @@
+package shutils.sorting;
+
+/**
+ * Lists the strategies that {@code QuickSort} can use to choose the pivot of
+ * a partition.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public enum PivotStrategy
+{
+	/**
+	 * The last element of the partition is used as pivot. This is the
+	 * textbook choice, but it degrades to {@code O(n^2)} on sorted input.
+	 */
+	LAST,
+
+	/**
+	 * The median between the first, the middle and the last element of the
+	 * partition is used as pivot.
+	 */
+	MEDIAN_OF_THREE,
+
+	/**
+	 * The median of the medians of three groups of three elements (Tukey's
+	 * ninther) is used as pivot. Small partitions fall back to
+	 * {@link #MEDIAN_OF_THREE}.
+	 */
+	NINTHER,
+
+	/**
+	 * A randomly chosen element of the partition is used as pivot.
+	 */
+	RANDOM
+}
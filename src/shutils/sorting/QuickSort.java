@@ -1,43 +1,338 @@
 package shutils.sorting;
 
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+
 import shutils.array.SHArray;
 
+/**
+ * This class gives a common implementation of the Quick Sort algorithm and of
+ * its hybrid version, which sorts the small partitions with Insertion Sort.
+ * <p>
+ * Every method comes in a generic version, for {@code Comparable} elements or
+ * for an arbitrary {@code Comparator}, and in a version for each of the
+ * {@code int}, {@code long}, {@code float} and {@code double} primitive
+ * types, which never boxes the values. The pivot strategy and the
+ * partitioning scheme can be selected through {@link PivotStrategy} and
+ * {@link PartitionScheme}, while the algorithm used by the hybrid version on
+ * the small partitions can be selected through {@link LeafSorter}. Whatever
+ * the choice, once the recursion gets
+ * deeper than {@code 2 log n} levels the remaining partition is sorted with
+ * {@link HeapSort}, so the worst case complexity is {@code O(n log n)} and
+ * the stack depth is bounded.
+ *
+ * @author Matteo Nardini
+ *
+ */
 public class QuickSort
 {
+	/**
+	 * The pivot strategy used when none is specified.
+	 */
+	public static final PivotStrategy DEFAULT_PIVOT = PivotStrategy.MEDIAN_OF_THREE;
+
+	/**
+	 * The partitioning scheme used when none is specified.
+	 */
+	public static final PartitionScheme DEFAULT_SCHEME = PartitionScheme.LOMUTO;
+
+	/**
+	 * The algorithm used to sort the small partitions when none is specified.
+	 */
+	public static final LeafSorter DEFAULT_LEAF = LeafSorter.INSERTION;
+
+	/**
+	 * Partitions with more elements than this use Tukey's ninther instead of
+	 * the median of three when {@link PivotStrategy#NINTHER} is selected.
+	 */
+	private static final int NINTHER_THRESHOLD = 40;
+
+	/**
+	 * Partitions with less elements than this choose the dual pivots without
+	 * sampling.
+	 */
+	private static final int DUAL_PIVOT_SAMPLE_THRESHOLD = 7;
+
+	/**
+	 * Sorts an array using the Hybrid Quick Sort algorithm, with the
+	 * cutoff that {@link CutoffCalibration} gives for the class of its
+	 * elements: partitions containing at most that number of elements are
+	 * sorted with
+	 * {@link InsertionSort#insertionSortBetween(Object[], int, int,
+	 * Comparator)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T extends Comparable<T>> void hybridQuickSort(T[] A)
+	{
+		hybridQuickSort(A, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts an array using the Hybrid Quick Sort algorithm, with the
+	 * cutoff that {@link CutoffCalibration} gives for the class of its
+	 * elements: partitions containing at most that number of elements are
+	 * sorted with
+	 * {@link InsertionSort#insertionSortBetween(Object[], int, int,
+	 * Comparator)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void hybridQuickSort(T[] A, Comparator<? super T> c)
+	{
+		hybridQuickSort(A, CutoffCalibration.getCutoff(A.getClass().getComponentType()), c);
+	}
+
+	/**
+	 * Sorts an array using the Hybrid Quick Sort algorithm: partitions
+	 * containing at most {@code k} elements are sorted with
+	 * {@link InsertionSort#insertionSortBetween(Object[], int, int,
+	 * Comparator)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
 	public static <T extends Comparable<T>> void hybridQuickSort(T[] A, int k)
 	{
-		hybridQuickSortBetween(A, 0, A.length - 1, k);
+		hybridQuickSort(A, k, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts an array using the Hybrid Quick Sort algorithm: partitions
+	 * containing at most {@code k} elements are sorted with
+	 * {@link InsertionSort#insertionSortBetween(Object[], int, int,
+	 * Comparator)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void hybridQuickSort(T[] A, int k, Comparator<? super T> c)
+	{
+		hybridQuickSortBetween(A, 0, A.length - 1, k, c);
 	}
 
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Hybrid Quick Sort algorithm, with the default
+	 * pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
 	public static <T extends Comparable<T>> void hybridQuickSortBetween(T[] A, int l, int r, int k)
 	{
-		if (l < r)
+		hybridQuickSortBetween(A, l, r, k, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Hybrid Quick Sort algorithm, with the default
+	 * pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T> void hybridQuickSortBetween(T[] A, int l, int r, int k, Comparator<? super T> c)
+	{
+		hybridQuickSortBetween(A, l, r, k, DEFAULT_PIVOT, DEFAULT_SCHEME, c);
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Hybrid Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T extends Comparable<T>> void hybridQuickSortBetween(T[] A, int l, int r, int k,
+			PivotStrategy pivot, PartitionScheme scheme)
+	{
+		hybridQuickSortBetween(A, l, r, k, pivot, scheme, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Hybrid Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T> void hybridQuickSortBetween(T[] A, int l, int r, int k, PivotStrategy pivot,
+			PartitionScheme scheme, Comparator<? super T> c)
+	{
+		hybridQuickSortBetween(A, l, r, k, pivot, scheme, DEFAULT_LEAF, c);
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Hybrid Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with the
+	 *            {@code leaf} algorithm.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param leaf
+	 *            The algorithm used to sort the small partitions.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T extends Comparable<T>> void hybridQuickSortBetween(T[] A, int l, int r, int k,
+			PivotStrategy pivot, PartitionScheme scheme, LeafSorter leaf)
+	{
+		hybridQuickSortBetween(A, l, r, k, pivot, scheme, leaf, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Hybrid Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with the
+	 *            {@code leaf} algorithm.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param leaf
+	 *            The algorithm used to sort the small partitions.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T> void hybridQuickSortBetween(T[] A, int l, int r, int k, PivotStrategy pivot,
+			PartitionScheme scheme, LeafSorter leaf, Comparator<? super T> c)
+	{
+		if ((l < 0) || (r >= A.length))
 		{
-			// In the number of element between l and r (given by r - l + 1) is
-			// lower or equal to a certain key k
-			if (((r - l) + 1) <= k)
-			{
-				// The algorithm performs insertionSort between l and r
-				InsertionSort.insertionSortBetween(A, l, r);
-			} else
-			{
-				// Otherwise we go with the standard quicksort procedure
-				int m = Partition(A, l, r);
-				hybridQuickSortBetween(A, l, m - 1, k);
-				hybridQuickSortBetween(A, m + 1, r, k);
-			}
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
 		}
 
+		if (l < r)
+		{
+			introSort(A, l, r, k, pivot, scheme, leaf, depthLimit((r - l) + 1), c);
+		}
 	}
 
-	private static <T extends Comparable<T>> int Partition(T[] A, int l, int r)
+	/**
+	 * Partitions the elements between {@code l} and {@code r} around the
+	 * last one.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The final position of the pivot.
+	 */
+	static <T> int Partition(T[] A, int l, int r, Comparator<? super T> c)
 	{
 		T p = A[r];
 		int endLittle = l - 1;
 
 		for (int i = l; i < r; i++)
 		{
-			if (A[i].compareTo(p) < 0)
+			if (c.compare(A[i], p) < 0)
 			{
 				SHArray.swap(A, endLittle + 1, i);
 				endLittle++;
@@ -49,12 +344,725 @@ public class QuickSort
 		return endLittle + 1;
 	}
 
+	/**
+	 * Chooses a pivot with the given strategy, moves it in position {@code r}
+	 * and then partitions the elements between {@code l} and {@code r}
+	 * around it.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The final position of the pivot.
+	 */
+	static <T> int Partition(T[] A, int l, int r, PivotStrategy pivot, Comparator<? super T> c)
+	{
+		SHArray.swap(A, choosePivot(A, l, r, pivot, c), r);
+		return Partition(A, l, r, c);
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} around two
+	 * pivots {@code p <= q} chosen with the given strategy. At the end, the
+	 * elements lower than {@code p} precede it, the elements greater than
+	 * {@code q} follow it and all the others lie between the two pivots.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The final positions of {@code p} and {@code q}, packed with
+	 *         {@code bounds}.
+	 */
+	static <T> long DualPivotPartition(T[] A, int l, int r, PivotStrategy pivot, Comparator<? super T> c)
+	{
+		chooseDualPivots(A, l, r, pivot, c);
+		if (c.compare(A[r], A[l]) < 0)
+		{
+			SHArray.swap(A, l, r);
+		}
+
+		T p = A[l];
+		T q = A[r];
+		int lt = l + 1;
+		int gt = r - 1;
+
+		for (int i = lt; i <= gt; i++)
+		{
+			if (c.compare(A[i], p) < 0)
+			{
+				SHArray.swap(A, i, lt);
+				lt++;
+			} else if (c.compare(q, A[i]) < 0)
+			{
+				while ((c.compare(q, A[gt]) < 0) && (i < gt))
+				{
+					gt--;
+				}
+				SHArray.swap(A, i, gt);
+				gt--;
+
+				if (c.compare(A[i], p) < 0)
+				{
+					SHArray.swap(A, i, lt);
+					lt++;
+				}
+			}
+		}
+
+		lt--;
+		gt++;
+		SHArray.swap(A, l, lt);
+		SHArray.swap(A, r, gt);
+
+		return bounds(lt, gt);
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} in three
+	 * parts, with a single pass: the elements lower than a pivot chosen with
+	 * the given strategy, the elements equal to it and the elements greater
+	 * than it.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The positions of the first and of the last element equal to
+	 *         the pivot, packed with {@code bounds}.
+	 */
+	static <T> long ThreeWayPartition(T[] A, int l, int r, PivotStrategy pivot, Comparator<? super T> c)
+	{
+		T p = A[choosePivot(A, l, r, pivot, c)];
+		int lt = l;
+		int gt = r;
+		int i = l;
+
+		while (i <= gt)
+		{
+			if (c.compare(A[i], p) < 0)
+			{
+				SHArray.swap(A, lt, i);
+				lt++;
+				i++;
+			} else if (c.compare(p, A[i]) < 0)
+			{
+				SHArray.swap(A, i, gt);
+				gt--;
+			} else
+			{
+				i++;
+			}
+		}
+
+		return bounds(lt, gt);
+	}
+
+	/**
+	 * Sorts an array using the Quick Sort algorithm, with the default pivot
+	 * strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
 	public static <T extends Comparable<T>> void quickSort(T[] A)
 	{
-		quickSortBetween(A, 0, A.length - 1);
+		quickSort(A, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts an array using the Quick Sort algorithm, with the default pivot
+	 * strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void quickSort(T[] A, Comparator<? super T> c)
+	{
+		quickSortBetween(A, 0, A.length - 1, c);
+	}
+
+	/**
+	 * Sorts an array using the Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T extends Comparable<T>> void quickSort(T[] A, PivotStrategy pivot, PartitionScheme scheme)
+	{
+		quickSort(A, pivot, scheme, Comparator.<T> naturalOrder());
 	}
 
+	/**
+	 * Sorts an array using the Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void quickSort(T[] A, PivotStrategy pivot, PartitionScheme scheme, Comparator<? super T> c)
+	{
+		quickSortBetween(A, 0, A.length - 1, pivot, scheme, c);
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Quick Sort algorithm, with the default pivot
+	 * strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
 	public static <T extends Comparable<T>> void quickSortBetween(T[] A, int l, int r)
+	{
+		quickSortBetween(A, l, r, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Quick Sort algorithm, with the default pivot
+	 * strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T> void quickSortBetween(T[] A, int l, int r, Comparator<? super T> c)
+	{
+		quickSortBetween(A, l, r, DEFAULT_PIVOT, DEFAULT_SCHEME, c);
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T extends Comparable<T>> void quickSortBetween(T[] A, int l, int r, PivotStrategy pivot,
+			PartitionScheme scheme)
+	{
+		quickSortBetween(A, l, r, pivot, scheme, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts the elements of an array between {@code l} and {@code r}
+	 * (inclusive) using the Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T> void quickSortBetween(T[] A, int l, int r, PivotStrategy pivot, PartitionScheme scheme,
+			Comparator<? super T> c)
+	{
+		hybridQuickSortBetween(A, l, r, 1, pivot, scheme, c);
+	}
+
+	/**
+	 * The actual sorting procedure. It recurses on the smaller partitions and
+	 * iterates on the largest one, and it switches to Heap Sort once
+	 * {@code depth} reaches zero.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with the
+	 *            {@code leaf} algorithm.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param leaf
+	 *            The algorithm used to sort the small partitions.
+	 * @param depth
+	 *            The remaining recursion depth.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	private static <T> void introSort(T[] A, int l, int r, int k, PivotStrategy pivot, PartitionScheme scheme,
+			LeafSorter leaf, int depth, Comparator<? super T> c)
+	{
+		int m;
+		long b;
+		int lt;
+		int gt;
+
+		while (l < r)
+		{
+			if (((r - l) + 1) <= k)
+			{
+				sortLeaf(A, l, r, leaf, c);
+				return;
+			}
+
+			if (depth == 0)
+			{
+				HeapSort.heapSortBetween(A, l, r, c);
+				return;
+			}
+			depth--;
+
+			switch (scheme)
+			{
+			case DUAL_PIVOT:
+				b = DualPivotPartition(A, l, r, pivot, c);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+
+				introSort(A, l, lt - 1, k, pivot, scheme, leaf, depth, c);
+				// When the two pivots are equal, so are all the elements
+				// between them
+				if (c.compare(A[lt], A[gt]) < 0)
+				{
+					introSort(A, lt + 1, gt - 1, k, pivot, scheme, leaf, depth, c);
+				}
+				l = gt + 1;
+				break;
+
+			case THREE_WAY:
+				b = ThreeWayPartition(A, l, r, pivot, c);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+
+				// The elements equal to the pivot are already in place
+				if ((lt - l) < (r - gt))
+				{
+					introSort(A, l, lt - 1, k, pivot, scheme, leaf, depth, c);
+					l = gt + 1;
+				} else
+				{
+					introSort(A, gt + 1, r, k, pivot, scheme, leaf, depth, c);
+					r = lt - 1;
+				}
+				break;
+
+			default:
+				m = Partition(A, l, r, pivot, c);
+
+				if ((m - l) < (r - m))
+				{
+					introSort(A, l, m - 1, k, pivot, scheme, leaf, depth, c);
+					l = m + 1;
+				} else
+				{
+					introSort(A, m + 1, r, k, pivot, scheme, leaf, depth, c);
+					r = m - 1;
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Sorts a small partition with the given algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param leaf
+	 *            The algorithm to be used.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	private static <T> void sortLeaf(T[] A, int l, int r, LeafSorter leaf, Comparator<? super T> c)
+	{
+		switch (leaf)
+		{
+		case BINARY_INSERTION:
+			InsertionSort.binaryInsertionSortBetween(A, l, r, c);
+			break;
+
+		default:
+			InsertionSort.insertionSortBetween(A, l, r, c);
+			break;
+		}
+	}
+
+	/**
+	 * Chooses the position of the pivot of a partition.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the pivot.
+	 */
+	private static <T> int choosePivot(T[] A, int l, int r, PivotStrategy pivot, Comparator<? super T> c)
+	{
+		int m = (l + r) >>> 1;
+		int s;
+
+		switch (pivot)
+		{
+		case MEDIAN_OF_THREE:
+			return median(A, l, m, r, c);
+
+		case NINTHER:
+			if (((r - l) + 1) <= NINTHER_THRESHOLD)
+			{
+				return median(A, l, m, r, c);
+			}
+
+			s = ((r - l) + 1) / 8;
+			return median(A, median(A, l, l + s, l + (2 * s), c), median(A, m - s, m, m + s, c),
+					median(A, r - (2 * s), r - s, r, c), c);
+
+		case RANDOM:
+			return ThreadLocalRandom.current().nextInt(l, r + 1);
+
+		default:
+			return r;
+		}
+	}
+
+	/**
+	 * Chooses the two pivots of a partition and moves them in positions
+	 * {@code l} and {@code r}. With {@link PivotStrategy#MEDIAN_OF_THREE}
+	 * and {@link PivotStrategy#NINTHER} the pivots are the second and the
+	 * fourth of five equally spaced elements.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	private static <T> void chooseDualPivots(T[] A, int l, int r, PivotStrategy pivot, Comparator<? super T> c)
+	{
+		int n = (r - l) + 1;
+
+		switch (pivot)
+		{
+		case MEDIAN_OF_THREE:
+		case NINTHER:
+			if (n < DUAL_PIVOT_SAMPLE_THRESHOLD)
+			{
+				return;
+			}
+
+			int seventh = n / 7;
+			int e3 = (l + r) >>> 1;
+			int e2 = e3 - seventh;
+			int e1 = e2 - seventh;
+			int e4 = e3 + seventh;
+			int e5 = e4 + seventh;
+
+			sortFive(A, e1, e2, e3, e4, e5, c);
+			SHArray.swap(A, l, e2);
+			SHArray.swap(A, r, e4);
+			return;
+
+		case RANDOM:
+			SHArray.swap(A, l, ThreadLocalRandom.current().nextInt(l, r + 1));
+			SHArray.swap(A, r, ThreadLocalRandom.current().nextInt(l + 1, r + 1));
+			return;
+
+		default:
+			return;
+		}
+	}
+
+	/**
+	 * Returns the position of the median between three elements.
+	 *
+	 * @param A
+	 *            The array containing the elements.
+	 * @param i
+	 *            The position of the first element.
+	 * @param j
+	 *            The position of the second element.
+	 * @param k
+	 *            The position of the third element.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return The position of the median.
+	 */
+	private static <T> int median(T[] A, int i, int j, int k, Comparator<? super T> c)
+	{
+		if (c.compare(A[i], A[j]) < 0)
+		{
+			return (c.compare(A[j], A[k]) < 0) ? j : ((c.compare(A[i], A[k]) < 0) ? k : i);
+		}
+
+		return (c.compare(A[k], A[j]) < 0) ? j : ((c.compare(A[k], A[i]) < 0) ? k : i);
+	}
+
+	/**
+	 * Sorts five elements of the array, placed at increasing positions.
+	 *
+	 * @param A
+	 *            The array containing the elements.
+	 * @param e1
+	 *            The position of the first element.
+	 * @param e2
+	 *            The position of the second element.
+	 * @param e3
+	 *            The position of the third element.
+	 * @param e4
+	 *            The position of the fourth element.
+	 * @param e5
+	 *            The position of the fifth element.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	private static <T> void sortFive(T[] A, int e1, int e2, int e3, int e4, int e5, Comparator<? super T> c)
+	{
+		// An optimal sorting network for five elements
+		compareExchange(A, e1, e2, c);
+		compareExchange(A, e4, e5, c);
+		compareExchange(A, e3, e5, c);
+		compareExchange(A, e3, e4, c);
+		compareExchange(A, e1, e4, c);
+		compareExchange(A, e1, e3, c);
+		compareExchange(A, e2, e5, c);
+		compareExchange(A, e2, e4, c);
+		compareExchange(A, e2, e3, c);
+	}
+
+	/**
+	 * Puts the lower of the elements at positions {@code i} and {@code j} in
+	 * {@code i} and the greater in {@code j}.
+	 *
+	 * @param A
+	 *            The array containing the elements.
+	 * @param i
+	 *            The position of the first element.
+	 * @param j
+	 *            The position of the second element.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	private static <T> void compareExchange(T[] A, int i, int j, Comparator<? super T> c)
+	{
+		if (c.compare(A[j], A[i]) < 0)
+		{
+			T tmp = A[i];
+			A[i] = A[j];
+			A[j] = tmp;
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code int} using the Hybrid Quick Sort algorithm, with
+	 * the cutoff that {@link CutoffCalibration} gives for the class of its
+	 * elements: partitions containing at most that number of elements are
+	 * sorted with
+	 * {@link InsertionSort#insertionSortBetween(int[], int, int)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void hybridQuickSort(int[] A)
+	{
+		hybridQuickSort(A, CutoffCalibration.getCutoff(int.class));
+	}
+
+	/**
+	 * Sorts an array of {@code int} using the Hybrid Quick Sort algorithm:
+	 * partitions containing at most {@code k} elements are sorted with
+	 * {@link InsertionSort#insertionSortBetween(int[], int, int)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 */
+	public static void hybridQuickSort(int[] A, int k)
+	{
+		hybridQuickSortBetween(A, 0, A.length - 1, k);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) using the Hybrid Quick Sort algorithm, with the
+	 * default pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void hybridQuickSortBetween(int[] A, int l, int r, int k)
+	{
+		hybridQuickSortBetween(A, l, r, k, DEFAULT_PIVOT, DEFAULT_SCHEME);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) using the Hybrid Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void hybridQuickSortBetween(int[] A, int l, int r, int k, PivotStrategy pivot,
+			PartitionScheme scheme)
+	{
+		hybridQuickSortBetween(A, l, r, k, pivot, scheme, DEFAULT_LEAF);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) using the Hybrid Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with the
+	 *            {@code leaf} algorithm.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param leaf
+	 *            The algorithm used to sort the small partitions.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void hybridQuickSortBetween(int[] A, int l, int r, int k, PivotStrategy pivot,
+			PartitionScheme scheme, LeafSorter leaf)
 	{
 		if ((l < 0) || (r >= A.length))
 		{
@@ -63,10 +1071,2481 @@ public class QuickSort
 
 		if (l < r)
 		{
-			int m = Partition(A, l, r);
-			quickSortBetween(A, l, m - 1);
-			quickSortBetween(A, m + 1, r);
+			introSort(A, l, r, k, pivot, scheme, leaf, depthLimit((r - l) + 1));
+		}
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} around the
+	 * last one.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @return The final position of the pivot.
+	 */
+	static int Partition(int[] A, int l, int r)
+	{
+		int p = A[r];
+		int tmp;
+		int endLittle = l - 1;
+
+		for (int i = l; i < r; i++)
+		{
+			if (A[i] < p)
+			{
+				endLittle++;
+				tmp = A[endLittle];
+				A[endLittle] = A[i];
+				A[i] = tmp;
+			}
+		}
+
+		A[r] = A[endLittle + 1];
+		A[endLittle + 1] = p;
+
+		return endLittle + 1;
+	}
+
+	/**
+	 * Chooses a pivot with the given strategy, moves it in position {@code r}
+	 * and then partitions the elements between {@code l} and {@code r}
+	 * around it.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @return The final position of the pivot.
+	 */
+	static int Partition(int[] A, int l, int r, PivotStrategy pivot)
+	{
+		SHArray.swap(A, choosePivot(A, l, r, pivot), r);
+		return Partition(A, l, r);
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} around two
+	 * pivots {@code p <= q} chosen with the given strategy. At the end, the
+	 * elements lower than {@code p} precede it, the elements greater than
+	 * {@code q} follow it and all the others lie between the two pivots.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @return The final positions of {@code p} and {@code q}, packed with
+	 *         {@code bounds}.
+	 */
+	static long DualPivotPartition(int[] A, int l, int r, PivotStrategy pivot)
+	{
+		int tmp;
+
+		chooseDualPivots(A, l, r, pivot);
+		if (A[r] < A[l])
+		{
+			tmp = A[l];
+			A[l] = A[r];
+			A[r] = tmp;
+		}
+
+		int p = A[l];
+		int q = A[r];
+		int lt = l + 1;
+		int gt = r - 1;
+
+		for (int i = lt; i <= gt; i++)
+		{
+			if (A[i] < p)
+			{
+				tmp = A[i];
+				A[i] = A[lt];
+				A[lt] = tmp;
+				lt++;
+			} else if (q < A[i])
+			{
+				while ((q < A[gt]) && (i < gt))
+				{
+					gt--;
+				}
+				tmp = A[i];
+				A[i] = A[gt];
+				A[gt] = tmp;
+				gt--;
+
+				if (A[i] < p)
+				{
+					tmp = A[i];
+					A[i] = A[lt];
+					A[lt] = tmp;
+					lt++;
+				}
+			}
+		}
+
+		lt--;
+		gt++;
+		tmp = A[l];
+		A[l] = A[lt];
+		A[lt] = tmp;
+		tmp = A[r];
+		A[r] = A[gt];
+		A[gt] = tmp;
+
+		return bounds(lt, gt);
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} in three
+	 * parts, with a single pass: the elements lower than a pivot chosen with
+	 * the given strategy, the elements equal to it and the elements greater
+	 * than it.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @return The positions of the first and of the last element equal to
+	 *         the pivot, packed with {@code bounds}.
+	 */
+	static long ThreeWayPartition(int[] A, int l, int r, PivotStrategy pivot)
+	{
+		int tmp;
+		int p = A[choosePivot(A, l, r, pivot)];
+		int lt = l;
+		int gt = r;
+		int i = l;
+
+		while (i <= gt)
+		{
+			if (A[i] < p)
+			{
+				tmp = A[lt];
+				A[lt] = A[i];
+				A[i] = tmp;
+				lt++;
+				i++;
+			} else if (p < A[i])
+			{
+				tmp = A[i];
+				A[i] = A[gt];
+				A[gt] = tmp;
+				gt--;
+			} else
+			{
+				i++;
+			}
+		}
+
+		return bounds(lt, gt);
+	}
+
+	/**
+	 * Sorts an array of {@code int} using the Quick Sort algorithm, with the
+	 * default pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void quickSort(int[] A)
+	{
+		quickSortBetween(A, 0, A.length - 1);
+	}
+
+	/**
+	 * Sorts an array of {@code int} using the Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 */
+	public static void quickSort(int[] A, PivotStrategy pivot, PartitionScheme scheme)
+	{
+		quickSortBetween(A, 0, A.length - 1, pivot, scheme);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) using the Quick Sort algorithm, with the default
+	 * pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void quickSortBetween(int[] A, int l, int r)
+	{
+		quickSortBetween(A, l, r, DEFAULT_PIVOT, DEFAULT_SCHEME);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) using the Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void quickSortBetween(int[] A, int l, int r, PivotStrategy pivot, PartitionScheme scheme)
+	{
+		hybridQuickSortBetween(A, l, r, 1, pivot, scheme);
+	}
+
+	/**
+	 * The actual sorting procedure. It recurses on the smaller partitions and
+	 * iterates on the largest one, and it switches to Heap Sort once
+	 * {@code depth} reaches zero.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with the
+	 *            {@code leaf} algorithm.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param leaf
+	 *            The algorithm used to sort the small partitions.
+	 * @param depth
+	 *            The remaining recursion depth.
+	 */
+	private static void introSort(int[] A, int l, int r, int k, PivotStrategy pivot, PartitionScheme scheme,
+			LeafSorter leaf, int depth)
+	{
+		int m;
+		long b;
+		int lt;
+		int gt;
+
+		while (l < r)
+		{
+			if (((r - l) + 1) <= k)
+			{
+				sortLeaf(A, l, r, leaf);
+				return;
+			}
+
+			if (depth == 0)
+			{
+				HeapSort.heapSortBetween(A, l, r);
+				return;
+			}
+			depth--;
+
+			switch (scheme)
+			{
+			case DUAL_PIVOT:
+				b = DualPivotPartition(A, l, r, pivot);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+
+				introSort(A, l, lt - 1, k, pivot, scheme, leaf, depth);
+				// When the two pivots are equal, so are all the elements
+				// between them
+				if (A[lt] < A[gt])
+				{
+					introSort(A, lt + 1, gt - 1, k, pivot, scheme, leaf, depth);
+				}
+				l = gt + 1;
+				break;
+
+			case THREE_WAY:
+				b = ThreeWayPartition(A, l, r, pivot);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+
+				// The elements equal to the pivot are already in place
+				if ((lt - l) < (r - gt))
+				{
+					introSort(A, l, lt - 1, k, pivot, scheme, leaf, depth);
+					l = gt + 1;
+				} else
+				{
+					introSort(A, gt + 1, r, k, pivot, scheme, leaf, depth);
+					r = lt - 1;
+				}
+				break;
+
+			default:
+				m = Partition(A, l, r, pivot);
+
+				if ((m - l) < (r - m))
+				{
+					introSort(A, l, m - 1, k, pivot, scheme, leaf, depth);
+					l = m + 1;
+				} else
+				{
+					introSort(A, m + 1, r, k, pivot, scheme, leaf, depth);
+					r = m - 1;
+				}
+				break;
+			}
 		}
 	}
 
+	/**
+	 * Sorts a small partition with the given algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param leaf
+	 *            The algorithm to be used.
+	 */
+	private static void sortLeaf(int[] A, int l, int r, LeafSorter leaf)
+	{
+		switch (leaf)
+		{
+		case BINARY_INSERTION:
+			InsertionSort.binaryInsertionSortBetween(A, l, r);
+			break;
+
+		case SORTING_NETWORK:
+			if (((r - l) + 1) <= NetworkSort.MAX_SIZE)
+			{
+				NetworkSort.networkSortBetween(A, l, r);
+			} else
+			{
+				InsertionSort.insertionSortBetween(A, l, r);
+			}
+			break;
+
+		default:
+			InsertionSort.insertionSortBetween(A, l, r);
+			break;
+		}
+	}
+
+	/**
+	 * Chooses the position of the pivot of a partition.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @return The position of the pivot.
+	 */
+	private static int choosePivot(int[] A, int l, int r, PivotStrategy pivot)
+	{
+		int m = (l + r) >>> 1;
+		int s;
+
+		switch (pivot)
+		{
+		case MEDIAN_OF_THREE:
+			return median(A, l, m, r);
+
+		case NINTHER:
+			if (((r - l) + 1) <= NINTHER_THRESHOLD)
+			{
+				return median(A, l, m, r);
+			}
+
+			s = ((r - l) + 1) / 8;
+			return median(A, median(A, l, l + s, l + (2 * s)), median(A, m - s, m, m + s),
+					median(A, r - (2 * s), r - s, r));
+
+		case RANDOM:
+			return ThreadLocalRandom.current().nextInt(l, r + 1);
+
+		default:
+			return r;
+		}
+	}
+
+	/**
+	 * Chooses the two pivots of a partition and moves them in positions
+	 * {@code l} and {@code r}. With {@link PivotStrategy#MEDIAN_OF_THREE}
+	 * and {@link PivotStrategy#NINTHER} the pivots are the second and the
+	 * fourth of five equally spaced elements.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 */
+	private static void chooseDualPivots(int[] A, int l, int r, PivotStrategy pivot)
+	{
+		int n = (r - l) + 1;
+
+		switch (pivot)
+		{
+		case MEDIAN_OF_THREE:
+		case NINTHER:
+			if (n < DUAL_PIVOT_SAMPLE_THRESHOLD)
+			{
+				return;
+			}
+
+			int seventh = n / 7;
+			int e3 = (l + r) >>> 1;
+			int e2 = e3 - seventh;
+			int e1 = e2 - seventh;
+			int e4 = e3 + seventh;
+			int e5 = e4 + seventh;
+
+			sortFive(A, e1, e2, e3, e4, e5);
+			SHArray.swap(A, l, e2);
+			SHArray.swap(A, r, e4);
+			return;
+
+		case RANDOM:
+			SHArray.swap(A, l, ThreadLocalRandom.current().nextInt(l, r + 1));
+			SHArray.swap(A, r, ThreadLocalRandom.current().nextInt(l + 1, r + 1));
+			return;
+
+		default:
+			return;
+		}
+	}
+
+	/**
+	 * Returns the position of the median between three elements.
+	 *
+	 * @param A
+	 *            The array containing the elements.
+	 * @param i
+	 *            The position of the first element.
+	 * @param j
+	 *            The position of the second element.
+	 * @param k
+	 *            The position of the third element.
+	 * @return The position of the median.
+	 */
+	private static int median(int[] A, int i, int j, int k)
+	{
+		if (A[i] < A[j])
+		{
+			return (A[j] < A[k]) ? j : ((A[i] < A[k]) ? k : i);
+		}
+
+		return (A[k] < A[j]) ? j : ((A[k] < A[i]) ? k : i);
+	}
+
+	/**
+	 * Sorts five elements of the array, placed at increasing positions.
+	 *
+	 * @param A
+	 *            The array containing the elements.
+	 * @param e1
+	 *            The position of the first element.
+	 * @param e2
+	 *            The position of the second element.
+	 * @param e3
+	 *            The position of the third element.
+	 * @param e4
+	 *            The position of the fourth element.
+	 * @param e5
+	 *            The position of the fifth element.
+	 */
+	private static void sortFive(int[] A, int e1, int e2, int e3, int e4, int e5)
+	{
+		// An optimal sorting network for five elements
+		NetworkSort.compareExchange(A, e1, e2);
+		NetworkSort.compareExchange(A, e4, e5);
+		NetworkSort.compareExchange(A, e3, e5);
+		NetworkSort.compareExchange(A, e3, e4);
+		NetworkSort.compareExchange(A, e1, e4);
+		NetworkSort.compareExchange(A, e1, e3);
+		NetworkSort.compareExchange(A, e2, e5);
+		NetworkSort.compareExchange(A, e2, e4);
+		NetworkSort.compareExchange(A, e2, e3);
+	}
+
+	/**
+	 * Sorts an array of {@code long} using the Hybrid Quick Sort algorithm,
+	 * with the cutoff that {@link CutoffCalibration} gives for the class of its
+	 * elements: partitions containing at most that number of elements are
+	 * sorted with
+	 * {@link InsertionSort#insertionSortBetween(long[], int, int)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void hybridQuickSort(long[] A)
+	{
+		hybridQuickSort(A, CutoffCalibration.getCutoff(long.class));
+	}
+
+	/**
+	 * Sorts an array of {@code long} using the Hybrid Quick Sort algorithm:
+	 * partitions containing at most {@code k} elements are sorted with
+	 * {@link InsertionSort#insertionSortBetween(long[], int, int)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 */
+	public static void hybridQuickSort(long[] A, int k)
+	{
+		hybridQuickSortBetween(A, 0, A.length - 1, k);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between {@code l} and
+	 * {@code r} (inclusive) using the Hybrid Quick Sort algorithm, with the
+	 * default pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void hybridQuickSortBetween(long[] A, int l, int r, int k)
+	{
+		hybridQuickSortBetween(A, l, r, k, DEFAULT_PIVOT, DEFAULT_SCHEME);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between {@code l} and
+	 * {@code r} (inclusive) using the Hybrid Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void hybridQuickSortBetween(long[] A, int l, int r, int k, PivotStrategy pivot,
+			PartitionScheme scheme)
+	{
+		hybridQuickSortBetween(A, l, r, k, pivot, scheme, DEFAULT_LEAF);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between {@code l} and
+	 * {@code r} (inclusive) using the Hybrid Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with the
+	 *            {@code leaf} algorithm.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param leaf
+	 *            The algorithm used to sort the small partitions.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void hybridQuickSortBetween(long[] A, int l, int r, int k, PivotStrategy pivot,
+			PartitionScheme scheme, LeafSorter leaf)
+	{
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		if (l < r)
+		{
+			introSort(A, l, r, k, pivot, scheme, leaf, depthLimit((r - l) + 1));
+		}
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} around the
+	 * last one.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @return The final position of the pivot.
+	 */
+	static int Partition(long[] A, int l, int r)
+	{
+		long p = A[r];
+		long tmp;
+		int endLittle = l - 1;
+
+		for (int i = l; i < r; i++)
+		{
+			if (A[i] < p)
+			{
+				endLittle++;
+				tmp = A[endLittle];
+				A[endLittle] = A[i];
+				A[i] = tmp;
+			}
+		}
+
+		A[r] = A[endLittle + 1];
+		A[endLittle + 1] = p;
+
+		return endLittle + 1;
+	}
+
+	/**
+	 * Chooses a pivot with the given strategy, moves it in position {@code r}
+	 * and then partitions the elements between {@code l} and {@code r}
+	 * around it.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @return The final position of the pivot.
+	 */
+	static int Partition(long[] A, int l, int r, PivotStrategy pivot)
+	{
+		SHArray.swap(A, choosePivot(A, l, r, pivot), r);
+		return Partition(A, l, r);
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} around two
+	 * pivots {@code p <= q} chosen with the given strategy. At the end, the
+	 * elements lower than {@code p} precede it, the elements greater than
+	 * {@code q} follow it and all the others lie between the two pivots.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @return The final positions of {@code p} and {@code q}, packed with
+	 *         {@code bounds}.
+	 */
+	static long DualPivotPartition(long[] A, int l, int r, PivotStrategy pivot)
+	{
+		long tmp;
+
+		chooseDualPivots(A, l, r, pivot);
+		if (A[r] < A[l])
+		{
+			tmp = A[l];
+			A[l] = A[r];
+			A[r] = tmp;
+		}
+
+		long p = A[l];
+		long q = A[r];
+		int lt = l + 1;
+		int gt = r - 1;
+
+		for (int i = lt; i <= gt; i++)
+		{
+			if (A[i] < p)
+			{
+				tmp = A[i];
+				A[i] = A[lt];
+				A[lt] = tmp;
+				lt++;
+			} else if (q < A[i])
+			{
+				while ((q < A[gt]) && (i < gt))
+				{
+					gt--;
+				}
+				tmp = A[i];
+				A[i] = A[gt];
+				A[gt] = tmp;
+				gt--;
+
+				if (A[i] < p)
+				{
+					tmp = A[i];
+					A[i] = A[lt];
+					A[lt] = tmp;
+					lt++;
+				}
+			}
+		}
+
+		lt--;
+		gt++;
+		tmp = A[l];
+		A[l] = A[lt];
+		A[lt] = tmp;
+		tmp = A[r];
+		A[r] = A[gt];
+		A[gt] = tmp;
+
+		return bounds(lt, gt);
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} in three
+	 * parts, with a single pass: the elements lower than a pivot chosen with
+	 * the given strategy, the elements equal to it and the elements greater
+	 * than it.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @return The positions of the first and of the last element equal to
+	 *         the pivot, packed with {@code bounds}.
+	 */
+	static long ThreeWayPartition(long[] A, int l, int r, PivotStrategy pivot)
+	{
+		long tmp;
+		long p = A[choosePivot(A, l, r, pivot)];
+		int lt = l;
+		int gt = r;
+		int i = l;
+
+		while (i <= gt)
+		{
+			if (A[i] < p)
+			{
+				tmp = A[lt];
+				A[lt] = A[i];
+				A[i] = tmp;
+				lt++;
+				i++;
+			} else if (p < A[i])
+			{
+				tmp = A[i];
+				A[i] = A[gt];
+				A[gt] = tmp;
+				gt--;
+			} else
+			{
+				i++;
+			}
+		}
+
+		return bounds(lt, gt);
+	}
+
+	/**
+	 * Sorts an array of {@code long} using the Quick Sort algorithm, with the
+	 * default pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void quickSort(long[] A)
+	{
+		quickSortBetween(A, 0, A.length - 1);
+	}
+
+	/**
+	 * Sorts an array of {@code long} using the Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 */
+	public static void quickSort(long[] A, PivotStrategy pivot, PartitionScheme scheme)
+	{
+		quickSortBetween(A, 0, A.length - 1, pivot, scheme);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between {@code l} and
+	 * {@code r} (inclusive) using the Quick Sort algorithm, with the default
+	 * pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void quickSortBetween(long[] A, int l, int r)
+	{
+		quickSortBetween(A, l, r, DEFAULT_PIVOT, DEFAULT_SCHEME);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between {@code l} and
+	 * {@code r} (inclusive) using the Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void quickSortBetween(long[] A, int l, int r, PivotStrategy pivot, PartitionScheme scheme)
+	{
+		hybridQuickSortBetween(A, l, r, 1, pivot, scheme);
+	}
+
+	/**
+	 * The actual sorting procedure. It recurses on the smaller partitions and
+	 * iterates on the largest one, and it switches to Heap Sort once
+	 * {@code depth} reaches zero.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with the
+	 *            {@code leaf} algorithm.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param leaf
+	 *            The algorithm used to sort the small partitions.
+	 * @param depth
+	 *            The remaining recursion depth.
+	 */
+	private static void introSort(long[] A, int l, int r, int k, PivotStrategy pivot, PartitionScheme scheme,
+			LeafSorter leaf, int depth)
+	{
+		int m;
+		long b;
+		int lt;
+		int gt;
+
+		while (l < r)
+		{
+			if (((r - l) + 1) <= k)
+			{
+				sortLeaf(A, l, r, leaf);
+				return;
+			}
+
+			if (depth == 0)
+			{
+				HeapSort.heapSortBetween(A, l, r);
+				return;
+			}
+			depth--;
+
+			switch (scheme)
+			{
+			case DUAL_PIVOT:
+				b = DualPivotPartition(A, l, r, pivot);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+
+				introSort(A, l, lt - 1, k, pivot, scheme, leaf, depth);
+				// When the two pivots are equal, so are all the elements
+				// between them
+				if (A[lt] < A[gt])
+				{
+					introSort(A, lt + 1, gt - 1, k, pivot, scheme, leaf, depth);
+				}
+				l = gt + 1;
+				break;
+
+			case THREE_WAY:
+				b = ThreeWayPartition(A, l, r, pivot);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+
+				// The elements equal to the pivot are already in place
+				if ((lt - l) < (r - gt))
+				{
+					introSort(A, l, lt - 1, k, pivot, scheme, leaf, depth);
+					l = gt + 1;
+				} else
+				{
+					introSort(A, gt + 1, r, k, pivot, scheme, leaf, depth);
+					r = lt - 1;
+				}
+				break;
+
+			default:
+				m = Partition(A, l, r, pivot);
+
+				if ((m - l) < (r - m))
+				{
+					introSort(A, l, m - 1, k, pivot, scheme, leaf, depth);
+					l = m + 1;
+				} else
+				{
+					introSort(A, m + 1, r, k, pivot, scheme, leaf, depth);
+					r = m - 1;
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Sorts a small partition with the given algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param leaf
+	 *            The algorithm to be used.
+	 */
+	private static void sortLeaf(long[] A, int l, int r, LeafSorter leaf)
+	{
+		switch (leaf)
+		{
+		case BINARY_INSERTION:
+			InsertionSort.binaryInsertionSortBetween(A, l, r);
+			break;
+
+		case SORTING_NETWORK:
+			if (((r - l) + 1) <= NetworkSort.MAX_SIZE)
+			{
+				NetworkSort.networkSortBetween(A, l, r);
+			} else
+			{
+				InsertionSort.insertionSortBetween(A, l, r);
+			}
+			break;
+
+		default:
+			InsertionSort.insertionSortBetween(A, l, r);
+			break;
+		}
+	}
+
+	/**
+	 * Chooses the position of the pivot of a partition.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @return The position of the pivot.
+	 */
+	private static int choosePivot(long[] A, int l, int r, PivotStrategy pivot)
+	{
+		int m = (l + r) >>> 1;
+		int s;
+
+		switch (pivot)
+		{
+		case MEDIAN_OF_THREE:
+			return median(A, l, m, r);
+
+		case NINTHER:
+			if (((r - l) + 1) <= NINTHER_THRESHOLD)
+			{
+				return median(A, l, m, r);
+			}
+
+			s = ((r - l) + 1) / 8;
+			return median(A, median(A, l, l + s, l + (2 * s)), median(A, m - s, m, m + s),
+					median(A, r - (2 * s), r - s, r));
+
+		case RANDOM:
+			return ThreadLocalRandom.current().nextInt(l, r + 1);
+
+		default:
+			return r;
+		}
+	}
+
+	/**
+	 * Chooses the two pivots of a partition and moves them in positions
+	 * {@code l} and {@code r}. With {@link PivotStrategy#MEDIAN_OF_THREE}
+	 * and {@link PivotStrategy#NINTHER} the pivots are the second and the
+	 * fourth of five equally spaced elements.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 */
+	private static void chooseDualPivots(long[] A, int l, int r, PivotStrategy pivot)
+	{
+		int n = (r - l) + 1;
+
+		switch (pivot)
+		{
+		case MEDIAN_OF_THREE:
+		case NINTHER:
+			if (n < DUAL_PIVOT_SAMPLE_THRESHOLD)
+			{
+				return;
+			}
+
+			int seventh = n / 7;
+			int e3 = (l + r) >>> 1;
+			int e2 = e3 - seventh;
+			int e1 = e2 - seventh;
+			int e4 = e3 + seventh;
+			int e5 = e4 + seventh;
+
+			sortFive(A, e1, e2, e3, e4, e5);
+			SHArray.swap(A, l, e2);
+			SHArray.swap(A, r, e4);
+			return;
+
+		case RANDOM:
+			SHArray.swap(A, l, ThreadLocalRandom.current().nextInt(l, r + 1));
+			SHArray.swap(A, r, ThreadLocalRandom.current().nextInt(l + 1, r + 1));
+			return;
+
+		default:
+			return;
+		}
+	}
+
+	/**
+	 * Returns the position of the median between three elements.
+	 *
+	 * @param A
+	 *            The array containing the elements.
+	 * @param i
+	 *            The position of the first element.
+	 * @param j
+	 *            The position of the second element.
+	 * @param k
+	 *            The position of the third element.
+	 * @return The position of the median.
+	 */
+	private static int median(long[] A, int i, int j, int k)
+	{
+		if (A[i] < A[j])
+		{
+			return (A[j] < A[k]) ? j : ((A[i] < A[k]) ? k : i);
+		}
+
+		return (A[k] < A[j]) ? j : ((A[k] < A[i]) ? k : i);
+	}
+
+	/**
+	 * Sorts five elements of the array, placed at increasing positions.
+	 *
+	 * @param A
+	 *            The array containing the elements.
+	 * @param e1
+	 *            The position of the first element.
+	 * @param e2
+	 *            The position of the second element.
+	 * @param e3
+	 *            The position of the third element.
+	 * @param e4
+	 *            The position of the fourth element.
+	 * @param e5
+	 *            The position of the fifth element.
+	 */
+	private static void sortFive(long[] A, int e1, int e2, int e3, int e4, int e5)
+	{
+		// An optimal sorting network for five elements
+		NetworkSort.compareExchange(A, e1, e2);
+		NetworkSort.compareExchange(A, e4, e5);
+		NetworkSort.compareExchange(A, e3, e5);
+		NetworkSort.compareExchange(A, e3, e4);
+		NetworkSort.compareExchange(A, e1, e4);
+		NetworkSort.compareExchange(A, e1, e3);
+		NetworkSort.compareExchange(A, e2, e5);
+		NetworkSort.compareExchange(A, e2, e4);
+		NetworkSort.compareExchange(A, e2, e3);
+	}
+
+	/**
+	 * Sorts an array of {@code float} using the Hybrid Quick Sort algorithm,
+	 * with the cutoff that {@link CutoffCalibration} gives for the class of its
+	 * elements: partitions containing at most that number of elements are
+	 * sorted with
+	 * {@link InsertionSort#insertionSortBetween(float[], int, int)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void hybridQuickSort(float[] A)
+	{
+		hybridQuickSort(A, CutoffCalibration.getCutoff(float.class));
+	}
+
+	/**
+	 * Sorts an array of {@code float} using the Hybrid Quick Sort algorithm:
+	 * partitions containing at most {@code k} elements are sorted with
+	 * {@link InsertionSort#insertionSortBetween(float[], int, int)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 */
+	public static void hybridQuickSort(float[] A, int k)
+	{
+		hybridQuickSortBetween(A, 0, A.length - 1, k);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code float} between {@code l} and
+	 * {@code r} (inclusive) using the Hybrid Quick Sort algorithm, with the
+	 * default pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void hybridQuickSortBetween(float[] A, int l, int r, int k)
+	{
+		hybridQuickSortBetween(A, l, r, k, DEFAULT_PIVOT, DEFAULT_SCHEME);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code float} between {@code l} and
+	 * {@code r} (inclusive) using the Hybrid Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void hybridQuickSortBetween(float[] A, int l, int r, int k, PivotStrategy pivot,
+			PartitionScheme scheme)
+	{
+		hybridQuickSortBetween(A, l, r, k, pivot, scheme, DEFAULT_LEAF);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code float} between {@code l} and
+	 * {@code r} (inclusive) using the Hybrid Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with the
+	 *            {@code leaf} algorithm.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param leaf
+	 *            The algorithm used to sort the small partitions.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void hybridQuickSortBetween(float[] A, int l, int r, int k, PivotStrategy pivot,
+			PartitionScheme scheme, LeafSorter leaf)
+	{
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		if (l < r)
+		{
+			introSort(A, l, r, k, pivot, scheme, leaf, depthLimit((r - l) + 1));
+		}
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} around the
+	 * last one.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @return The final position of the pivot.
+	 */
+	static int Partition(float[] A, int l, int r)
+	{
+		float p = A[r];
+		float tmp;
+		int endLittle = l - 1;
+
+		for (int i = l; i < r; i++)
+		{
+			if (Float.compare(A[i], p) < 0)
+			{
+				endLittle++;
+				tmp = A[endLittle];
+				A[endLittle] = A[i];
+				A[i] = tmp;
+			}
+		}
+
+		A[r] = A[endLittle + 1];
+		A[endLittle + 1] = p;
+
+		return endLittle + 1;
+	}
+
+	/**
+	 * Chooses a pivot with the given strategy, moves it in position {@code r}
+	 * and then partitions the elements between {@code l} and {@code r}
+	 * around it.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @return The final position of the pivot.
+	 */
+	static int Partition(float[] A, int l, int r, PivotStrategy pivot)
+	{
+		SHArray.swap(A, choosePivot(A, l, r, pivot), r);
+		return Partition(A, l, r);
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} around two
+	 * pivots {@code p <= q} chosen with the given strategy. At the end, the
+	 * elements lower than {@code p} precede it, the elements greater than
+	 * {@code q} follow it and all the others lie between the two pivots.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @return The final positions of {@code p} and {@code q}, packed with
+	 *         {@code bounds}.
+	 */
+	static long DualPivotPartition(float[] A, int l, int r, PivotStrategy pivot)
+	{
+		float tmp;
+
+		chooseDualPivots(A, l, r, pivot);
+		if (Float.compare(A[r], A[l]) < 0)
+		{
+			tmp = A[l];
+			A[l] = A[r];
+			A[r] = tmp;
+		}
+
+		float p = A[l];
+		float q = A[r];
+		int lt = l + 1;
+		int gt = r - 1;
+
+		for (int i = lt; i <= gt; i++)
+		{
+			if (Float.compare(A[i], p) < 0)
+			{
+				tmp = A[i];
+				A[i] = A[lt];
+				A[lt] = tmp;
+				lt++;
+			} else if (Float.compare(q, A[i]) < 0)
+			{
+				while ((Float.compare(q, A[gt]) < 0) && (i < gt))
+				{
+					gt--;
+				}
+				tmp = A[i];
+				A[i] = A[gt];
+				A[gt] = tmp;
+				gt--;
+
+				if (Float.compare(A[i], p) < 0)
+				{
+					tmp = A[i];
+					A[i] = A[lt];
+					A[lt] = tmp;
+					lt++;
+				}
+			}
+		}
+
+		lt--;
+		gt++;
+		tmp = A[l];
+		A[l] = A[lt];
+		A[lt] = tmp;
+		tmp = A[r];
+		A[r] = A[gt];
+		A[gt] = tmp;
+
+		return bounds(lt, gt);
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} in three
+	 * parts, with a single pass: the elements lower than a pivot chosen with
+	 * the given strategy, the elements equal to it and the elements greater
+	 * than it.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @return The positions of the first and of the last element equal to
+	 *         the pivot, packed with {@code bounds}.
+	 */
+	static long ThreeWayPartition(float[] A, int l, int r, PivotStrategy pivot)
+	{
+		float tmp;
+		float p = A[choosePivot(A, l, r, pivot)];
+		int lt = l;
+		int gt = r;
+		int i = l;
+
+		while (i <= gt)
+		{
+			if (Float.compare(A[i], p) < 0)
+			{
+				tmp = A[lt];
+				A[lt] = A[i];
+				A[i] = tmp;
+				lt++;
+				i++;
+			} else if (Float.compare(p, A[i]) < 0)
+			{
+				tmp = A[i];
+				A[i] = A[gt];
+				A[gt] = tmp;
+				gt--;
+			} else
+			{
+				i++;
+			}
+		}
+
+		return bounds(lt, gt);
+	}
+
+	/**
+	 * Sorts an array of {@code float} using the Quick Sort algorithm, with the
+	 * default pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void quickSort(float[] A)
+	{
+		quickSortBetween(A, 0, A.length - 1);
+	}
+
+	/**
+	 * Sorts an array of {@code float} using the Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 */
+	public static void quickSort(float[] A, PivotStrategy pivot, PartitionScheme scheme)
+	{
+		quickSortBetween(A, 0, A.length - 1, pivot, scheme);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code float} between {@code l} and
+	 * {@code r} (inclusive) using the Quick Sort algorithm, with the default
+	 * pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void quickSortBetween(float[] A, int l, int r)
+	{
+		quickSortBetween(A, l, r, DEFAULT_PIVOT, DEFAULT_SCHEME);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code float} between {@code l} and
+	 * {@code r} (inclusive) using the Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void quickSortBetween(float[] A, int l, int r, PivotStrategy pivot, PartitionScheme scheme)
+	{
+		hybridQuickSortBetween(A, l, r, 1, pivot, scheme);
+	}
+
+	/**
+	 * The actual sorting procedure. It recurses on the smaller partitions and
+	 * iterates on the largest one, and it switches to Heap Sort once
+	 * {@code depth} reaches zero.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with the
+	 *            {@code leaf} algorithm.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param leaf
+	 *            The algorithm used to sort the small partitions.
+	 * @param depth
+	 *            The remaining recursion depth.
+	 */
+	private static void introSort(float[] A, int l, int r, int k, PivotStrategy pivot, PartitionScheme scheme,
+			LeafSorter leaf, int depth)
+	{
+		int m;
+		long b;
+		int lt;
+		int gt;
+
+		while (l < r)
+		{
+			if (((r - l) + 1) <= k)
+			{
+				sortLeaf(A, l, r, leaf);
+				return;
+			}
+
+			if (depth == 0)
+			{
+				HeapSort.heapSortBetween(A, l, r);
+				return;
+			}
+			depth--;
+
+			switch (scheme)
+			{
+			case DUAL_PIVOT:
+				b = DualPivotPartition(A, l, r, pivot);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+
+				introSort(A, l, lt - 1, k, pivot, scheme, leaf, depth);
+				// When the two pivots are equal, so are all the elements
+				// between them
+				if (Float.compare(A[lt], A[gt]) < 0)
+				{
+					introSort(A, lt + 1, gt - 1, k, pivot, scheme, leaf, depth);
+				}
+				l = gt + 1;
+				break;
+
+			case THREE_WAY:
+				b = ThreeWayPartition(A, l, r, pivot);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+
+				// The elements equal to the pivot are already in place
+				if ((lt - l) < (r - gt))
+				{
+					introSort(A, l, lt - 1, k, pivot, scheme, leaf, depth);
+					l = gt + 1;
+				} else
+				{
+					introSort(A, gt + 1, r, k, pivot, scheme, leaf, depth);
+					r = lt - 1;
+				}
+				break;
+
+			default:
+				m = Partition(A, l, r, pivot);
+
+				if ((m - l) < (r - m))
+				{
+					introSort(A, l, m - 1, k, pivot, scheme, leaf, depth);
+					l = m + 1;
+				} else
+				{
+					introSort(A, m + 1, r, k, pivot, scheme, leaf, depth);
+					r = m - 1;
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Sorts a small partition with the given algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param leaf
+	 *            The algorithm to be used.
+	 */
+	private static void sortLeaf(float[] A, int l, int r, LeafSorter leaf)
+	{
+		switch (leaf)
+		{
+		case BINARY_INSERTION:
+			InsertionSort.binaryInsertionSortBetween(A, l, r);
+			break;
+
+		case SORTING_NETWORK:
+			if (((r - l) + 1) <= NetworkSort.MAX_SIZE)
+			{
+				NetworkSort.networkSortBetween(A, l, r);
+			} else
+			{
+				InsertionSort.insertionSortBetween(A, l, r);
+			}
+			break;
+
+		default:
+			InsertionSort.insertionSortBetween(A, l, r);
+			break;
+		}
+	}
+
+	/**
+	 * Chooses the position of the pivot of a partition.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @return The position of the pivot.
+	 */
+	private static int choosePivot(float[] A, int l, int r, PivotStrategy pivot)
+	{
+		int m = (l + r) >>> 1;
+		int s;
+
+		switch (pivot)
+		{
+		case MEDIAN_OF_THREE:
+			return median(A, l, m, r);
+
+		case NINTHER:
+			if (((r - l) + 1) <= NINTHER_THRESHOLD)
+			{
+				return median(A, l, m, r);
+			}
+
+			s = ((r - l) + 1) / 8;
+			return median(A, median(A, l, l + s, l + (2 * s)), median(A, m - s, m, m + s),
+					median(A, r - (2 * s), r - s, r));
+
+		case RANDOM:
+			return ThreadLocalRandom.current().nextInt(l, r + 1);
+
+		default:
+			return r;
+		}
+	}
+
+	/**
+	 * Chooses the two pivots of a partition and moves them in positions
+	 * {@code l} and {@code r}. With {@link PivotStrategy#MEDIAN_OF_THREE}
+	 * and {@link PivotStrategy#NINTHER} the pivots are the second and the
+	 * fourth of five equally spaced elements.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 */
+	private static void chooseDualPivots(float[] A, int l, int r, PivotStrategy pivot)
+	{
+		int n = (r - l) + 1;
+
+		switch (pivot)
+		{
+		case MEDIAN_OF_THREE:
+		case NINTHER:
+			if (n < DUAL_PIVOT_SAMPLE_THRESHOLD)
+			{
+				return;
+			}
+
+			int seventh = n / 7;
+			int e3 = (l + r) >>> 1;
+			int e2 = e3 - seventh;
+			int e1 = e2 - seventh;
+			int e4 = e3 + seventh;
+			int e5 = e4 + seventh;
+
+			sortFive(A, e1, e2, e3, e4, e5);
+			SHArray.swap(A, l, e2);
+			SHArray.swap(A, r, e4);
+			return;
+
+		case RANDOM:
+			SHArray.swap(A, l, ThreadLocalRandom.current().nextInt(l, r + 1));
+			SHArray.swap(A, r, ThreadLocalRandom.current().nextInt(l + 1, r + 1));
+			return;
+
+		default:
+			return;
+		}
+	}
+
+	/**
+	 * Returns the position of the median between three elements.
+	 *
+	 * @param A
+	 *            The array containing the elements.
+	 * @param i
+	 *            The position of the first element.
+	 * @param j
+	 *            The position of the second element.
+	 * @param k
+	 *            The position of the third element.
+	 * @return The position of the median.
+	 */
+	private static int median(float[] A, int i, int j, int k)
+	{
+		if (Float.compare(A[i], A[j]) < 0)
+		{
+			return (Float.compare(A[j], A[k]) < 0) ? j : ((Float.compare(A[i], A[k]) < 0) ? k : i);
+		}
+
+		return (Float.compare(A[k], A[j]) < 0) ? j : ((Float.compare(A[k], A[i]) < 0) ? k : i);
+	}
+
+	/**
+	 * Sorts five elements of the array, placed at increasing positions.
+	 *
+	 * @param A
+	 *            The array containing the elements.
+	 * @param e1
+	 *            The position of the first element.
+	 * @param e2
+	 *            The position of the second element.
+	 * @param e3
+	 *            The position of the third element.
+	 * @param e4
+	 *            The position of the fourth element.
+	 * @param e5
+	 *            The position of the fifth element.
+	 */
+	private static void sortFive(float[] A, int e1, int e2, int e3, int e4, int e5)
+	{
+		// An optimal sorting network for five elements
+		NetworkSort.compareExchange(A, e1, e2);
+		NetworkSort.compareExchange(A, e4, e5);
+		NetworkSort.compareExchange(A, e3, e5);
+		NetworkSort.compareExchange(A, e3, e4);
+		NetworkSort.compareExchange(A, e1, e4);
+		NetworkSort.compareExchange(A, e1, e3);
+		NetworkSort.compareExchange(A, e2, e5);
+		NetworkSort.compareExchange(A, e2, e4);
+		NetworkSort.compareExchange(A, e2, e3);
+	}
+
+	/**
+	 * Sorts an array of {@code double} using the Hybrid Quick Sort algorithm,
+	 * with the cutoff that {@link CutoffCalibration} gives for the class of its
+	 * elements: partitions containing at most that number of elements are
+	 * sorted with
+	 * {@link InsertionSort#insertionSortBetween(double[], int, int)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void hybridQuickSort(double[] A)
+	{
+		hybridQuickSort(A, CutoffCalibration.getCutoff(double.class));
+	}
+
+	/**
+	 * Sorts an array of {@code double} using the Hybrid Quick Sort algorithm:
+	 * partitions containing at most {@code k} elements are sorted with
+	 * {@link InsertionSort#insertionSortBetween(double[], int, int)}.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 */
+	public static void hybridQuickSort(double[] A, int k)
+	{
+		hybridQuickSortBetween(A, 0, A.length - 1, k);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code double} between {@code l} and
+	 * {@code r} (inclusive) using the Hybrid Quick Sort algorithm, with the
+	 * default pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void hybridQuickSortBetween(double[] A, int l, int r, int k)
+	{
+		hybridQuickSortBetween(A, l, r, k, DEFAULT_PIVOT, DEFAULT_SCHEME);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code double} between {@code l} and
+	 * {@code r} (inclusive) using the Hybrid Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with Insertion
+	 *            Sort.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void hybridQuickSortBetween(double[] A, int l, int r, int k, PivotStrategy pivot,
+			PartitionScheme scheme)
+	{
+		hybridQuickSortBetween(A, l, r, k, pivot, scheme, DEFAULT_LEAF);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code double} between {@code l} and
+	 * {@code r} (inclusive) using the Hybrid Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with the
+	 *            {@code leaf} algorithm.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param leaf
+	 *            The algorithm used to sort the small partitions.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void hybridQuickSortBetween(double[] A, int l, int r, int k, PivotStrategy pivot,
+			PartitionScheme scheme, LeafSorter leaf)
+	{
+		if ((l < 0) || (r >= A.length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		if (l < r)
+		{
+			introSort(A, l, r, k, pivot, scheme, leaf, depthLimit((r - l) + 1));
+		}
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} around the
+	 * last one.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @return The final position of the pivot.
+	 */
+	static int Partition(double[] A, int l, int r)
+	{
+		double p = A[r];
+		double tmp;
+		int endLittle = l - 1;
+
+		for (int i = l; i < r; i++)
+		{
+			if (Double.compare(A[i], p) < 0)
+			{
+				endLittle++;
+				tmp = A[endLittle];
+				A[endLittle] = A[i];
+				A[i] = tmp;
+			}
+		}
+
+		A[r] = A[endLittle + 1];
+		A[endLittle + 1] = p;
+
+		return endLittle + 1;
+	}
+
+	/**
+	 * Chooses a pivot with the given strategy, moves it in position {@code r}
+	 * and then partitions the elements between {@code l} and {@code r}
+	 * around it.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @return The final position of the pivot.
+	 */
+	static int Partition(double[] A, int l, int r, PivotStrategy pivot)
+	{
+		SHArray.swap(A, choosePivot(A, l, r, pivot), r);
+		return Partition(A, l, r);
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} around two
+	 * pivots {@code p <= q} chosen with the given strategy. At the end, the
+	 * elements lower than {@code p} precede it, the elements greater than
+	 * {@code q} follow it and all the others lie between the two pivots.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @return The final positions of {@code p} and {@code q}, packed with
+	 *         {@code bounds}.
+	 */
+	static long DualPivotPartition(double[] A, int l, int r, PivotStrategy pivot)
+	{
+		double tmp;
+
+		chooseDualPivots(A, l, r, pivot);
+		if (Double.compare(A[r], A[l]) < 0)
+		{
+			tmp = A[l];
+			A[l] = A[r];
+			A[r] = tmp;
+		}
+
+		double p = A[l];
+		double q = A[r];
+		int lt = l + 1;
+		int gt = r - 1;
+
+		for (int i = lt; i <= gt; i++)
+		{
+			if (Double.compare(A[i], p) < 0)
+			{
+				tmp = A[i];
+				A[i] = A[lt];
+				A[lt] = tmp;
+				lt++;
+			} else if (Double.compare(q, A[i]) < 0)
+			{
+				while ((Double.compare(q, A[gt]) < 0) && (i < gt))
+				{
+					gt--;
+				}
+				tmp = A[i];
+				A[i] = A[gt];
+				A[gt] = tmp;
+				gt--;
+
+				if (Double.compare(A[i], p) < 0)
+				{
+					tmp = A[i];
+					A[i] = A[lt];
+					A[lt] = tmp;
+					lt++;
+				}
+			}
+		}
+
+		lt--;
+		gt++;
+		tmp = A[l];
+		A[l] = A[lt];
+		A[lt] = tmp;
+		tmp = A[r];
+		A[r] = A[gt];
+		A[gt] = tmp;
+
+		return bounds(lt, gt);
+	}
+
+	/**
+	 * Partitions the elements between {@code l} and {@code r} in three
+	 * parts, with a single pass: the elements lower than a pivot chosen with
+	 * the given strategy, the elements equal to it and the elements greater
+	 * than it.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @return The positions of the first and of the last element equal to
+	 *         the pivot, packed with {@code bounds}.
+	 */
+	static long ThreeWayPartition(double[] A, int l, int r, PivotStrategy pivot)
+	{
+		double tmp;
+		double p = A[choosePivot(A, l, r, pivot)];
+		int lt = l;
+		int gt = r;
+		int i = l;
+
+		while (i <= gt)
+		{
+			if (Double.compare(A[i], p) < 0)
+			{
+				tmp = A[lt];
+				A[lt] = A[i];
+				A[i] = tmp;
+				lt++;
+				i++;
+			} else if (Double.compare(p, A[i]) < 0)
+			{
+				tmp = A[i];
+				A[i] = A[gt];
+				A[gt] = tmp;
+				gt--;
+			} else
+			{
+				i++;
+			}
+		}
+
+		return bounds(lt, gt);
+	}
+
+	/**
+	 * Sorts an array of {@code double} using the Quick Sort algorithm, with the
+	 * default pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void quickSort(double[] A)
+	{
+		quickSortBetween(A, 0, A.length - 1);
+	}
+
+	/**
+	 * Sorts an array of {@code double} using the Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 */
+	public static void quickSort(double[] A, PivotStrategy pivot, PartitionScheme scheme)
+	{
+		quickSortBetween(A, 0, A.length - 1, pivot, scheme);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code double} between {@code l} and
+	 * {@code r} (inclusive) using the Quick Sort algorithm, with the default
+	 * pivot strategy and partitioning scheme.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void quickSortBetween(double[] A, int l, int r)
+	{
+		quickSortBetween(A, l, r, DEFAULT_PIVOT, DEFAULT_SCHEME);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code double} between {@code l} and
+	 * {@code r} (inclusive) using the Quick Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void quickSortBetween(double[] A, int l, int r, PivotStrategy pivot, PartitionScheme scheme)
+	{
+		hybridQuickSortBetween(A, l, r, 1, pivot, scheme);
+	}
+
+	/**
+	 * The actual sorting procedure. It recurses on the smaller partitions and
+	 * iterates on the largest one, and it switches to Heap Sort once
+	 * {@code depth} reaches zero.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param k
+	 *            The maximum size of the partitions sorted with the
+	 *            {@code leaf} algorithm.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 * @param scheme
+	 *            The partitioning scheme.
+	 * @param leaf
+	 *            The algorithm used to sort the small partitions.
+	 * @param depth
+	 *            The remaining recursion depth.
+	 */
+	private static void introSort(double[] A, int l, int r, int k, PivotStrategy pivot, PartitionScheme scheme,
+			LeafSorter leaf, int depth)
+	{
+		int m;
+		long b;
+		int lt;
+		int gt;
+
+		while (l < r)
+		{
+			if (((r - l) + 1) <= k)
+			{
+				sortLeaf(A, l, r, leaf);
+				return;
+			}
+
+			if (depth == 0)
+			{
+				HeapSort.heapSortBetween(A, l, r);
+				return;
+			}
+			depth--;
+
+			switch (scheme)
+			{
+			case DUAL_PIVOT:
+				b = DualPivotPartition(A, l, r, pivot);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+
+				introSort(A, l, lt - 1, k, pivot, scheme, leaf, depth);
+				// When the two pivots are equal, so are all the elements
+				// between them
+				if (Double.compare(A[lt], A[gt]) < 0)
+				{
+					introSort(A, lt + 1, gt - 1, k, pivot, scheme, leaf, depth);
+				}
+				l = gt + 1;
+				break;
+
+			case THREE_WAY:
+				b = ThreeWayPartition(A, l, r, pivot);
+				lt = (int) (b >>> 32);
+				gt = (int) b;
+
+				// The elements equal to the pivot are already in place
+				if ((lt - l) < (r - gt))
+				{
+					introSort(A, l, lt - 1, k, pivot, scheme, leaf, depth);
+					l = gt + 1;
+				} else
+				{
+					introSort(A, gt + 1, r, k, pivot, scheme, leaf, depth);
+					r = lt - 1;
+				}
+				break;
+
+			default:
+				m = Partition(A, l, r, pivot);
+
+				if ((m - l) < (r - m))
+				{
+					introSort(A, l, m - 1, k, pivot, scheme, leaf, depth);
+					l = m + 1;
+				} else
+				{
+					introSort(A, m + 1, r, k, pivot, scheme, leaf, depth);
+					r = m - 1;
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Sorts a small partition with the given algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param leaf
+	 *            The algorithm to be used.
+	 */
+	private static void sortLeaf(double[] A, int l, int r, LeafSorter leaf)
+	{
+		switch (leaf)
+		{
+		case BINARY_INSERTION:
+			InsertionSort.binaryInsertionSortBetween(A, l, r);
+			break;
+
+		case SORTING_NETWORK:
+			if (((r - l) + 1) <= NetworkSort.MAX_SIZE)
+			{
+				NetworkSort.networkSortBetween(A, l, r);
+			} else
+			{
+				InsertionSort.insertionSortBetween(A, l, r);
+			}
+			break;
+
+		default:
+			InsertionSort.insertionSortBetween(A, l, r);
+			break;
+		}
+	}
+
+	/**
+	 * Chooses the position of the pivot of a partition.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivot.
+	 * @return The position of the pivot.
+	 */
+	private static int choosePivot(double[] A, int l, int r, PivotStrategy pivot)
+	{
+		int m = (l + r) >>> 1;
+		int s;
+
+		switch (pivot)
+		{
+		case MEDIAN_OF_THREE:
+			return median(A, l, m, r);
+
+		case NINTHER:
+			if (((r - l) + 1) <= NINTHER_THRESHOLD)
+			{
+				return median(A, l, m, r);
+			}
+
+			s = ((r - l) + 1) / 8;
+			return median(A, median(A, l, l + s, l + (2 * s)), median(A, m - s, m, m + s),
+					median(A, r - (2 * s), r - s, r));
+
+		case RANDOM:
+			return ThreadLocalRandom.current().nextInt(l, r + 1);
+
+		default:
+			return r;
+		}
+	}
+
+	/**
+	 * Chooses the two pivots of a partition and moves them in positions
+	 * {@code l} and {@code r}. With {@link PivotStrategy#MEDIAN_OF_THREE}
+	 * and {@link PivotStrategy#NINTHER} the pivots are the second and the
+	 * fourth of five equally spaced elements.
+	 *
+	 * @param A
+	 *            The array to be partitioned.
+	 * @param l
+	 *            The index of the leftmost element of the partition.
+	 * @param r
+	 *            The index of the rightmost element of the partition.
+	 * @param pivot
+	 *            The strategy used to choose the pivots.
+	 */
+	private static void chooseDualPivots(double[] A, int l, int r, PivotStrategy pivot)
+	{
+		int n = (r - l) + 1;
+
+		switch (pivot)
+		{
+		case MEDIAN_OF_THREE:
+		case NINTHER:
+			if (n < DUAL_PIVOT_SAMPLE_THRESHOLD)
+			{
+				return;
+			}
+
+			int seventh = n / 7;
+			int e3 = (l + r) >>> 1;
+			int e2 = e3 - seventh;
+			int e1 = e2 - seventh;
+			int e4 = e3 + seventh;
+			int e5 = e4 + seventh;
+
+			sortFive(A, e1, e2, e3, e4, e5);
+			SHArray.swap(A, l, e2);
+			SHArray.swap(A, r, e4);
+			return;
+
+		case RANDOM:
+			SHArray.swap(A, l, ThreadLocalRandom.current().nextInt(l, r + 1));
+			SHArray.swap(A, r, ThreadLocalRandom.current().nextInt(l + 1, r + 1));
+			return;
+
+		default:
+			return;
+		}
+	}
+
+	/**
+	 * Returns the position of the median between three elements.
+	 *
+	 * @param A
+	 *            The array containing the elements.
+	 * @param i
+	 *            The position of the first element.
+	 * @param j
+	 *            The position of the second element.
+	 * @param k
+	 *            The position of the third element.
+	 * @return The position of the median.
+	 */
+	private static int median(double[] A, int i, int j, int k)
+	{
+		if (Double.compare(A[i], A[j]) < 0)
+		{
+			return (Double.compare(A[j], A[k]) < 0) ? j : ((Double.compare(A[i], A[k]) < 0) ? k : i);
+		}
+
+		return (Double.compare(A[k], A[j]) < 0) ? j : ((Double.compare(A[k], A[i]) < 0) ? k : i);
+	}
+
+	/**
+	 * Sorts five elements of the array, placed at increasing positions.
+	 *
+	 * @param A
+	 *            The array containing the elements.
+	 * @param e1
+	 *            The position of the first element.
+	 * @param e2
+	 *            The position of the second element.
+	 * @param e3
+	 *            The position of the third element.
+	 * @param e4
+	 *            The position of the fourth element.
+	 * @param e5
+	 *            The position of the fifth element.
+	 */
+	private static void sortFive(double[] A, int e1, int e2, int e3, int e4, int e5)
+	{
+		// An optimal sorting network for five elements
+		NetworkSort.compareExchange(A, e1, e2);
+		NetworkSort.compareExchange(A, e4, e5);
+		NetworkSort.compareExchange(A, e3, e5);
+		NetworkSort.compareExchange(A, e3, e4);
+		NetworkSort.compareExchange(A, e1, e4);
+		NetworkSort.compareExchange(A, e1, e3);
+		NetworkSort.compareExchange(A, e2, e5);
+		NetworkSort.compareExchange(A, e2, e4);
+		NetworkSort.compareExchange(A, e2, e3);
+	}
+
+	/**
+	 * Computes the maximum recursion depth allowed before falling back to
+	 * Heap Sort, which is {@code 2 log n}.
+	 *
+	 * @param n
+	 *            The number of elements to be sorted.
+	 * @return The maximum recursion depth.
+	 */
+	static int depthLimit(int n)
+	{
+		return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
+	}
+
+	/**
+	 * Packs the two bounds returned by the partitioning schemes that split a
+	 * partition in three parts.
+	 *
+	 * @param lt
+	 *            The position of the first bound.
+	 * @param gt
+	 *            The position of the second bound.
+	 * @return The two bounds packed in a {@code long}.
+	 */
+	private static long bounds(int lt, int gt)
+	{
+		return (((long) lt) << 32) | (gt & 0xFFFFFFFFL);
+	}
+
 }
@@ -0,0 +1,745 @@
+package shutils.sorting;
+
+import java.util.Arrays;
+
+import shutils.array.Chunks;
+
+/**
+ * This class gives an implementation of the Radix Sort algorithm, which
+ * distributes the keys by their digits instead of comparing them.
+ * <p>
+ * Arrays of {@code int} and {@code long} are sorted by the Least Significant
+ * Digit version, one byte at a time, with the sign bit flipped so that the
+ * negative values come first. The histograms of all the digits are computed
+ * in a single scan, and the passes on a digit which is the same for every
+ * key are skipped. Arrays of {@code String} and of {@code byte[]} keys are
+ * sorted by the Most Significant Digit version, which only looks at the
+ * prefixes needed to tell the keys apart. Every sort is stable.
+ * <p>
+ * Just as a remainder, we have that the complexity is {@code O(w n)}, where
+ * {@code w} is the number of digits of the keys.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class RadixSort
+{
+	/**
+	 * The number of bits of a digit.
+	 */
+	private static final int BITS = 8;
+
+	/**
+	 * The number of distinct values of a digit.
+	 */
+	private static final int RADIX = 1 << BITS;
+
+	/**
+	 * Ranges with less elements than this are sorted with Insertion Sort,
+	 * since clearing the histograms would cost more than sorting them.
+	 */
+	private static final int INSERTION_THRESHOLD = 64;
+
+	/**
+	 * Buckets with less keys than this are sorted with Insertion Sort by the
+	 * Most Significant Digit version.
+	 */
+	private static final int MSD_CUTOFF = 16;
+
+	/**
+	 * Ranges with less elements than this are sorted sequentially by the
+	 * parallel version.
+	 */
+	private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+	/**
+	 * The minimum number of elements given to a single chunk of the
+	 * parallel version.
+	 */
+	private static final int MIN_CHUNK = 1 << 14;
+
+	/**
+	 * Sorts an array of {@code int} using the Radix Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void radixSort(int[] A)
+	{
+		radixSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) using the Radix Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void radixSortBetween(int[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		checkArguments(A.length, l, r);
+
+		int n = (r - l) + 1;
+		if (n < INSERTION_THRESHOLD)
+		{
+			InsertionSort.insertionSortBetween(A, l, r);
+			return;
+		}
+
+		int passes = Integer.SIZE / BITS;
+		int[] count = new int[passes * RADIX];
+		for (int i = l; i <= r; i++)
+		{
+			int v = A[i];
+			for (int p = 0; p < passes; p++)
+			{
+				count[(p * RADIX) + digit(v, p * BITS)]++;
+			}
+		}
+
+		int[] src = A;
+		int srcL = l;
+		int[] dst = new int[n];
+		int dstL = 0;
+		for (int p = 0; p < passes; p++)
+		{
+			int shift = p * BITS;
+			int base = p * RADIX;
+
+			// Every key has the same digit, the pass would not move anything
+			if (count[base + digit(src[srcL], shift)] == n)
+			{
+				continue;
+			}
+
+			int pos = dstL;
+			for (int b = base; b < (base + RADIX); b++)
+			{
+				int c = count[b];
+				count[b] = pos;
+				pos += c;
+			}
+
+			for (int i = srcL; i < (srcL + n); i++)
+			{
+				int v = src[i];
+				dst[count[base + digit(v, shift)]++] = v;
+			}
+
+			int[] t = src;
+			src = dst;
+			dst = t;
+			int tL = srcL;
+			srcL = dstL;
+			dstL = tL;
+		}
+
+		if (src != A)
+		{
+			System.arraycopy(src, 0, A, l, n);
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code long} using the Radix Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void radixSort(long[] A)
+	{
+		radixSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between {@code l} and
+	 * {@code r} (inclusive) using the Radix Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void radixSortBetween(long[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		checkArguments(A.length, l, r);
+
+		int n = (r - l) + 1;
+		if (n < INSERTION_THRESHOLD)
+		{
+			InsertionSort.insertionSortBetween(A, l, r);
+			return;
+		}
+
+		int passes = Long.SIZE / BITS;
+		int[] count = new int[passes * RADIX];
+		for (int i = l; i <= r; i++)
+		{
+			long v = A[i];
+			for (int p = 0; p < passes; p++)
+			{
+				count[(p * RADIX) + digit(v, p * BITS)]++;
+			}
+		}
+
+		long[] src = A;
+		int srcL = l;
+		long[] dst = new long[n];
+		int dstL = 0;
+		for (int p = 0; p < passes; p++)
+		{
+			int shift = p * BITS;
+			int base = p * RADIX;
+
+			// Every key has the same digit, the pass would not move anything
+			if (count[base + digit(src[srcL], shift)] == n)
+			{
+				continue;
+			}
+
+			int pos = dstL;
+			for (int b = base; b < (base + RADIX); b++)
+			{
+				int c = count[b];
+				count[b] = pos;
+				pos += c;
+			}
+
+			for (int i = srcL; i < (srcL + n); i++)
+			{
+				long v = src[i];
+				dst[count[base + digit(v, shift)]++] = v;
+			}
+
+			long[] t = src;
+			src = dst;
+			dst = t;
+			int tL = srcL;
+			srcL = dstL;
+			dstL = tL;
+		}
+
+		if (src != A)
+		{
+			System.arraycopy(src, 0, A, l, n);
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code int} using a parallel version of the Radix
+	 * Sort algorithm. The array is split into chunks: the histograms of the
+	 * chunks are computed in parallel and, once the position of every chunk
+	 * in every bucket is known, the chunks are distributed in parallel too.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void parallelRadixSort(int[] A)
+	{
+		parallelRadixSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between {@code l} and
+	 * {@code r} (inclusive) using a parallel version of the Radix Sort
+	 * algorithm. Ranges too small to be worth splitting are sorted
+	 * sequentially.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void parallelRadixSortBetween(int[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		checkArguments(A.length, l, r);
+
+		int n = (r - l) + 1;
+		if (n < PARALLEL_THRESHOLD)
+		{
+			radixSortBetween(A, l, r);
+			return;
+		}
+
+		int chunks = Chunks.count(n, MIN_CHUNK);
+		int size = ((n + chunks) - 1) / chunks;
+		int[][] count = new int[chunks][RADIX];
+
+		int[] src = A;
+		int srcL = l;
+		int[] dst = new int[n];
+		int dstL = 0;
+		for (int shift = 0; shift < Integer.SIZE; shift += BITS)
+		{
+			final int[] s = src;
+			final int[] d = dst;
+			final int sL = srcL;
+			final int sh = shift;
+
+			Chunks.forEach(chunks, c -> {
+				int[] cnt = count[c];
+				Arrays.fill(cnt, 0);
+				for (int i = sL + (c * size); i < (sL + Math.min(n, (c + 1) * size)); i++)
+				{
+					cnt[digit(s[i], sh)]++;
+				}
+			});
+
+			if (!offsets(count, n, dstL))
+			{
+				continue;
+			}
+
+			Chunks.forEach(chunks, c -> {
+				int[] pos = count[c];
+				for (int i = sL + (c * size); i < (sL + Math.min(n, (c + 1) * size)); i++)
+				{
+					int v = s[i];
+					d[pos[digit(v, sh)]++] = v;
+				}
+			});
+
+			src = d;
+			dst = s;
+			srcL = dstL;
+			dstL = sL;
+		}
+
+		if (src != A)
+		{
+			System.arraycopy(src, 0, A, l, n);
+		}
+	}
+
+	/**
+	 * Sorts an array of {@code long} using a parallel version of the Radix
+	 * Sort algorithm. The array is split into chunks: the histograms of the
+	 * chunks are computed in parallel and, once the position of every chunk
+	 * in every bucket is known, the chunks are distributed in parallel too.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void parallelRadixSort(long[] A)
+	{
+		parallelRadixSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between {@code l} and
+	 * {@code r} (inclusive) using a parallel version of the Radix Sort
+	 * algorithm. Ranges too small to be worth splitting are sorted
+	 * sequentially.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void parallelRadixSortBetween(long[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		checkArguments(A.length, l, r);
+
+		int n = (r - l) + 1;
+		if (n < PARALLEL_THRESHOLD)
+		{
+			radixSortBetween(A, l, r);
+			return;
+		}
+
+		int chunks = Chunks.count(n, MIN_CHUNK);
+		int size = ((n + chunks) - 1) / chunks;
+		int[][] count = new int[chunks][RADIX];
+
+		long[] src = A;
+		int srcL = l;
+		long[] dst = new long[n];
+		int dstL = 0;
+		for (int shift = 0; shift < Long.SIZE; shift += BITS)
+		{
+			final long[] s = src;
+			final long[] d = dst;
+			final int sL = srcL;
+			final int sh = shift;
+
+			Chunks.forEach(chunks, c -> {
+				int[] cnt = count[c];
+				Arrays.fill(cnt, 0);
+				for (int i = sL + (c * size); i < (sL + Math.min(n, (c + 1) * size)); i++)
+				{
+					cnt[digit(s[i], sh)]++;
+				}
+			});
+
+			if (!offsets(count, n, dstL))
+			{
+				continue;
+			}
+
+			Chunks.forEach(chunks, c -> {
+				int[] pos = count[c];
+				for (int i = sL + (c * size); i < (sL + Math.min(n, (c + 1) * size)); i++)
+				{
+					long v = s[i];
+					d[pos[digit(v, sh)]++] = v;
+				}
+			});
+
+			src = d;
+			dst = s;
+			srcL = dstL;
+			dstL = sL;
+		}
+
+		if (src != A)
+		{
+			System.arraycopy(src, 0, A, l, n);
+		}
+	}
+
+	/**
+	 * Sorts an array of strings using the Most Significant Digit version of
+	 * the Radix Sort algorithm. The strings are ordered as by
+	 * {@link String#compareTo}, so a string comes before the longer strings
+	 * it is a prefix of.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void radixSort(String[] A)
+	{
+		radixSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of strings between {@code l} and
+	 * {@code r} (inclusive) using the Most Significant Digit version of the
+	 * Radix Sort algorithm. Every {@code char} is split into two byte-sized
+	 * digits, so the histograms stay small whatever the alphabet.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void radixSortBetween(String[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		checkArguments(A.length, l, r);
+
+		msdSort(A, l, r, RadixSort::charDigit);
+	}
+
+	/**
+	 * Sorts an array of byte keys using the Most Significant Digit version of
+	 * the Radix Sort algorithm. The bytes are compared as unsigned values and
+	 * a key comes before the longer keys it is a prefix of.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void radixSort(byte[][] A)
+	{
+		radixSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of byte keys between {@code l} and
+	 * {@code r} (inclusive) using the Most Significant Digit version of the
+	 * Radix Sort algorithm. The bytes are compared as unsigned values and a
+	 * key comes before the longer keys it is a prefix of.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void radixSortBetween(byte[][] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		checkArguments(A.length, l, r);
+
+		msdSort(A, l, r, RadixSort::byteDigit);
+	}
+
+	/**
+	 * Sorts the keys between {@code l} and {@code r} (inclusive) by their
+	 * digits, most significant first. The buckets still to be sorted are kept
+	 * on an explicit stack, so long common prefixes cannot overflow the call
+	 * stack, and a digit shared by every key of a bucket is skipped without
+	 * moving the keys.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> void msdSort(T[] A, int l, int r, Digits<? super T> digits)
+	{
+		Object[] aux = new Object[(r - l) + 1];
+		int[] count = new int[RADIX + 2];
+		int[] stack = new int[3 * 32];
+		int top = 0;
+
+		stack[top++] = l;
+		stack[top++] = r;
+		stack[top++] = 0;
+		while (top > 0)
+		{
+			int d = stack[--top];
+			int hi = stack[--top];
+			int lo = stack[--top];
+			int n = (hi - lo) + 1;
+
+			if (n < MSD_CUTOFF)
+			{
+				insertionSort(A, lo, hi, d, digits);
+				continue;
+			}
+
+			Arrays.fill(count, 0);
+			for (int i = lo; i <= hi; i++)
+			{
+				count[digits.at(A[i], d) + 2]++;
+			}
+
+			int first = digits.at(A[lo], d);
+			if (count[first + 2] == n)
+			{
+				// Every key has the same digit, so the next one is looked at,
+				// unless they have all run out of digits and are equal
+				if (first >= 0)
+				{
+					stack[top++] = lo;
+					stack[top++] = hi;
+					stack[top++] = d + 1;
+				}
+				continue;
+			}
+
+			for (int b = 0; b <= RADIX; b++)
+			{
+				count[b + 1] += count[b];
+			}
+			for (int i = lo; i <= hi; i++)
+			{
+				aux[count[digits.at(A[i], d) + 1]++] = A[i];
+			}
+			for (int i = lo; i <= hi; i++)
+			{
+				A[i] = (T) aux[i - lo];
+			}
+
+			// Now the bucket of the digit b goes from count[b] to count[b + 1]
+			for (int b = 0; b < RADIX; b++)
+			{
+				if ((count[b + 1] - count[b]) > 1)
+				{
+					if (top == stack.length)
+					{
+						stack = Arrays.copyOf(stack, stack.length * 2);
+					}
+					stack[top++] = lo + count[b];
+					stack[top++] = (lo + count[b + 1]) - 1;
+					stack[top++] = d + 1;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sorts the keys between {@code l} and {@code r} (inclusive), which share
+	 * their first {@code d} digits, with the Insertion Sort algorithm.
+	 */
+	private static <T> void insertionSort(T[] A, int l, int r, int d, Digits<? super T> digits)
+	{
+		for (int i = l + 1; i <= r; i++)
+		{
+			T x = A[i];
+			int k = i;
+			while ((k > l) && (compare(x, A[k - 1], d, digits) < 0))
+			{
+				A[k] = A[k - 1];
+				k--;
+			}
+			A[k] = x;
+		}
+	}
+
+	/**
+	 * Compares two keys starting from their {@code d}-th digit.
+	 */
+	private static <T> int compare(T a, T b, int d, Digits<? super T> digits)
+	{
+		for (;; d++)
+		{
+			int x = digits.at(a, d);
+			int y = digits.at(b, d);
+			if ((x != y) || (x < 0))
+			{
+				return x - y;
+			}
+		}
+	}
+
+	/**
+	 * Gives the {@code d}-th byte-sized digit of a string, or {@code -1} when
+	 * the string is too short. The high byte of a {@code char} comes first.
+	 */
+	private static int charDigit(String s, int d)
+	{
+		int i = d >>> 1;
+		if (i >= s.length())
+		{
+			return -1;
+		}
+
+		char ch = s.charAt(i);
+		return ((d & 1) == 0) ? (ch >>> BITS) : (ch & (RADIX - 1));
+	}
+
+	/**
+	 * Gives the {@code d}-th byte of a key as an unsigned value, or
+	 * {@code -1} when the key is too short.
+	 */
+	private static int byteDigit(byte[] b, int d)
+	{
+		return (d < b.length) ? (b[d] & (RADIX - 1)) : -1;
+	}
+
+	/**
+	 * Gives the digit of a value starting at the bit {@code shift}, with the
+	 * sign bit flipped so that the negative values come first.
+	 */
+	private static int digit(int v, int shift)
+	{
+		return ((v ^ Integer.MIN_VALUE) >>> shift) & (RADIX - 1);
+	}
+
+	/**
+	 * Gives the digit of a value starting at the bit {@code shift}, with the
+	 * sign bit flipped so that the negative values come first.
+	 */
+	private static int digit(long v, int shift)
+	{
+		return (int) ((v ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1);
+	}
+
+	/**
+	 * Turns the histograms of the chunks into the positions where every chunk
+	 * puts its first key of every bucket. The buckets start at {@code from}.
+	 *
+	 * @return {@code false} when a single bucket holds all the {@code n} keys,
+	 *         so the pass can be skipped.
+	 */
+	private static boolean offsets(int[][] count, int n, int from)
+	{
+		int pos = from;
+		for (int b = 0; b < RADIX; b++)
+		{
+			int start = pos;
+			for (int[] cnt : count)
+			{
+				int c = cnt[b];
+				cnt[b] = pos;
+				pos += c;
+			}
+
+			if ((pos - start) == n)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static void checkArguments(int length, int l, int r)
+	{
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+	}
+
+	/**
+	 * Gives the digits of a key for the Most Significant Digit version.
+	 */
+	private interface Digits<T>
+	{
+		/**
+		 * Gives the {@code d}-th digit of a key, between {@code 0} and
+		 * {@code RADIX - 1}, or {@code -1} when the key has less than
+		 * {@code d + 1} digits.
+		 */
+		int at(T key, int d);
+	}
+}
@@ -0,0 +1,880 @@
+package shutils.sorting;
+
+import java.lang.reflect.Array;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+
+import shutils.array.Chunks;
+
+/**
+ * This class gives a parallel implementation of the Sample Sort algorithm,
+ * which splits the array into buckets without a sequential partitioning step.
+ * <p>
+ * A random sample of the array is sorted and a set of evenly spaced splitters
+ * is taken from it. Then the array is cut into chunks, and every chunk is
+ * distributed into the buckets delimited by the splitters in parallel, each
+ * chunk writing to its own slice of every bucket. Finally the buckets are
+ * sorted concurrently with {@code QuickSort.hybridQuickSortBetween}, so every
+ * phase but the sorting of the sample runs on all the workers of the common
+ * fork/join pool. The buckets are found by walking an implicit binary search
+ * tree of the splitters, which has no unpredictable branches for the
+ * primitive types.
+ * <p>
+ * The sort needs a temporary array as large as the range to sort, plus one
+ * byte per element to remember its bucket.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class SampleSort
+{
+	/**
+	 * Ranges with less elements than this are sorted sequentially with
+	 * {@code QuickSort.hybridQuickSortBetween}.
+	 */
+	private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+	/**
+	 * The minimum number of elements given to a single chunk of the
+	 * parallel passes.
+	 */
+	private static final int MIN_CHUNK = 1 << 14;
+
+	/**
+	 * The cutoff passed to {@code QuickSort.hybridQuickSortBetween}.
+	 */
+	private static final int CUTOFF = 16;
+
+	/**
+	 * The maximum number of buckets. It must be a power of two, and a bucket
+	 * index must fit in a byte.
+	 */
+	private static final int MAX_BUCKETS = 256;
+
+	/**
+	 * The expected number of elements of a bucket, when there are not enough
+	 * elements for {@link #MAX_BUCKETS} buckets.
+	 */
+	private static final int MIN_BUCKET = 1 << 12;
+
+	/**
+	 * The number of samples taken for each bucket.
+	 */
+	private static final int OVERSAMPLING = 32;
+
+	/**
+	 * Sorts an array using a parallel version of the
+	 * Sample Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T extends Comparable<T>> void sampleSort(T[] A)
+	{
+		sampleSort(A, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts an array using a parallel version of the
+	 * Sample Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 */
+	public static <T> void sampleSort(T[] A, Comparator<? super T> c)
+	{
+		sampleSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0, c);
+	}
+
+	/**
+	 * Sorts the elements of an array between
+	 * {@code l} and {@code r} (inclusive) using a parallel version of the
+	 * Sample Sort algorithm. Ranges too small to be worth splitting are
+	 * sorted sequentially.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T extends Comparable<T>> void sampleSortBetween(T[] A, int l, int r)
+	{
+		sampleSortBetween(A, l, r, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Sorts the elements of an array between
+	 * {@code l} and {@code r} (inclusive) using a parallel version of the
+	 * Sample Sort algorithm. Ranges too small to be worth splitting are
+	 * sorted sequentially.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static <T> void sampleSortBetween(T[] A, int l, int r, Comparator<? super T> c)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		checkArguments(A.length, l, r);
+
+		int n = (r - l) + 1;
+		if (n < SEQUENTIAL_THRESHOLD)
+		{
+			QuickSort.hybridQuickSortBetween(A, l, r, CUTOFF, c);
+			return;
+		}
+
+		int p = buckets(n);
+		T[] tree = newArray(A, p);
+		splitters(A, l, r, tree, c);
+
+		// Every chunk counts the elements it has in every bucket
+		int chunks = Chunks.count(n, MIN_CHUNK);
+		int size = ((n + chunks) - 1) / chunks;
+		byte[] bucket = new byte[n];
+		int[][] count = new int[chunks][p];
+		Chunks.forEach(chunks, ch -> {
+			int[] cnt = count[ch];
+			for (int i = ch * size; i < Math.min(n, (ch + 1) * size); i++)
+			{
+				int b = classify(tree, A[l + i], c);
+				bucket[i] = (byte) b;
+				cnt[b]++;
+			}
+		});
+
+		int[] start = offsets(count, p);
+
+		T[] tmp = newArray(A, n);
+		Chunks.forEach(chunks, ch -> {
+			int[] pos = count[ch];
+			for (int i = ch * size; i < Math.min(n, (ch + 1) * size); i++)
+			{
+				tmp[pos[bucket[i] & (MAX_BUCKETS - 1)]++] = A[l + i];
+			}
+		});
+
+		Chunks.forEach(p, b -> {
+			int from = start[b];
+			int to = start[b + 1];
+			if ((to - from) > 1)
+			{
+				QuickSort.hybridQuickSortBetween(tmp, from, to - 1, CUTOFF, c);
+			}
+			System.arraycopy(tmp, from, A, l + from, to - from);
+		});
+	}
+
+	/**
+	 * Sorts a random sample of the elements between {@code l} and
+	 * {@code r} (inclusive) and stores the splitters taken from it in
+	 * {@code tree}, as an implicit binary search tree rooted at index 1.
+	 */
+	private static <T> void splitters(T[] A, int l, int r, T[] tree, Comparator<? super T> c)
+	{
+		int p = tree.length;
+		T[] sample = newArray(A, p * OVERSAMPLING);
+		ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+		for (int i = 0; i < sample.length; i++)
+		{
+			sample[i] = A[rnd.nextInt(l, r + 1)];
+		}
+		QuickSort.hybridQuickSortBetween(sample, 0, sample.length - 1, CUTOFF, c);
+
+		buildTree(tree, sample, 1, 1);
+	}
+
+	/**
+	 * Gives the bucket of {@code x}, which is the number of splitters not
+	 * greater than {@code x}. The number of steps is the same for every
+	 * element, and every step only picks the left or the right child.
+	 */
+	private static <T> int classify(T[] tree, T x, Comparator<? super T> c)
+	{
+		int j = 1;
+
+		while (j < tree.length)
+		{
+			j = (2 * j) + (c.compare(x, tree[j]) < 0 ? 0 : 1);
+		}
+
+		return j - tree.length;
+	}
+
+	/**
+	 * Fills the subtree of {@code tree} rooted at {@code j} with the
+	 * splitters of {@code sample}, visiting it in order. The splitters are
+	 * taken every {@link #OVERSAMPLING} samples, starting from the
+	 * {@code i}-th one.
+	 *
+	 * @return The index of the next splitter to take.
+	 */
+	private static <T> int buildTree(T[] tree, T[] sample, int j, int i)
+	{
+		if (j >= tree.length)
+		{
+			return i;
+		}
+
+		i = buildTree(tree, sample, 2 * j, i);
+		tree[j] = sample[(i * OVERSAMPLING) - 1];
+		return buildTree(tree, sample, (2 * j) + 1, i + 1);
+	}
+
+	/**
+	 * Sorts an array of {@code int} using a parallel version of the
+	 * Sample Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void sampleSort(int[] A)
+	{
+		sampleSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code int} between
+	 * {@code l} and {@code r} (inclusive) using a parallel version of the
+	 * Sample Sort algorithm. Ranges too small to be worth splitting are
+	 * sorted sequentially.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void sampleSortBetween(int[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		checkArguments(A.length, l, r);
+
+		int n = (r - l) + 1;
+		if (n < SEQUENTIAL_THRESHOLD)
+		{
+			QuickSort.hybridQuickSortBetween(A, l, r, CUTOFF);
+			return;
+		}
+
+		int p = buckets(n);
+		int[] tree = new int[p];
+		splitters(A, l, r, tree);
+
+		// Every chunk counts the elements it has in every bucket
+		int chunks = Chunks.count(n, MIN_CHUNK);
+		int size = ((n + chunks) - 1) / chunks;
+		byte[] bucket = new byte[n];
+		int[][] count = new int[chunks][p];
+		Chunks.forEach(chunks, ch -> {
+			int[] cnt = count[ch];
+			for (int i = ch * size; i < Math.min(n, (ch + 1) * size); i++)
+			{
+				int b = classify(tree, A[l + i]);
+				bucket[i] = (byte) b;
+				cnt[b]++;
+			}
+		});
+
+		int[] start = offsets(count, p);
+
+		int[] tmp = new int[n];
+		Chunks.forEach(chunks, ch -> {
+			int[] pos = count[ch];
+			for (int i = ch * size; i < Math.min(n, (ch + 1) * size); i++)
+			{
+				tmp[pos[bucket[i] & (MAX_BUCKETS - 1)]++] = A[l + i];
+			}
+		});
+
+		Chunks.forEach(p, b -> {
+			int from = start[b];
+			int to = start[b + 1];
+			if ((to - from) > 1)
+			{
+				QuickSort.hybridQuickSortBetween(tmp, from, to - 1, CUTOFF);
+			}
+			System.arraycopy(tmp, from, A, l + from, to - from);
+		});
+	}
+
+	/**
+	 * Sorts a random sample of the elements between {@code l} and
+	 * {@code r} (inclusive) and stores the splitters taken from it in
+	 * {@code tree}, as an implicit binary search tree rooted at index 1.
+	 */
+	private static void splitters(int[] A, int l, int r, int[] tree)
+	{
+		int p = tree.length;
+		int[] sample = new int[p * OVERSAMPLING];
+		ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+		for (int i = 0; i < sample.length; i++)
+		{
+			sample[i] = A[rnd.nextInt(l, r + 1)];
+		}
+		QuickSort.hybridQuickSortBetween(sample, 0, sample.length - 1, CUTOFF);
+
+		buildTree(tree, sample, 1, 1);
+	}
+
+	/**
+	 * Gives the bucket of {@code x}, which is the number of splitters not
+	 * greater than {@code x}. The number of steps is the same for every
+	 * element, and every step only picks the left or the right child.
+	 */
+	private static int classify(int[] tree, int x)
+	{
+		int j = 1;
+
+		while (j < tree.length)
+		{
+			j = (2 * j) + (x < tree[j] ? 0 : 1);
+		}
+
+		return j - tree.length;
+	}
+
+	/**
+	 * Fills the subtree of {@code tree} rooted at {@code j} with the
+	 * splitters of {@code sample}, visiting it in order. The splitters are
+	 * taken every {@link #OVERSAMPLING} samples, starting from the
+	 * {@code i}-th one.
+	 *
+	 * @return The index of the next splitter to take.
+	 */
+	private static int buildTree(int[] tree, int[] sample, int j, int i)
+	{
+		if (j >= tree.length)
+		{
+			return i;
+		}
+
+		i = buildTree(tree, sample, 2 * j, i);
+		tree[j] = sample[(i * OVERSAMPLING) - 1];
+		return buildTree(tree, sample, (2 * j) + 1, i + 1);
+	}
+
+	/**
+	 * Sorts an array of {@code long} using a parallel version of the
+	 * Sample Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void sampleSort(long[] A)
+	{
+		sampleSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code long} between
+	 * {@code l} and {@code r} (inclusive) using a parallel version of the
+	 * Sample Sort algorithm. Ranges too small to be worth splitting are
+	 * sorted sequentially.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void sampleSortBetween(long[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		checkArguments(A.length, l, r);
+
+		int n = (r - l) + 1;
+		if (n < SEQUENTIAL_THRESHOLD)
+		{
+			QuickSort.hybridQuickSortBetween(A, l, r, CUTOFF);
+			return;
+		}
+
+		int p = buckets(n);
+		long[] tree = new long[p];
+		splitters(A, l, r, tree);
+
+		// Every chunk counts the elements it has in every bucket
+		int chunks = Chunks.count(n, MIN_CHUNK);
+		int size = ((n + chunks) - 1) / chunks;
+		byte[] bucket = new byte[n];
+		int[][] count = new int[chunks][p];
+		Chunks.forEach(chunks, ch -> {
+			int[] cnt = count[ch];
+			for (int i = ch * size; i < Math.min(n, (ch + 1) * size); i++)
+			{
+				int b = classify(tree, A[l + i]);
+				bucket[i] = (byte) b;
+				cnt[b]++;
+			}
+		});
+
+		int[] start = offsets(count, p);
+
+		long[] tmp = new long[n];
+		Chunks.forEach(chunks, ch -> {
+			int[] pos = count[ch];
+			for (int i = ch * size; i < Math.min(n, (ch + 1) * size); i++)
+			{
+				tmp[pos[bucket[i] & (MAX_BUCKETS - 1)]++] = A[l + i];
+			}
+		});
+
+		Chunks.forEach(p, b -> {
+			int from = start[b];
+			int to = start[b + 1];
+			if ((to - from) > 1)
+			{
+				QuickSort.hybridQuickSortBetween(tmp, from, to - 1, CUTOFF);
+			}
+			System.arraycopy(tmp, from, A, l + from, to - from);
+		});
+	}
+
+	/**
+	 * Sorts a random sample of the elements between {@code l} and
+	 * {@code r} (inclusive) and stores the splitters taken from it in
+	 * {@code tree}, as an implicit binary search tree rooted at index 1.
+	 */
+	private static void splitters(long[] A, int l, int r, long[] tree)
+	{
+		int p = tree.length;
+		long[] sample = new long[p * OVERSAMPLING];
+		ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+		for (int i = 0; i < sample.length; i++)
+		{
+			sample[i] = A[rnd.nextInt(l, r + 1)];
+		}
+		QuickSort.hybridQuickSortBetween(sample, 0, sample.length - 1, CUTOFF);
+
+		buildTree(tree, sample, 1, 1);
+	}
+
+	/**
+	 * Gives the bucket of {@code x}, which is the number of splitters not
+	 * greater than {@code x}. The number of steps is the same for every
+	 * element, and every step only picks the left or the right child.
+	 */
+	private static int classify(long[] tree, long x)
+	{
+		int j = 1;
+
+		while (j < tree.length)
+		{
+			j = (2 * j) + (x < tree[j] ? 0 : 1);
+		}
+
+		return j - tree.length;
+	}
+
+	/**
+	 * Fills the subtree of {@code tree} rooted at {@code j} with the
+	 * splitters of {@code sample}, visiting it in order. The splitters are
+	 * taken every {@link #OVERSAMPLING} samples, starting from the
+	 * {@code i}-th one.
+	 *
+	 * @return The index of the next splitter to take.
+	 */
+	private static int buildTree(long[] tree, long[] sample, int j, int i)
+	{
+		if (j >= tree.length)
+		{
+			return i;
+		}
+
+		i = buildTree(tree, sample, 2 * j, i);
+		tree[j] = sample[(i * OVERSAMPLING) - 1];
+		return buildTree(tree, sample, (2 * j) + 1, i + 1);
+	}
+
+	/**
+	 * Sorts an array of {@code float} using a parallel version of the
+	 * Sample Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void sampleSort(float[] A)
+	{
+		sampleSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code float} between
+	 * {@code l} and {@code r} (inclusive) using a parallel version of the
+	 * Sample Sort algorithm. Ranges too small to be worth splitting are
+	 * sorted sequentially.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void sampleSortBetween(float[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		checkArguments(A.length, l, r);
+
+		int n = (r - l) + 1;
+		if (n < SEQUENTIAL_THRESHOLD)
+		{
+			QuickSort.hybridQuickSortBetween(A, l, r, CUTOFF);
+			return;
+		}
+
+		int p = buckets(n);
+		float[] tree = new float[p];
+		splitters(A, l, r, tree);
+
+		// Every chunk counts the elements it has in every bucket
+		int chunks = Chunks.count(n, MIN_CHUNK);
+		int size = ((n + chunks) - 1) / chunks;
+		byte[] bucket = new byte[n];
+		int[][] count = new int[chunks][p];
+		Chunks.forEach(chunks, ch -> {
+			int[] cnt = count[ch];
+			for (int i = ch * size; i < Math.min(n, (ch + 1) * size); i++)
+			{
+				int b = classify(tree, A[l + i]);
+				bucket[i] = (byte) b;
+				cnt[b]++;
+			}
+		});
+
+		int[] start = offsets(count, p);
+
+		float[] tmp = new float[n];
+		Chunks.forEach(chunks, ch -> {
+			int[] pos = count[ch];
+			for (int i = ch * size; i < Math.min(n, (ch + 1) * size); i++)
+			{
+				tmp[pos[bucket[i] & (MAX_BUCKETS - 1)]++] = A[l + i];
+			}
+		});
+
+		Chunks.forEach(p, b -> {
+			int from = start[b];
+			int to = start[b + 1];
+			if ((to - from) > 1)
+			{
+				QuickSort.hybridQuickSortBetween(tmp, from, to - 1, CUTOFF);
+			}
+			System.arraycopy(tmp, from, A, l + from, to - from);
+		});
+	}
+
+	/**
+	 * Sorts a random sample of the elements between {@code l} and
+	 * {@code r} (inclusive) and stores the splitters taken from it in
+	 * {@code tree}, as an implicit binary search tree rooted at index 1.
+	 */
+	private static void splitters(float[] A, int l, int r, float[] tree)
+	{
+		int p = tree.length;
+		float[] sample = new float[p * OVERSAMPLING];
+		ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+		for (int i = 0; i < sample.length; i++)
+		{
+			sample[i] = A[rnd.nextInt(l, r + 1)];
+		}
+		QuickSort.hybridQuickSortBetween(sample, 0, sample.length - 1, CUTOFF);
+
+		buildTree(tree, sample, 1, 1);
+	}
+
+	/**
+	 * Gives the bucket of {@code x}, which is the number of splitters not
+	 * greater than {@code x}. The number of steps is the same for every
+	 * element, and every step only picks the left or the right child.
+	 */
+	private static int classify(float[] tree, float x)
+	{
+		int j = 1;
+
+		while (j < tree.length)
+		{
+			j = (2 * j) + (Float.compare(x, tree[j]) < 0 ? 0 : 1);
+		}
+
+		return j - tree.length;
+	}
+
+	/**
+	 * Fills the subtree of {@code tree} rooted at {@code j} with the
+	 * splitters of {@code sample}, visiting it in order. The splitters are
+	 * taken every {@link #OVERSAMPLING} samples, starting from the
+	 * {@code i}-th one.
+	 *
+	 * @return The index of the next splitter to take.
+	 */
+	private static int buildTree(float[] tree, float[] sample, int j, int i)
+	{
+		if (j >= tree.length)
+		{
+			return i;
+		}
+
+		i = buildTree(tree, sample, 2 * j, i);
+		tree[j] = sample[(i * OVERSAMPLING) - 1];
+		return buildTree(tree, sample, (2 * j) + 1, i + 1);
+	}
+
+	/**
+	 * Sorts an array of {@code double} using a parallel version of the
+	 * Sample Sort algorithm.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 */
+	public static void sampleSort(double[] A)
+	{
+		sampleSortBetween(A, 0, A.length > 0 ? A.length - 1 : 0);
+	}
+
+	/**
+	 * Sorts the elements of an array of {@code double} between
+	 * {@code l} and {@code r} (inclusive) using a parallel version of the
+	 * Sample Sort algorithm. Ranges too small to be worth splitting are
+	 * sorted sequentially.
+	 *
+	 * @param A
+	 *            The array to be sorted.
+	 * @param l
+	 *            The index of the leftmost element to sort.
+	 * @param r
+	 *            The index of the rightmost element to sort.
+	 * @throws IllegalArgumentException
+	 *             When {@code l > r}.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0} or {@code r >= A.length}.
+	 */
+	public static void sampleSortBetween(double[] A, int l, int r)
+	{
+		if (l == r)
+		{
+			return;
+		}
+
+		checkArguments(A.length, l, r);
+
+		int n = (r - l) + 1;
+		if (n < SEQUENTIAL_THRESHOLD)
+		{
+			QuickSort.hybridQuickSortBetween(A, l, r, CUTOFF);
+			return;
+		}
+
+		int p = buckets(n);
+		double[] tree = new double[p];
+		splitters(A, l, r, tree);
+
+		// Every chunk counts the elements it has in every bucket
+		int chunks = Chunks.count(n, MIN_CHUNK);
+		int size = ((n + chunks) - 1) / chunks;
+		byte[] bucket = new byte[n];
+		int[][] count = new int[chunks][p];
+		Chunks.forEach(chunks, ch -> {
+			int[] cnt = count[ch];
+			for (int i = ch * size; i < Math.min(n, (ch + 1) * size); i++)
+			{
+				int b = classify(tree, A[l + i]);
+				bucket[i] = (byte) b;
+				cnt[b]++;
+			}
+		});
+
+		int[] start = offsets(count, p);
+
+		double[] tmp = new double[n];
+		Chunks.forEach(chunks, ch -> {
+			int[] pos = count[ch];
+			for (int i = ch * size; i < Math.min(n, (ch + 1) * size); i++)
+			{
+				tmp[pos[bucket[i] & (MAX_BUCKETS - 1)]++] = A[l + i];
+			}
+		});
+
+		Chunks.forEach(p, b -> {
+			int from = start[b];
+			int to = start[b + 1];
+			if ((to - from) > 1)
+			{
+				QuickSort.hybridQuickSortBetween(tmp, from, to - 1, CUTOFF);
+			}
+			System.arraycopy(tmp, from, A, l + from, to - from);
+		});
+	}
+
+	/**
+	 * Sorts a random sample of the elements between {@code l} and
+	 * {@code r} (inclusive) and stores the splitters taken from it in
+	 * {@code tree}, as an implicit binary search tree rooted at index 1.
+	 */
+	private static void splitters(double[] A, int l, int r, double[] tree)
+	{
+		int p = tree.length;
+		double[] sample = new double[p * OVERSAMPLING];
+		ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+		for (int i = 0; i < sample.length; i++)
+		{
+			sample[i] = A[rnd.nextInt(l, r + 1)];
+		}
+		QuickSort.hybridQuickSortBetween(sample, 0, sample.length - 1, CUTOFF);
+
+		buildTree(tree, sample, 1, 1);
+	}
+
+	/**
+	 * Gives the bucket of {@code x}, which is the number of splitters not
+	 * greater than {@code x}. The number of steps is the same for every
+	 * element, and every step only picks the left or the right child.
+	 */
+	private static int classify(double[] tree, double x)
+	{
+		int j = 1;
+
+		while (j < tree.length)
+		{
+			j = (2 * j) + (Double.compare(x, tree[j]) < 0 ? 0 : 1);
+		}
+
+		return j - tree.length;
+	}
+
+	/**
+	 * Fills the subtree of {@code tree} rooted at {@code j} with the
+	 * splitters of {@code sample}, visiting it in order. The splitters are
+	 * taken every {@link #OVERSAMPLING} samples, starting from the
+	 * {@code i}-th one.
+	 *
+	 * @return The index of the next splitter to take.
+	 */
+	private static int buildTree(double[] tree, double[] sample, int j, int i)
+	{
+		if (j >= tree.length)
+		{
+			return i;
+		}
+
+		i = buildTree(tree, sample, 2 * j, i);
+		tree[j] = sample[(i * OVERSAMPLING) - 1];
+		return buildTree(tree, sample, (2 * j) + 1, i + 1);
+	}
+
+	/**
+	 * Computes the number of buckets {@code n} elements are split into, which
+	 * is a power of two.
+	 */
+	private static int buckets(int n)
+	{
+		return Math.min(MAX_BUCKETS, Integer.highestOneBit(n / MIN_BUCKET));
+	}
+
+	/**
+	 * Turns the number of elements every chunk has in every bucket into the
+	 * position where the chunk puts its first element of that bucket.
+	 *
+	 * @return The position where every bucket starts, followed by the total
+	 *         number of elements.
+	 */
+	private static int[] offsets(int[][] count, int p)
+	{
+		int[] start = new int[p + 1];
+		int pos = 0;
+
+		for (int b = 0; b < p; b++)
+		{
+			start[b] = pos;
+			for (int[] cnt : count)
+			{
+				int c = cnt[b];
+				cnt[b] = pos;
+				pos += c;
+			}
+		}
+		start[p] = pos;
+
+		return start;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T[] newArray(T[] A, int n)
+	{
+		return (T[]) Array.newInstance(A.getClass().getComponentType(), n);
+	}
+
+	private static void checkArguments(int length, int l, int r)
+	{
+		if (l > r)
+		{
+			throw new IllegalArgumentException("The lower bound cannot be grater than the upper one");
+		}
+
+		if ((l < 0) || (r >= length))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+	}
+}
@@ -0,0 +1,1254 @@
+package shutils.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import shutils.array.SHArray;
+
+/**
+ * This class gives the selection algorithms, which only put in order the part
+ * of an array that is actually needed.
+ * <p>
+ * {@code nthElement} is a Quick Select built on the three-way partitioning of
+ * {@link QuickSort}: it only follows the side of the partition that holds the
+ * requested position, so its expected complexity is {@code O(n)}. Just like
+ * {@link QuickSort}, once it gets deeper than {@code 2 log n} levels it sorts
+ * the remaining range with {@link HeapSort}. {@code partialSort} sorts the
+ * {@code k} smallest elements in {@code O(n + k log k)}, while {@code topK}
+ * scans the elements once, keeping the {@code k} greatest ones in a bounded
+ * heap, in {@code O(n log k)} time and {@code O(k)} space.
+ *
+ * @author Matteo Nardini
+ *
+ */
+public class Selection
+{
+	/**
+	 * The pivot strategy used by Quick Select.
+	 */
+	private static final PivotStrategy PIVOT = PivotStrategy.NINTHER;
+
+	/**
+	 * Ranges with at most this number of elements are sorted with Insertion
+	 * Sort instead of being partitioned.
+	 */
+	private static final int INSERTION_THRESHOLD = 16;
+
+	/**
+	 * Rearranges an array so that the element at position
+	 * {@code n} is the one that would be there if the array were sorted.
+	 * The elements before it are not greater than it, and the elements after
+	 * it are not lower than it.
+	 *
+	 * @param A
+	 *            The array to be rearranged.
+	 * @param n
+	 *            The position of the element to be selected.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code n < 0} or {@code n >= A.length}.
+	 */
+	public static <T extends Comparable<T>> void nthElement(T[] A, int n)
+	{
+		nthElement(A, n, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Rearranges an array so that the element at position
+	 * {@code n} is the one that would be there if the array were sorted.
+	 * The elements before it are not greater than it, and the elements after
+	 * it are not lower than it.
+	 *
+	 * @param A
+	 *            The array to be rearranged.
+	 * @param n
+	 *            The position of the element to be selected.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code n < 0} or {@code n >= A.length}.
+	 */
+	public static <T> void nthElement(T[] A, int n, Comparator<? super T> c)
+	{
+		nthElementBetween(A, 0, A.length - 1, n, c);
+	}
+
+	/**
+	 * Rearranges the elements of an array between
+	 * {@code l} and {@code r} (inclusive) so that the element at position
+	 * {@code n} is the one that would be there if the range were sorted. The
+	 * elements of the range before it are not greater than it, and the
+	 * elements after it are not lower than it.
+	 *
+	 * @param A
+	 *            The array to be rearranged.
+	 * @param l
+	 *            The index of the leftmost element of the range.
+	 * @param r
+	 *            The index of the rightmost element of the range.
+	 * @param n
+	 *            The position of the element to be selected.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0}, {@code r >= A.length} or {@code n} is
+	 *             not between {@code l} and {@code r}.
+	 */
+	public static <T extends Comparable<T>> void nthElementBetween(T[] A, int l, int r, int n)
+	{
+		nthElementBetween(A, l, r, n, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Rearranges the elements of an array between
+	 * {@code l} and {@code r} (inclusive) so that the element at position
+	 * {@code n} is the one that would be there if the range were sorted. The
+	 * elements of the range before it are not greater than it, and the
+	 * elements after it are not lower than it.
+	 *
+	 * @param A
+	 *            The array to be rearranged.
+	 * @param l
+	 *            The index of the leftmost element of the range.
+	 * @param r
+	 *            The index of the rightmost element of the range.
+	 * @param n
+	 *            The position of the element to be selected.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0}, {@code r >= A.length} or {@code n} is
+	 *             not between {@code l} and {@code r}.
+	 */
+	public static <T> void nthElementBetween(T[] A, int l, int r, int n, Comparator<? super T> c)
+	{
+		if ((l < 0) || (r >= A.length) || (n < l) || (n > r))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		select(A, l, r, n, c);
+	}
+
+	/**
+	 * Rearranges an array so that its first {@code k}
+	 * positions hold its {@code k} smallest elements, in sorted order. The
+	 * order of the other elements is unspecified.
+	 *
+	 * @param A
+	 *            The array to be partially sorted.
+	 * @param k
+	 *            The number of elements to be sorted.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0} or {@code k > A.length}.
+	 */
+	public static <T extends Comparable<T>> void partialSort(T[] A, int k)
+	{
+		partialSort(A, k, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Rearranges an array so that its first {@code k}
+	 * positions hold its {@code k} smallest elements, in sorted order. The
+	 * order of the other elements is unspecified.
+	 *
+	 * @param A
+	 *            The array to be partially sorted.
+	 * @param k
+	 *            The number of elements to be sorted.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0} or {@code k > A.length}.
+	 */
+	public static <T> void partialSort(T[] A, int k, Comparator<? super T> c)
+	{
+		if ((k < 0) || (k > A.length))
+		{
+			throw new IllegalArgumentException("The number of elements to sort is not valid");
+		}
+		if (k == 0)
+		{
+			return;
+		}
+
+		if (k < A.length)
+		{
+			select(A, 0, A.length - 1, k - 1, c);
+		}
+		if (k > 1)
+		{
+			QuickSort.hybridQuickSortBetween(A, 0, k - 1, INSERTION_THRESHOLD, c);
+		}
+	}
+
+	/**
+	 * Gives the {@code k} greatest elements of an array,
+	 * from the greatest to the lowest. The array is not modified, and only
+	 * {@code k} elements are kept aside while it is scanned.
+	 *
+	 * @param A
+	 *            The array to be scanned.
+	 * @param k
+	 *            The number of elements to be returned. When the array is
+	 *            shorter, all its elements are returned.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return A new array with the {@code k} greatest elements.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0}.
+	 */
+	public static <T extends Comparable<T>> T[] topK(T[] A, int k)
+	{
+		return topK(A, k, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Gives the {@code k} greatest elements of an array,
+	 * from the greatest to the lowest. The array is not modified, and only
+	 * {@code k} elements are kept aside while it is scanned.
+	 *
+	 * @param A
+	 *            The array to be scanned.
+	 * @param k
+	 *            The number of elements to be returned. When the array is
+	 *            shorter, all its elements are returned.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of items contained in A.
+	 * @return A new array with the {@code k} greatest elements.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0}.
+	 */
+	public static <T> T[] topK(T[] A, int k, Comparator<? super T> c)
+	{
+		if (k < 0)
+		{
+			throw new IllegalArgumentException("The number of elements cannot be negative");
+		}
+
+		int m = Math.min(k, A.length);
+		T[] heap = Arrays.copyOf(A, m);
+		if (m == 0)
+		{
+			return heap;
+		}
+
+		// The lowest of the greatest elements met so far is on top
+		for (int i = (m / 2) - 1; i >= 0; i--)
+		{
+			siftDown(heap, i, m, c);
+		}
+		for (int i = m; i < A.length; i++)
+		{
+			if (c.compare(heap[0], A[i]) < 0)
+			{
+				heap[0] = A[i];
+				siftDown(heap, 0, m, c);
+			}
+		}
+
+		sortHeap(heap, m, c);
+		return heap;
+	}
+
+	/**
+	 * Gives the {@code k} greatest elements of a sequence, from the greatest
+	 * to the lowest. The elements are consumed one at a time and only
+	 * {@code k} of them are kept aside, so the sequence can be much larger
+	 * than the memory.
+	 *
+	 * @param items
+	 *            The elements to be scanned.
+	 * @param k
+	 *            The number of elements to be returned. When there are less
+	 *            elements, all of them are returned.
+	 * @param <T>
+	 *            The type of the elements.
+	 * @return A new list with the {@code k} greatest elements.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0}.
+	 */
+	public static <T extends Comparable<T>> List<T> topK(Iterable<? extends T> items, int k)
+	{
+		return topK(items, k, Comparator.<T> naturalOrder());
+	}
+
+	/**
+	 * Gives the {@code k} greatest elements of a sequence, from the greatest
+	 * to the lowest. The elements are consumed one at a time and only
+	 * {@code k} of them are kept aside, so the sequence can be much larger
+	 * than the memory.
+	 *
+	 * @param items
+	 *            The elements to be scanned.
+	 * @param k
+	 *            The number of elements to be returned. When there are less
+	 *            elements, all of them are returned.
+	 * @param c
+	 *            The comparator that defines the order of the elements.
+	 * @param <T>
+	 *            The type of the elements.
+	 * @return A new list with the {@code k} greatest elements.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> List<T> topK(Iterable<? extends T> items, int k, Comparator<? super T> c)
+	{
+		if (k < 0)
+		{
+			throw new IllegalArgumentException("The number of elements cannot be negative");
+		}
+
+		// The heap grows with the elements, up to k of them
+		T[] heap = (T[]) new Object[Math.min(k, 16)];
+		int n = 0;
+		for (T x : items)
+		{
+			if (n < k)
+			{
+				if (n == heap.length)
+				{
+					heap = Arrays.copyOf(heap, (int) Math.min(k, 2L * n));
+				}
+				heap[n] = x;
+				siftUp(heap, n, c);
+				n++;
+			} else if ((k > 0) && (c.compare(heap[0], x) < 0))
+			{
+				heap[0] = x;
+				siftDown(heap, 0, n, c);
+			}
+		}
+
+		sortHeap(heap, n, c);
+		return Arrays.asList(Arrays.copyOf(heap, n));
+	}
+
+	/**
+	 * Moves the element at position {@code i} of a min-heap up until its
+	 * parent is not greater than it.
+	 */
+	private static <T> void siftUp(T[] heap, int i, Comparator<? super T> c)
+	{
+		T x = heap[i];
+
+		while (i > 0)
+		{
+			int parent = (i - 1) / 2;
+			if (!(c.compare(x, heap[parent]) < 0))
+			{
+				break;
+			}
+			heap[i] = heap[parent];
+			i = parent;
+		}
+		heap[i] = x;
+	}
+
+	/**
+	 * Selects the element at position {@code n} of the range between
+	 * {@code l} and {@code r} (inclusive).
+	 */
+	private static <T> void select(T[] A, int l, int r, int n, Comparator<? super T> c)
+	{
+		int depth = QuickSort.depthLimit((r - l) + 1);
+
+		while (((r - l) + 1) > INSERTION_THRESHOLD)
+		{
+			if (depth == 0)
+			{
+				HeapSort.heapSortBetween(A, l, r, c);
+				return;
+			}
+			depth--;
+
+			long b = QuickSort.ThreeWayPartition(A, l, r, PIVOT, c);
+			int lt = (int) (b >>> 32);
+			int gt = (int) b;
+
+			// The elements equal to the pivot are already in place
+			if (n < lt)
+			{
+				r = lt - 1;
+			} else if (n > gt)
+			{
+				l = gt + 1;
+			} else
+			{
+				return;
+			}
+		}
+
+		if (l < r)
+		{
+			InsertionSort.insertionSortBetween(A, l, r, c);
+		}
+	}
+
+	/**
+	 * Turns the first {@code n} elements of a min-heap into a sequence
+	 * sorted from the greatest to the lowest, moving the top to the end.
+	 */
+	private static <T> void sortHeap(T[] heap, int n, Comparator<? super T> c)
+	{
+		for (int i = n - 1; i > 0; i--)
+		{
+			SHArray.swap(heap, 0, i);
+			siftDown(heap, 0, i, c);
+		}
+	}
+
+	/**
+	 * Moves the element at position {@code i} of a min-heap of {@code n}
+	 * elements down until both its children are not lower than it.
+	 */
+	private static <T> void siftDown(T[] heap, int i, int n, Comparator<? super T> c)
+	{
+		T x = heap[i];
+		int child;
+
+		while ((child = (2 * i) + 1) < n)
+		{
+			if (((child + 1) < n) && c.compare(heap[child + 1], heap[child]) < 0)
+			{
+				child++;
+			}
+			if (!(c.compare(heap[child], x) < 0))
+			{
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = x;
+	}
+
+	/**
+	 * Rearranges an array of {@code int} so that the element at position
+	 * {@code n} is the one that would be there if the array were sorted.
+	 * The elements before it are not greater than it, and the elements after
+	 * it are not lower than it.
+	 *
+	 * @param A
+	 *            The array to be rearranged.
+	 * @param n
+	 *            The position of the element to be selected.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code n < 0} or {@code n >= A.length}.
+	 */
+	public static void nthElement(int[] A, int n)
+	{
+		nthElementBetween(A, 0, A.length - 1, n);
+	}
+
+	/**
+	 * Rearranges the elements of an array of {@code int} between
+	 * {@code l} and {@code r} (inclusive) so that the element at position
+	 * {@code n} is the one that would be there if the range were sorted. The
+	 * elements of the range before it are not greater than it, and the
+	 * elements after it are not lower than it.
+	 *
+	 * @param A
+	 *            The array to be rearranged.
+	 * @param l
+	 *            The index of the leftmost element of the range.
+	 * @param r
+	 *            The index of the rightmost element of the range.
+	 * @param n
+	 *            The position of the element to be selected.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0}, {@code r >= A.length} or {@code n} is
+	 *             not between {@code l} and {@code r}.
+	 */
+	public static void nthElementBetween(int[] A, int l, int r, int n)
+	{
+		if ((l < 0) || (r >= A.length) || (n < l) || (n > r))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		select(A, l, r, n);
+	}
+
+	/**
+	 * Rearranges an array of {@code int} so that its first {@code k}
+	 * positions hold its {@code k} smallest elements, in sorted order. The
+	 * order of the other elements is unspecified.
+	 *
+	 * @param A
+	 *            The array to be partially sorted.
+	 * @param k
+	 *            The number of elements to be sorted.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0} or {@code k > A.length}.
+	 */
+	public static void partialSort(int[] A, int k)
+	{
+		if ((k < 0) || (k > A.length))
+		{
+			throw new IllegalArgumentException("The number of elements to sort is not valid");
+		}
+		if (k == 0)
+		{
+			return;
+		}
+
+		if (k < A.length)
+		{
+			select(A, 0, A.length - 1, k - 1);
+		}
+		if (k > 1)
+		{
+			QuickSort.hybridQuickSortBetween(A, 0, k - 1, INSERTION_THRESHOLD);
+		}
+	}
+
+	/**
+	 * Gives the {@code k} greatest elements of an array of {@code int},
+	 * from the greatest to the lowest. The array is not modified, and only
+	 * {@code k} elements are kept aside while it is scanned.
+	 *
+	 * @param A
+	 *            The array to be scanned.
+	 * @param k
+	 *            The number of elements to be returned. When the array is
+	 *            shorter, all its elements are returned.
+	 * @return A new array with the {@code k} greatest elements.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0}.
+	 */
+	public static int[] topK(int[] A, int k)
+	{
+		if (k < 0)
+		{
+			throw new IllegalArgumentException("The number of elements cannot be negative");
+		}
+
+		int m = Math.min(k, A.length);
+		int[] heap = Arrays.copyOf(A, m);
+		if (m == 0)
+		{
+			return heap;
+		}
+
+		// The lowest of the greatest elements met so far is on top
+		for (int i = (m / 2) - 1; i >= 0; i--)
+		{
+			siftDown(heap, i, m);
+		}
+		for (int i = m; i < A.length; i++)
+		{
+			if (heap[0] < A[i])
+			{
+				heap[0] = A[i];
+				siftDown(heap, 0, m);
+			}
+		}
+
+		sortHeap(heap, m);
+		return heap;
+	}
+
+	/**
+	 * Selects the element at position {@code n} of the range between
+	 * {@code l} and {@code r} (inclusive).
+	 */
+	private static void select(int[] A, int l, int r, int n)
+	{
+		int depth = QuickSort.depthLimit((r - l) + 1);
+
+		while (((r - l) + 1) > INSERTION_THRESHOLD)
+		{
+			if (depth == 0)
+			{
+				HeapSort.heapSortBetween(A, l, r);
+				return;
+			}
+			depth--;
+
+			long b = QuickSort.ThreeWayPartition(A, l, r, PIVOT);
+			int lt = (int) (b >>> 32);
+			int gt = (int) b;
+
+			// The elements equal to the pivot are already in place
+			if (n < lt)
+			{
+				r = lt - 1;
+			} else if (n > gt)
+			{
+				l = gt + 1;
+			} else
+			{
+				return;
+			}
+		}
+
+		if (l < r)
+		{
+			InsertionSort.insertionSortBetween(A, l, r);
+		}
+	}
+
+	/**
+	 * Turns the first {@code n} elements of a min-heap into a sequence
+	 * sorted from the greatest to the lowest, moving the top to the end.
+	 */
+	private static void sortHeap(int[] heap, int n)
+	{
+		for (int i = n - 1; i > 0; i--)
+		{
+			SHArray.swap(heap, 0, i);
+			siftDown(heap, 0, i);
+		}
+	}
+
+	/**
+	 * Moves the element at position {@code i} of a min-heap of {@code n}
+	 * elements down until both its children are not lower than it.
+	 */
+	private static void siftDown(int[] heap, int i, int n)
+	{
+		int x = heap[i];
+		int child;
+
+		while ((child = (2 * i) + 1) < n)
+		{
+			if (((child + 1) < n) && heap[child + 1] < heap[child])
+			{
+				child++;
+			}
+			if (!(heap[child] < x))
+			{
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = x;
+	}
+
+	/**
+	 * Rearranges an array of {@code long} so that the element at position
+	 * {@code n} is the one that would be there if the array were sorted.
+	 * The elements before it are not greater than it, and the elements after
+	 * it are not lower than it.
+	 *
+	 * @param A
+	 *            The array to be rearranged.
+	 * @param n
+	 *            The position of the element to be selected.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code n < 0} or {@code n >= A.length}.
+	 */
+	public static void nthElement(long[] A, int n)
+	{
+		nthElementBetween(A, 0, A.length - 1, n);
+	}
+
+	/**
+	 * Rearranges the elements of an array of {@code long} between
+	 * {@code l} and {@code r} (inclusive) so that the element at position
+	 * {@code n} is the one that would be there if the range were sorted. The
+	 * elements of the range before it are not greater than it, and the
+	 * elements after it are not lower than it.
+	 *
+	 * @param A
+	 *            The array to be rearranged.
+	 * @param l
+	 *            The index of the leftmost element of the range.
+	 * @param r
+	 *            The index of the rightmost element of the range.
+	 * @param n
+	 *            The position of the element to be selected.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0}, {@code r >= A.length} or {@code n} is
+	 *             not between {@code l} and {@code r}.
+	 */
+	public static void nthElementBetween(long[] A, int l, int r, int n)
+	{
+		if ((l < 0) || (r >= A.length) || (n < l) || (n > r))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		select(A, l, r, n);
+	}
+
+	/**
+	 * Rearranges an array of {@code long} so that its first {@code k}
+	 * positions hold its {@code k} smallest elements, in sorted order. The
+	 * order of the other elements is unspecified.
+	 *
+	 * @param A
+	 *            The array to be partially sorted.
+	 * @param k
+	 *            The number of elements to be sorted.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0} or {@code k > A.length}.
+	 */
+	public static void partialSort(long[] A, int k)
+	{
+		if ((k < 0) || (k > A.length))
+		{
+			throw new IllegalArgumentException("The number of elements to sort is not valid");
+		}
+		if (k == 0)
+		{
+			return;
+		}
+
+		if (k < A.length)
+		{
+			select(A, 0, A.length - 1, k - 1);
+		}
+		if (k > 1)
+		{
+			QuickSort.hybridQuickSortBetween(A, 0, k - 1, INSERTION_THRESHOLD);
+		}
+	}
+
+	/**
+	 * Gives the {@code k} greatest elements of an array of {@code long},
+	 * from the greatest to the lowest. The array is not modified, and only
+	 * {@code k} elements are kept aside while it is scanned.
+	 *
+	 * @param A
+	 *            The array to be scanned.
+	 * @param k
+	 *            The number of elements to be returned. When the array is
+	 *            shorter, all its elements are returned.
+	 * @return A new array with the {@code k} greatest elements.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0}.
+	 */
+	public static long[] topK(long[] A, int k)
+	{
+		if (k < 0)
+		{
+			throw new IllegalArgumentException("The number of elements cannot be negative");
+		}
+
+		int m = Math.min(k, A.length);
+		long[] heap = Arrays.copyOf(A, m);
+		if (m == 0)
+		{
+			return heap;
+		}
+
+		// The lowest of the greatest elements met so far is on top
+		for (int i = (m / 2) - 1; i >= 0; i--)
+		{
+			siftDown(heap, i, m);
+		}
+		for (int i = m; i < A.length; i++)
+		{
+			if (heap[0] < A[i])
+			{
+				heap[0] = A[i];
+				siftDown(heap, 0, m);
+			}
+		}
+
+		sortHeap(heap, m);
+		return heap;
+	}
+
+	/**
+	 * Selects the element at position {@code n} of the range between
+	 * {@code l} and {@code r} (inclusive).
+	 */
+	private static void select(long[] A, int l, int r, int n)
+	{
+		int depth = QuickSort.depthLimit((r - l) + 1);
+
+		while (((r - l) + 1) > INSERTION_THRESHOLD)
+		{
+			if (depth == 0)
+			{
+				HeapSort.heapSortBetween(A, l, r);
+				return;
+			}
+			depth--;
+
+			long b = QuickSort.ThreeWayPartition(A, l, r, PIVOT);
+			int lt = (int) (b >>> 32);
+			int gt = (int) b;
+
+			// The elements equal to the pivot are already in place
+			if (n < lt)
+			{
+				r = lt - 1;
+			} else if (n > gt)
+			{
+				l = gt + 1;
+			} else
+			{
+				return;
+			}
+		}
+
+		if (l < r)
+		{
+			InsertionSort.insertionSortBetween(A, l, r);
+		}
+	}
+
+	/**
+	 * Turns the first {@code n} elements of a min-heap into a sequence
+	 * sorted from the greatest to the lowest, moving the top to the end.
+	 */
+	private static void sortHeap(long[] heap, int n)
+	{
+		for (int i = n - 1; i > 0; i--)
+		{
+			SHArray.swap(heap, 0, i);
+			siftDown(heap, 0, i);
+		}
+	}
+
+	/**
+	 * Moves the element at position {@code i} of a min-heap of {@code n}
+	 * elements down until both its children are not lower than it.
+	 */
+	private static void siftDown(long[] heap, int i, int n)
+	{
+		long x = heap[i];
+		int child;
+
+		while ((child = (2 * i) + 1) < n)
+		{
+			if (((child + 1) < n) && heap[child + 1] < heap[child])
+			{
+				child++;
+			}
+			if (!(heap[child] < x))
+			{
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = x;
+	}
+
+	/**
+	 * Rearranges an array of {@code float} so that the element at position
+	 * {@code n} is the one that would be there if the array were sorted.
+	 * The elements before it are not greater than it, and the elements after
+	 * it are not lower than it.
+	 *
+	 * @param A
+	 *            The array to be rearranged.
+	 * @param n
+	 *            The position of the element to be selected.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code n < 0} or {@code n >= A.length}.
+	 */
+	public static void nthElement(float[] A, int n)
+	{
+		nthElementBetween(A, 0, A.length - 1, n);
+	}
+
+	/**
+	 * Rearranges the elements of an array of {@code float} between
+	 * {@code l} and {@code r} (inclusive) so that the element at position
+	 * {@code n} is the one that would be there if the range were sorted. The
+	 * elements of the range before it are not greater than it, and the
+	 * elements after it are not lower than it.
+	 *
+	 * @param A
+	 *            The array to be rearranged.
+	 * @param l
+	 *            The index of the leftmost element of the range.
+	 * @param r
+	 *            The index of the rightmost element of the range.
+	 * @param n
+	 *            The position of the element to be selected.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0}, {@code r >= A.length} or {@code n} is
+	 *             not between {@code l} and {@code r}.
+	 */
+	public static void nthElementBetween(float[] A, int l, int r, int n)
+	{
+		if ((l < 0) || (r >= A.length) || (n < l) || (n > r))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		select(A, l, r, n);
+	}
+
+	/**
+	 * Rearranges an array of {@code float} so that its first {@code k}
+	 * positions hold its {@code k} smallest elements, in sorted order. The
+	 * order of the other elements is unspecified.
+	 *
+	 * @param A
+	 *            The array to be partially sorted.
+	 * @param k
+	 *            The number of elements to be sorted.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0} or {@code k > A.length}.
+	 */
+	public static void partialSort(float[] A, int k)
+	{
+		if ((k < 0) || (k > A.length))
+		{
+			throw new IllegalArgumentException("The number of elements to sort is not valid");
+		}
+		if (k == 0)
+		{
+			return;
+		}
+
+		if (k < A.length)
+		{
+			select(A, 0, A.length - 1, k - 1);
+		}
+		if (k > 1)
+		{
+			QuickSort.hybridQuickSortBetween(A, 0, k - 1, INSERTION_THRESHOLD);
+		}
+	}
+
+	/**
+	 * Gives the {@code k} greatest elements of an array of {@code float},
+	 * from the greatest to the lowest. The array is not modified, and only
+	 * {@code k} elements are kept aside while it is scanned.
+	 *
+	 * @param A
+	 *            The array to be scanned.
+	 * @param k
+	 *            The number of elements to be returned. When the array is
+	 *            shorter, all its elements are returned.
+	 * @return A new array with the {@code k} greatest elements.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0}.
+	 */
+	public static float[] topK(float[] A, int k)
+	{
+		if (k < 0)
+		{
+			throw new IllegalArgumentException("The number of elements cannot be negative");
+		}
+
+		int m = Math.min(k, A.length);
+		float[] heap = Arrays.copyOf(A, m);
+		if (m == 0)
+		{
+			return heap;
+		}
+
+		// The lowest of the greatest elements met so far is on top
+		for (int i = (m / 2) - 1; i >= 0; i--)
+		{
+			siftDown(heap, i, m);
+		}
+		for (int i = m; i < A.length; i++)
+		{
+			if (Float.compare(heap[0], A[i]) < 0)
+			{
+				heap[0] = A[i];
+				siftDown(heap, 0, m);
+			}
+		}
+
+		sortHeap(heap, m);
+		return heap;
+	}
+
+	/**
+	 * Selects the element at position {@code n} of the range between
+	 * {@code l} and {@code r} (inclusive).
+	 */
+	private static void select(float[] A, int l, int r, int n)
+	{
+		int depth = QuickSort.depthLimit((r - l) + 1);
+
+		while (((r - l) + 1) > INSERTION_THRESHOLD)
+		{
+			if (depth == 0)
+			{
+				HeapSort.heapSortBetween(A, l, r);
+				return;
+			}
+			depth--;
+
+			long b = QuickSort.ThreeWayPartition(A, l, r, PIVOT);
+			int lt = (int) (b >>> 32);
+			int gt = (int) b;
+
+			// The elements equal to the pivot are already in place
+			if (n < lt)
+			{
+				r = lt - 1;
+			} else if (n > gt)
+			{
+				l = gt + 1;
+			} else
+			{
+				return;
+			}
+		}
+
+		if (l < r)
+		{
+			InsertionSort.insertionSortBetween(A, l, r);
+		}
+	}
+
+	/**
+	 * Turns the first {@code n} elements of a min-heap into a sequence
+	 * sorted from the greatest to the lowest, moving the top to the end.
+	 */
+	private static void sortHeap(float[] heap, int n)
+	{
+		for (int i = n - 1; i > 0; i--)
+		{
+			SHArray.swap(heap, 0, i);
+			siftDown(heap, 0, i);
+		}
+	}
+
+	/**
+	 * Moves the element at position {@code i} of a min-heap of {@code n}
+	 * elements down until both its children are not lower than it.
+	 */
+	private static void siftDown(float[] heap, int i, int n)
+	{
+		float x = heap[i];
+		int child;
+
+		while ((child = (2 * i) + 1) < n)
+		{
+			if (((child + 1) < n) && Float.compare(heap[child + 1], heap[child]) < 0)
+			{
+				child++;
+			}
+			if (!(Float.compare(heap[child], x) < 0))
+			{
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = x;
+	}
+
+	/**
+	 * Rearranges an array of {@code double} so that the element at position
+	 * {@code n} is the one that would be there if the array were sorted.
+	 * The elements before it are not greater than it, and the elements after
+	 * it are not lower than it.
+	 *
+	 * @param A
+	 *            The array to be rearranged.
+	 * @param n
+	 *            The position of the element to be selected.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code n < 0} or {@code n >= A.length}.
+	 */
+	public static void nthElement(double[] A, int n)
+	{
+		nthElementBetween(A, 0, A.length - 1, n);
+	}
+
+	/**
+	 * Rearranges the elements of an array of {@code double} between
+	 * {@code l} and {@code r} (inclusive) so that the element at position
+	 * {@code n} is the one that would be there if the range were sorted. The
+	 * elements of the range before it are not greater than it, and the
+	 * elements after it are not lower than it.
+	 *
+	 * @param A
+	 *            The array to be rearranged.
+	 * @param l
+	 *            The index of the leftmost element of the range.
+	 * @param r
+	 *            The index of the rightmost element of the range.
+	 * @param n
+	 *            The position of the element to be selected.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             When {@code l < 0}, {@code r >= A.length} or {@code n} is
+	 *             not between {@code l} and {@code r}.
+	 */
+	public static void nthElementBetween(double[] A, int l, int r, int n)
+	{
+		if ((l < 0) || (r >= A.length) || (n < l) || (n > r))
+		{
+			throw new ArrayIndexOutOfBoundsException("The given indexes are not valid");
+		}
+
+		select(A, l, r, n);
+	}
+
+	/**
+	 * Rearranges an array of {@code double} so that its first {@code k}
+	 * positions hold its {@code k} smallest elements, in sorted order. The
+	 * order of the other elements is unspecified.
+	 *
+	 * @param A
+	 *            The array to be partially sorted.
+	 * @param k
+	 *            The number of elements to be sorted.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0} or {@code k > A.length}.
+	 */
+	public static void partialSort(double[] A, int k)
+	{
+		if ((k < 0) || (k > A.length))
+		{
+			throw new IllegalArgumentException("The number of elements to sort is not valid");
+		}
+		if (k == 0)
+		{
+			return;
+		}
+
+		if (k < A.length)
+		{
+			select(A, 0, A.length - 1, k - 1);
+		}
+		if (k > 1)
+		{
+			QuickSort.hybridQuickSortBetween(A, 0, k - 1, INSERTION_THRESHOLD);
+		}
+	}
+
+	/**
+	 * Gives the {@code k} greatest elements of an array of {@code double},
+	 * from the greatest to the lowest. The array is not modified, and only
+	 * {@code k} elements are kept aside while it is scanned.
+	 *
+	 * @param A
+	 *            The array to be scanned.
+	 * @param k
+	 *            The number of elements to be returned. When the array is
+	 *            shorter, all its elements are returned.
+	 * @return A new array with the {@code k} greatest elements.
+	 * @throws IllegalArgumentException
+	 *             When {@code k < 0}.
+	 */
+	public static double[] topK(double[] A, int k)
+	{
+		if (k < 0)
+		{
+			throw new IllegalArgumentException("The number of elements cannot be negative");
+		}
+
+		int m = Math.min(k, A.length);
+		double[] heap = Arrays.copyOf(A, m);
+		if (m == 0)
+		{
+			return heap;
+		}
+
+		// The lowest of the greatest elements met so far is on top
+		for (int i = (m / 2) - 1; i >= 0; i--)
+		{
+			siftDown(heap, i, m);
+		}
+		for (int i = m; i < A.length; i++)
+		{
+			if (Double.compare(heap[0], A[i]) < 0)
+			{
+				heap[0] = A[i];
+				siftDown(heap, 0, m);
+			}
+		}
+
+		sortHeap(heap, m);
+		return heap;
+	}
+
+	/**
+	 * Selects the element at position {@code n} of the range between
+	 * {@code l} and {@code r} (inclusive).
+	 */
+	private static void select(double[] A, int l, int r, int n)
+	{
+		int depth = QuickSort.depthLimit((r - l) + 1);
+
+		while (((r - l) + 1) > INSERTION_THRESHOLD)
+		{
+			if (depth == 0)
+			{
+				HeapSort.heapSortBetween(A, l, r);
+				return;
+			}
+			depth--;
+
+			long b = QuickSort.ThreeWayPartition(A, l, r, PIVOT);
+			int lt = (int) (b >>> 32);
+			int gt = (int) b;
+
+			// The elements equal to the pivot are already in place
+			if (n < lt)
+			{
+				r = lt - 1;
+			} else if (n > gt)
+			{
+				l = gt + 1;
+			} else
+			{
+				return;
+			}
+		}
+
+		if (l < r)
+		{
+			InsertionSort.insertionSortBetween(A, l, r);
+		}
+	}
+
+	/**
+	 * Turns the first {@code n} elements of a min-heap into a sequence
+	 * sorted from the greatest to the lowest, moving the top to the end.
+	 */
+	private static void sortHeap(double[] heap, int n)
+	{
+		for (int i = n - 1; i > 0; i--)
+		{
+			SHArray.swap(heap, 0, i);
+			siftDown(heap, 0, i);
+		}
+	}
+
+	/**
+	 * Moves the element at position {@code i} of a min-heap of {@code n}
+	 * elements down until both its children are not lower than it.
+	 */
+	private static void siftDown(double[] heap, int i, int n)
+	{
+		double x = heap[i];
+		int child;
+
+		while ((child = (2 * i) + 1) < n)
+		{
+			if (((child + 1) < n) && Double.compare(heap[child + 1], heap[child]) < 0)
+			{
+				child++;
+			}
+			if (!(Double.compare(heap[child], x) < 0))
+			{
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = x;
+	}
+}
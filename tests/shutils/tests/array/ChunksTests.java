@@ -0,0 +1,56 @@
+package shutils.tests.array;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Test;
+
+import shutils.array.Chunks;
+
+public class ChunksTests
+{
+	@Test
+	public void testCount_00()
+	{
+		int max = 4 * ForkJoinPool.getCommonPoolParallelism();
+
+		assertEquals(1, Chunks.count(0, 16));
+		assertEquals(1, Chunks.count(31, 16));
+		assertEquals(Math.min(2, max), Chunks.count(32, 16));
+		assertEquals(max, Chunks.count(Integer.MAX_VALUE, 16));
+	}
+
+	@Test
+	public void testStart_00()
+	{
+		int n = 1000003;
+		int chunks = 7;
+
+		assertEquals(0, Chunks.start(n, chunks, 0));
+		assertEquals(n, Chunks.start(n, chunks, chunks));
+		for (int k = 0; k < chunks; k++)
+		{
+			int size = Chunks.start(n, chunks, k + 1) - Chunks.start(n, chunks, k);
+			assertTrue((size == (n / chunks)) || (size == ((n / chunks) + 1)));
+		}
+		assertEquals(Integer.MAX_VALUE, Chunks.start(Integer.MAX_VALUE, 3, 3));
+	}
+
+	@Test
+	public void testForEach_00()
+	{
+		AtomicIntegerArray runs = new AtomicIntegerArray(13);
+
+		Chunks.forEach(runs.length(), k -> runs.incrementAndGet(k));
+		Chunks.forEach(1, k -> runs.incrementAndGet(k));
+
+		assertEquals(2, runs.get(0));
+		for (int k = 1; k < runs.length(); k++)
+		{
+			assertEquals(1, runs.get(k));
+		}
+	}
+}
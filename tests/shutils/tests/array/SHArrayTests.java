@@ -9,6 +9,86 @@ import shutils.array.SHArray;
 
 public class SHArrayTests
 {
+	@Test
+	public void testApplyPermutation_00()
+	{
+		int[] p = { 1, 3, 0, 2, 4 };
+		String[] A = { "c", "a", "d", "b", "e" };
+		int[] B = { 30, 10, 40, 20, 50 };
+		char[] C = { 'x', 'y', 'z', 'w', 'v' };
+
+		SHArray.applyPermutation(p, A, B, C);
+
+		Assert.assertArrayEquals(new String[] { "a", "b", "c", "d", "e" }, A);
+		Assert.assertArrayEquals(new int[] { 10, 20, 30, 40, 50 }, B);
+		Assert.assertArrayEquals(new char[] { 'y', 'w', 'x', 'z', 'v' }, C);
+		Assert.assertArrayEquals(new int[] { 1, 3, 0, 2, 4 }, p);
+	}
+
+	@Test
+	public void testApplyPermutation_01()
+	{
+		int[] p = { 1, 2, 0 };
+		Integer[] A = { 1, 2, 3 };
+
+		SHArray.applyPermutation(p, A);
+
+		Assert.assertArrayEquals(new Integer[] { 2, 3, 1 }, A);
+		Assert.assertArrayEquals(new int[] { 1, 2, 0 }, p);
+	}
+
+	@Test
+	public void testApplyPermutation_02()
+	{
+		int[] p = { 1, 2, 1 };
+		int[] A = { 1, 2, 3 };
+
+		try
+		{
+			SHArray.applyPermutation(p, A);
+			Assert.fail();
+		} catch (IllegalArgumentException e)
+		{
+			// Neither the permutation nor the array are changed
+			Assert.assertArrayEquals(new int[] { 1, 2, 1 }, p);
+			Assert.assertArrayEquals(new int[] { 1, 2, 3 }, A);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testApplyPermutation_03()
+	{
+		SHArray.applyPermutation(new int[] { 0, 1 }, new int[2], new long[3]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testApplyPermutation_04()
+	{
+		SHArray.applyPermutation(new int[] { 0, -1 }, new int[2]);
+	}
+
+	@Test
+	public void testApplyPermutation_05()
+	{
+		// An array of objects after a primitive one is not taken for the list
+		// of the arrays
+		int[] p = { 1, 2, 0 };
+		long[] keys = { 30L, 10L, 20L };
+		String[] names = { "c", "a", "b" };
+
+		SHArray.applyPermutation(p, keys, names);
+
+		Assert.assertArrayEquals(new long[] { 10L, 20L, 30L }, keys);
+		Assert.assertArrayEquals(new String[] { "a", "b", "c" }, names);
+
+		Integer[] values = { 3, 1, 2 };
+		String[] labels = { "z", "x", "y" };
+		SHArray.applyPermutation(p, values, labels);
+
+		Assert.assertArrayEquals(new Integer[] { 1, 2, 3 }, values);
+		Assert.assertArrayEquals(new String[] { "x", "y", "z" }, labels);
+	}
+
 	@Test
 	public void testCopyArray_00()
 	{
@@ -525,4 +605,20 @@ public class SHArrayTests
 		SHArray.swap(A, 1, 3);
 	}
 
+	@Test
+	public void testSwapInt_00()
+	{
+		int[] A = { 4, 5, 2, 6 };
+		SHArray.swap(A, 0, 3);
+
+		Assert.assertArrayEquals(new int[] { 6, 5, 2, 4 }, A);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testSwapDouble_01()
+	{
+		double[] A = { 4, 5, 2, 6 };
+		SHArray.swap(A, 0, 4);
+	}
+
 }
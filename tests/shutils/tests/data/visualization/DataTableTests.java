@@ -701,4 +701,25 @@ public class DataTableTests
 
 	}
 
+	@Test
+	public void testSortRows_00()
+	{
+		DataTable<Integer> t = new DataTable<>("Key 1", "Key 2", "Id");
+		t.addRow(new Integer[] { 2, 1, 0 });
+		t.addRow(new Integer[] { 1, 2, 1 });
+		t.addRow(new Integer[] { 2, 0, 2 });
+		t.addRow(new Integer[] { 1, 1, 3 });
+		t.addRow(new Integer[] { 2, 1, 4 });
+
+		// Sorts on the secondary key first, then on the primary one
+		t.sortRows((a, b) -> a[1].compareTo(b[1]));
+		t.sortRows((a, b) -> a[0].compareTo(b[0]));
+
+		Integer[] ids = { 3, 1, 2, 0, 4 };
+		for (int i = 0; i < ids.length; i++)
+		{
+			assertEquals(ids[i], t.getRow(i)[2]);
+		}
+	}
+
 }
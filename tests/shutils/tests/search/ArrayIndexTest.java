@@ -0,0 +1,118 @@
+package shutils.tests.search;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import shutils.search.ArrayIndex;
+import shutils.search.IntArrayIndex;
+import shutils.search.LongArrayIndex;
+
+public class ArrayIndexTest
+{
+
+	@Test
+	public void testIndexOf_00()
+	{
+		String[] A = {"b", null, "a", "b", null, "c"};
+		ArrayIndex<String> index = new ArrayIndex<>(A);
+
+		assertEquals(6, index.size());
+		assertEquals(4, index.distinct());
+		assertEquals(0, index.indexOf("b"));
+		assertEquals(1, index.indexOf(null));
+		assertEquals(-1, index.indexOf("d"));
+		assertEquals(2, index.count("b"));
+		assertEquals(0, index.count("d"));
+		assertArrayEquals(new int[] {1, 4}, index.positions(null));
+		assertArrayEquals(new int[0], index.positions("d"));
+		assertTrue(index.contains("c"));
+		assertFalse(index.contains("d"));
+	}
+
+	@Test
+	public void testSet_00()
+	{
+		String[] A = {"b", null, "a", "b"};
+		ArrayIndex<String> index = new ArrayIndex<>(A);
+
+		index.set(0, "a");
+		index.set(1, "d");
+		index.set(2, "b");
+
+		assertEquals("a", A[0]);
+		assertArrayEquals(new int[] {0}, index.positions("a"));
+		assertArrayEquals(new int[] {2, 3}, index.positions("b"));
+		assertEquals(1, index.indexOf("d"));
+		assertEquals(-1, index.indexOf(null));
+		assertEquals(3, index.distinct());
+	}
+
+	@Test
+	public void testSetInt_00()
+	{
+		// Random updates, checked against the array after every one of them
+		Random rnd = new Random(42);
+		int[] A = rnd.ints(500, 0, 300).toArray();
+		IntArrayIndex index = new IntArrayIndex(A);
+
+		for (int k = 0; k < 5000; k++)
+		{
+			int i = rnd.nextInt(A.length);
+			index.set(i, rnd.nextInt((k < 2500) ? 300 : 20));
+
+			int q = rnd.nextInt(310);
+			int[] expected = IntStream.range(0, A.length).filter(j -> A[j] == q).toArray();
+			assertArrayEquals(expected, index.positions(q));
+			assertEquals(expected.length > 0 ? expected[0] : -1, index.indexOf(q));
+			assertEquals(expected.length, index.count(q));
+		}
+		assertEquals(IntStream.of(A).distinct().count(), index.distinct());
+	}
+
+	@Test
+	public void testIndexOfLong_00()
+	{
+		Random rnd = new Random(42);
+		long[] A = rnd.longs(100000).toArray();
+		A[500] = Long.MIN_VALUE;
+		A[600] = A[7];
+		LongArrayIndex index = new LongArrayIndex(A);
+
+		for (int i = 0; i < 1000; i++)
+		{
+			int p = rnd.nextInt(A.length);
+			assertTrue(index.indexOf(A[p]) <= p);
+			assertEquals(A[p], A[index.indexOf(A[p])]);
+		}
+		assertEquals(500, index.indexOf(Long.MIN_VALUE));
+		assertArrayEquals(new int[] {7, 600}, index.positions(A[7]));
+
+		index.set(7, 5L);
+		assertArrayEquals(new int[] {600}, index.positions(A[600]));
+		assertEquals(7, index.indexOf(5L));
+	}
+
+	@Test
+	public void testSize_00()
+	{
+		IntArrayIndex index = new IntArrayIndex(new int[0]);
+
+		assertEquals(0, index.size());
+		assertEquals(0, index.distinct());
+		assertEquals(-1, index.indexOf(5));
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testSet_01()
+	{
+		new IntArrayIndex(new int[3]).set(3, 1);
+	}
+
+}
@@ -0,0 +1,77 @@
+package shutils.tests.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import shutils.search.IntEytzingerIndex;
+import shutils.search.LongEytzingerIndex;
+
+public class EytzingerIndexTest
+{
+
+	@Test
+	public void testLowerBoundInt_00()
+	{
+		// Every size up to a few full levels, with repeated elements
+		Random rnd = new Random(42);
+
+		for (int n = 0; n <= 70; n++)
+		{
+			int[] A = rnd.ints(n, 0, 40).sorted().toArray();
+			IntEytzingerIndex index = new IntEytzingerIndex(A);
+
+			for (int q = -1; q <= 41; q++)
+			{
+				int expected = 0;
+				while ((expected < n) && (A[expected] < q))
+				{
+					expected++;
+				}
+
+				assertEquals(expected, index.lowerBound(q));
+				assertEquals(((expected < n) && (A[expected] == q)) ? expected : -1, index.indexOf(q));
+			}
+		}
+	}
+
+	@Test
+	public void testLowerBoundLong_00()
+	{
+		Random rnd = new Random(42);
+		long[] A = rnd.longs(100000).sorted().toArray();
+		LongEytzingerIndex index = new LongEytzingerIndex(A);
+
+		for (int i = 0; i < 1000; i++)
+		{
+			long q = rnd.nextLong();
+			int p = Arrays.binarySearch(A, q);
+
+			assertEquals(p >= 0 ? p : -p - 1, index.lowerBound(q));
+			assertTrue(index.contains(A[rnd.nextInt(A.length)]));
+		}
+		assertEquals(0, index.lowerBound(Long.MIN_VALUE));
+		assertEquals(A.length - 1, index.indexOf(A[A.length - 1]));
+	}
+
+	@Test
+	public void testSize_00()
+	{
+		IntEytzingerIndex index = new IntEytzingerIndex(new int[0]);
+
+		assertEquals(0, index.size());
+		assertEquals(0, index.lowerBound(5));
+		assertEquals(-1, index.indexOf(5));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIntEytzingerIndex_01()
+	{
+		new IntEytzingerIndex(new int[] { 1, 3, 2 });
+	}
+
+}
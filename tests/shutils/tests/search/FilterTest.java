@@ -0,0 +1,156 @@
+package shutils.tests.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+import shutils.search.BlockedBloomFilter;
+import shutils.search.CuckooFilter;
+import shutils.search.ILongFilter;
+import shutils.search.XorFilter;
+
+public class FilterTest
+{
+
+	/**
+	 * Checks that a filter contains all its keys, that its false positive rate
+	 * is below the given one, and that its compact form gives the same answers.
+	 */
+	private static void check(long[] keys, ILongFilter filter, Function<byte[], ILongFilter> reader, double rate)
+	{
+		ILongFilter copy = reader.apply(filter.toBytes());
+		assertEquals(filter.bitSize(), copy.bitSize());
+
+		for (long key : keys)
+		{
+			assertTrue(filter.mightContain(key));
+			assertTrue(copy.mightContain(key));
+		}
+
+		// The keys are even, so the odd values are all misses
+		Random rnd = new Random(7);
+		int positives = 0;
+		for (int i = 0; i < 100000; i++)
+		{
+			long q = rnd.nextLong() | 1;
+			boolean found = filter.mightContain(q);
+			assertEquals(found, copy.mightContain(q));
+			positives += found ? 1 : 0;
+		}
+		assertTrue(positives < (rate * 100000));
+	}
+
+	private static long[] keys(int n)
+	{
+		return new Random(42).longs(n).map(x -> x << 1).toArray();
+	}
+
+	@Test
+	public void testBlockedBloomFilter_00()
+	{
+		long[] keys = keys(100000);
+
+		check(keys, BlockedBloomFilter.of(keys), BlockedBloomFilter::fromBytes, 0.02);
+		check(keys, BlockedBloomFilter.of(LongStream.of(keys)), BlockedBloomFilter::fromBytes, 0.02);
+
+		BlockedBloomFilter filter = new BlockedBloomFilter(keys.length, 16);
+		LongStream.of(keys).forEach(filter::add);
+		check(keys, filter, BlockedBloomFilter::fromBytes, 0.002);
+	}
+
+	@Test
+	public void testCuckooFilter_00()
+	{
+		long[] keys = keys(100000);
+		CuckooFilter filter = CuckooFilter.of(keys);
+
+		assertEquals(keys.length, filter.size());
+		check(keys, filter, CuckooFilter::fromBytes, 0.0005);
+
+		for (int i = 0; i < keys.length; i += 2)
+		{
+			assertTrue(filter.remove(keys[i]));
+		}
+		assertEquals(keys.length / 2, filter.size());
+		for (int i = 1; i < keys.length; i += 2)
+		{
+			assertTrue(filter.mightContain(keys[i]));
+		}
+		assertFalse(filter.remove(1));
+	}
+
+	@Test
+	public void testCuckooFilter_01()
+	{
+		// A full filter refuses the keys, and takes them again after a removal
+		CuckooFilter filter = new CuckooFilter(100);
+		long[] keys = keys(10000);
+		int added = 0;
+		while (filter.add(keys[added]))
+		{
+			added++;
+		}
+
+		assertTrue(added >= (0.9 * filter.capacity()));
+		assertEquals(added, filter.size());
+		for (int i = 0; i < added; i++)
+		{
+			assertTrue(filter.mightContain(keys[i]));
+		}
+
+		assertTrue(filter.remove(keys[0]));
+		assertTrue(filter.add(keys[0]));
+		for (int i = 0; i < added; i++)
+		{
+			assertTrue(filter.mightContain(keys[i]));
+		}
+	}
+
+	@Test
+	public void testXorFilter_00()
+	{
+		long[] keys = keys(100000);
+		XorFilter filter = XorFilter.of(keys);
+
+		check(keys, filter, XorFilter::fromBytes, 0.006);
+		assertTrue(filter.bitSize() < (10L * keys.length));
+	}
+
+	@Test
+	public void testXorFilter_01()
+	{
+		// Small sets, with repeated keys
+		for (int n = 0; n <= 50; n++)
+		{
+			long[] keys = LongStream.range(0, 2 * n).map(i -> 2 * (i / 2)).toArray();
+			XorFilter filter = XorFilter.of(LongStream.of(keys));
+
+			for (long key : keys)
+			{
+				assertTrue(filter.mightContain(key));
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFromBytes_00()
+	{
+		XorFilter.fromBytes(BlockedBloomFilter.of(keys(10)).toBytes());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFromBytes_01()
+	{
+		byte[] bytes = CuckooFilter.of(keys(10)).toBytes();
+
+		CuckooFilter.fromBytes(Arrays.copyOf(bytes, bytes.length - 1));
+	}
+
+}
@@ -0,0 +1,120 @@
+package shutils.tests.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import shutils.search.LongLearnedIndex;
+
+public class LearnedIndexTest
+{
+
+	private static void check(long[] A, LongLearnedIndex index, long q)
+	{
+		int p = 0;
+		while ((p < A.length) && (A[p] < q))
+		{
+			p++;
+		}
+
+		assertEquals(p, index.lowerBound(q));
+		assertEquals(((p < A.length) && (A[p] == q)) ? p : -1, index.indexOf(q));
+	}
+
+	@Test
+	public void testLowerBound_00()
+	{
+		// Small sizes, with repeated elements
+		Random rnd = new Random(42);
+
+		for (int n = 0; n <= 70; n++)
+		{
+			long[] A = rnd.longs(n, 0, 40).sorted().toArray();
+			LongLearnedIndex index = new LongLearnedIndex(A, 1);
+
+			for (long q = -1; q <= 41; q++)
+			{
+				check(A, index, q);
+			}
+		}
+	}
+
+	@Test
+	public void testLowerBound_01()
+	{
+		// Enough keys for several levels
+		Random rnd = new Random(42);
+		long[] A = rnd.longs(2000000).sorted().toArray();
+		LongLearnedIndex index = new LongLearnedIndex(A, 4);
+
+		for (int i = 0; i < 10000; i++)
+		{
+			long q = (i % 2 == 0) ? A[rnd.nextInt(A.length)] : rnd.nextLong();
+			int p = Arrays.binarySearch(A, q);
+
+			assertEquals(p >= 0 ? p : -p - 1, index.lowerBound(q));
+		}
+		assertEquals(0, index.lowerBound(Long.MIN_VALUE));
+		assertEquals(A.length, index.lowerBound(Long.MAX_VALUE));
+		assertTrue(index.segments() < (A.length / 4));
+	}
+
+	@Test
+	public void testLowerBound_02()
+	{
+		// Skewed keys, long runs of equal keys, and keys too close to be told
+		// apart as a double
+		long[] A = new long[3000];
+		for (int i = 0; i < 1000; i++)
+		{
+			A[i] = (long) Math.exp(i / 25.0);
+		}
+		for (int i = 1000; i < 2000; i++)
+		{
+			A[i] = 1L << 50;
+		}
+		for (int i = 2000; i < A.length; i++)
+		{
+			A[i] = (1L << 62) + i;
+		}
+		Arrays.sort(A);
+		LongLearnedIndex index = new LongLearnedIndex(A, 2);
+
+		for (int i = 0; i < A.length; i++)
+		{
+			check(A, index, A[i]);
+			check(A, index, A[i] + 1);
+		}
+		check(A, index, (1L << 50) - 1);
+		check(A, index, Long.MIN_VALUE);
+		check(A, index, Long.MAX_VALUE);
+	}
+
+	@Test
+	public void testSize_00()
+	{
+		LongLearnedIndex index = new LongLearnedIndex(new long[0]);
+
+		assertEquals(0, index.size());
+		assertEquals(0, index.segments());
+		assertEquals(0, index.lowerBound(5));
+		assertEquals(-1, index.indexOf(5));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLongLearnedIndex_01()
+	{
+		new LongLearnedIndex(new long[] { 1, 3, 2 });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLongLearnedIndex_02()
+	{
+		new LongLearnedIndex(new long[] { 1, 2, 3 }, 0);
+	}
+
+}
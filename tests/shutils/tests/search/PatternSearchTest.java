@@ -0,0 +1,168 @@
+package shutils.tests.search;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import shutils.search.AhoCorasick;
+import shutils.search.Horspool;
+
+public class PatternSearchTest
+{
+
+	private static String text(Random rnd, int n, String alphabet)
+	{
+		StringBuilder s = new StringBuilder(n);
+		for (int i = 0; i < n; i++)
+		{
+			s.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+		}
+
+		return s.toString();
+	}
+
+	private static byte[] bytes(String s)
+	{
+		return s.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	@Test
+	public void testHorspool_00()
+	{
+		// Small alphabets give many partial matches
+		Random rnd = new Random(42);
+
+		for (int k = 0; k < 300; k++)
+		{
+			String text = text(rnd, rnd.nextInt(200), "ab\u00e9");
+			String pattern = text(rnd, 1 + rnd.nextInt(6), "ab\u00e9");
+			Horspool horspool = new Horspool(pattern);
+			byte[] bytes = bytes(text);
+			ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 10);
+			buffer.position(5);
+			buffer.put(bytes);
+			buffer.flip().position(5);
+
+			for (int from = -1; from <= text.length(); from += 7)
+			{
+				int expected = text.indexOf(pattern, from);
+				assertEquals(expected, horspool.indexIn(text, from));
+				assertEquals(expected, horspool.indexIn(bytes, from, bytes.length));
+				assertEquals(expected, new Horspool(bytes(pattern)).indexIn(bytes, from, bytes.length));
+				assertEquals((expected < 0) ? -1 : expected + 5, horspool.indexIn(buffer, from + 5));
+			}
+			assertEquals(text.indexOf(pattern), horspool.indexIn(new StringBuilder(text)));
+			assertEquals(5, buffer.position());
+		}
+	}
+
+	@Test
+	public void testHorspool_01()
+	{
+		Horspool horspool = new Horspool("needle");
+		byte[] text = bytes("haystack with a needle in it, and another needle");
+
+		assertEquals(16, horspool.indexIn(text));
+		assertEquals(42, horspool.indexIn(text, 17, text.length));
+		assertEquals(-1, horspool.indexIn(text, 17, 47));
+		assertEquals(-1, new Horspool("\u20ac").indexIn(bytes("\u00ac \u20ac")));
+		assertEquals(2, new Horspool("\u20ac").indexIn("\u00ac \u20ac"));
+	}
+
+	@Test
+	public void testAhoCorasick_00()
+	{
+		// All the occurrences, compared with a search of every pattern
+		Random rnd = new Random(42);
+
+		for (int k = 0; k < 200; k++)
+		{
+			String text = text(rnd, rnd.nextInt(300), "abc");
+			String[] patterns = new String[1 + rnd.nextInt(8)];
+			for (int p = 0; p < patterns.length; p++)
+			{
+				patterns[p] = text(rnd, 1 + rnd.nextInt(5), "abc");
+			}
+
+			List<String> expected = new ArrayList<>();
+			for (int end = 0; end < text.length(); end++)
+			{
+				for (int p = patterns.length - 1; p >= 0; p--)
+				{
+					int start = end - patterns[p].length() + 1;
+					if ((start >= 0) && text.startsWith(patterns[p], start))
+					{
+						expected.add(start + ":" + p);
+					}
+				}
+			}
+
+			List<String> found = new ArrayList<>();
+			List<String> foundBytes = new ArrayList<>();
+			AhoCorasick automaton = new AhoCorasick(patterns);
+			assertEquals(expected.size(), automaton.forEachMatch(text, (p, start) -> found.add(start + ":" + p)));
+			automaton.forEachMatch(ByteBuffer.wrap(bytes(text)), (p, start) -> foundBytes.add(start + ":" + p));
+
+			// The occurrences ending at the same position come from the longest
+			found.sort(null);
+			foundBytes.sort(null);
+			expected.sort(null);
+			assertEquals(expected, found);
+			assertEquals(expected, foundBytes);
+			assertEquals(expected.size(), automaton.count(bytes(text)));
+		}
+	}
+
+	@Test
+	public void testAhoCorasick_01()
+	{
+		AhoCorasick automaton = new AhoCorasick("he", "she", "his", "hers", "she");
+		String text = "ushers and his hers";
+
+		assertEquals(5, automaton.patterns());
+		assertEquals(1, automaton.indexIn(text));
+		assertEquals(1, automaton.indexIn(bytes(text)));
+		assertEquals(7, automaton.count(text));
+		assertEquals(-1, automaton.indexIn("nothing"));
+
+		List<String> found = new ArrayList<>();
+		automaton.forEachMatch(text, (p, start) -> found.add(start + ":" + p) && (found.size() < 4));
+		assertEquals("[1:4, 1:1, 2:0, 2:3]", found.toString());
+
+		// The ranges of arrays and buffers
+		byte[] bytes = bytes(text);
+		assertEquals(3, automaton.forEachMatch(bytes, 4, bytes.length, (p, start) -> true));
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		buffer.position(11).limit(14);
+		assertEquals(11, automaton.indexIn(buffer));
+	}
+
+	@Test
+	public void testAhoCorasick_02()
+	{
+		AhoCorasick automaton = new AhoCorasick(bytes("\u00ff\u0000"), new byte[] { 'a' });
+
+		assertEquals(1, automaton.indexIn(new byte[] { 'x', (byte) 0xFF, 0, 'a' }));
+		assertEquals(1, automaton.indexIn("x\u00ff\u0000"));
+		assertEquals(-1, automaton.indexIn("\u01ff\u0000"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testHorspool_02()
+	{
+		new Horspool("");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAhoCorasick_03()
+	{
+		new AhoCorasick("a", "");
+	}
+
+}
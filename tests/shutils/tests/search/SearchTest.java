@@ -2,6 +2,12 @@ package shutils.tests.search;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.function.IntFunction;
+
 import org.junit.Test;
 
 import shutils.search.Search;
@@ -66,4 +72,387 @@ public class SearchTest
 		assertEquals(Search.binarySearch(A, 6), 5);
 	}
 
+	@Test
+	public void binarySearch_04()
+	{
+		Integer[] A = {1, 2, 2, 2, 5, 6};
+		assertEquals(Search.binarySearch(A, 2), 1);
+		assertEquals(Search.binarySearchBetween(A, 2, 5, 2), 2);
+		assertEquals(Search.binarySearchBetween(A, 4, 3, 5), -1);
+	}
+
+	@Test
+	public void binarySearchInt_00()
+	{
+		Random rnd = new Random(42);
+		for (int n = 0; n < 100; n++)
+		{
+			int[] A = rnd.ints(n, 0, 50).sorted().toArray();
+			for (int k = -1; k <= 50; k++)
+			{
+				final int q = k;
+				int p = Search.binarySearch(A, q);
+				int lower = Search.lowerBound(A, q);
+				int upper = Search.upperBound(A, q);
+
+				assertEquals(Arrays.stream(A).filter(x -> x < q).count(), lower);
+				assertEquals(Arrays.stream(A).filter(x -> x <= q).count(), upper);
+				assertEquals(lower < upper ? lower : -1, p);
+			}
+		}
+	}
+
+	@Test
+	public void equalRangeLong_00()
+	{
+		long[] A = {1, 3, 3, 3, 7, 9};
+		assertArrayEquals(new int[] {1, 4}, Search.equalRange(A, 3));
+		assertArrayEquals(new int[] {4, 4}, Search.equalRange(A, 5));
+		assertArrayEquals(new int[] {6, 6}, Search.equalRange(A, 10));
+		assertArrayEquals(new int[] {2, 4}, Search.equalRangeBetween(A, 2, 5, 3));
+	}
+
+	@Test
+	public void lowerBoundDouble_00()
+	{
+		double[] A = {-1, -0.0, 0.0, 2, Double.NaN};
+		assertEquals(Search.lowerBound(A, 0.0), 2);
+		assertEquals(Search.upperBound(A, -0.0), 2);
+		assertEquals(Search.binarySearch(A, Double.NaN), 4);
+		assertEquals(Search.upperBound(A, 3), 4);
+	}
+
+	@Test
+	public void upperBoundComparator_00()
+	{
+		String[] A = {"d", "c", "c", "a"};
+		assertEquals(Search.upperBound(A, "c", Comparator.reverseOrder()), 3);
+		assertEquals(Search.lowerBoundBetween(A, 1, 3, "b", Comparator.reverseOrder()), 3);
+		assertEquals(Search.binarySearch(A, "b", Comparator.reverseOrder()), -1);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void lowerBoundBetween_01()
+	{
+		int[] A = {1, 2, 3};
+		Search.lowerBoundBetween(A, 0, 3, 2);
+	}
+
+	@Test
+	public void lowerBoundLong_00()
+	{
+		// Large enough to branch, with the extreme values that overflow a - b
+		Random rnd = new Random(42);
+		long[] A = rnd.longs(300000, -1000, 1000).map(x -> x * (Long.MAX_VALUE / 1000)).sorted().toArray();
+		for (int i = 0; i < 1000; i++)
+		{
+			long q = (i % 2 == 0) ? A[rnd.nextInt(A.length)] : rnd.nextLong();
+			int lower = Search.lowerBound(A, q);
+			int upper = Search.upperBound(A, q);
+
+			assertTrue(lower == 0 || A[lower - 1] < q);
+			assertTrue(lower == A.length || A[lower] >= q);
+			assertTrue(upper == 0 || A[upper - 1] <= q);
+			assertTrue(upper == A.length || A[upper] > q);
+		}
+		assertEquals(Search.lowerBound(A, Long.MIN_VALUE), 0);
+		assertEquals(Search.upperBound(A, Long.MAX_VALUE), A.length);
+	}
+
+	@Test
+	public void interpolationSearchInt_00()
+	{
+		Random rnd = new Random(7);
+		int[] A = rnd.ints(100000, -1000000, 1000000).sorted().toArray();
+		for (int i = 0; i < 1000; i++)
+		{
+			int q = (i % 2 == 0) ? A[rnd.nextInt(A.length)] : rnd.nextInt(2000000) - 1000000;
+			assertEquals(Search.interpolationSearch(A, q), Search.binarySearch(A, q));
+		}
+		assertEquals(Search.interpolationSearch(A, Integer.MIN_VALUE), -1);
+		assertEquals(Search.interpolationSearch(A, Integer.MAX_VALUE), -1);
+		assertEquals(Search.interpolationSearchBetween(A, 5, 4, A[5]), -1);
+	}
+
+	@Test
+	public void interpolationSearchLong_00()
+	{
+		// Skewed values, which exhaust the probes and fall back to the binary search
+		long[] A = new long[5000];
+		for (int i = 0; i < A.length; i++)
+		{
+			A[i] = (i < 60) ? (1L << i) : Long.MAX_VALUE - (A.length - i);
+		}
+		A[0] = Long.MIN_VALUE;
+		for (int i = 0; i < A.length; i++)
+		{
+			assertEquals(Search.interpolationSearch(A, A[i]), i);
+		}
+		assertEquals(Search.interpolationSearch(A, 3L), -1);
+	}
+
+	@Test
+	public void interpolationSearchDouble_00()
+	{
+		double[] A = new double[100];
+		for (int i = 0; i < A.length; i++)
+		{
+			A[i] = i - 50;
+		}
+		A[0] = Double.NEGATIVE_INFINITY;
+		A[50] = -0.0;
+		A[98] = Double.POSITIVE_INFINITY;
+		A[99] = Double.NaN;
+		for (int i = 0; i < A.length; i++)
+		{
+			assertEquals(Search.interpolationSearch(A, A[i]), i);
+		}
+		assertEquals(Search.interpolationSearch(A, 0.0), -1);
+		assertEquals(Search.interpolationSearch(A, 0.5), -1);
+	}
+
+	@Test
+	public void exponentialSearch_00()
+	{
+		Integer[] A = {1, 2, 2, 2, 5, 6, 8, 9, 9, 12};
+		for (int i = 0; i < A.length; i++)
+		{
+			assertEquals(Search.exponentialSearch(A, A[i]), Search.binarySearch(A, A[i]));
+		}
+		assertEquals(Search.exponentialSearch(A, 7), -1);
+		assertEquals(Search.exponentialSearch(A, 13), -1);
+		assertEquals(Search.exponentialSearchBetween(A, 2, 9, 2), 2);
+		assertEquals(Search.exponentialSearchBetween(A, 4, 3, 5), -1);
+	}
+
+	@Test
+	public void exponentialSearchLong_00()
+	{
+		long[] A = new Random(3).longs(10000, 0, 20000).sorted().toArray();
+		for (long q = -1; q <= 20000; q += 7)
+		{
+			assertEquals(Search.exponentialSearch(A, q), Search.binarySearch(A, q));
+		}
+	}
+
+	@Test
+	public void unboundedSearch_00()
+	{
+		// A source with 1000 even numbers
+		IntFunction<Integer> source = i -> (i < 1000) ? 2 * i : null;
+		assertEquals(Search.unboundedSearch(source, 0), 0);
+		assertEquals(Search.unboundedSearch(source, 1000), 500);
+		assertEquals(Search.unboundedSearch(source, 1998), 999);
+		assertEquals(Search.unboundedSearch(source, 7), -1);
+		assertEquals(Search.unboundedSearch(source, 2000), -1);
+		assertEquals(Search.unboundedSearch(i -> null, 1), -1);
+	}
+
+	@Test
+	public void unboundedSearch_01()
+	{
+		// An endless source, searched in reverse order
+		IntFunction<Long> source = i -> -3L * i;
+		assertEquals(Search.unboundedSearch(source, -3000000L, Comparator.reverseOrder()), 1000000);
+		assertEquals(Search.unboundedSearch(source, -3000001L, Comparator.reverseOrder()), -1);
+		assertEquals(Search.unboundedSearch(source, 1L, Comparator.reverseOrder()), -1);
+	}
+
+	@Test
+	public void batchSearchInt_00()
+	{
+		Random rnd = new Random(11);
+		int[] A = rnd.ints(5000, 0, 10000).sorted().toArray();
+		int[] Q = rnd.ints(3001, -10, 10010).toArray();
+		int[] P = Search.batchSearch(A, Q);
+		for (int t = 0; t < Q.length; t++)
+		{
+			assertEquals(P[t], Search.binarySearch(A, Q[t]));
+		}
+
+		// Sorted and dense, so merged with the array
+		Arrays.sort(Q);
+		P = Search.batchSearch(A, Q);
+		for (int t = 0; t < Q.length; t++)
+		{
+			assertEquals(P[t], Search.binarySearch(A, Q[t]));
+		}
+	}
+
+	@Test
+	public void batchSearch_00()
+	{
+		Integer[] A = {9, 7, 7, 4, 2};
+		String[] S = {"a", "c"};
+		Integer[] Q = {7, 2, 9, 3, 10, 1};
+		assertArrayEquals(Search.batchSearch(A, Q, Comparator.reverseOrder()), new int[] {1, 4, 0, -1, -1, -1});
+		assertArrayEquals(Search.batchSearch(S, new String[] {"c", "b", "a"}), new int[] {1, -1, 0});
+		assertArrayEquals(Search.batchSearch(new Integer[0], Q), new int[] {-1, -1, -1, -1, -1, -1});
+		assertArrayEquals(Search.batchSearch(A, new Integer[0]), new int[0]);
+	}
+
+	@Test
+	public void batchSearchDouble_00()
+	{
+		double[] A = {Double.NEGATIVE_INFINITY, -1.0, -0.0, 0.0, 2.5, Double.NaN};
+		double[] Q = {0.0, Double.NaN, -0.0, 1.0, -1.0, Double.NEGATIVE_INFINITY};
+		assertArrayEquals(Search.batchSearch(A, Q), new int[] {3, 5, 2, -1, 1, 0});
+	}
+
+	@Test
+	public void parallelBatchSearchLong_00()
+	{
+		Random rnd = new Random(13);
+		long[] A = rnd.longs(100000).sorted().toArray();
+		long[] Q = new long[200000];
+		for (int t = 0; t < Q.length; t++)
+		{
+			Q[t] = (t % 2 == 0) ? A[rnd.nextInt(A.length)] : rnd.nextLong();
+		}
+		int[] P = Search.parallelBatchSearch(A, Q);
+		for (int t = 0; t < Q.length; t++)
+		{
+			assertEquals(P[t], Search.binarySearch(A, Q[t]));
+		}
+
+		Arrays.sort(Q);
+		assertArrayEquals(Search.parallelBatchSearch(A, Q), Search.batchSearch(A, Q));
+	}
+
+	@Test
+	public void linearSearch_04()
+	{
+		String[] A = {"a", null, "b", "a"};
+		assertEquals(Search.linearSearch(A, "b"), 2);
+		assertEquals(Search.linearSearch(A, null), 1);
+		assertEquals(Search.linearSearch(A, "c"), -1);
+		assertEquals(Search.count(A, "a"), 2);
+		assertEquals(Search.count(A, null), 1);
+		assertEquals(Search.indexOfAny(A, new HashSet<>(Arrays.asList("b", "c"))), 2);
+		assertEquals(Search.indexOfAny(A, Arrays.asList("c", "d")), -1);
+	}
+
+	@Test
+	public void linearSearchInt_00()
+	{
+		int[] A = {5, -3, 8, 5, 0, 12};
+		assertEquals(Search.linearSearch(A, 5), 0);
+		assertEquals(Search.linearSearch(A, 12), 5);
+		assertEquals(Search.linearSearch(A, 7), -1);
+		assertEquals(Search.linearSearch(new int[0], 7), -1);
+		assertEquals(Search.count(A, 5), 2);
+		assertEquals(Search.indexOfAny(A, 7, 0, 8), 2);
+		assertEquals(Search.indexOfAny(A, 1, 2, 3, 4, 6, 7, 9, 10, 11, 12), 5);
+		assertEquals(Search.indexOfAny(A), -1);
+	}
+
+	@Test
+	public void linearSearchLong_00()
+	{
+		long[] A = {Long.MIN_VALUE, 4, Long.MAX_VALUE, 4};
+		assertEquals(Search.linearSearch(A, Long.MAX_VALUE), 2);
+		assertEquals(Search.count(A, 4), 2);
+		assertEquals(Search.indexOfAny(A, 1, 2, 3, 5, 6, 7, 8, 9, Long.MIN_VALUE), 0);
+	}
+
+	@Test
+	public void linearSearchChar_00()
+	{
+		char[] A = "hello, world".toCharArray();
+		assertEquals(Search.linearSearch(A, 'o'), 4);
+		assertEquals(Search.count(A, 'l'), 3);
+		assertEquals(Search.indexOfAny(A, ' ', ','), 5);
+		assertEquals(Search.linearSearch(A, 'z'), -1);
+	}
+
+	@Test
+	public void linearSearchByte_00()
+	{
+		// Every length up to a few words, with the value in every position
+		Random rnd = new Random(17);
+		for (int n = 0; n < 40; n++)
+		{
+			byte[] A = new byte[n];
+			for (int i = 0; i < n; i++)
+			{
+				A[i] = (byte) (rnd.nextInt(3) - 1);
+			}
+			for (byte q = -2; q <= 2; q++)
+			{
+				int first = -1;
+				int count = 0;
+				for (int i = n - 1; i >= 0; i--)
+				{
+					if (A[i] == q)
+					{
+						first = i;
+						count++;
+					}
+				}
+				assertEquals(Search.linearSearch(A, q), first);
+				assertEquals(Search.count(A, q), count);
+			}
+		}
+
+		byte[] B = {0, 0, 0, 0, 0, 0, (byte) 0x80, 1, 0, (byte) 0xFF, 0x7F};
+		assertEquals(Search.linearSearch(B, (byte) 0x80), 6);
+		assertEquals(Search.linearSearch(B, (byte) 1), 7);
+		assertEquals(Search.linearSearch(B, (byte) 0xFF), 9);
+		assertEquals(Search.count(B, (byte) 0), 7);
+		assertEquals(Search.indexOfAny(B, (byte) 0x7F, (byte) 0xFF), 9);
+	}
+
+	@Test
+	public void parallelLinearSearchInt_00()
+	{
+		// Large enough to be split, with matches in several chunks
+		Random rnd = new Random(19);
+		int[] A = rnd.ints(1000000, 0, 1000000).toArray();
+		for (int k = 0; k < 20; k++)
+		{
+			int q = (k < 10) ? A[rnd.nextInt(A.length)] : rnd.nextInt(2000000);
+			assertEquals(Search.linearSearch(A, q), Search.parallelLinearSearch(A, q));
+			assertEquals(Search.count(A, q), Search.parallelCount(A, q));
+		}
+
+		A[999999] = -1;
+		assertEquals(999999, Search.parallelLinearSearch(A, -1));
+		A[3] = -1;
+		assertEquals(3, Search.parallelLinearSearch(A, -1));
+		assertArrayEquals(new int[] {3, 999999}, Search.parallelFindAll(A, -1));
+		assertArrayEquals(new int[0], Search.parallelFindAll(A, -2));
+	}
+
+	@Test
+	public void parallelLinearSearch_00()
+	{
+		String[] A = new String[300000];
+		Arrays.fill(A, "a");
+		A[200000] = null;
+		A[250000] = "b";
+		A[260000] = "b";
+		assertEquals(200000, Search.parallelLinearSearch(A, null));
+		assertEquals(250000, Search.parallelLinearSearch(A, "b"));
+		assertEquals(-1, Search.parallelLinearSearch(A, "c"));
+		assertEquals(299997, Search.parallelCount(A, "a"));
+		assertArrayEquals(new int[] {250000, 260000}, Search.parallelFindAll(A, "b"));
+		assertEquals(-1, Search.parallelLinearSearch(new String[0], "b"));
+	}
+
+	@Test
+	public void parallelLinearSearchByte_00()
+	{
+		byte[] A = new byte[100003];
+		A[100002] = 7;
+		A[50001] = 7;
+		long[] B = new long[100000];
+		B[99999] = Long.MIN_VALUE;
+		char[] C = "abc".toCharArray();
+		assertEquals(50001, Search.parallelLinearSearch(A, (byte) 7));
+		assertEquals(2, Search.parallelCount(A, (byte) 7));
+		assertEquals(100001, Search.parallelCount(A, (byte) 0));
+		assertEquals(99999, Search.parallelLinearSearch(B, Long.MIN_VALUE));
+		assertArrayEquals(new int[] {1}, Search.parallelFindAll(C, 'b'));
+	}
+
 }
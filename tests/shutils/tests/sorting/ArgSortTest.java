@@ -0,0 +1,102 @@
+package shutils.tests.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import shutils.array.SHArray;
+import shutils.sorting.ArgSort;
+
+public class ArgSortTest
+{
+
+	@Test
+	public void testArgsort_00()
+	{
+		String[] A = { "d", "b", "a", "c", "b" };
+		String[] copy = A.clone();
+
+		int[] p = ArgSort.argsort(A);
+
+		// Equal elements keep their order
+		assertArrayEquals(new int[] { 2, 1, 4, 3, 0 }, p);
+		assertArrayEquals(copy, A);
+	}
+
+	@Test
+	public void testArgsort_01()
+	{
+		Integer[] A = new Random(42).ints(10000, 0, 100).boxed().toArray(Integer[]::new);
+
+		int[] p = ArgSort.argsort(A, Comparator.reverseOrder());
+
+		for (int i = 1; i < p.length; i++)
+		{
+			int cmp = A[p[i - 1]].compareTo(A[p[i]]);
+			assertTrue(cmp > 0 || (cmp == 0 && p[i - 1] < p[i]));
+		}
+	}
+
+	@Test
+	public void testArgsortInt_00()
+	{
+		int[] A = new Random(42).ints(10000, -50, 50).toArray();
+		A[0] = Integer.MIN_VALUE;
+		A[1] = Integer.MAX_VALUE;
+
+		int[] p = ArgSort.argsort(A);
+
+		for (int i = 1; i < p.length; i++)
+		{
+			assertTrue(A[p[i - 1]] < A[p[i]] || (A[p[i - 1]] == A[p[i]] && p[i - 1] < p[i]));
+		}
+	}
+
+	@Test
+	public void testArgsortLong_00()
+	{
+		long[] A = { 5, -3, 5, Long.MIN_VALUE, 0 };
+
+		assertArrayEquals(new int[] { 3, 1, 4, 0, 2 }, ArgSort.argsort(A));
+	}
+
+	@Test
+	public void testArgsortFloat_00()
+	{
+		float[] A = { Float.NaN, 0.0f, -0.0f, -1.5f, Float.POSITIVE_INFINITY, -0.0f };
+
+		assertArrayEquals(new int[] { 3, 2, 5, 1, 4, 0 }, ArgSort.argsort(A));
+	}
+
+	@Test
+	public void testArgsortDouble_00()
+	{
+		double[] A = new Random(42).doubles(10000).toArray();
+		double[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+		long[] B = new Random(7).longs(10000).toArray();
+		long[] copy = B.clone();
+
+		int[] p = ArgSort.argsort(A);
+		SHArray.applyPermutation(p, A, B);
+
+		assertArrayEquals(sortedA, A, 0);
+		for (int i = 0; i < B.length; i++)
+		{
+			assertEquals(copy[p[i]], B[i]);
+		}
+	}
+
+	@Test
+	public void testArgsortInt_01()
+	{
+		assertEquals(0, ArgSort.argsort(new int[0]).length);
+	}
+
+}
@@ -0,0 +1,107 @@
+package shutils.tests.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import shutils.sorting.BlockQuickSort;
+
+public class BlockQuickSortTest
+{
+
+	@Test
+	public void testBlockQuickSort_00()
+	{
+		Random rnd = new Random(42);
+		int[][] inputs = { rnd.ints(100000).toArray(), rnd.ints(100000, 0, 3).toArray(),
+				IntStream.range(0, 100000).toArray(), IntStream.range(0, 100000).map(i -> -i).toArray(),
+				IntStream.range(0, 100000).map(i -> i % 1000).toArray(), new int[5000], rnd.ints(17).toArray(),
+				rnd.ints(300).toArray() };
+
+		for (int[] A : inputs)
+		{
+			int[] sortedA = A.clone();
+			Arrays.sort(sortedA);
+
+			BlockQuickSort.blockQuickSort(A);
+
+			assertArrayEquals(sortedA, A);
+		}
+	}
+
+	@Test
+	public void testBlockQuickSortBetween_00()
+	{
+		int[] A = new Random(42).ints(10000).toArray();
+		int[] sortedA = A.clone();
+		Arrays.sort(sortedA, 100, 9000);
+
+		BlockQuickSort.blockQuickSortBetween(A, 100, 8999);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testBlockQuickSortFloat_00()
+	{
+		Random rnd = new Random(42);
+		float[] A = new float[100000];
+		for (int i = 0; i < A.length; i++)
+		{
+			switch (rnd.nextInt(20))
+			{
+			case 0:
+				A[i] = Float.NaN;
+				break;
+			case 1:
+				A[i] = -0.0f;
+				break;
+			case 2:
+				A[i] = 0.0f;
+				break;
+			default:
+				A[i] = (float) rnd.nextGaussian();
+				break;
+			}
+		}
+		float[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		BlockQuickSort.blockQuickSort(A);
+
+		for (int i = 0; i < A.length; i++)
+		{
+			assertEquals(Float.floatToIntBits(sortedA[i]), Float.floatToIntBits(A[i]));
+		}
+	}
+
+	@Test
+	public void testBlockQuickSortBetweenFloat_00()
+	{
+		float[] A = { Float.NaN, 3, -0.0f, 0.0f, Float.NaN, -1, 0.0f, -0.0f, 2 };
+
+		BlockQuickSort.blockQuickSortBetween(A, 1, 7);
+
+		assertArrayEquals(new float[] { Float.NaN, -1, -0.0f, -0.0f, 0.0f, 0.0f, 3, Float.NaN, 2 }, A, 0f);
+		assertEquals(Float.floatToIntBits(-0.0f), Float.floatToIntBits(A[3]));
+		assertEquals(Float.floatToIntBits(0.0f), Float.floatToIntBits(A[4]));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBlockQuickSortBetween_01()
+	{
+		BlockQuickSort.blockQuickSortBetween(new int[10], 5, 4);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testBlockQuickSortBetweenFloat_01()
+	{
+		BlockQuickSort.blockQuickSortBetween(new float[10], 0, 10);
+	}
+
+}
@@ -0,0 +1,93 @@
+package shutils.tests.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import shutils.sorting.CutoffCalibration;
+import shutils.sorting.QuickSort;
+
+public class CutoffCalibrationTest
+{
+
+	@After
+	public void tearDown()
+	{
+		CutoffCalibration.reset();
+	}
+
+	@Test
+	public void testCalibrate_00()
+	{
+		assertEquals(CutoffCalibration.DEFAULT_CUTOFF, CutoffCalibration.getCutoff(int.class));
+
+		int k = CutoffCalibration.calibrate(int.class);
+
+		assertTrue(k > 0);
+		assertEquals(k, CutoffCalibration.getCutoff(int.class));
+		assertEquals(CutoffCalibration.DEFAULT_CUTOFF, CutoffCalibration.getCutoff(long.class));
+
+		int[] A = new Random(42).ints(10000).toArray();
+		int[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		QuickSort.hybridQuickSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testCalibrate_01()
+	{
+		Random rnd = new Random(42);
+
+		int k = CutoffCalibration.calibrate(String.class, i -> Integer.toString(rnd.nextInt()),
+				Comparator.reverseOrder());
+
+		assertEquals(k, CutoffCalibration.getCutoff(String.class));
+
+		String[] A = rnd.ints(10000).mapToObj(Integer::toString).toArray(String[]::new);
+		String[] sortedA = A.clone();
+		Arrays.sort(sortedA, Comparator.reverseOrder());
+
+		QuickSort.hybridQuickSort(A, Comparator.reverseOrder());
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testSetCutoff_00()
+	{
+		CutoffCalibration.setCutoff(double.class, 3);
+
+		assertEquals(3, CutoffCalibration.getCutoff(double.class));
+
+		double[] A = new Random(42).doubles(10000).toArray();
+		double[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		QuickSort.hybridQuickSort(A);
+
+		assertArrayEquals(sortedA, A, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetCutoff_01()
+	{
+		CutoffCalibration.setCutoff(int.class, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCalibrate_02()
+	{
+		CutoffCalibration.calibrate(short.class);
+	}
+
+}
@@ -0,0 +1,129 @@
+package shutils.tests.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import shutils.sorting.ExternalSort;
+
+public class ExternalSortTest
+{
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testSort_00() throws IOException
+	{
+		long[] keys = new Random(42).longs(100000).toArray();
+		Path input = write(keys);
+		Path output = folder.getRoot().toPath().resolve("sorted");
+		Path temp = folder.newFolder().toPath();
+
+		// Small runs and a small fan-in force more than one merge pass
+		ExternalSort sorter = new ExternalSort(Long.BYTES, Comparator.comparingLong(r -> ByteBuffer.wrap(r).getLong()));
+		sorter.setMemoryBudget(1 << 16);
+		sorter.setRunSize(1000);
+		sorter.setFanIn(4);
+		sorter.setTempDirectory(temp);
+		sorter.sort(input, output);
+
+		Arrays.sort(keys);
+		assertArrayEquals(keys, read(output));
+		assertEquals(0, Files.list(temp).count());
+	}
+
+	@Test
+	public void testSort_01() throws IOException
+	{
+		Random rnd = new Random(42);
+		byte[] data = new byte[12 * 5000];
+		rnd.nextBytes(data);
+		Path input = folder.newFile().toPath();
+		Files.write(input, data);
+		Path output = folder.getRoot().toPath().resolve("sorted");
+
+		ExternalSort sorter = new ExternalSort(12);
+		sorter.setMemoryBudget(12 * 100);
+		sorter.sort(input, output);
+
+		byte[] sorted = Files.readAllBytes(output);
+		assertEquals(data.length, sorted.length);
+		for (int i = 12; i < sorted.length; i += 12)
+		{
+			for (int j = 0; j < 12; j++)
+			{
+				int a = sorted[(i - 12) + j] & 0xff;
+				int b = sorted[i + j] & 0xff;
+				if (a != b)
+				{
+					assertEquals(true, a < b);
+					break;
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSort_02() throws IOException
+	{
+		Path input = write(new long[0]);
+		Path output = folder.getRoot().toPath().resolve("sorted");
+
+		new ExternalSort(Long.BYTES).sort(input, output);
+
+		assertEquals(0, Files.size(output));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSort_03() throws IOException
+	{
+		Path input = folder.newFile().toPath();
+		Files.write(input, new byte[13]);
+
+		new ExternalSort(Long.BYTES).sort(input, folder.getRoot().toPath().resolve("sorted"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetFanIn_00()
+	{
+		new ExternalSort(Long.BYTES).setFanIn(1);
+	}
+
+	private Path write(long[] keys) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(keys.length * Long.BYTES);
+		for (long k : keys)
+		{
+			buffer.putLong(k);
+		}
+
+		Path file = folder.newFile().toPath();
+		Files.write(file, buffer.array());
+		return file;
+	}
+
+	private static long[] read(Path file) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+		long[] keys = new long[buffer.capacity() / Long.BYTES];
+		for (int i = 0; i < keys.length; i++)
+		{
+			keys[i] = buffer.getLong();
+		}
+
+		return keys;
+	}
+
+}
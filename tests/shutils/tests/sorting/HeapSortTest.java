@@ -0,0 +1,100 @@
+package shutils.tests.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import shutils.sorting.HeapSort;
+
+public class HeapSortTest
+{
+
+	@Test
+	public void testHeapSort_00()
+	{
+		Integer[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		Integer[] sortedA = { -8, 3, 4, 5, 5, 6, 9 };
+
+		HeapSort.heapSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testHeapSort_01()
+	{
+		Integer[] A = {};
+
+		HeapSort.heapSort(A);
+
+		assertEquals(0, A.length);
+	}
+
+	@Test
+	public void testHeapSortInt_00()
+	{
+		int[] A = new Random(42).ints(10000).toArray();
+		int[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		HeapSort.heapSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testHeapSortFloat_00()
+	{
+		float[] A = { 3f, Float.NaN, -0f, 0f, -1f, Float.NEGATIVE_INFINITY };
+		float[] sortedA = { Float.NEGATIVE_INFINITY, -1f, -0f, 0f, 3f, Float.NaN };
+
+		HeapSort.heapSort(A);
+
+		assertArrayEquals(sortedA, A, 0f);
+	}
+
+	@Test
+	public void testHeapSortBetweenLong_00()
+	{
+		long[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		long[] sortedA = { 3, -8, 4, 5, 6, 9, 5 };
+
+		HeapSort.heapSortBetween(A, 1, 4);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testHeapSortBetweenDouble_01()
+	{
+		double[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		HeapSort.heapSortBetween(A, 4, 1);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testHeapSortBetweenDouble_02()
+	{
+		double[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		HeapSort.heapSortBetween(A, -1, 4);
+	}
+
+	@Test
+	public void testHeapSortComparator_00()
+	{
+		Integer[] A = new Random(42).ints(10000).boxed().toArray(Integer[]::new);
+		Integer[] sortedA = A.clone();
+		Arrays.sort(sortedA, Comparator.reverseOrder());
+
+		HeapSort.heapSort(A, Comparator.reverseOrder());
+
+		assertArrayEquals(sortedA, A);
+	}
+
+}
@@ -1,8 +1,13 @@
 package shutils.tests.sorting;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
 import org.junit.Test;
 
 import shutils.sorting.InsertionSort;
@@ -86,4 +91,237 @@ public class InsertionSortTest
 
 	}
 
+	@Test
+	public void testInsertionSortInt_00()
+	{
+		int[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		int[] sortedA = { -8, 3, 4, 5, 5, 6, 9 };
+
+		InsertionSort.insertionSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testInsertionSortInt_01()
+	{
+		int[] A = {};
+
+		InsertionSort.insertionSort(A);
+
+		assertEquals(0, A.length);
+	}
+
+	@Test
+	public void testInsertionSortDouble_00()
+	{
+		double[] A = { 3, Double.NaN, 0.0, -0.0, -8 };
+		double[] sortedA = { -8, -0.0, 0.0, 3, Double.NaN };
+
+		InsertionSort.insertionSort(A);
+
+		assertArrayEquals(sortedA, A, 0);
+	}
+
+	@Test
+	public void testInsertionSortBetweenLong_00()
+	{
+		long[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		long[] sortedA = { 3, -8, 4, 5, 6, 9, 5 };
+
+		InsertionSort.insertionSortBetween(A, 1, 4);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInsertionSortBetweenFloat_01()
+	{
+		float[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		InsertionSort.insertionSortBetween(A, 4, 1);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testInsertionSortBetweenFloat_02()
+	{
+		float[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		InsertionSort.insertionSortBetween(A, 0, 698);
+	}
+
+	@Test
+	public void testBinaryInsertionSort_00()
+	{
+		Integer[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		Integer[] sortedA = { -8, 3, 4, 5, 5, 6, 9 };
+
+		InsertionSort.binaryInsertionSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testBinaryInsertionSort_01()
+	{
+		Integer[] A = {};
+
+		InsertionSort.binaryInsertionSort(A);
+
+		assertEquals(0, A.length);
+	}
+
+	@Test
+	public void testBinaryInsertionSort_02()
+	{
+		class Item implements Comparable<Item>
+		{
+			final int key;
+			final int order;
+
+			Item(int key, int order)
+			{
+				this.key = key;
+				this.order = order;
+			}
+
+			@Override
+			public int compareTo(Item o)
+			{
+				return Integer.compare(key, o.key);
+			}
+		}
+
+		Random rnd = new Random(42);
+		Item[] A = new Item[500];
+		for (int i = 0; i < A.length; i++)
+		{
+			A[i] = new Item(rnd.nextInt(10), i);
+		}
+
+		InsertionSort.binaryInsertionSort(A);
+
+		// Equal elements have to keep their order
+		for (int i = 1; i < A.length; i++)
+		{
+			if ((A[i - 1].key > A[i].key) || ((A[i - 1].key == A[i].key) && (A[i - 1].order > A[i].order)))
+			{
+				fail("The sort is not stable.");
+			}
+		}
+	}
+
+	@Test
+	public void testBinaryInsertionSort_03()
+	{
+		final int[] comparisons = { 0 };
+
+		class Key implements Comparable<Key>
+		{
+			final int value;
+
+			Key(int value)
+			{
+				this.value = value;
+			}
+
+			@Override
+			public int compareTo(Key o)
+			{
+				comparisons[0]++;
+				return Integer.compare(value, o.value);
+			}
+		}
+
+		Random rnd = new Random(42);
+		Key[] A = new Key[1000];
+		for (int i = 0; i < A.length; i++)
+		{
+			A[i] = new Key(rnd.nextInt());
+		}
+		Key[] B = A.clone();
+
+		InsertionSort.insertionSort(A);
+		int linear = comparisons[0];
+
+		comparisons[0] = 0;
+		InsertionSort.binaryInsertionSort(B);
+		int binary = comparisons[0];
+
+		assertArrayEquals(A, B);
+		assertEquals(true, (binary * 10) < linear);
+	}
+
+	@Test
+	public void testBinaryInsertionSortInt_00()
+	{
+		int[] A = new Random(42).ints(2000).toArray();
+		int[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		InsertionSort.binaryInsertionSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testBinaryInsertionSortDouble_00()
+	{
+		double[] A = { 3, Double.NaN, 0.0, -0.0, -8 };
+		double[] sortedA = { -8, -0.0, 0.0, 3, Double.NaN };
+
+		InsertionSort.binaryInsertionSort(A);
+
+		assertArrayEquals(sortedA, A, 0);
+	}
+
+	@Test
+	public void testBinaryInsertionSortBetweenLong_00()
+	{
+		long[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		long[] sortedA = { 3, -8, 4, 5, 6, 9, 5 };
+
+		InsertionSort.binaryInsertionSortBetween(A, 1, 4);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBinaryInsertionSortBetweenFloat_01()
+	{
+		float[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		InsertionSort.binaryInsertionSortBetween(A, 4, 1);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testBinaryInsertionSortBetween_02()
+	{
+		Integer[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		InsertionSort.binaryInsertionSortBetween(A, 0, 698);
+	}
+
+	@Test
+	public void testInsertionSortComparator_00()
+	{
+		String[] A = { "ccc", "a", "bb", "dddd", "e" };
+		String[] sortedA = { "dddd", "ccc", "bb", "a", "e" };
+
+		InsertionSort.insertionSort(A, Comparator.comparing(String::length).reversed());
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testBinaryInsertionSortComparator_00()
+	{
+		String[] A = { "ccc", "a", "bb", "dddd", "e" };
+		String[] sortedA = { "dddd", "ccc", "bb", "a", "e" };
+
+		InsertionSort.binaryInsertionSort(A, Comparator.comparing(String::length).reversed());
+
+		assertArrayEquals(sortedA, A);
+	}
+
 }
@@ -0,0 +1,171 @@
+package shutils.tests.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import shutils.sorting.MergeSort;
+
+public class MergeSortTest
+{
+
+	@Test
+	public void testMergeSort_00()
+	{
+		Integer[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		Integer[] sortedA = { -8, 3, 4, 5, 5, 6, 9 };
+
+		MergeSort.mergeSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testMergeSort_01()
+	{
+		Integer[] A = {};
+
+		MergeSort.mergeSort(A);
+
+		assertEquals(0, A.length);
+	}
+
+	@Test
+	public void testMergeSort_02()
+	{
+		Random rnd = new Random(42);
+		Integer[][] inputs = { rnd.ints(100000).boxed().toArray(Integer[]::new),
+				rnd.ints(100000, 0, 10).boxed().toArray(Integer[]::new),
+				// Ascending and descending runs of different lengths
+				rnd.ints(100000).map(i -> (i % 1000) * ((i & 1024) == 0 ? 1 : -1)).boxed().toArray(Integer[]::new) };
+		Arrays.sort(inputs[2], 0, 30000);
+		Arrays.sort(inputs[2], 50000, 100000, Comparator.reverseOrder());
+
+		for (Integer[] input : inputs)
+		{
+			Integer[] A = input.clone();
+			Integer[] sortedA = input.clone();
+			Arrays.sort(sortedA);
+
+			MergeSort.mergeSort(A);
+
+			assertArrayEquals(sortedA, A);
+		}
+	}
+
+	@Test
+	public void testMergeSort_03()
+	{
+		// Equal elements have to keep their order
+		Random rnd = new Random(42);
+		int[][] A = new int[50000][];
+		for (int i = 0; i < A.length; i++)
+		{
+			A[i] = new int[] { rnd.nextInt(100), i };
+		}
+
+		MergeSort.mergeSort(A, (a, b) -> Integer.compare(a[0], b[0]));
+
+		for (int i = 1; i < A.length; i++)
+		{
+			assertEquals(true, (A[i - 1][0] < A[i][0]) || ((A[i - 1][0] == A[i][0]) && (A[i - 1][1] < A[i][1])));
+		}
+	}
+
+	@Test
+	public void testMergeSort_04()
+	{
+		final int[] comparisons = { 0 };
+		Comparator<Integer> c = (a, b) -> {
+			comparisons[0]++;
+			return a.compareTo(b);
+		};
+
+		Integer[] A = new Integer[100000];
+		for (int i = 0; i < A.length; i++)
+		{
+			A[i] = A.length - i;
+		}
+
+		// A reverse sorted array is a single run
+		MergeSort.mergeSort(A, c);
+
+		for (int i = 0; i < A.length; i++)
+		{
+			assertEquals(i + 1, A[i].intValue());
+		}
+		assertEquals(A.length - 1, comparisons[0]);
+	}
+
+	@Test
+	public void testMergeSortBetween_00()
+	{
+		String[] A = { "d", "c", "b", "a", "e" };
+		String[] sortedA = { "d", "a", "b", "c", "e" };
+		String last = A[4];
+
+		MergeSort.mergeSortBetween(A, 1, 3);
+
+		assertArrayEquals(sortedA, A);
+		assertSame(last, A[4]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMergeSortBetween_01()
+	{
+		Integer[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		MergeSort.mergeSortBetween(A, 4, 1);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testMergeSortBetween_02()
+	{
+		Integer[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		MergeSort.mergeSortBetween(A, 0, 698, Comparator.naturalOrder());
+	}
+
+	@Test
+	public void testMergeSortByLongKey_00()
+	{
+		long[][] A = new Random(42).ints(10000, 0, 50).mapToObj(i -> new long[] { i, 0 }).toArray(long[][]::new);
+		for (int i = 0; i < A.length; i++)
+		{
+			A[i][1] = i;
+		}
+		int[] calls = { 0 };
+
+		MergeSort.mergeSortByLongKey(A, a -> {
+			calls[0]++;
+			return a[0];
+		});
+
+		assertEquals(A.length, calls[0]);
+		for (int i = 1; i < A.length; i++)
+		{
+			// Sorted by key, and stable
+			assertTrue(A[i - 1][0] < A[i][0] || (A[i - 1][0] == A[i][0] && A[i - 1][1] < A[i][1]));
+		}
+	}
+
+	@Test
+	public void testMergeSortByDoubleKey_00()
+	{
+		Double[] A = { 2.5, Double.NaN, 0.0, -0.0, Double.NEGATIVE_INFINITY, -1.0, Double.POSITIVE_INFINITY };
+		Double[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		MergeSort.mergeSortByDoubleKey(A, Double::doubleValue);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+}
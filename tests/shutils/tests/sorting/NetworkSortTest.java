@@ -0,0 +1,102 @@
+package shutils.tests.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import shutils.sorting.NetworkSort;
+
+public class NetworkSortTest
+{
+
+	@Test
+	public void testNetworkSort_00()
+	{
+		// By the 0-1 principle, sorting every sequence of zeros and ones
+		// proves that a network sorts every input
+		for (int n = 1; n <= NetworkSort.MAX_SIZE; n++)
+		{
+			for (int bits = 0; bits < (1 << n); bits++)
+			{
+				int[] A = new int[n];
+				for (int i = 0; i < n; i++)
+				{
+					A[i] = (bits >>> i) & 1;
+				}
+				int[] sortedA = A.clone();
+				Arrays.sort(sortedA);
+
+				NetworkSort.networkSort(A);
+
+				assertArrayEquals(sortedA, A);
+			}
+		}
+	}
+
+	@Test
+	public void testNetworkSortLong_00()
+	{
+		Random rnd = new Random(42);
+
+		for (int n = 0; n <= NetworkSort.MAX_SIZE; n++)
+		{
+			for (int t = 0; t < 100; t++)
+			{
+				long[] A = rnd.longs(n, -5, 5).toArray();
+				long[] sortedA = A.clone();
+				Arrays.sort(sortedA);
+
+				NetworkSort.networkSort(A);
+
+				assertArrayEquals(sortedA, A);
+			}
+		}
+	}
+
+	@Test
+	public void testNetworkSortBetweenFloat_00()
+	{
+		float[] A = { 9, Float.NaN, 3, -0.0f, 0.0f, Float.NEGATIVE_INFINITY, -0.0f, 1, Float.NaN, 7 };
+
+		NetworkSort.networkSortBetween(A, 1, 8);
+
+		assertArrayEquals(new float[] { 9, Float.NEGATIVE_INFINITY, -0.0f, -0.0f, 0.0f, 1, 3, Float.NaN, Float.NaN, 7 },
+				A, 0f);
+		// assertArrayEquals does not tell -0.0f from 0.0f
+		assertArrayEquals(new int[] { Float.floatToIntBits(-0.0f), Float.floatToIntBits(0.0f) },
+				new int[] { Float.floatToIntBits(A[3]), Float.floatToIntBits(A[4]) });
+	}
+
+	@Test
+	public void testNetworkSortDouble_00()
+	{
+		Random rnd = new Random(42);
+
+		for (int n = 0; n <= NetworkSort.MAX_SIZE; n++)
+		{
+			double[] A = rnd.doubles(n).toArray();
+			double[] sortedA = A.clone();
+			Arrays.sort(sortedA);
+
+			NetworkSort.networkSort(A);
+
+			assertArrayEquals(sortedA, A, 0);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNetworkSort_01()
+	{
+		NetworkSort.networkSort(new int[NetworkSort.MAX_SIZE + 1]);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testNetworkSortBetween_01()
+	{
+		NetworkSort.networkSortBetween(new int[8], 4, 8);
+	}
+
+}
@@ -0,0 +1,139 @@
+package shutils.tests.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import shutils.sorting.ParallelQuickSort;
+
+public class ParallelQuickSortTest
+{
+
+	@Test
+	public void testParallelQuickSort_00()
+	{
+		Integer[] A = new Random(42).ints(100000).boxed().toArray(Integer[]::new);
+		Integer[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		ParallelQuickSort.parallelQuickSort(A, 1000);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testParallelQuickSort_01()
+	{
+		Integer[] A = {};
+
+		ParallelQuickSort.parallelQuickSort(A);
+
+		assertEquals(0, A.length);
+	}
+
+	@Test
+	public void testParallelQuickSortInt_00()
+	{
+		int[] A = new Random(42).ints(200000).toArray();
+		int[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		ParallelQuickSort.parallelQuickSort(A, 1000);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testParallelQuickSortInt_01()
+	{
+		// Few distinct values, so that most elements are equal to the pivot
+		int[] A = new Random(42).ints(200000, 0, 4).toArray();
+		int[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		ParallelQuickSort.parallelQuickSort(A, 1000);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testParallelQuickSort_02()
+	{
+		Integer[] A = new Random(42).ints(100000, 0, 3).boxed().toArray(Integer[]::new);
+		Integer[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		ParallelQuickSort.parallelQuickSort(A, 1000);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testParallelQuickSortLong_00()
+	{
+		long[] A = new Random(42).longs(200000).toArray();
+		long[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		ParallelQuickSort.parallelQuickSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testParallelQuickSortDouble_00()
+	{
+		double[] A = new Random(42).doubles(200000).toArray();
+		double[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		ParallelQuickSort.parallelQuickSort(A, 1);
+
+		assertArrayEquals(sortedA, A, 0);
+	}
+
+	@Test
+	public void testParallelQuickSortBetweenFloat_00()
+	{
+		float[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		float[] sortedA = { 3, -8, 4, 5, 6, 9, 5 };
+
+		ParallelQuickSort.parallelQuickSortBetween(A, 1, 4, 2, 1);
+
+		assertArrayEquals(sortedA, A, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParallelQuickSortBetweenInt_01()
+	{
+		int[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		ParallelQuickSort.parallelQuickSortBetween(A, 0, 6, 0, 3);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testParallelQuickSortBetweenInt_02()
+	{
+		int[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		ParallelQuickSort.parallelQuickSortBetween(A, -5, 4, 100, 3);
+	}
+
+	@Test
+	public void testParallelQuickSortComparator_00()
+	{
+		Integer[] A = new Random(42).ints(100000).boxed().toArray(Integer[]::new);
+		Integer[] sortedA = A.clone();
+		Arrays.sort(sortedA, Comparator.reverseOrder());
+
+		ParallelQuickSort.parallelQuickSort(A, 1000, Comparator.reverseOrder());
+
+		assertArrayEquals(sortedA, A);
+	}
+
+}
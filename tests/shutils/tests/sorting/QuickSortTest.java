@@ -1,10 +1,19 @@
 package shutils.tests.sorting;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
 import org.junit.Test;
 
+import shutils.sorting.LeafSorter;
+import shutils.sorting.PartitionScheme;
+import shutils.sorting.PivotStrategy;
 import shutils.sorting.QuickSort;
 
 public class QuickSortTest
@@ -114,4 +123,301 @@ public class QuickSortTest
 		QuickSort.quickSortBetween(A, -5, 4);
 	}
 
+	@Test
+	public void testHybridQuickSortInt_00()
+	{
+		int[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		int[] sortedA = { -8, 3, 4, 5, 5, 6, 9 };
+
+		QuickSort.hybridQuickSort(A, 3);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testHybridQuickSortLong_00()
+	{
+		long[] A = new Random(42).longs(5000).toArray();
+		long[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		QuickSort.hybridQuickSort(A, 10);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testHybridQuickSortBetweenInt_00()
+	{
+		int[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		int[] sortedA = { 3, -8, 4, 5, 6, 9, 5 };
+
+		QuickSort.hybridQuickSortBetween(A, 1, 4, 3);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testQuickSortInt_00()
+	{
+		int[] A = new Random(42).ints(5000).toArray();
+		int[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		QuickSort.quickSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testQuickSortInt_01()
+	{
+		int[] A = {};
+
+		QuickSort.quickSort(A);
+
+		assertEquals(0, A.length);
+	}
+
+	@Test
+	public void testQuickSortLong_00()
+	{
+		long[] A = { 3L, Long.MIN_VALUE, 4L, Long.MAX_VALUE, -5L, 0L };
+		long[] sortedA = { Long.MIN_VALUE, -5L, 0L, 3L, 4L, Long.MAX_VALUE };
+
+		QuickSort.quickSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testQuickSortFloat_00()
+	{
+		float[] A = { 3f, Float.NaN, -0f, 0f, -1f, Float.NEGATIVE_INFINITY };
+		float[] sortedA = { Float.NEGATIVE_INFINITY, -1f, -0f, 0f, 3f, Float.NaN };
+
+		QuickSort.quickSort(A);
+
+		assertArrayEquals(sortedA, A, 0f);
+	}
+
+	@Test
+	public void testQuickSortDouble_00()
+	{
+		double[] A = new Random(42).doubles(5000).toArray();
+		Double[] B = new Double[A.length];
+		for (int i = 0; i < A.length; i++)
+		{
+			B[i] = A[i];
+		}
+
+		QuickSort.quickSort(A);
+		QuickSort.quickSort(B);
+
+		for (int i = 0; i < A.length; i++)
+		{
+			if (A[i] != B[i])
+			{
+				fail("The primitive and the generic sort differ.");
+			}
+		}
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testQuickSortBetweenDouble_01()
+	{
+		double[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		QuickSort.quickSortBetween(A, -5, 4);
+	}
+
+	@Test
+	public void testQuickSortStrategies_00()
+	{
+		Random rnd = new Random(42);
+		int[][] inputs = { rnd.ints(20000).toArray(), rnd.ints(20000, 0, 5).toArray(),
+				IntStream.range(0, 20000).toArray(), IntStream.range(0, 20000).map(i -> -i).toArray() };
+
+		for (PivotStrategy pivot : PivotStrategy.values())
+		{
+			for (PartitionScheme scheme : PartitionScheme.values())
+			{
+				for (int[] input : inputs)
+				{
+					int[] A = input.clone();
+					int[] sortedA = input.clone();
+					Arrays.sort(sortedA);
+
+					QuickSort.quickSort(A, pivot, scheme);
+
+					assertArrayEquals(pivot + " " + scheme, sortedA, A);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testQuickSortStrategies_01()
+	{
+		Random rnd = new Random(42);
+
+		for (PivotStrategy pivot : PivotStrategy.values())
+		{
+			for (PartitionScheme scheme : PartitionScheme.values())
+			{
+				Integer[] A = rnd.ints(5000, 0, 100).boxed().toArray(Integer[]::new);
+				Integer[] sortedA = A.clone();
+				Arrays.sort(sortedA);
+
+				QuickSort.hybridQuickSortBetween(A, 0, A.length - 1, 8, pivot, scheme);
+
+				assertArrayEquals(pivot + " " + scheme, sortedA, A);
+			}
+		}
+	}
+
+	@Test
+	public void testQuickSortSorted_00()
+	{
+		// The last element as pivot used to overflow the stack here
+		Integer[] A = IntStream.range(0, 200000).boxed().toArray(Integer[]::new);
+		Integer[] sortedA = A.clone();
+
+		QuickSort.quickSort(A, PivotStrategy.LAST, PartitionScheme.LOMUTO);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testQuickSortDualPivotDouble_00()
+	{
+		double[] A = { 3, Double.NaN, 0.0, -0.0, -8, 3, 7, 1, 2, 0.0 };
+		double[] sortedA = { -8, -0.0, 0.0, 0.0, 1, 2, 3, 3, 7, Double.NaN };
+
+		QuickSort.quickSort(A, PivotStrategy.NINTHER, PartitionScheme.DUAL_PIVOT);
+
+		assertArrayEquals(sortedA, A, 0);
+	}
+
+	@Test
+	public void testQuickSortThreeWay_00()
+	{
+		final int[] comparisons = { 0 };
+
+		class Key implements Comparable<Key>
+		{
+			final int value;
+
+			Key(int value)
+			{
+				this.value = value;
+			}
+
+			@Override
+			public int compareTo(Key o)
+			{
+				comparisons[0]++;
+				return Integer.compare(value, o.value);
+			}
+		}
+
+		Random rnd = new Random(42);
+		Key[] A = new Key[100000];
+		for (int i = 0; i < A.length; i++)
+		{
+			A[i] = new Key(rnd.nextInt(3));
+		}
+
+		QuickSort.quickSort(A, PivotStrategy.MEDIAN_OF_THREE, PartitionScheme.THREE_WAY);
+
+		for (int i = 1; i < A.length; i++)
+		{
+			if (A[i - 1].value > A[i].value)
+			{
+				fail("The array is not sorted.");
+			}
+		}
+
+		// With 3 distinct keys every element is looked at a few times only
+		assertEquals(true, comparisons[0] < (10 * A.length));
+	}
+
+	@Test
+	public void testQuickSortThreeWayLong_00()
+	{
+		long[] A = new Random(42).longs(100000, 0, 4).toArray();
+		long[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		QuickSort.hybridQuickSortBetween(A, 0, A.length - 1, 16, PivotStrategy.LAST, PartitionScheme.THREE_WAY);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testHybridQuickSortLeaf_00()
+	{
+		Random rnd = new Random(42);
+
+		for (LeafSorter leaf : LeafSorter.values())
+		{
+			Integer[] A = rnd.ints(5000).boxed().toArray(Integer[]::new);
+			Integer[] sortedA = A.clone();
+			Arrays.sort(sortedA);
+
+			QuickSort.hybridQuickSortBetween(A, 0, A.length - 1, 32, PivotStrategy.NINTHER, PartitionScheme.LOMUTO,
+					leaf);
+
+			assertArrayEquals(leaf.toString(), sortedA, A);
+
+			float[] B = new float[5000];
+			for (int i = 0; i < B.length; i++)
+			{
+				B[i] = rnd.nextFloat();
+			}
+			float[] sortedB = B.clone();
+			Arrays.sort(sortedB);
+
+			QuickSort.hybridQuickSortBetween(B, 0, B.length - 1, 32, PivotStrategy.RANDOM,
+					PartitionScheme.DUAL_PIVOT, leaf);
+
+			assertArrayEquals(leaf.toString(), sortedB, B, 0f);
+		}
+	}
+
+	@Test
+	public void testQuickSortComparator_00()
+	{
+		Random rnd = new Random(42);
+
+		for (PivotStrategy pivot : PivotStrategy.values())
+		{
+			for (PartitionScheme scheme : PartitionScheme.values())
+			{
+				String[] A = rnd.ints(5000, 0, 300).mapToObj(Integer::toString).toArray(String[]::new);
+				String[] sortedA = A.clone();
+				Arrays.sort(sortedA, Comparator.comparing(String::length).reversed());
+
+				QuickSort.hybridQuickSortBetween(A, 0, A.length - 1, 8, pivot, scheme,
+						Comparator.comparing(String::length).reversed());
+
+				for (int i = 0; i < A.length; i++)
+				{
+					assertEquals(pivot + " " + scheme, sortedA[i].length(), A[i].length());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testQuickSortComparator_01()
+	{
+		Integer[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		Integer[] sortedA = { 9, 6, 5, 5, 4, 3, -8 };
+
+		QuickSort.quickSort(A, Comparator.reverseOrder());
+
+		assertArrayEquals(sortedA, A);
+	}
+
 }
@@ -0,0 +1,200 @@
+package shutils.tests.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import shutils.sorting.RadixSort;
+
+public class RadixSortTest
+{
+
+	@Test
+	public void testRadixSortInt_00()
+	{
+		int[] A = { 3, 6, 4, -8, 5, 9, 5, Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 0 };
+		int[] sortedA = { Integer.MIN_VALUE, -8, -1, 0, 3, 4, 5, 5, 6, 9, Integer.MAX_VALUE };
+
+		RadixSort.radixSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testRadixSortInt_01()
+	{
+		Random rnd = new Random(42);
+		int[][] inputs = { rnd.ints(50000).toArray(), rnd.ints(50000, -1000, 1000).toArray(),
+				rnd.ints(50000, 0, 256).map(i -> i << 16).toArray() };
+
+		for (int[] input : inputs)
+		{
+			int[] A = input.clone();
+			int[] sortedA = input.clone();
+			Arrays.sort(sortedA);
+
+			RadixSort.radixSort(A);
+
+			assertArrayEquals(sortedA, A);
+		}
+	}
+
+	@Test
+	public void testRadixSortInt_02()
+	{
+		int[] A = {};
+
+		RadixSort.radixSort(A);
+
+		assertEquals(0, A.length);
+	}
+
+	@Test
+	public void testRadixSortLong_00()
+	{
+		long[] A = new Random(42).longs(50000).toArray();
+		A[0] = Long.MIN_VALUE;
+		A[1] = Long.MAX_VALUE;
+		long[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		RadixSort.radixSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testRadixSortBetweenInt_00()
+	{
+		int[] A = new Random(42).ints(1000).toArray();
+		int[] sortedA = A.clone();
+		Arrays.sort(sortedA, 100, 901);
+
+		RadixSort.radixSortBetween(A, 100, 900);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRadixSortBetweenLong_01()
+	{
+		long[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		RadixSort.radixSortBetween(A, 4, 1);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testRadixSortBetweenInt_02()
+	{
+		int[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		RadixSort.radixSortBetween(A, -5, 4);
+	}
+
+	@Test
+	public void testParallelRadixSortInt_00()
+	{
+		int[] A = new Random(42).ints(300000).toArray();
+		int[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		RadixSort.parallelRadixSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testParallelRadixSortBetweenLong_00()
+	{
+		long[] A = new Random(42).longs(300000, -5000, 5000).toArray();
+		long[] sortedA = A.clone();
+		Arrays.sort(sortedA, 7, 299990);
+
+		RadixSort.parallelRadixSortBetween(A, 7, 299989);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testRadixSortString_00()
+	{
+		String[] A = { "she", "sells", "seashells", "by", "the", "sea", "shore", "", "s", "Sea", "\u00e9t\u00e9",
+				"\u4e2d\u6587", "the" };
+		String[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		RadixSort.radixSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testRadixSortString_01()
+	{
+		Random rnd = new Random(42);
+		String[] A = new String[20000];
+		for (int i = 0; i < A.length; i++)
+		{
+			// Long shared prefixes and a small alphabet, with a few wide chars
+			char[] s = new char[rnd.nextInt(40)];
+			for (int j = 0; j < s.length; j++)
+			{
+				boolean wide = rnd.nextInt(10) == 0;
+				s[j] = (j < 20) ? 'a' : (char) (wide ? 0x4e00 + rnd.nextInt(3) : 'a' + rnd.nextInt(3));
+			}
+			A[i] = new String(s);
+		}
+		String[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		RadixSort.radixSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testRadixSortBytes_00()
+	{
+		byte[][] A = { { 1, 2 }, { (byte) 0xff }, {}, { 1 }, { 0, 5 }, { (byte) 0x80, 0 }, { 1, 2 } };
+		byte[][] sortedA = { {}, { 0, 5 }, { 1 }, { 1, 2 }, { 1, 2 }, { (byte) 0x80, 0 }, { (byte) 0xff } };
+
+		RadixSort.radixSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testRadixSortBytes_01()
+	{
+		Random rnd = new Random(42);
+		byte[][] A = new byte[20000][];
+		for (int i = 0; i < A.length; i++)
+		{
+			A[i] = new byte[rnd.nextInt(6)];
+			rnd.nextBytes(A[i]);
+		}
+		byte[][] sortedA = A.clone();
+		Arrays.sort(sortedA, (a, b) -> {
+			for (int i = 0; i < Math.min(a.length, b.length); i++)
+			{
+				if (a[i] != b[i])
+				{
+					return (a[i] & 0xff) - (b[i] & 0xff);
+				}
+			}
+			return a.length - b.length;
+		});
+
+		RadixSort.radixSort(A);
+
+		for (int i = 0; i < A.length; i++)
+		{
+			assertArrayEquals(sortedA[i], A[i]);
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+package shutils.tests.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import shutils.sorting.SampleSort;
+
+public class SampleSortTest
+{
+
+	@Test
+	public void testSampleSort_00()
+	{
+		Integer[] A = new Random(42).ints(300000).boxed().toArray(Integer[]::new);
+		Integer[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		SampleSort.sampleSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testSampleSort_01()
+	{
+		Integer[] A = {};
+
+		SampleSort.sampleSort(A);
+
+		assertEquals(0, A.length);
+	}
+
+	@Test
+	public void testSampleSortComparator_00()
+	{
+		String[] A = new Random(42).ints(200000, 0, 1000).mapToObj(Integer::toString).toArray(String[]::new);
+		String[] sortedA = A.clone();
+		Arrays.sort(sortedA, Comparator.reverseOrder());
+
+		SampleSort.sampleSort(A, Comparator.reverseOrder());
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testSampleSortInt_00()
+	{
+		Random rnd = new Random(42);
+		int[][] inputs = { rnd.ints(1000000).toArray(), rnd.ints(500000, 0, 3).toArray(), new int[100000] };
+
+		for (int[] input : inputs)
+		{
+			int[] A = input.clone();
+			int[] sortedA = input.clone();
+			Arrays.sort(sortedA);
+
+			SampleSort.sampleSort(A);
+
+			assertArrayEquals(sortedA, A);
+		}
+	}
+
+	@Test
+	public void testSampleSortLong_00()
+	{
+		long[] A = new Random(42).longs(300000).toArray();
+		long[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		SampleSort.sampleSort(A);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test
+	public void testSampleSortDouble_00()
+	{
+		double[] A = new Random(42).doubles(300000).map(d -> d - 0.5).toArray();
+		A[0] = Double.NaN;
+		A[1] = -0.0;
+		A[2] = 0.0;
+		A[3] = Double.NEGATIVE_INFINITY;
+		double[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		SampleSort.sampleSort(A);
+
+		assertArrayEquals(sortedA, A, 0);
+	}
+
+	@Test
+	public void testSampleSortBetweenFloat_00()
+	{
+		float[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		float[] sortedA = { 3, -8, 4, 5, 6, 9, 5 };
+
+		SampleSort.sampleSortBetween(A, 1, 4);
+
+		assertArrayEquals(sortedA, A, 0);
+	}
+
+	@Test
+	public void testSampleSortBetweenInt_01()
+	{
+		int[] A = new Random(42).ints(200000).toArray();
+		int[] sortedA = A.clone();
+		Arrays.sort(sortedA, 13, 199990);
+
+		SampleSort.sampleSortBetween(A, 13, 199989);
+
+		assertArrayEquals(sortedA, A);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSampleSortBetweenInt_02()
+	{
+		int[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		SampleSort.sampleSortBetween(A, 4, 1);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testSampleSortBetweenLong_03()
+	{
+		long[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		SampleSort.sampleSortBetween(A, -5, 4);
+	}
+
+}
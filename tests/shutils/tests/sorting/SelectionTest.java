@@ -0,0 +1,177 @@
+package shutils.tests.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import shutils.sorting.Selection;
+
+public class SelectionTest
+{
+
+	@Test
+	public void testNthElement_00()
+	{
+		Integer[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		Selection.nthElement(A, 2);
+
+		assertEquals(4, A[2].intValue());
+		for (int i = 0; i < A.length; i++)
+		{
+			assertTrue(i < 2 ? A[i] <= 4 : A[i] >= 4);
+		}
+	}
+
+	@Test
+	public void testNthElementInt_00()
+	{
+		Random rnd = new Random(42);
+		int[][] inputs = { rnd.ints(10000).toArray(), rnd.ints(10000, 0, 4).toArray(),
+				IntStream.range(0, 10000).toArray() };
+
+		for (int[] input : inputs)
+		{
+			int[] sortedA = input.clone();
+			Arrays.sort(sortedA);
+
+			for (int n : new int[] { 0, 1, 4999, 9998, 9999 })
+			{
+				int[] A = input.clone();
+
+				Selection.nthElement(A, n);
+
+				assertEquals(sortedA[n], A[n]);
+				for (int i = 0; i < A.length; i++)
+				{
+					assertTrue(i < n ? A[i] <= A[n] : A[i] >= A[n]);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testNthElementBetweenDouble_00()
+	{
+		double[] A = { 9, 3, Double.NaN, 0.0, -0.0, 1, 7 };
+
+		Selection.nthElementBetween(A, 1, 5, 2);
+
+		assertEquals(9, A[0], 0);
+		assertEquals(7, A[6], 0);
+		assertEquals(0, Double.compare(0.0, A[2]));
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testNthElementBetweenLong_01()
+	{
+		long[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		Selection.nthElementBetween(A, 1, 4, 5);
+	}
+
+	@Test
+	public void testPartialSort_00()
+	{
+		String[] A = new Random(42).ints(10000).mapToObj(Integer::toString).toArray(String[]::new);
+		String[] sortedA = A.clone();
+		Arrays.sort(sortedA, Comparator.reverseOrder());
+
+		Selection.partialSort(A, 100, Comparator.reverseOrder());
+
+		assertArrayEquals(Arrays.copyOf(sortedA, 100), Arrays.copyOf(A, 100));
+	}
+
+	@Test
+	public void testPartialSortLong_00()
+	{
+		long[] A = new Random(42).longs(10000).toArray();
+		long[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		for (int k : new int[] { 0, 1, 10, 10000 })
+		{
+			long[] B = A.clone();
+
+			Selection.partialSort(B, k);
+
+			assertArrayEquals(Arrays.copyOf(sortedA, k), Arrays.copyOf(B, k));
+		}
+	}
+
+	@Test
+	public void testPartialSort_01()
+	{
+		// Sorting no element leaves the array untouched
+		Integer[] A = { 3, 6, 4, -8, 5, 9, 5 };
+		int[] B = { 3, 6, 4, -8, 5, 9, 5 };
+
+		Selection.partialSort(A, 0);
+		Selection.partialSort(B, 0);
+
+		assertArrayEquals(new Integer[] { 3, 6, 4, -8, 5, 9, 5 }, A);
+		assertArrayEquals(new int[] { 3, 6, 4, -8, 5, 9, 5 }, B);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPartialSortFloat_01()
+	{
+		float[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		Selection.partialSort(A, 8);
+	}
+
+	@Test
+	public void testTopK_00()
+	{
+		Integer[] A = { 3, 6, 4, -8, 5, 9, 5 };
+
+		assertArrayEquals(new Integer[] { 9, 6, 5 }, Selection.topK(A, 3));
+		assertArrayEquals(new Integer[] { 9, 6, 5, 5, 4, 3, -8 }, Selection.topK(A, 100));
+		assertEquals(0, Selection.topK(A, 0).length);
+	}
+
+	@Test
+	public void testTopK_01()
+	{
+		List<Integer> items = new Random(42).ints(100000).boxed().collect(Collectors.toList());
+		List<Integer> expected = items.stream().sorted(Comparator.reverseOrder()).limit(100)
+				.collect(Collectors.toList());
+
+		assertEquals(expected, Selection.topK(items, 100));
+		assertEquals(items.size(), Selection.topK(items, Integer.MAX_VALUE).size());
+	}
+
+	@Test
+	public void testTopKInt_00()
+	{
+		int[] A = new Random(42).ints(100000).toArray();
+		int[] copy = A.clone();
+		int[] sortedA = A.clone();
+		Arrays.sort(sortedA);
+
+		int[] top = Selection.topK(A, 100);
+
+		assertArrayEquals(copy, A);
+		for (int i = 0; i < top.length; i++)
+		{
+			assertEquals(sortedA[sortedA.length - 1 - i], top[i]);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTopKDouble_01()
+	{
+		Selection.topK(new double[] { 1, 2 }, -1);
+	}
+
+}